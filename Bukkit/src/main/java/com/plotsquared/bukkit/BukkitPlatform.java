@@ -40,8 +40,10 @@ import com.plotsquared.bukkit.inject.WorldManagerModule;
 import com.plotsquared.bukkit.listener.BlockEventListener;
 import com.plotsquared.bukkit.listener.BlockEventListener117;
 import com.plotsquared.bukkit.listener.ChunkListener;
+import com.plotsquared.bukkit.listener.EntityCountListener;
 import com.plotsquared.bukkit.listener.EntityEventListener;
 import com.plotsquared.bukkit.listener.EntitySpawnListener;
+import com.plotsquared.bukkit.listener.PaperEntityCountListener;
 import com.plotsquared.bukkit.listener.PaperListener;
 import com.plotsquared.bukkit.listener.PaperListener113;
 import com.plotsquared.bukkit.listener.PlayerEventListener;
@@ -356,6 +358,9 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
                 } else {
                     getServer().getPluginManager().registerEvents(injector().getInstance(PaperListener.class), this);
                 }
+                getServer().getPluginManager().registerEvents(injector().getInstance(PaperEntityCountListener.class), this);
+            } else {
+                getServer().getPluginManager().registerEvents(injector().getInstance(EntityCountListener.class), this);
             }
             this.plotListener.startRunnable();
         }
@@ -666,8 +671,9 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         LOGGER.info("(UUID) {} UUIDs will be cached", uuidQueue.size());
 
         Executors.newSingleThreadScheduledExecutor().schedule(() -> {
-            // Begin by reading all the SQLite cache at once
-            cacheUUIDService.accept(sqLiteUUIDService.getAll());
+            // Begin by streaming the SQLite cache into the in-memory cache, which can't hold more than its size anyway
+            final int cached = sqLiteUUIDService.readAll(Settings.UUID.UUID_CACHE_SIZE, 1000, cacheUUIDService);
+            LOGGER.info("(UUID) Pre-warmed the UUID cache with {} mappings", cached);
             // Now fetch names for all known UUIDs
             final int totalSize = uuidQueue.size();
             int read = 0;
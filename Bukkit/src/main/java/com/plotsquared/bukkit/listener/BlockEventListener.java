@@ -275,8 +275,9 @@ public class BlockEventListener implements Listener {
         }
         Player player = event.getPlayer();
         BukkitPlayer pp = BukkitUtil.adapt(player);
-        Plot plot = area.getPlot(location);
-        if (plot != null) {
+        // Unowned plots are only created once the player may build on them
+        Plot plot = area.getOwnedPlot(location);
+        if (plot != null || area.isPlot(location)) {
             if ((location.getY() > area.getMaxBuildHeight() || location.getY() < area
                     .getMinBuildHeight()) && !Permissions
                     .hasPermission(pp, Permission.PERMISSION_ADMIN_BUILD_HEIGHT_LIMIT)) {
@@ -287,7 +288,7 @@ public class BlockEventListener implements Listener {
                         Template.of("maxHeight", String.valueOf(area.getMaxBuildHeight()))
                 );
             }
-            if (!plot.hasOwner()) {
+            if (plot == null) {
                 if (!Permissions.hasPermission(pp, Permission.PERMISSION_ADMIN_BUILD_UNOWNED)) {
                     pp.sendMessage(
                             TranslatableCaption.of("permission.no_permission_event"),
@@ -296,6 +297,7 @@ public class BlockEventListener implements Listener {
                     event.setCancelled(true);
                     return;
                 }
+                plot = area.getPlot(location);
             } else if (!plot.isAdded(pp.getUUID())) {
                 List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
                 if (place != null) {
@@ -350,8 +352,8 @@ public class BlockEventListener implements Listener {
         if (area == null) {
             return;
         }
-        Plot plot = area.getPlot(location);
-        if (plot != null) {
+        Plot plot = area.getOwnedPlot(location);
+        if (plot != null || area.isPlot(location)) {
             BukkitPlayer plotPlayer = BukkitUtil.adapt(player);
             if (event.getBlock().getY() == 0) {
                 if (!Permissions
@@ -373,7 +375,7 @@ public class BlockEventListener implements Listener {
                         Template.of("maxHeight", String.valueOf(area.getMaxBuildHeight()))
                 );
             }
-            if (!plot.hasOwner()) {
+            if (plot == null) {
                 if (!Permissions
                         .hasPermission(plotPlayer, Permission.PERMISSION_ADMIN_DESTROY_UNOWNED, true)) {
                     event.setCancelled(true);
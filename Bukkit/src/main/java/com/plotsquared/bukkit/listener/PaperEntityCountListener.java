@@ -0,0 +1,62 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.listener;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Keeps the entity counts of the {@link BukkitEntityCounter} up to date on Paper. Paper calls an event
+ * whenever an entity is added to or removed from a world, for whatever reason, including chunk loads and
+ * unloads, so these replace the events handled by the {@link EntityCountListener}.
+ */
+@SuppressWarnings("unused")
+public class PaperEntityCountListener implements Listener {
+
+    private final BukkitEntityCounter entityCounter;
+
+    @Inject
+    public PaperEntityCountListener(final @NonNull BukkitEntityCounter entityCounter) {
+        this.entityCounter = entityCounter;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAddToWorld(EntityAddToWorldEvent event) {
+        this.entityCounter.add(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        this.entityCounter.remove(event.getEntity());
+    }
+
+}
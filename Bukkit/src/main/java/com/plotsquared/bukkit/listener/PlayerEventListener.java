@@ -511,42 +511,30 @@ public class PlayerEventListener extends PlotListener implements Listener {
             }
             // Set last location
             Location location = BukkitUtil.adapt(to);
-            try (final MetaDataAccess<Location> lastLocationAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION)) {
-                lastLocationAccess.remove();
-            }
+            pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION);
             PlotArea area = location.getPlotArea();
             if (area == null) {
-                try (final MetaDataAccess<Plot> lastPlotAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                    lastPlotAccess.remove();
-                }
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
                 return;
             }
             Plot now = area.getPlot(location);
-            Plot lastPlot;
-            try (final MetaDataAccess<Plot> lastPlotAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                lastPlot = lastPlotAccess.get().orElse(null);
-            }
+            Plot lastPlot = pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
             if (now == null) {
-                try (final MetaDataAccess<Boolean> kickAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK)) {
-                    if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport && !kickAccess.get().orElse(false)) {
-                        pp.sendMessage(
-                                TranslatableCaption.of("permission.no_permission_event"),
-                                Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
-                        );
-                        this.tmpTeleport = false;
-                        if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
-                            player.teleport(from);
-                        } else {
-                            player.teleport(player.getWorld().getSpawnLocation());
-                        }
-                        this.tmpTeleport = true;
-                        event.setCancelled(true);
-                        return;
+                if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport
+                        && !Boolean.TRUE.equals(pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK))) {
+                    pp.sendMessage(
+                            TranslatableCaption.of("permission.no_permission_event"),
+                            Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
+                    );
+                    this.tmpTeleport = false;
+                    if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
+                        player.teleport(from);
+                    } else {
+                        player.teleport(player.getWorld().getSpawnLocation());
                     }
+                    this.tmpTeleport = true;
+                    event.setCancelled(true);
+                    return;
                 }
             } else if (now.equals(lastPlot)) {
                 ForceFieldListener.handleForcefield(player, pp, now);
@@ -589,42 +577,30 @@ public class PlayerEventListener extends PlotListener implements Listener {
             }
             // Set last location
             Location location = BukkitUtil.adapt(to);
-            try (final MetaDataAccess<Location> lastLocationAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION)) {
-                lastLocationAccess.set(location);
-            }
+            pp.setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION, location);
             PlotArea area = location.getPlotArea();
             if (area == null) {
-                try (final MetaDataAccess<Plot> lastPlotAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                    lastPlotAccess.remove();
-                }
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
                 return;
             }
             Plot now = area.getPlot(location);
-            Plot lastPlot;
-            try (final MetaDataAccess<Plot> lastPlotAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                lastPlot = lastPlotAccess.get().orElse(null);
-            }
+            Plot lastPlot = pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
             if (now == null) {
-                try (final MetaDataAccess<Boolean> kickAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK)) {
-                    if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport && !kickAccess.get().orElse(false)) {
-                        pp.sendMessage(
-                                TranslatableCaption.of("permission.no_permission_event"),
-                                Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
-                        );
-                        this.tmpTeleport = false;
-                        if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
-                            player.teleport(from);
-                        } else {
-                            player.teleport(player.getWorld().getSpawnLocation());
-                        }
-                        this.tmpTeleport = true;
-                        event.setCancelled(true);
-                        return;
+                if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport
+                        && !Boolean.TRUE.equals(pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK))) {
+                    pp.sendMessage(
+                            TranslatableCaption.of("permission.no_permission_event"),
+                            Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
+                    );
+                    this.tmpTeleport = false;
+                    if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
+                        player.teleport(from);
+                    } else {
+                        player.teleport(player.getWorld().getSpawnLocation());
                     }
+                    this.tmpTeleport = true;
+                    event.setCancelled(true);
+                    return;
                 }
             } else if (now.equals(lastPlot)) {
                 ForceFieldListener.handleForcefield(player, pp, now);
@@ -751,6 +727,8 @@ public class PlayerEventListener extends PlotListener implements Listener {
     public void onWorldChanged(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
         BukkitPlayer pp = BukkitUtil.adapt(player);
+        // Permissions may be world specific
+        pp.invalidatePermissionRanges();
         // Delete last location
         Plot plot;
         try (final MetaDataAccess<Plot> lastPlotAccess =
@@ -1195,8 +1173,8 @@ public class PlayerEventListener extends PlotListener implements Listener {
             return;
         }
         BukkitPlayer pp = BukkitUtil.adapt(event.getPlayer());
-        Plot plot = area.getPlot(location);
-        if (plot == null) {
+        Plot plot = area.getOwnedPlot(location);
+        if (plot == null && !area.isPlot(location)) {
             if (Permissions.hasPermission(pp, Permission.PERMISSION_ADMIN_BUILD_ROAD)) {
                 return;
             }
@@ -1205,7 +1183,7 @@ public class PlayerEventListener extends PlotListener implements Listener {
                     Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_BUILD_ROAD))
             );
             event.setCancelled(true);
-        } else if (!plot.hasOwner()) {
+        } else if (plot == null) {
             if (Permissions.hasPermission(pp, Permission.PERMISSION_ADMIN_BUILD_UNOWNED)) {
                 return;
             }
@@ -1268,8 +1246,8 @@ public class PlayerEventListener extends PlotListener implements Listener {
         }
         Player player = event.getPlayer();
         BukkitPlayer plotPlayer = BukkitUtil.adapt(player);
-        Plot plot = area.getPlot(location);
-        if (plot == null) {
+        Plot plot = area.getOwnedPlot(location);
+        if (plot == null && !area.isPlot(location)) {
             if (Permissions.hasPermission(plotPlayer, Permission.PERMISSION_ADMIN_BUILD_ROAD)) {
                 return;
             }
@@ -1278,7 +1256,7 @@ public class PlayerEventListener extends PlotListener implements Listener {
                     Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_BUILD_ROAD))
             );
             event.setCancelled(true);
-        } else if (!plot.hasOwner()) {
+        } else if (plot == null) {
             if (Permissions.hasPermission(plotPlayer, Permission.PERMISSION_ADMIN_BUILD_UNOWNED)) {
                 return;
             }
@@ -164,7 +164,7 @@ public class BukkitPlayer extends PlotPlayer<Player> {
 
     @Override
     @NonNegative
-    public int hasPermissionRange(
+    protected int resolvePermissionRange(
             final @NonNull String stub,
             @NonNegative final int range
     ) {
@@ -192,7 +192,7 @@ public class BukkitPlayer extends PlotPlayer<Player> {
             if (!effective.isEmpty()) {
                 for (PermissionAttachmentInfo attach : effective) {
                     String permStr = attach.getPermission();
-                    if (permStr.startsWith(stubPlus)) {
+                    if (attach.getValue() && permStr.startsWith(stubPlus)) {
                         hasAny = true;
                         String end = permStr.substring(stubPlus.length());
                         if (MathMan.isInteger(end)) {
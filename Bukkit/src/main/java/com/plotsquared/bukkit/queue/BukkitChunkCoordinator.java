@@ -30,10 +30,9 @@ import com.google.inject.assistedinject.Assisted;
 import com.plotsquared.bukkit.BukkitPlatform;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.queue.ChunkCoordinator;
+import com.plotsquared.core.queue.ChunkCoordinatorScheduler;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
-import com.plotsquared.core.util.task.PlotSquaredTask;
 import com.plotsquared.core.util.task.TaskManager;
-import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.world.World;
 import io.papermc.lib.PaperLib;
@@ -48,6 +47,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -59,9 +59,17 @@ import java.util.function.Consumer;
  * coordinator will prevent the chunks from being unloaded until the sink
  * has fully consumed the chunk
  * </p>
+ * <p>
+ * Loaded chunks are accessed by the {@link ChunkCoordinatorScheduler}, which shares a global
+ * tick budget between all running coordinators. The batch size grows while the coordinator
+ * runs out of loaded chunks before its share of the budget is used, and shrinks when it
+ * cannot keep up or the server is lagging.
+ * </p>
  **/
 public final class BukkitChunkCoordinator extends ChunkCoordinator {
 
+    private static final int MAX_BATCH_SIZE = 64;
+
     private final List<ProgressSubscriber> progressSubscribers = new LinkedList<>();
 
     private final Queue<BlockVector2> requestedChunks;
@@ -74,10 +82,14 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
     private final Consumer<Throwable> throwableConsumer;
     private final boolean unloadAfter;
     private final int totalSize;
+    private final int priority;
+    private final ChunkCoordinatorScheduler scheduler;
 
     private final AtomicInteger expectedSize;
     private int batchSize;
-    private PlotSquaredTask task;
+    private long startTime;
+    private long lastChunkTime;
+    private int processedChunks;
     private boolean shouldCancel;
     private boolean finished;
 
@@ -91,7 +103,9 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             @Assisted final @NonNull Runnable whenDone,
             @Assisted final @NonNull Consumer<Throwable> throwableConsumer,
             @Assisted final boolean unloadAfter,
-            @Assisted final @NonNull Collection<ProgressSubscriber> progressSubscribers
+            @Assisted final @NonNull Collection<ProgressSubscriber> progressSubscribers,
+            @Assisted("priority") final int priority,
+            final @NonNull ChunkCoordinatorScheduler scheduler
     ) {
         this.requestedChunks = new LinkedBlockingQueue<>(requestedChunks);
         this.availableChunks = new LinkedBlockingQueue<>();
@@ -106,14 +120,16 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         this.plugin = JavaPlugin.getPlugin(BukkitPlatform.class);
         this.bukkitWorld = Bukkit.getWorld(world.getName());
         this.progressSubscribers.addAll(progressSubscribers);
+        this.priority = Math.max(1, priority);
+        this.scheduler = scheduler;
     }
 
     @Override
     public void start() {
         // Request initial batch
         this.requestBatch();
-        // Wait until next tick to give the chunks a chance to be loaded
-        TaskManager.runTaskLater(() -> task = TaskManager.runTaskRepeat(this, TaskTime.ticks(1)), TaskTime.ticks(1));
+        this.startTime = System.nanoTime();
+        this.scheduler.schedule(this);
     }
 
     @Override
@@ -130,13 +146,18 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             for (final ProgressSubscriber subscriber : this.progressSubscribers) {
                 subscriber.notifyEnd();
             }
-            task.cancel();
             finished = true;
         }
     }
 
     @Override
     public void run() {
+        this.tick(TimeUnit.MILLISECONDS.toNanos(this.maxIterationTime));
+    }
+
+    @Override
+    public long tick(final long budget) {
+        final long start = System.nanoTime();
         if (shouldCancel) {
             if (unloadAfter) {
                 Chunk chunk;
@@ -145,17 +166,17 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 }
             }
             finish();
-            return;
+            return System.nanoTime() - start;
         }
 
         Chunk chunk = this.availableChunks.poll();
         if (chunk == null) {
-            return;
+            return System.nanoTime() - start;
         }
-        long[] iterationTime = new long[2];
         int processedChunks = 0;
+        long now = start;
         do {
-            final long start = System.currentTimeMillis();
+            final long chunkStart = now;
             try {
                 this.chunkConsumer.accept(BlockVector2.at(chunk.getX(), chunk.getZ()));
             } catch (final Throwable throwable) {
@@ -165,12 +186,18 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 this.freeChunk(chunk);
             }
             processedChunks++;
-            final long end = System.currentTimeMillis();
-            // Update iteration time
-            iterationTime[0] = iterationTime[1];
-            iterationTime[1] = end - start;
-        } while (iterationTime[0] + iterationTime[1] < this.maxIterationTime * 2 && (chunk = availableChunks.poll()) != null);
-        if (processedChunks < this.batchSize) {
+            now = System.nanoTime();
+            // Smooth the time per chunk so that a single slow chunk doesn't stall the coordinator
+            this.lastChunkTime = this.lastChunkTime == 0 ? now - chunkStart : (this.lastChunkTime + now - chunkStart) / 2;
+        } while (now - start + this.lastChunkTime <= budget && (chunk = availableChunks.poll()) != null);
+        this.processedChunks += processedChunks;
+
+        if (this.scheduler.isLagging()) {
+            this.batchSize = Math.max(1, this.batchSize / 2);
+        } else if (this.availableChunks.isEmpty() && now - start < budget) {
+            // Ran out of loaded chunks before the budget was used up, so request more at once
+            this.batchSize = Math.min(MAX_BATCH_SIZE, this.batchSize * 2);
+        } else if (processedChunks < this.batchSize) {
             // Adjust batch size based on the amount of processed chunks per tick
             this.batchSize = processedChunks;
         }
@@ -188,6 +215,7 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 this.requestBatch();
             }
         }
+        return System.nanoTime() - start;
     }
 
     /**
@@ -249,6 +277,40 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         return this.totalSize;
     }
 
+    @Override
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    @Override
+    public int getPriority() {
+        return this.priority;
+    }
+
+    @Override
+    public long getMaxIterationTime() {
+        return this.maxIterationTime;
+    }
+
+    @Override
+    public int getProcessedChunks() {
+        return this.processedChunks;
+    }
+
+    @Override
+    public double getThroughput() {
+        final long elapsed = System.nanoTime() - this.startTime;
+        if (this.startTime == 0 || elapsed <= 0) {
+            return 0D;
+        }
+        return this.processedChunks / (elapsed / 1_000_000_000D);
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
     /**
      * Subscribe to coordinator progress updates
      *
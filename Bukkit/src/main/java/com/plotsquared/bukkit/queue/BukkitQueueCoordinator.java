@@ -156,43 +156,34 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 if (localChunk == null) {
                     return;
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BaseBlock[] blocksLayer = localChunk.getBaseblocks()[layer];
-                    if (blocksLayer == null) {
+                for (int layer = localChunk.getMinSection(); layer <= localChunk.getMaxSection(); layer++) {
+                    if (!localChunk.hasBlocks(layer)) {
                         continue;
                     }
-                    for (int j = 0; j < blocksLayer.length; j++) {
-                        if (blocksLayer[j] == null) {
-                            continue;
-                        }
-                        BaseBlock block = blocksLayer[j];
-
+                    for (int j = 0; j < 4096; j++) {
+                        BaseBlock block = localChunk.getBlock(layer, j);
                         if (block != null) {
                             int lx = ChunkUtil.getX(j);
                             int lz = ChunkUtil.getZ(j);
                             int x = sx + lx;
-                            int y = ChunkUtil.getY(layer, j);
+                            int y = (layer << 4) + (j >> 8);
                             int z = sz + lz;
-                            boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(y >> 4, lx, y & 15, lz, blockVector2,
+                            boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(layer, lx, y & 15, lz, blockVector2,
                                     localChunk
                             );
                             setWorldBlock(x, y, z, block, blockVector2, edge);
                         }
                     }
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BiomeType[] biomesLayer = localChunk.getBiomes()[layer];
-                    if (biomesLayer == null) {
+                for (int layer = localChunk.getMinSection(); layer <= localChunk.getMaxSection(); layer++) {
+                    if (!localChunk.hasBiomes(layer)) {
                         continue;
                     }
-                    for (int j = 0; j < biomesLayer.length; j++) {
-                        if (biomesLayer[j] == null) {
-                            continue;
-                        }
-                        BiomeType biome = biomesLayer[j];
+                    for (int j = 0; j < 4096; j++) {
+                        BiomeType biome = localChunk.getBiome(layer, j);
                         if (biome != null) {
                             int x = sx + ChunkUtil.getX(j);
-                            int y = ChunkUtil.getY(layer, j);
+                            int y = (layer << 4) + (j >> 8);
                             int z = sz + ChunkUtil.getZ(j);
                             getWorld().setBiome(BlockVector3.at(x, y, z), biome);
                         }
@@ -226,6 +217,7 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                         .withChunks(read)
                         .withInitialBatchSize(3)
                         .withMaxIterationTime(40)
+                        .withPriority(getPriority())
                         .withThrowableConsumer(Throwable::printStackTrace)
                         .withFinalAction(getCompleteTask())
                         .withConsumer(consumer)
@@ -297,63 +289,62 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
     }
 
     private boolean isEdge(int layer, int x, int y, int z, BlockVector2 blockVector2, LocalChunk localChunk) {
-        if (layer == 0 || layer == localChunk.getBaseblocks().length - 1) {
+        if (layer == localChunk.getMinSection() || layer == localChunk.getMaxSection()) {
             return false;
         }
         if (x == 0) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() - 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layer] == null ||
-                    localChunkX.getBaseblocks()[layer][ChunkUtil.getJ(15, y, z)] != null) {
+            if (localChunkX == null || !localChunkX.hasBlocks(layer) ||
+                    localChunkX.getBlock(layer, ChunkUtil.getJ(15, y, z)) != null) {
                 return true;
             }
         } else if (x == 15) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() + 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layer] == null ||
-                    localChunkX.getBaseblocks()[layer][ChunkUtil.getJ(0, y, z)] != null) {
+            if (localChunkX == null || !localChunkX.hasBlocks(layer) ||
+                    localChunkX.getBlock(layer, ChunkUtil.getJ(0, y, z)) != null) {
                 return true;
             }
         }
         if (z == 0) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() - 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layer] == null ||
-                    localChunkZ.getBaseblocks()[layer][ChunkUtil.getJ(x, y, 15)] != null) {
+            if (localChunkZ == null || !localChunkZ.hasBlocks(layer) ||
+                    localChunkZ.getBlock(layer, ChunkUtil.getJ(x, y, 15)) != null) {
                 return true;
             }
         } else if (z == 15) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() + 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layer] == null ||
-                    localChunkZ.getBaseblocks()[layer][ChunkUtil.getJ(x, y, 0)] != null) {
+            if (localChunkZ == null || !localChunkZ.hasBlocks(layer) ||
+                    localChunkZ.getBlock(layer, ChunkUtil.getJ(x, y, 0)) != null) {
                 return true;
             }
         }
         if (y == 0) {
-            if (localChunk.getBaseblocks()[layer - 1] == null ||
-                    localChunk.getBaseblocks()[layer][ChunkUtil.getJ(x, 15, z)] != null) {
+            if (!localChunk.hasBlocks(layer - 1) ||
+                    localChunk.getBlock(layer, ChunkUtil.getJ(x, 15, z)) != null) {
                 return true;
             }
         } else if (y == 15) {
-            if (localChunk.getBaseblocks()[layer + 1] == null ||
-                    localChunk.getBaseblocks()[layer][ChunkUtil.getJ(x, 0, z)] != null) {
+            if (!localChunk.hasBlocks(layer + 1) ||
+                    localChunk.getBlock(layer, ChunkUtil.getJ(x, 0, z)) != null) {
                 return true;
             }
         }
-        BaseBlock[] baseBlocks = localChunk.getBaseblocks()[layer];
-        if (x > 0 && baseBlocks[ChunkUtil.getJ(x - 1, y, z)] == null) {
+        if (x > 0 && localChunk.getBlock(layer, ChunkUtil.getJ(x - 1, y, z)) == null) {
             return true;
         }
-        if (x < 15 && baseBlocks[ChunkUtil.getJ(x + 1, y, z)] == null) {
+        if (x < 15 && localChunk.getBlock(layer, ChunkUtil.getJ(x + 1, y, z)) == null) {
             return true;
         }
-        if (y > 0 && baseBlocks[ChunkUtil.getJ(x, y - 1, z)] == null) {
+        if (y > 0 && localChunk.getBlock(layer, ChunkUtil.getJ(x, y - 1, z)) == null) {
             return true;
         }
-        if (y < 15 && baseBlocks[ChunkUtil.getJ(x, y + 1, z)] == null) {
+        if (y < 15 && localChunk.getBlock(layer, ChunkUtil.getJ(x, y + 1, z)) == null) {
             return true;
         }
-        if (z > 0 && baseBlocks[ChunkUtil.getJ(x, y, z - 1)] == null) {
+        if (z > 0 && localChunk.getBlock(layer, ChunkUtil.getJ(x, y, z - 1)) == null) {
             return true;
         }
-        return z < 15 && baseBlocks[ChunkUtil.getJ(x, y, z + 1)] == null;
+        return z < 15 && localChunk.getBlock(layer, ChunkUtil.getJ(x, y, z + 1)) == null;
     }
 
     private boolean isEdgeRegen(int x, int z, BlockVector2 blockVector2) {
@@ -217,6 +217,29 @@ public class GenChunk extends ScopedQueueCoordinator {
         return true;
     }
 
+    @Override
+    public void setColumn(int x, int z, int y, @Nullable BaseBlock @NonNull [] blocks) {
+        int start = 0;
+        while (start < blocks.length) {
+            final BaseBlock block = blocks[start];
+            int end = start + 1;
+            while (end < blocks.length && blocks[end] == block) {
+                end++;
+            }
+            if (block != null) {
+                // Set runs of the same block at once
+                this.chunkData.setRegion(x, y + start, z, x + 1, y + end, z + 1, BukkitAdapter.adapt(block));
+                if (this.result != null) {
+                    final BlockState state = block.toImmutableState();
+                    for (int i = start; i < end; i++) {
+                        this.storeCache(x, y + i, z, state);
+                    }
+                }
+            }
+            start = end;
+        }
+    }
+
     @Override
     public @Nullable BlockState getBlock(int x, int y, int z) {
         int i = y >> 4;
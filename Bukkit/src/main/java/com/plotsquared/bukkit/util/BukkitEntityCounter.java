@@ -0,0 +1,297 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.util.entity.EntityCategories;
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+
+/**
+ * Keeps per plot entity counts for the entity cap flags. A plot is counted once when its counts are
+ * first requested, after which the counts are kept up to date by spawn, removal and chunk load/unload
+ * events. Entities may wander between plots and not every removal calls an event, so tracked plots are
+ * recounted periodically, and plots whose counts have not been requested for a while are no longer tracked.
+ * <p>
+ * All methods must be called on the server thread.
+ */
+@Singleton
+public class BukkitEntityCounter {
+
+    // Plots are no longer tracked if their counts have not been requested for this long
+    private static final long TRACKING_TIMEOUT = 300_000L;
+    // Maximum amount of plots recounted per tick
+    private static final int RECOUNTS_PER_TICK = 4;
+    // Minimum time between two recounts of a plot that were requested through recount
+    private static final long RECOUNT_COOLDOWN = 1000L;
+
+    private final Map<Plot, Counter> counters = new HashMap<>();
+    private @Nullable PlotSquaredTask task;
+
+    private static void count(final int @NonNull [] count, final @NonNull Entity entity, final int delta) {
+        final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(entity.getType());
+
+        if (EntityCategories.PLAYER.contains(entityType)) {
+            return;
+        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType) || EntityCategories.HANGING
+                .contains(entityType)) {
+            count[CAP_MISC] += delta;
+        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType) || EntityCategories.TAMEABLE
+                .contains(entityType)) {
+            count[CAP_MOB] += delta;
+            count[CAP_ANIMAL] += delta;
+        } else if (EntityCategories.VEHICLE.contains(entityType)) {
+            count[CAP_VEHICLE] += delta;
+        } else if (EntityCategories.HOSTILE.contains(entityType)) {
+            count[CAP_MOB] += delta;
+            count[CAP_MONSTER] += delta;
+        }
+        count[CAP_ENTITY] += delta;
+    }
+
+    /**
+     * Count all entities in the loaded chunks of a plot
+     *
+     * @param plot Plot to count the entities of
+     * @return Entity counts, indexed by the cap constants in {@link EntityCategories}
+     */
+    private static int @NonNull [] countLoaded(final @NonNull Plot plot) {
+        final int[] count = new int[6];
+        final PlotArea area = plot.getArea();
+        if (area == null) {
+            return count;
+        }
+        final World world = BukkitUtil.getWorld(area.getWorldName());
+        if (world == null) {
+            return count;
+        }
+        final Location bot = plot.getBottomAbs();
+        final Location top = plot.getTopAbs();
+        final int bx = bot.getX() >> 4;
+        final int bz = bot.getZ() >> 4;
+        final int tx = top.getX() >> 4;
+        final int tz = top.getZ() >> 4;
+        for (int x = bx; x <= tx; x++) {
+            for (int z = bz; z <= tz; z++) {
+                if (!world.isChunkLoaded(x, z)) {
+                    continue;
+                }
+                final boolean edge = x == bx || x == tx || z == bz || z == tz;
+                for (final Entity entity : world.getChunkAt(x, z).getEntities()) {
+                    if (!edge || plot.equals(area.getPlotAbs(BukkitUtil.adapt(entity.getLocation())))) {
+                        count(count, entity, 1);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the entity counts of a plot, counting the plot and tracking it from then on if it is not tracked yet
+     *
+     * @param plot Plot
+     * @return Entity counts, indexed by the cap constants in {@link EntityCategories}
+     */
+    public int @NonNull [] getCounts(final @NonNull Plot plot) {
+        Counter counter = this.counters.get(plot);
+        final long now = System.currentTimeMillis();
+        if (counter == null) {
+            this.counters.put(plot, counter = new Counter(countLoaded(plot), now));
+            if (this.task == null) {
+                this.task = TaskManager.runTaskRepeat(this::reconcile, TaskTime.ticks(1L));
+            }
+        }
+        counter.lastAccess = now;
+        return counter.counts.clone();
+    }
+
+    /**
+     * Get the entity counts of a plot after counting its entities again, unless they were counted less than a
+     * second ago. Plots at their cap may request this for every denied spawn, so recounts are limited.
+     *
+     * @param plot Plot
+     * @return Entity counts, indexed by the cap constants in {@link EntityCategories}
+     */
+    public int @NonNull [] recount(final @NonNull Plot plot) {
+        final Counter counter = this.counters.get(plot);
+        if (counter == null) {
+            return this.getCounts(plot);
+        }
+        final long now = System.currentTimeMillis();
+        if (now - counter.lastCount >= RECOUNT_COOLDOWN) {
+            counter.counts = countLoaded(plot);
+            counter.lastCount = now;
+        }
+        counter.lastAccess = now;
+        return counter.counts.clone();
+    }
+
+    /**
+     * Count an entity that was added to the world
+     *
+     * @param entity Entity
+     */
+    public void add(final @NonNull Entity entity) {
+        this.update(entity, 1);
+    }
+
+    /**
+     * Stop counting an entity that was removed from the world
+     *
+     * @param entity Entity
+     */
+    public void remove(final @NonNull Entity entity) {
+        this.update(entity, -1);
+    }
+
+    /**
+     * Stop counting an entity if it has been removed from the world by the next tick. Used when
+     * an event does not tell whether the entity will be removed, such as a partial item pickup.
+     *
+     * @param entity Entity
+     */
+    public void removeIfInvalid(final @NonNull Entity entity) {
+        if (this.counters.isEmpty()) {
+            return;
+        }
+        TaskManager.runTaskLater(() -> {
+            if (!entity.isValid()) {
+                this.remove(entity);
+            }
+        }, TaskTime.ticks(1L));
+    }
+
+    /**
+     * Count the entities of a chunk that was loaded
+     *
+     * @param chunk Chunk
+     */
+    public void load(final @NonNull Chunk chunk) {
+        if (!this.counters.isEmpty()) {
+            for (final Entity entity : chunk.getEntities()) {
+                this.update(entity, 1);
+            }
+        }
+    }
+
+    /**
+     * Stop counting the entities of a chunk that is being unloaded
+     *
+     * @param chunk Chunk
+     */
+    public void unload(final @NonNull Chunk chunk) {
+        if (!this.counters.isEmpty()) {
+            for (final Entity entity : chunk.getEntities()) {
+                this.update(entity, -1);
+            }
+        }
+    }
+
+    private void update(final @NonNull Entity entity, final int delta) {
+        if (this.counters.isEmpty()) {
+            return;
+        }
+        final Location location = BukkitUtil.adapt(entity.getLocation());
+        final PlotArea area = location.getPlotArea();
+        if (area == null) {
+            return;
+        }
+        final Plot plot = area.getPlotAbs(location);
+        if (plot == null) {
+            return;
+        }
+        final Counter counter = this.counters.get(plot);
+        if (counter != null) {
+            count(counter.counts, entity, delta);
+            for (int i = 0; i < counter.counts.length; i++) {
+                counter.counts[i] = Math.max(0, counter.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Recount the plots that have not been counted for {@link Settings.Entity_Caps#RECOUNT_INTERVAL} seconds,
+     * and stop tracking plots that are no longer used
+     */
+    private void reconcile() {
+        final long now = System.currentTimeMillis();
+        final long interval = Settings.Entity_Caps.RECOUNT_INTERVAL * 1000L;
+        int recounts = 0;
+        for (final Iterator<Map.Entry<Plot, Counter>> iterator = this.counters.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<Plot, Counter> entry = iterator.next();
+            final Counter counter = entry.getValue();
+            if (now - counter.lastAccess > TRACKING_TIMEOUT || !entry.getKey().hasOwner()) {
+                iterator.remove();
+            } else if (recounts < RECOUNTS_PER_TICK && now - counter.lastCount > interval) {
+                counter.counts = countLoaded(entry.getKey());
+                counter.lastCount = now;
+                recounts++;
+            }
+        }
+        if (this.counters.isEmpty() && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private static final class Counter {
+
+        private int[] counts;
+        private long lastCount;
+        private long lastAccess;
+
+        private Counter(final int @NonNull [] counts, final long now) {
+            this.counts = counts;
+            this.lastCount = now;
+            this.lastAccess = now;
+        }
+
+    }
+
+}
@@ -27,6 +27,7 @@ package com.plotsquared.bukkit.util.fawe;
 
 import com.fastasyncworldedit.bukkit.regions.plotsquared.FaweDelegateRegionManager;
 import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitRegionManager;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.generator.HybridPlotManager;
@@ -55,9 +56,9 @@ public class FaweRegionManager extends BukkitRegionManager {
     @Inject
     public FaweRegionManager(
             @NonNull WorldUtil worldUtil, @NonNull GlobalBlockQueue blockQueue, @NonNull
-            ProgressSubscriberFactory subscriberFactory
+            ProgressSubscriberFactory subscriberFactory, @NonNull BukkitEntityCounter entityCounter
     ) {
-        super(worldUtil, blockQueue, subscriberFactory);
+        super(worldUtil, blockQueue, subscriberFactory, entityCounter);
     }
 
     @Override
@@ -36,9 +36,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -47,7 +49,13 @@ import java.util.function.Consumer;
  */
 public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping>> {
 
+    /**
+     * Max amount of parameters per lookup, well below SQLite's limit of 999 host parameters
+     */
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
     private final SQLite sqlite;
+    private final Object writeLock = new Object();
 
     public SQLiteUUIDService(final String fileName) {
         this.sqlite =
@@ -58,12 +66,38 @@ public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping
             e.printStackTrace();
         }
 
+        try (final Statement stmt = getConnection().createStatement()) {
+            // Readers don't block the writer (and the other way around) in WAL mode
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("PRAGMA synchronous=NORMAL");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
         try (PreparedStatement stmt = getConnection().prepareStatement(
                 "CREATE TABLE IF NOT EXISTS `usercache` (uuid VARCHAR(32) NOT NULL, username VARCHAR(32) NOT NULL, PRIMARY KEY (uuid))")) {
             stmt.execute();
         } catch (SQLException e) {
             e.printStackTrace();
         }
+
+        try (PreparedStatement stmt = getConnection().prepareStatement(
+                "CREATE INDEX IF NOT EXISTS `usercache_username` ON `usercache` (`username`)")) {
+            stmt.execute();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static @NonNull String parameters(final int amount) {
+        final StringBuilder builder = new StringBuilder(amount * 3);
+        for (int i = 0; i < amount; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append('?');
+        }
+        return builder.toString();
     }
 
     private Connection getConnection() {
@@ -75,13 +109,21 @@ public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping
     @Override
     public @NonNull List<UUIDMapping> getNames(final @NonNull List<UUID> uuids) {
         final List<UUIDMapping> mappings = new ArrayList<>(uuids.size());
-        try (final PreparedStatement statement = getConnection()
-                .prepareStatement("SELECT `username` FROM `usercache` WHERE `uuid` = ?")) {
-            for (final UUID uuid : uuids) {
-                statement.setString(1, uuid.toString());
-                try (final ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        mappings.add(new UUIDMapping(uuid, resultSet.getString("username")));
+        try {
+            for (int start = 0; start < uuids.size(); start += LOOKUP_BATCH_SIZE) {
+                final List<UUID> batch = uuids.subList(start, Math.min(uuids.size(), start + LOOKUP_BATCH_SIZE));
+                try (final PreparedStatement statement = getConnection().prepareStatement(
+                        "SELECT `uuid`, `username` FROM `usercache` WHERE `uuid` IN (" + parameters(batch.size()) + ")")) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        statement.setString(i + 1, batch.get(i).toString());
+                    }
+                    try (final ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            mappings.add(new UUIDMapping(
+                                    UUID.fromString(resultSet.getString("uuid")),
+                                    resultSet.getString("username")
+                            ));
+                        }
                     }
                 }
             }
@@ -94,16 +136,23 @@ public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping
     @Override
     public @NonNull List<UUIDMapping> getUUIDs(@NonNull List<String> usernames) {
         final List<UUIDMapping> mappings = new ArrayList<>(usernames.size());
-        try (final PreparedStatement statement = getConnection()
-                .prepareStatement("SELECT `uuid` FROM `usercache` WHERE `username` = ?")) {
-            for (final String username : usernames) {
-                statement.setString(1, username);
-                try (final ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        mappings.add(new UUIDMapping(
-                                UUID.fromString(resultSet.getString("uuid")),
-                                username
-                        ));
+        try {
+            for (int start = 0; start < usernames.size(); start += LOOKUP_BATCH_SIZE) {
+                final List<String> batch = usernames.subList(start, Math.min(usernames.size(), start + LOOKUP_BATCH_SIZE));
+                // Only the first mapping of every name is used, as names may have been re-used over time
+                final Set<String> found = new HashSet<>();
+                try (final PreparedStatement statement = getConnection().prepareStatement(
+                        "SELECT `uuid`, `username` FROM `usercache` WHERE `username` IN (" + parameters(batch.size()) + ")")) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        statement.setString(i + 1, batch.get(i));
+                    }
+                    try (final ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            final String username = resultSet.getString("username");
+                            if (found.add(username)) {
+                                mappings.add(new UUIDMapping(UUID.fromString(resultSet.getString("uuid")), username));
+                            }
+                        }
                     }
                 }
             }
@@ -115,34 +164,83 @@ public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping
 
     @Override
     public void accept(final List<UUIDMapping> uuidWrappers) {
-        try (final PreparedStatement statement = getConnection()
-                .prepareStatement("INSERT OR REPLACE INTO `usercache` (`uuid`, `username`) VALUES(?, ?)")) {
-            for (final UUIDMapping mapping : uuidWrappers) {
-                statement.setString(1, mapping.getUuid().toString());
-                statement.setString(2, mapping.getUsername());
-                statement.executeUpdate();
+        if (uuidWrappers.isEmpty()) {
+            return;
+        }
+        synchronized (this.writeLock) {
+            final Connection connection = getConnection();
+            try {
+                connection.setAutoCommit(false);
+                try (final PreparedStatement statement = connection
+                        .prepareStatement("INSERT OR REPLACE INTO `usercache` (`uuid`, `username`) VALUES(?, ?)")) {
+                    for (final UUIDMapping mapping : uuidWrappers) {
+                        statement.setString(1, mapping.getUuid().toString());
+                        statement.setString(2, mapping.getUsername());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                e.printStackTrace();
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {
+                }
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
     /**
-     * Read the entire cache at once
+     * Read the cache in batches, without keeping more than one batch in memory
      *
-     * @return All read mappings
+     * @param limit     Max amount of mappings to read
+     * @param batchSize Amount of mappings per batch
+     * @param consumer  Consumer of the batches
+     * @return Amount of read mappings
      */
-    public @NonNull List<UUIDMapping> getAll() {
-        final List<UUIDMapping> mappings = new LinkedList<>();
-        try (final PreparedStatement statement = getConnection().prepareStatement("SELECT * FROM `usercache`")) {
+    public int readAll(final int limit, final int batchSize, final @NonNull Consumer<List<UUIDMapping>> consumer) {
+        int read = 0;
+        try (final PreparedStatement statement = getConnection()
+                .prepareStatement("SELECT `uuid`, `username` FROM `usercache` LIMIT ?")) {
+            statement.setInt(1, limit);
+            statement.setFetchSize(batchSize);
             try (final ResultSet resultSet = statement.executeQuery()) {
+                List<UUIDMapping> batch = new ArrayList<>(batchSize);
                 while (resultSet.next()) {
-                    mappings.add(new UUIDMapping(UUID.fromString(resultSet.getString("uuid")), resultSet.getString("username")));
+                    batch.add(new UUIDMapping(UUID.fromString(resultSet.getString("uuid")), resultSet.getString("username")));
+                    read++;
+                    if (batch.size() >= batchSize) {
+                        consumer.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    consumer.accept(batch);
                 }
             }
         } catch (final Exception e) {
             e.printStackTrace();
         }
+        return read;
+    }
+
+    /**
+     * Read the entire cache at once
+     *
+     * @return All read mappings
+     * @deprecated Loads the whole table into memory. Use {@link #readAll(int, int, Consumer)} instead
+     */
+    @Deprecated
+    public @NonNull List<UUIDMapping> getAll() {
+        final List<UUIDMapping> mappings = new ArrayList<>();
+        this.readAll(Integer.MAX_VALUE, LOOKUP_BATCH_SIZE, mappings::addAll);
         return mappings;
     }
 
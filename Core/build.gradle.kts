@@ -1,5 +1,9 @@
 import java.time.format.DateTimeFormatter
 
+plugins {
+    alias(libs.plugins.jmh)
+}
+
 dependencies {
     // Expected everywhere.
     compileOnlyApi(libs.checkerqual)
@@ -45,6 +49,23 @@ dependencies {
     }
     api(libs.arkitektonika)
     api(libs.paster)
+
+    // Benchmarks, which run without the server that otherwise provides these
+    jmh(libs.guava)
+    jmh(libs.gson)
+    jmh(libs.log4j)
+    jmh(libs.snakeyaml)
+    jmh(libs.worldeditCore) {
+        exclude(group = "bukkit-classloader-check")
+        exclude(group = "mockito-core")
+        exclude(group = "dummypermscompat")
+    }
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.core)
+    // Report the allocations per operation next to the time per operation
+    profilers.add("gc")
 }
 
 tasks.processResources {
@@ -0,0 +1,217 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.google.inject.Injector;
+import com.plotsquared.core.PlotPlatform;
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.generator.GeneratorWrapper;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.location.World;
+import com.plotsquared.core.player.PlotPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the plot lookups done by the block and player listeners for a location on a road,
+ * in an owned plot and in an unowned plot. Run with {@code gradlew :PlotSquared-Core:jmh}, the
+ * gc profiler reports the bytes allocated per lookup as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlotLookupBenchmark {
+
+    private static final UUID OWNER = UUID.fromString("84499644-ad72-454b-a19d-f28c28df382b");
+
+    @Param({"road", "owned", "unowned"})
+    public String target;
+
+    private PlotArea area;
+    private Location location;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (PlotSquared.get() == null) {
+            new PlotSquared(new BenchmarkPlatform(Files.createTempDirectory("plotsquared").toFile()), "Benchmark");
+        }
+        // 42 block wide plots and 7 block wide roads, plot 1;1 spans x and z 4 to 45
+        this.area = new HybridPlotWorld("world", null, null, null, null, null, null);
+        this.area.addPlotAbs(new Plot(this.area, PlotId.of(1, 1), OWNER));
+        this.location = switch (this.target) {
+            case "road" -> Location.at("world", 1, 64, 20);
+            case "owned" -> Location.at("world", 20, 64, 20);
+            default -> Location.at("world", 69, 64, 20);
+        };
+    }
+
+    @Benchmark
+    public Plot getPlotAbs() {
+        return this.area.getPlotAbs(this.location);
+    }
+
+    @Benchmark
+    public Plot getOwnedPlot() {
+        return this.area.getOwnedPlot(this.location);
+    }
+
+    @Benchmark
+    public boolean isPlot() {
+        return this.area.isPlot(this.location);
+    }
+
+    /**
+     * Just enough of a platform to create plots and areas: nothing is injected into them.
+     */
+    private static final class BenchmarkPlatform implements PlotPlatform<Object> {
+
+        private final File directory;
+        private final Injector injector = (Injector) Proxy.newProxyInstance(
+                Injector.class.getClassLoader(),
+                new Class<?>[]{Injector.class},
+                (proxy, method, args) -> null
+        );
+
+        private BenchmarkPlatform(final File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public File getDirectory() {
+            return this.directory;
+        }
+
+        @Override
+        public File worldContainer() {
+            return this.directory;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public int[] serverVersion() {
+            return new int[]{1, 17, 1};
+        }
+
+        @Override
+        public String serverImplementation() {
+            return "Benchmark";
+        }
+
+        @Override
+        public String serverNativePackage() {
+            return "";
+        }
+
+        @Override
+        public void startMetrics() {
+        }
+
+        @Override
+        public void setGenerator(final String world) {
+        }
+
+        @Override
+        public void unregister(final PlotPlayer<?> player) {
+        }
+
+        @Override
+        public GeneratorWrapper<?> getGenerator(final String world, final String name) {
+            return null;
+        }
+
+        @Override
+        public GeneratorWrapper<?> wrapPlotGenerator(final String world, final IndependentPlotGenerator generator) {
+            return null;
+        }
+
+        @Override
+        public World<?> getPlatformWorld(final String worldName) {
+            return null;
+        }
+
+        @Override
+        public Injector injector() {
+            return this.injector;
+        }
+
+        @Override
+        public Audience consoleAudience() {
+            return Audience.empty();
+        }
+
+        @Override
+        public String pluginsFormatted() {
+            return "";
+        }
+
+        @Override
+        public void copyCaptionMaps() {
+        }
+
+        @Override
+        public String toLegacyPlatformString(final Component component) {
+            return "";
+        }
+
+        @Override
+        public Locale getLocale() {
+            return Locale.ENGLISH;
+        }
+
+        @Override
+        public void setLocale(final Locale locale) {
+        }
+
+    }
+
+}
@@ -78,6 +78,7 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -109,6 +110,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
@@ -152,6 +155,8 @@ public class PlotSquared {
     private File storageFile;
     private EventDispatcher eventDispatcher;
     private PlotListener plotListener;
+    // Number of plots owned per player, aggregated over all registered plot areas
+    private final Map<UUID, Integer> plotCounts = new ConcurrentHashMap<>();
 
     /**
      * Initialize PlotSquared with the desired Implementation class.
@@ -387,6 +392,7 @@ public class PlotSquared {
             }
         }
         getPlotAreaManager().addPlotArea(plotArea);
+        plotArea.setOwnerIndexRegistered(true);
         plotArea.setupBorder();
         if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
             return;
@@ -433,6 +439,7 @@ public class PlotSquared {
      */
     public void removePlotArea(final @NonNull PlotArea area) {
         getPlotAreaManager().removePlotArea(area);
+        area.setOwnerIndexRegistered(false);
         setPlotsTmp(area);
     }
 
@@ -734,6 +741,32 @@ public class PlotSquared {
         }
     }
 
+    /**
+     * Get the number of plots (absolute, i.e. counting every sub-plot of a merged plot) owned
+     * by the given player across all registered plot areas. This does not iterate any plots.
+     *
+     * @param uuid the owner
+     * @return number of owned plots
+     */
+    public int getPlotCount(final @NonNull UUID uuid) {
+        return this.plotCounts.getOrDefault(uuid, 0);
+    }
+
+    /**
+     * Adjust the aggregated plot count of a player. This is maintained by {@link PlotArea}
+     * and should not be called elsewhere.
+     *
+     * @param uuid  the owner
+     * @param delta the amount of plots to add or subtract
+     */
+    @ApiStatus.Internal
+    public void adjustPlotCount(final @NonNull UUID uuid, final int delta) {
+        this.plotCounts.compute(uuid, (key, count) -> {
+            final int updated = (count == null ? 0 : count) + delta;
+            return updated <= 0 ? null : updated;
+        });
+    }
+
     /**
      * Unregisters a plot from local memory without calling the database.
      *
@@ -1206,13 +1239,17 @@ public class PlotSquared {
         try {
             eventDispatcher.unregisterAll();
             checkRoadRegenPersistence();
-            // Validate that all data in the db is correct
+            // Validate that the data of plots changed during this session is correct
             final HashSet<Plot> plots = new HashSet<>();
             try {
-                forEachPlotRaw(plots::add);
+                forEachPlotRaw(plot -> {
+                    if (plot.isDirty()) {
+                        plots.add(plot);
+                    }
+                });
             } catch (final Exception ignored) {
             }
-            DBFunc.validatePlots(plots);
+            DBFunc.validateDirtyPlots(plots);
 
             // Close the connection
             DBFunc.close();
@@ -0,0 +1,153 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * List of the sections that make up an incremental backup. Every line of a manifest
+ * holds the section coordinates and the hash of the section data in the {@link SectionStore}.
+ */
+final class BackupManifest {
+
+    static final String EXTENSION = ".backup";
+    private static final String HEADER = "# PlotSquared backup manifest v1";
+
+    private final List<Entry> entries;
+
+    BackupManifest(final @NonNull List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    static boolean isManifest(final @NonNull Path path) {
+        return path.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    /**
+     * Read a manifest from a file
+     *
+     * @param path Manifest file
+     * @return Manifest
+     * @throws IOException If the file cannot be read or is not a manifest
+     */
+    static @NonNull BackupManifest read(final @NonNull Path path) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a backup manifest: " + path);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final String[] split = line.split(" ");
+                if (split.length != 4) {
+                    throw new IOException("Malformed manifest entry '" + line + "' in " + path);
+                }
+                try {
+                    entries.add(new Entry(
+                            Integer.parseInt(split[0]),
+                            Integer.parseInt(split[1]),
+                            Integer.parseInt(split[2]),
+                            split[3]
+                    ));
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Malformed manifest entry '" + line + "' in " + path, e);
+                }
+            }
+        }
+        return new BackupManifest(entries);
+    }
+
+    /**
+     * Write the manifest to a file. The file is replaced atomically.
+     *
+     * @param path Manifest file
+     * @throws IOException If the file cannot be written
+     */
+    void write(final @NonNull Path path) throws IOException {
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (final Entry entry : this.entries) {
+                writer.write(entry.x + " " + entry.y + " " + entry.z + " " + entry.hash);
+                writer.newLine();
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @NonNull List<Entry> getEntries() {
+        return this.entries;
+    }
+
+
+    static final class Entry {
+
+        private final int x;
+        private final int y;
+        private final int z;
+        private final String hash;
+
+        Entry(final int x, final int y, final int z, final @NonNull String hash) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.hash = hash;
+        }
+
+        int getX() {
+            return this.x;
+        }
+
+        int getY() {
+            return this.y;
+        }
+
+        int getZ() {
+            return this.z;
+        }
+
+        @NonNull String getHash() {
+            return this.hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,313 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import com.google.common.hash.Hashing;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.BlockUtil;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.NBTInputStream;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.biome.BiomeTypes;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The contents of a single chunk section (16x16x16 blocks) of a plot, as stored by incremental backups.
+ * <p>
+ * The encoded data only depends on the blocks, block entities and biomes inside the plot, so
+ * sections that have not changed between two backups encode to the same bytes and share
+ * the same hash. Positions outside the plot are stored as palette index {@code 0} and are
+ * left untouched when the section is pasted.
+ */
+final class BackupSection {
+
+    private static final int VOLUME = 16 * 16 * 16;
+
+    private final int x;
+    private final int y;
+    private final int z;
+    private final String hash;
+    private final byte @NonNull [] data;
+
+    BackupSection(final int x, final int y, final int z, final byte @NonNull [] data) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.data = data;
+        this.hash = Hashing.sha256().hashBytes(data).toString();
+    }
+
+    /**
+     * Get the bounds of the given regions as {@code {minX, minY, minZ, maxX, maxY, maxZ}} arrays
+     *
+     * @param regions Regions
+     * @return Bounds
+     */
+    static int @NonNull [][] bounds(final @NonNull Collection<CuboidRegion> regions) {
+        final int[][] bounds = new int[regions.size()][];
+        int i = 0;
+        for (final CuboidRegion region : regions) {
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            bounds[i++] = new int[]{min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ()};
+        }
+        return bounds;
+    }
+
+    /**
+     * Get the coordinates of every chunk section that intersects with the given bounds
+     *
+     * @param bounds Bounds, see {@link #bounds(Collection)}
+     * @return Section coordinates as {@code {x, y, z}} arrays
+     */
+    static @NonNull List<int[]> sections(final int @NonNull [][] bounds) {
+        final Set<List<Integer>> seen = new LinkedHashSet<>();
+        final List<int[]> sections = new ArrayList<>();
+        for (final int[] bound : bounds) {
+            for (int sy = bound[1] >> 4; sy <= bound[4] >> 4; sy++) {
+                for (int sz = bound[2] >> 4; sz <= bound[5] >> 4; sz++) {
+                    for (int sx = bound[0] >> 4; sx <= bound[3] >> 4; sx++) {
+                        if (seen.add(List.of(sx, sy, sz))) {
+                            sections.add(new int[]{sx, sy, sz});
+                        }
+                    }
+                }
+            }
+        }
+        return sections;
+    }
+
+    private static boolean contains(final int @NonNull [][] bounds, final int x, final int y, final int z) {
+        for (final int[] bound : bounds) {
+            if (x >= bound[0] && y >= bound[1] && z >= bound[2] && x <= bound[3] && y <= bound[4] && z <= bound[5]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read a section from the world. The world is accessed on the calling thread.
+     *
+     * @param world  World to read from
+     * @param bounds Bounds of the plot, see {@link #bounds(Collection)}
+     * @param x      Section x coordinate
+     * @param y      Section y coordinate
+     * @param z      Section z coordinate
+     * @return Read section
+     */
+    static @NonNull BackupSection read(
+            final @NonNull World world, final int @NonNull [][] bounds,
+            final int x, final int y, final int z
+    ) {
+        final int minX = x << 4;
+        final int minY = y << 4;
+        final int minZ = z << 4;
+        final int[] blocks = new int[VOLUME];
+        final Map<BlockState, Integer> palette = new LinkedHashMap<>();
+        final Map<Integer, CompoundTag> tileEntities = new LinkedHashMap<>();
+        final int[] biomes = new int[256];
+        final Map<BiomeType, Integer> biomePalette = new LinkedHashMap<>();
+        BlockState lastState = null;
+        int lastId = 0;
+        for (int index = 0; index < VOLUME; index++) {
+            final int bx = minX + (index & 15);
+            final int by = minY + (index >> 8);
+            final int bz = minZ + (index >> 4 & 15);
+            if (!contains(bounds, bx, by, bz)) {
+                continue;
+            }
+            final BlockVector3 position = BlockVector3.at(bx, by, bz);
+            final BaseBlock block = world.getFullBlock(position);
+            final BlockState state = block.toImmutableState();
+            if (state != lastState) {
+                lastState = state;
+                lastId = palette.computeIfAbsent(state, key -> palette.size() + 1);
+            }
+            blocks[index] = lastId;
+            if (block.getNbtData() != null) {
+                tileEntities.put(index, block.getNbtData());
+            }
+            if (index < 256 || biomes[index & 255] == 0) {
+                final BiomeType biome = world.getBiome(position);
+                biomes[index & 255] = biomePalette.computeIfAbsent(biome, key -> biomePalette.size() + 1);
+            }
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(VOLUME + 512);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(palette.size());
+            for (final BlockState state : palette.keySet()) {
+                output.writeUTF(state.getAsString());
+            }
+            for (final int block : blocks) {
+                writeVarInt(output, block);
+            }
+            output.writeInt(tileEntities.size());
+            final NBTOutputStream nbt = new NBTOutputStream(output);
+            for (final Map.Entry<Integer, CompoundTag> entry : tileEntities.entrySet()) {
+                output.writeShort(entry.getKey());
+                nbt.writeNamedTag("", entry.getValue());
+            }
+            output.writeInt(biomePalette.size());
+            for (final BiomeType biome : biomePalette.keySet()) {
+                output.writeUTF(biome.getId());
+            }
+            for (final int biome : biomes) {
+                writeVarInt(output, biome);
+            }
+        } catch (final IOException e) {
+            // Writing to a byte array does not throw
+            throw new IllegalStateException(e);
+        }
+        return new BackupSection(x, y, z, bytes.toByteArray());
+    }
+
+    private static void writeVarInt(final @NonNull DataOutputStream output, int value) throws IOException {
+        while ((value & -128) != 0) {
+            output.writeByte(value & 127 | 128);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(final @NonNull DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = input.readUnsignedByte();
+            value |= (b & 127) << shift;
+            shift += 7;
+        } while ((b & 128) != 0);
+        return value;
+    }
+
+    /**
+     * Write the blocks and biomes of the section to the given queue
+     *
+     * @param queue Queue to write to
+     * @return Number of blocks that were set
+     * @throws IOException If the section data is malformed
+     */
+    int paste(final @NonNull QueueCoordinator queue) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(this.data));
+        final BlockState[] palette = new BlockState[input.readInt() + 1];
+        for (int i = 1; i < palette.length; i++) {
+            palette[i] = BlockUtil.get(input.readUTF());
+        }
+        final int[] blocks = new int[VOLUME];
+        for (int i = 0; i < VOLUME; i++) {
+            blocks[i] = readVarInt(input);
+        }
+        final int tileCount = input.readInt();
+        final Map<Integer, CompoundTag> tileEntities = new HashMap<>();
+        final NBTInputStream nbt = new NBTInputStream(input);
+        for (int i = 0; i < tileCount; i++) {
+            final int index = input.readShort();
+            final Tag tag = nbt.readNamedTag().getTag();
+            if (tag instanceof CompoundTag compoundTag) {
+                tileEntities.put(index, compoundTag);
+            }
+        }
+        final BiomeType[] biomePalette = new BiomeType[input.readInt() + 1];
+        for (int i = 1; i < biomePalette.length; i++) {
+            biomePalette[i] = BiomeTypes.get(input.readUTF());
+        }
+        final BiomeType[] biomes = new BiomeType[256];
+        for (int i = 0; i < biomes.length; i++) {
+            biomes[i] = biomePalette[readVarInt(input)];
+        }
+
+        final int minX = this.x << 4;
+        final int minY = this.y << 4;
+        final int minZ = this.z << 4;
+        int count = 0;
+        for (int index = 0; index < VOLUME; index++) {
+            final BlockState state = palette[blocks[index]];
+            if (state == null) {
+                continue;
+            }
+            final int bx = minX + (index & 15);
+            final int by = minY + (index >> 8);
+            final int bz = minZ + (index >> 4 & 15);
+            final CompoundTag tag = tileEntities.get(index);
+            if (tag != null) {
+                queue.setBlock(bx, by, bz, state.toBaseBlock(tag));
+            } else {
+                queue.setBlock(bx, by, bz, state);
+            }
+            final BiomeType biome = biomes[index & 255];
+            if (biome != null) {
+                queue.setBiome(bx, by, bz, biome);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    byte @NonNull [] getData() {
+        return this.data;
+    }
+
+    int getX() {
+        return this.x;
+    }
+
+    int getY() {
+        return this.y;
+    }
+
+    int getZ() {
+        return this.z;
+    }
+
+    @NonNull String getHash() {
+        return this.hash;
+    }
+
+}
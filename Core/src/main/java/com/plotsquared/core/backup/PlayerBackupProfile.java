@@ -27,15 +27,22 @@ package com.plotsquared.core.backup;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
+import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.player.ConsolePlayer;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.schematic.Schematic;
+import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.YieldRunnable;
+import com.sk89q.worldedit.world.World;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -46,10 +53,14 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * A profile associated with a player (normally a plot owner) and a
@@ -59,28 +70,33 @@ import java.util.concurrent.CompletableFuture;
 public class PlayerBackupProfile implements BackupProfile {
 
     static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlayerBackupProfile.class.getSimpleName());
+    private static final long SLICE_TIME = 40;
 
     private final UUID owner;
     private final Plot plot;
     private final BackupManager backupManager;
     private final SchematicHandler schematicHandler;
+    private final WorldUtil worldUtil;
     private final Object backupLock = new Object();
     private volatile List<Backup> backupCache;
 
     @Inject
     public PlayerBackupProfile(
             @Assisted final @NonNull UUID owner, @Assisted final @NonNull Plot plot,
-            final @NonNull BackupManager backupManager, final @NonNull SchematicHandler schematicHandler
+            final @NonNull BackupManager backupManager, final @NonNull SchematicHandler schematicHandler,
+            final @NonNull WorldUtil worldUtil
     ) {
         this.owner = owner;
         this.plot = plot;
         this.backupManager = backupManager;
         this.schematicHandler = schematicHandler;
+        this.worldUtil = worldUtil;
     }
 
     private static boolean isValidFile(final @NonNull Path path) {
         final String name = path.getFileName().toString();
-        return name.endsWith(".schem") || name.endsWith(".schematic");
+        return name.endsWith(".schem") || name.endsWith(".schematic") || BackupManifest.isManifest(path);
     }
 
     private static Path resolve(final @NonNull Path parent, final String child) {
@@ -117,7 +133,7 @@ public class PlayerBackupProfile implements BackupProfile {
                 }
                 final List<Backup> backups = new ArrayList<>();
                 try {
-                    Files.walk(path).filter(PlayerBackupProfile::isValidFile).forEach(file -> {
+                    Files.walk(path, 1).filter(PlayerBackupProfile::isValidFile).forEach(file -> {
                         try {
                             final BasicFileAttributes basicFileAttributes =
                                     Files.readAttributes(file, BasicFileAttributes.class);
@@ -142,8 +158,11 @@ public class PlayerBackupProfile implements BackupProfile {
             if (error != null) {
                 error.printStackTrace();
             }
-            backups.forEach(Backup::delete);
-            this.backupCache = null;
+            synchronized (this.backupLock) {
+                backups.forEach(Backup::delete);
+                this.collectGarbage();
+                this.backupCache = null;
+            }
         });
     }
 
@@ -154,8 +173,15 @@ public class PlayerBackupProfile implements BackupProfile {
         ), Objects.requireNonNull(owner.toString(), "owner"));
     }
 
+    private @NonNull SectionStore getSectionStore() {
+        return new SectionStore(this.getBackupDirectory().resolve("sections"));
+    }
+
     @Override
     public @NonNull CompletableFuture<Backup> createBackup() {
+        if (Settings.Backup.INCREMENTAL) {
+            return this.createIncrementalBackup();
+        }
         final CompletableFuture<Backup> future = new CompletableFuture<>();
         this.listBackups().thenAcceptAsync(backups -> {
             synchronized (this.backupLock) {
@@ -176,11 +202,182 @@ public class PlayerBackupProfile implements BackupProfile {
         return future;
     }
 
+    /**
+     * Create a backup that only stores the chunk sections that differ from the sections
+     * already stored for this profile
+     */
+    private @NonNull CompletableFuture<Backup> createIncrementalBackup() {
+        final CompletableFuture<Backup> future = new CompletableFuture<>();
+        final SectionStore store = this.getSectionStore();
+        TaskManager.runTaskAsync(() -> {
+            final List<BackupSection> sections = new ArrayList<>();
+            this.readSections(sections::add).thenRunAsync(() -> {
+                // Deciding which sections to store and writing the manifest happens under the lock that
+                // garbage collection takes, so that no blob referenced by the new manifest can be deleted
+                synchronized (this.backupLock) {
+                    try {
+                        final List<BackupManifest.Entry> entries = new ArrayList<>(sections.size());
+                        int written = 0;
+                        for (final BackupSection section : sections) {
+                            if (store.write(section)) {
+                                written++;
+                            }
+                            entries.add(new BackupManifest.Entry(section.getX(), section.getY(), section.getZ(), section.getHash()));
+                        }
+                        final long time = System.currentTimeMillis();
+                        final Path path = this.getBackupDirectory().resolve(
+                                plot.getArea() + "-" + plot.getId().toDashSeparatedString() + "-" + time + BackupManifest.EXTENSION);
+                        new BackupManifest(entries).write(path);
+                        LOGGER.debug("Backed up plot {}: {} of {} sections changed", plot, written, sections.size());
+                        this.backupCache = null;
+                        this.pruneBackups(path);
+                        future.complete(new Backup(this, time, path));
+                    } catch (final IOException e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+            }).exceptionally(throwable -> {
+                future.completeExceptionally(throwable);
+                return null;
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Delete the oldest backups until the backup limit is respected, then delete the
+     * sections that are no longer referenced. Must be called with the backup lock held.
+     *
+     * @param latest Backup that was just created
+     */
+    private void pruneBackups(final @NonNull Path latest) {
+        final List<Backup> backups = this.listBackups().join();
+        int remaining = backups.size();
+        for (int i = backups.size() - 1; i >= 0 && remaining > backupManager.getBackupLimit(); i--) {
+            final Backup backup = backups.get(i);
+            if (!latest.equals(backup.getFile())) {
+                backup.delete();
+                remaining--;
+            }
+        }
+        this.backupCache = null;
+        this.collectGarbage();
+    }
+
+    /**
+     * Delete the stored sections that are not referenced by any manifest. Must be called
+     * with the backup lock held.
+     */
+    private void collectGarbage() {
+        final List<BackupManifest> manifests = new ArrayList<>();
+        final Path directory = this.getBackupDirectory();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (BackupManifest.isManifest(file)) {
+                    manifests.add(BackupManifest.read(file));
+                }
+            }
+            final int deleted = this.getSectionStore().retain(manifests);
+            if (deleted > 0) {
+                LOGGER.debug("Deleted {} unreferenced backup sections of plot {}", deleted, plot);
+            }
+        } catch (final IOException e) {
+            // Keep every section if a manifest cannot be read
+            LOGGER.error("Failed to clean up the backup sections of plot {}", plot, e);
+        }
+    }
+
+    /**
+     * Read every chunk section of the plot. The world is read on the main thread, in slices of
+     * {@value #SLICE_TIME} milliseconds per tick.
+     *
+     * @param consumer Consumer of the sections, called on the main thread
+     * @return Future that completes once every section has been read
+     */
+    private @NonNull CompletableFuture<Void> readSections(final @NonNull Consumer<BackupSection> consumer) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final World world = this.worldUtil.getWeWorld(Objects.requireNonNull(plot.getWorldName()));
+        final int[][] bounds = BackupSection.bounds(plot.getRegions());
+        final List<int[]> sections = BackupSection.sections(bounds);
+        TaskManager.runTask(new YieldRunnable() {
+            int index = 0;
+
+            @Override
+            public void run() {
+                try {
+                    final long start = System.currentTimeMillis();
+                    for (; this.index < sections.size(); this.index++) {
+                        if (System.currentTimeMillis() - start > SLICE_TIME) {
+                            this.yield();
+                            return;
+                        }
+                        final int[] section = sections.get(this.index);
+                        consumer.accept(BackupSection.read(world, bounds, section[0], section[1], section[2]));
+                    }
+                    future.complete(null);
+                } catch (final Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Restore an incremental backup. Only the sections that differ from the sections
+     * currently in the world are pasted.
+     */
+    private void restoreIncrementalBackup(final @NonNull Path path, final @NonNull CompletableFuture<Void> future) {
+        final BackupManifest manifest;
+        try {
+            manifest = BackupManifest.read(path);
+        } catch (final IOException e) {
+            future.completeExceptionally(new IllegalArgumentException(
+                    "The backup is non-existent or not in the correct format", e));
+            return;
+        }
+        final SectionStore store = this.getSectionStore();
+        final Map<List<Integer>, BackupManifest.Entry> entries = new HashMap<>();
+        for (final BackupManifest.Entry entry : manifest.getEntries()) {
+            entries.put(List.of(entry.getX(), entry.getY(), entry.getZ()), entry);
+        }
+        final List<BackupManifest.Entry> changed = new ArrayList<>();
+        this.readSections(section -> {
+            final BackupManifest.Entry entry = entries.get(List.of(section.getX(), section.getY(), section.getZ()));
+            if (entry != null && !entry.getHash().equals(section.getHash())) {
+                changed.add(entry);
+            }
+        }).thenRunAsync(() -> {
+            if (changed.isEmpty()) {
+                future.complete(null);
+                return;
+            }
+            final QueueCoordinator queue = plot.getArea().getQueue();
+            try {
+                for (final BackupManifest.Entry entry : changed) {
+                    store.read(entry).paste(queue);
+                }
+            } catch (final IOException e) {
+                future.completeExceptionally(new IllegalArgumentException(
+                        "The backup is non-existent or not in the correct format", e));
+                return;
+            }
+            LOGGER.debug("Restoring {} of {} sections of plot {}", changed.size(), entries.size(), plot);
+            queue.setCompleteTask(() -> future.complete(null));
+            queue.enqueue();
+        }).exceptionally(throwable -> {
+            future.completeExceptionally(throwable);
+            return null;
+        });
+    }
+
     @Override
     public @NonNull CompletableFuture<Void> restoreBackup(final @NonNull Backup backup, @Nullable PlotPlayer<?> player) {
         final CompletableFuture<Void> future = new CompletableFuture<>();
         if (backup.getFile() == null || !Files.exists(backup.getFile())) {
             future.completeExceptionally(new IllegalArgumentException("The specific backup does not exist"));
+        } else if (BackupManifest.isManifest(backup.getFile())) {
+            TaskManager.runTaskAsync(() -> this.restoreIncrementalBackup(backup.getFile(), future));
         } else {
             TaskManager.runTaskAsync(() -> {
                 Schematic schematic = null;
@@ -0,0 +1,134 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content addressed storage of {@link BackupSection} data. Every blob is stored once,
+ * in a file named after the hash of its contents.
+ */
+final class SectionStore {
+
+    private final Path directory;
+
+    SectionStore(final @NonNull Path directory) {
+        this.directory = directory;
+    }
+
+    private @NonNull Path path(final @NonNull String hash) {
+        return this.directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Get the hashes of every stored blob
+     *
+     * @return Stored hashes
+     * @throws IOException If the store cannot be listed
+     */
+    @NonNull Set<String> hashes() throws IOException {
+        if (!Files.exists(this.directory)) {
+            return new HashSet<>();
+        }
+        try (Stream<Path> files = Files.walk(this.directory, 2)) {
+            return files.filter(Files::isRegularFile).map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Store the data of a section, unless a blob with the same hash exists already
+     *
+     * @param section Section to store
+     * @return {@code true} if a new blob was written
+     * @throws IOException If the blob cannot be written
+     */
+    boolean write(final @NonNull BackupSection section) throws IOException {
+        final byte[] data = section.getData();
+        final Path path = this.path(section.getHash());
+        if (Files.exists(path)) {
+            return false;
+        }
+        Files.createDirectories(path.getParent());
+        final Path temporary = path.resolveSibling(section.getHash() + ".tmp");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+            output.write(data);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    /**
+     * Read a section from the store
+     *
+     * @param entry Manifest entry of the section
+     * @return Section
+     * @throws IOException If the blob is missing or cannot be read
+     */
+    @NonNull BackupSection read(final BackupManifest.@NonNull Entry entry) throws IOException {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(this.path(entry.getHash())))) {
+            return new BackupSection(entry.getX(), entry.getY(), entry.getZ(), input.readAllBytes());
+        }
+    }
+
+    /**
+     * Delete every blob that is not referenced by one of the given manifests
+     *
+     * @param manifests Manifests of the remaining backups
+     * @return Number of deleted blobs
+     * @throws IOException If the store cannot be listed
+     */
+    int retain(final @NonNull List<BackupManifest> manifests) throws IOException {
+        final Set<String> referenced = new HashSet<>();
+        for (final BackupManifest manifest : manifests) {
+            for (final BackupManifest.Entry entry : manifest.getEntries()) {
+                referenced.add(entry.getHash());
+            }
+        }
+        int deleted = 0;
+        for (final String hash : this.hashes()) {
+            if (!referenced.contains(hash)) {
+                Files.deleteIfExists(this.path(hash));
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+}
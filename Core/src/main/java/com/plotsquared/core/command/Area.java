@@ -759,6 +759,7 @@ public class Area extends SubCommand {
                     return false;
                 }
                 QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                queue.setPriority(QueueCoordinator.PRIORITY_BACKGROUND);
                 queue.setChunkConsumer(chunk -> AugmentedUtils.generate(
                         null,
                         area.getWorldName(),
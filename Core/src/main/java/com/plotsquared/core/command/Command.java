@@ -250,25 +250,51 @@ public abstract class Command {
             PlotPlayer<?> player, List<T> c, int size, int page,
             RunnableVal3<Integer, T, CaptionHolder> add, String baseCommand, Caption header
     ) {
-        // Calculate pages & index
-        if (page < 0) {
-            page = 0;
-        }
-        int totalPages = (int) Math.floor((double) c.size() / size);
-        if (page > totalPages) {
-            page = totalPages;
-        }
+        page = getPageIndex(page, c.size(), size);
         int max = page * size + size;
         if (max > c.size()) {
             max = c.size();
         }
+        paginate(player, c.subList(page * size, max), c.size(), size, page, add, baseCommand, header);
+    }
+
+    /**
+     * Clamp a page index to the pages available for a number of entries
+     *
+     * @param page  Requested page, indexed from 0
+     * @param total Total number of entries
+     * @param size  Page size
+     * @return Page index between 0 and the last page
+     */
+    public static int getPageIndex(final int page, final int total, final int size) {
+        final int totalPages = (int) Math.floor((double) total / size);
+        return Math.max(0, Math.min(page, totalPages));
+    }
+
+    /**
+     * Send a single page of entries, for when the entries of other pages were never collected
+     *
+     * @param player      Caller
+     * @param subList     Entries on the page
+     * @param total       Total number of entries across all pages
+     * @param size        Page size
+     * @param page        Page index, indexed from 0 and clamped with {@link #getPageIndex(int, int, int)}
+     * @param add         Entry formatter
+     * @param baseCommand Command used to turn pages
+     * @param header      Header caption
+     * @param <T>         Entry type
+     */
+    public <T> void paginate(
+            PlotPlayer<?> player, List<T> subList, int total, int size, int page,
+            RunnableVal3<Integer, T, CaptionHolder> add, String baseCommand, Caption header
+    ) {
+        int totalPages = (int) Math.floor((double) total / size);
         // Send the header
         Template curTemplate = Template.of("cur", String.valueOf(page + 1));
         Template maxTemplate = Template.of("max", String.valueOf(totalPages + 1));
-        Template amountTemplate = Template.of("amount", String.valueOf(c.size()));
+        Template amountTemplate = Template.of("amount", String.valueOf(total));
         player.sendMessage(header, curTemplate, maxTemplate, amountTemplate);
         // Send the page content
-        List<T> subList = c.subList(page * size, max);
         int i = page * size;
         for (T obj : subList) {
             i++;
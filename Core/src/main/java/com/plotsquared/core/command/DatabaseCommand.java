@@ -55,6 +55,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -63,7 +64,7 @@ import java.util.Map.Entry;
         category = CommandCategory.ADMINISTRATION,
         permission = "plots.database",
         requiredType = RequiredType.CONSOLE,
-        usage = "/plot database [area] <sqlite | mysql | import>")
+        usage = "/plot database [area] <sqlite | mysql | import | validate>")
 public class DatabaseCommand extends SubCommand {
 
     private final PlotAreaManager plotAreaManager;
@@ -108,7 +109,7 @@ public class DatabaseCommand extends SubCommand {
         if (args.length < 1) {
             player.sendMessage(
                     TranslatableCaption.of("commandconfig.command_syntax"),
-                    Template.of("value", "/plot database [area] <sqlite | mysql | import>")
+                    Template.of("value", "/plot database [area] <sqlite | mysql | import | validate>")
             );
             return false;
         }
@@ -123,7 +124,7 @@ public class DatabaseCommand extends SubCommand {
         if (args.length < 1) {
             player.sendMessage(
                     TranslatableCaption.of("commandconfig.command_syntax"),
-                    Template.of("value", "/plot database [area] <sqlite|mysql|import>")
+                    Template.of("value", "/plot database [area] <sqlite|mysql|import|validate>")
             );
             player.sendMessage(TranslatableCaption.of("database.arg"));
             return false;
@@ -132,6 +133,15 @@ public class DatabaseCommand extends SubCommand {
             Database implementation;
             String prefix = "";
             switch (args[0].toLowerCase()) {
+                case "validate" -> {
+                    final HashSet<Plot> toValidate = new HashSet<>(plots);
+                    player.sendMessage(TranslatableCaption.of("database.starting_validation"));
+                    TaskManager.runTaskAsync(() -> {
+                        DBFunc.validatePlots(toValidate);
+                        player.sendMessage(TranslatableCaption.of("database.validation_done"));
+                    });
+                    return true;
+                }
                 case "import" -> {
                     if (args.length < 2) {
                         player.sendMessage(
@@ -25,16 +25,22 @@
  */
 package com.plotsquared.core.command;
 
+import com.google.common.cache.CacheStats;
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.caption.StaticCaption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.database.SQLManager;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.ChunkCoordinator;
+import com.plotsquared.core.queue.ChunkCoordinatorScheduler;
 import com.plotsquared.core.util.StringMan;
 import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.entity.EntityCategory;
+import com.plotsquared.core.util.placeholders.PlaceholderRegistry;
 import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.uuid.UUIDMapping;
@@ -46,6 +52,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -60,14 +67,17 @@ public class Debug extends SubCommand {
 
     private final PlotAreaManager plotAreaManager;
     private final WorldUtil worldUtil;
+    private final ChunkCoordinatorScheduler chunkCoordinatorScheduler;
 
     @Inject
     public Debug(
             final @NonNull PlotAreaManager plotAreaManager,
-            final @NonNull WorldUtil worldUtil
+            final @NonNull WorldUtil worldUtil,
+            final @NonNull ChunkCoordinatorScheduler chunkCoordinatorScheduler
     ) {
         this.plotAreaManager = plotAreaManager;
         this.worldUtil = worldUtil;
+        this.chunkCoordinatorScheduler = chunkCoordinatorScheduler;
     }
 
     @Override
@@ -75,7 +85,7 @@ public class Debug extends SubCommand {
         if (args.length == 0) {
             player.sendMessage(
                     TranslatableCaption.of("commandconfig.command_syntax"),
-                    Template.of("value", "/plot debug <loadedchunks | player | debug-players | entitytypes | msg>")
+                    Template.of("value", "/plot debug <loadedchunks | player | debug-players | entitytypes | database | queue | placeholders | msg>")
             );
         }
         if (args.length > 0) {
@@ -98,6 +108,56 @@ public class Debug extends SubCommand {
                             - start) + "ms) using thread: " + Thread.currentThread().getName())));
             return true;
         }
+        if (args.length > 0 && "database".equalsIgnoreCase(args[0])) {
+            if (!(DBFunc.dbManager instanceof SQLManager manager)) {
+                player.sendMessage(TranslatableCaption.of("debug.database_unavailable"));
+                return true;
+            }
+            player.sendMessage(
+                    TranslatableCaption.of("debug.database_writer"),
+                    Template.of("writers", String.valueOf(manager.getWriterCount())),
+                    Template.of("queued", String.valueOf(manager.getQueueDepth())),
+                    Template.of("statements", String.valueOf(manager.getWrittenStatements())),
+                    Template.of("batches", String.valueOf(manager.getExecutedBatches())),
+                    Template.of("average", String.format("%.2f", manager.getAverageLatency())),
+                    Template.of("max", String.format("%.2f", manager.getMaxLatency()))
+            );
+            return true;
+        }
+        if (args.length > 0 && "queue".equalsIgnoreCase(args[0])) {
+            final List<ChunkCoordinator> coordinators = this.chunkCoordinatorScheduler.getCoordinators();
+            player.sendMessage(
+                    TranslatableCaption.of("debug.queue_scheduler"),
+                    Template.of("amount", String.valueOf(coordinators.size())),
+                    Template.of("budget", String.format("%.2f", this.chunkCoordinatorScheduler.getBudget())),
+                    Template.of("tick", String.format("%.2f", this.chunkCoordinatorScheduler.getTickTime()))
+            );
+            for (final ChunkCoordinator coordinator : coordinators) {
+                player.sendMessage(
+                        TranslatableCaption.of("debug.queue_coordinator"),
+                        Template.of("processed", String.valueOf(coordinator.getProcessedChunks())),
+                        Template.of("total", String.valueOf(coordinator.getTotalChunks())),
+                        Template.of("progress", String.format("%.1f", coordinator.getProgress() * 100)),
+                        Template.of("throughput", String.format("%.1f", coordinator.getThroughput())),
+                        Template.of("batch", String.valueOf(coordinator.getBatchSize())),
+                        Template.of("priority", String.valueOf(coordinator.getPriority()))
+                );
+            }
+            return true;
+        }
+        if (args.length > 0 && "placeholders".equalsIgnoreCase(args[0])) {
+            final PlaceholderRegistry registry = PlotSquared.platform().placeholderRegistry();
+            final CacheStats stats = registry.getCacheStats();
+            player.sendMessage(
+                    TranslatableCaption.of("debug.placeholder_cache"),
+                    Template.of("size", String.valueOf(registry.getCacheSize())),
+                    Template.of("hits", String.valueOf(stats.hitCount())),
+                    Template.of("misses", String.valueOf(stats.missCount())),
+                    Template.of("rate", String.format("%.1f", stats.hitRate() * 100)),
+                    Template.of("evictions", String.valueOf(stats.evictionCount()))
+            );
+            return true;
+        }
         if (args.length > 0 && "uuids".equalsIgnoreCase(args[0])) {
             final Collection<UUIDMapping> mappings = PlotSquared.get().getImpromptuUUIDPipeline().getAllImmediately();
             player.sendMessage(
@@ -173,7 +233,7 @@ public class Debug extends SubCommand {
 
     @Override
     public Collection<Command> tab(final PlotPlayer<?> player, String[] args, boolean space) {
-        return Stream.of("loadedchunks", "debug-players", "entitytypes")
+        return Stream.of("loadedchunks", "debug-players", "entitytypes", "database", "queue")
                 .filter(value -> value.startsWith(args[0].toLowerCase(Locale.ENGLISH)))
                 .map(value -> new Command(null, false, value, "plots.admin", RequiredType.NONE, null) {
                 }).collect(Collectors.toList());
@@ -35,12 +35,14 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.expiration.ExpireManager;
+import com.plotsquared.core.plot.expiration.ExpirySweep;
 import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.StringMan;
+import com.plotsquared.core.util.TimeUtil;
 import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.RunnableVal;
 import net.kyori.adventure.text.minimessage.Template;
@@ -85,6 +87,7 @@ public class DebugExec extends SubCommand {
                         "calibrate-analysis",
                         "start-expire",
                         "stop-expire",
+                        "expire-status",
                         "remove-flag",
                         "start-rgar",
                         "stop-rgar"
@@ -163,6 +166,23 @@ public class DebugExec extends SubCommand {
                     }
                     return true;
                 }
+                case "expire-status" -> {
+                    final ExpirySweep sweep = ExpireManager.IMP == null ? null : ExpireManager.IMP.getSweep();
+                    if (sweep == null) {
+                        player.sendMessage(TranslatableCaption.of("debugexec.task_not_running"));
+                        return true;
+                    }
+                    final long eta = sweep.getEstimatedTimeRemaining();
+                    player.sendMessage(
+                            TranslatableCaption.of("debugexec.expiry_status"),
+                            Template.of("checked", String.valueOf(sweep.getChecked())),
+                            Template.of("total", String.valueOf(sweep.getTotal())),
+                            Template.of("expired", String.valueOf(sweep.getExpired())),
+                            Template.of("throughput", String.format("%.1f", sweep.getThroughput())),
+                            Template.of("eta", eta < 0 ? "?" : TimeUtil.secToTime(eta))
+                    );
+                    return true;
+                }
                 case "remove-flag" -> {
                     if (args.length != 2) {
                         player.sendMessage(
@@ -28,7 +28,6 @@ package com.plotsquared.core.command;
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
-import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.CaptionHolder;
 import com.plotsquared.core.configuration.caption.Templates;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
@@ -182,13 +181,16 @@ public class ListCmd extends SubCommand {
                 query.withSortingStrategy(SortingStrategy.SORT_BY_CREATION);
             }
 
-            final List<Plot> plots = query.asList();
+            // Only the displayed page is collected, the rest of the result is only counted
+            query.whereBasePlot();
+            final int count = query.count();
 
-            if (plots.isEmpty()) {
+            if (count == 0) {
                 player.sendMessage(TranslatableCaption.of("invalid.found_no_plots"));
                 return;
             }
-            displayPlots(player, plots, 12, page, args);
+            final int pageIndex = getPageIndex(page, count, 12);
+            displayPlots(player, query.page(pageIndex + 1, 12), count, 12, pageIndex, args);
         };
 
         switch (arg) {
@@ -409,12 +411,31 @@ public class ListCmd extends SubCommand {
     }
 
     public void displayPlots(final PlotPlayer<?> player, List<Plot> plots, int pageSize, int page, String[] args) {
-        // Header
         plots.removeIf(plot -> !plot.isBasePlot());
-        this.paginate(player, plots, pageSize, page, new RunnableVal3<>() {
+        final int pageIndex = getPageIndex(page, plots.size(), pageSize);
+        final int max = Math.min(plots.size(), pageIndex * pageSize + pageSize);
+        displayPlots(player, plots.subList(pageIndex * pageSize, max), plots.size(), pageSize, pageIndex, args);
+    }
+
+    /**
+     * Display a single page of plots
+     *
+     * @param player   Player to display the plots to
+     * @param plots    Plots on the page
+     * @param total    Total number of plots across all pages
+     * @param pageSize Page size
+     * @param page     Page index, indexed from 0
+     * @param args     Command arguments
+     */
+    public void displayPlots(
+            final PlotPlayer<?> player, List<Plot> plots, int total, int pageSize, int page,
+            String[] args
+    ) {
+        // Header
+        this.paginate(player, plots, total, pageSize, page, new RunnableVal3<>() {
             @Override
             public void run(Integer i, Plot plot, CaptionHolder caption) {
-                Caption color;
+                TranslatableCaption color;
                 if (plot.getOwner() == null) {
                     color = TranslatableCaption.of("info.plot_list_no_owner");
                 } else if (plot.isOwner(player.getUUID())) {
@@ -426,12 +447,12 @@ public class ListCmd extends SubCommand {
                 } else {
                     color = TranslatableCaption.of("info.plot_list_default");
                 }
-                Component trusted = MINI_MESSAGE.parse(
-                        TranslatableCaption.of("info.plot_info_trusted").getComponent(player),
+                Component trusted = TranslatableCaption.of("info.plot_info_trusted").toComponent(
+                        player,
                         Template.of("trusted", PlayerManager.getPlayerList(plot.getTrusted(), player))
                 );
-                Component members = MINI_MESSAGE.parse(
-                        TranslatableCaption.of("info.plot_info_members").getComponent(player),
+                Component members = TranslatableCaption.of("info.plot_info_members").toComponent(
+                        player,
                         Template.of("members", PlayerManager.getPlayerList(plot.getMembers(), player))
                 );
                 Template command_tp = Template.of("command_tp", "/plot visit " + plot.getArea() + ";" + plot.getId());
@@ -449,12 +470,12 @@ public class ListCmd extends SubCommand {
                 Template numberTemplate = Template.of("number", String.valueOf(i));
                 Template plotTemplate = Template.of(
                         "plot",
-                        MINI_MESSAGE.parse(color.getComponent(player), Template.of("plot", plot.toString()))
+                        color.toComponent(player, Template.of("plot", plot.toString()))
                 );
 
                 String prefix = "";
-                String online = TranslatableCaption.of("info.plot_list_player_online").getComponent(player);
-                String offline = TranslatableCaption.of("info.plot_list_player_offline").getComponent(player);
+                TranslatableCaption online = TranslatableCaption.of("info.plot_list_player_online");
+                TranslatableCaption offline = TranslatableCaption.of("info.plot_list_player_offline");
                 TextComponent.Builder builder = Component.text();
                 try {
                     final List<UUIDMapping> names = PlotSquared.get().getImpromptuUUIDPipeline().getNames(plot.getOwners())
@@ -464,9 +485,9 @@ public class ListCmd extends SubCommand {
                         Template prefixTemplate = Template.of("prefix", prefix);
                         Template playerTemplate = Template.of("player", uuidMapping.getUsername());
                         if (pp != null) {
-                            builder.append(MINI_MESSAGE.parse(online, prefixTemplate, playerTemplate));
+                            builder.append(online.toComponent(player, prefixTemplate, playerTemplate));
                         } else {
-                            builder.append(MINI_MESSAGE.parse(offline, prefixTemplate, playerTemplate));
+                            builder.append(offline.toComponent(player, prefixTemplate, playerTemplate));
                         }
                         prefix = ", ";
                     }
@@ -29,30 +29,29 @@ import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.caption.StaticCaption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
-import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.expiration.ExpireManager;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.RegionManager;
-import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.WorldUtil;
-import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.RunnableVal2;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.math.BlockVector2;
-import com.sk89q.worldedit.regions.CuboidRegion;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Set;
 
 @CommandDeclaration(command = "trim",
@@ -98,38 +97,33 @@ public class Trim extends SubCommand {
             return false;
         }
         TranslatableCaption.of("trim.trim_starting");
-        final List<Plot> plots = PlotQuery.newQuery().inWorld(world).asList();
-        if (ExpireManager.IMP != null) {
-            plots.removeAll(ExpireManager.IMP.getPendingExpired());
-        }
+        final Set<PlotArea> areas = PlotSquared.get().getPlotAreaManager().getPlotAreasSet(world);
+        final Collection<Plot> excluded = getExcludedPlots();
         result.value1 = new HashSet<>(PlotSquared.platform().worldUtil().getChunkChunks(world));
         result.value2 = new HashSet<>();
         StaticCaption.of(" - MCA #: " + result.value1.size());
         StaticCaption.of(" - CHUNKS: " + (result.value1.size() * 1024) + " (max)");
         StaticCaption.of(" - TIME ESTIMATE: 12 Parsecs");
-        TaskManager.getPlatformImplementation().objectTask(plots, new RunnableVal<>() {
-            @Override
-            public void run(Plot plot) {
-                Location pos1 = plot.getCorners()[0];
-                Location pos2 = plot.getCorners()[1];
-                int ccx1 = pos1.getX() >> 9;
-                int ccz1 = pos1.getZ() >> 9;
-                int ccx2 = pos2.getX() >> 9;
-                int ccz2 = pos2.getZ() >> 9;
-                for (int x = ccx1; x <= ccx2; x++) {
-                    for (int z = ccz1; z <= ccz2; z++) {
-                        BlockVector2 loc = BlockVector2.at(x, z);
-                        if (result.value1.remove(loc)) {
-                            result.value2.add(loc);
-                        }
+        TaskManager.runTaskAsync(() -> {
+            for (final PlotArea area : areas) {
+                for (final BlockVector2 region : area.getRegionOccupancy().getOccupiedRegions(excluded)) {
+                    if (result.value1.remove(region)) {
+                        result.value2.add(region);
                     }
                 }
             }
-        }).thenAccept(ignore ->
-                TaskManager.getPlatformImplementation().taskLater(result, TaskTime.ticks(1L)));
+            TaskManager.runTask(result);
+        });
         return true;
     }
 
+    private static @NonNull Collection<Plot> getExcludedPlots() {
+        if (ExpireManager.IMP == null) {
+            return Collections.emptySet();
+        }
+        return new ArrayList<>(ExpireManager.IMP.getPendingExpired());
+    }
+
     @Override
     public boolean onCommand(final PlotPlayer<?> player, String[] args) {
         if (args.length == 0) {
@@ -177,28 +171,12 @@ public class Trim extends SubCommand {
                                     chunks.add(loc);
                                 }
                             }
-                            int bx = cbx << 4;
-                            int bz = cbz << 4;
-                            CuboidRegion region =
-                                    RegionUtil.createRegion(bx, bx + 511, bz, bz + 511);
-                            for (Plot plot : PlotQuery.newQuery().inWorld(world)) {
-                                Location bot = plot.getBottomAbs();
-                                Location top = plot.getExtendedTopAbs();
-                                CuboidRegion plotReg = RegionUtil
-                                        .createRegion(bot.getX(), top.getX(), bot.getZ(), top.getZ());
-                                if (!RegionUtil.intersects(region, plotReg)) {
-                                    continue;
-                                }
-                                for (int x = plotReg.getMinimumPoint().getX() >> 4;
-                                     x <= plotReg.getMaximumPoint().getX() >> 4; x++) {
-                                    for (int z = plotReg.getMinimumPoint().getZ() >> 4;
-                                         z <= plotReg.getMaximumPoint().getZ() >> 4; z++) {
-                                        BlockVector2 loc = BlockVector2.at(x, z);
-                                        chunks.remove(loc);
-                                    }
-                                }
+                            for (final PlotArea area : plotAreaManager.getPlotAreasSet(world)) {
+                                chunks.removeAll(area.getRegionOccupancy()
+                                        .getOccupiedChunks(mcr.getX(), mcr.getZ(), Collections.emptySet()));
                             }
                             final QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(world));
+                            queue.setPriority(QueueCoordinator.PRIORITY_BACKGROUND);
                             TaskManager.getPlatformImplementation().objectTask(chunks, new RunnableVal<>() {
                                 @Override
                                 public void run(BlockVector2 value) {
@@ -415,6 +415,11 @@ public class Settings extends Config {
                 " - This will still only paste a schematic with a plot's bounds.",
                 " - If a schematic is too big, it will cut off, and if too small, will not full the plot."})
         public static boolean PASTE_MISMATCHES = true;
+        @Comment({"How many threads read a plot when it is exported to a schematic, e.g. for backups and downloads",
+                " - The plot is split into 16 block high slabs that are read independently",
+                " - With 1, the plot is read on the main thread in slices of 40ms per tick",
+                " - Higher values read the world asynchronously, only use them if your server supports that"})
+        public static int EXPORT_THREADS = 1;
 
     }
 
@@ -520,6 +525,9 @@ public class Settings extends Config {
                 "The value covers the permission range to check, you need to assign the permission to players/groups still",
                 "Modifying the value does NOT change the amount of plots players can claim"})
         public static int MAX_PLOTS = 127;
+        @Comment({"How many seconds a player's resolved permission ranges (e.g. plots.plot.<#>) are cached for",
+                "Ranges are also refreshed when the player changes world. Set to 0 to disable the cache"})
+        public static int PERMISSION_CACHE_EXPIRATION = 30;
 
     }
 
@@ -535,6 +543,11 @@ public class Settings extends Config {
                 BACKUP_LIMIT = 3;
         @Comment("Whether or not backups should be deleted when the plot is unclaimed")
         public static boolean DELETE_ON_UNCLAIM = true;
+        @Comment({"Store backups as deduplicated chunk sections instead of full schematics",
+                " - Sections that did not change since an earlier backup of the plot are not stored again",
+                " - Restoring only pastes the sections that differ from the plot",
+                " - Existing schematic backups can still be restored"})
+        public static boolean INCREMENTAL = true;
 
     }
 
@@ -619,6 +632,20 @@ public class Settings extends Config {
 
     }
 
+    @Comment("Settings related to plot expiry (see the clear.auto settings)")
+    public static final class Expiry {
+
+        @Comment("The max amount of plots that are analysed at the same time")
+        public static int CONCURRENT_ANALYSES = 2;
+        @Comment({"The max amount of expired plots waiting to be deleted.",
+                "Analysis of further plots pauses while the queue is full."})
+        public static int DELETION_QUEUE_SIZE = 16;
+        @Comment({"The amount of checked plots after which the position of the expiry task is saved.",
+                "A restarted server continues checking plots from this position."})
+        public static int CURSOR_SAVE_INTERVAL = 100;
+
+    }
+
     @Comment("Enable or disable all of or parts of the FAWE-P2 hook")
     public static final class FAWE_Components {
 
@@ -657,9 +684,15 @@ public class Settings extends Config {
     @Comment("Settings relating to PlotSquared's GlobalBlockQueue")
     public static final class QUEUE {
 
-        @Comment({"Average time per tick spent completing chunk tasks in ms.",
+        @Comment({"Max time per tick a single chunk task may spend accessing chunks in ms.",
                 "Queue will adjust the batch size to match this."})
         public static int MAX_ITERATION_TIME = 30;
+        @Comment({"Total time per tick in ms that is shared between all running chunk tasks.",
+                "Tasks are given a share of this in proportion to their priority."})
+        public static int TICK_BUDGET = 30;
+        @Comment({"Tick time in ms above which the queue reduces the tick budget and batch sizes.",
+                "A server running at 20 TPS has a tick time of 50 ms."})
+        public static int TARGET_TICK_TIME = 55;
         @Comment({"Initial number of chunks to process by the queue. This can be increased or",
                 "decreased by the queue based on the actual iteration time compared to above."})
         public static int INITIAL_BATCH_SIZE = 5;
@@ -690,6 +723,28 @@ public class Settings extends Config {
 
     }
 
+    @Comment("Settings related to the entity cap flags")
+    public static final class Entity_Caps {
+
+        @Comment({"The time in seconds after which the tracked entity counts of a plot are recounted.",
+                "Entity counts are updated when entities spawn or are removed, recounting corrects",
+                "entities that moved to another plot or were removed without an event."})
+        public static int RECOUNT_INTERVAL = 30;
+
+    }
+
+    @Comment("Settings related to placeholders")
+    public static final class Placeholders {
+
+        @Comment({"The time in seconds how long placeholder values may remain in cache.",
+                "Values are refreshed earlier when the plot or player they belong to changes.",
+                "0 will disable caching."})
+        public static int CACHE_EXPIRATION = 30;
+        @Comment("The maximum amount of players and plots to keep placeholder values in cache for")
+        public static int CACHE_SIZE = 10000;
+
+    }
+
     @Comment("Settings related to plot titles")
     public static final class Titles {
 
@@ -56,6 +56,9 @@ public class Storage extends Config {
         @Comment("Set additional properties: https://goo.gl/wngtN8")
         public static List<String>
                 PROPERTIES = new ArrayList<>(Collections.singletonList("useSSL=false"));
+        @Comment({"The amount of connections used to write queued changes to the database",
+                "Changes to the same plot, player or cluster are always written by the same connection"})
+        public static int WRITER_POOL_SIZE = 1;
 
     }
 
@@ -56,6 +56,40 @@ public interface CaptionMap {
     @NonNull String getMessage(final @NonNull TranslatableCaption caption, final @NonNull LocaleHolder localeHolder) throws
             NoSuchCaptionException;
 
+    /**
+     * Get a message compiled into a reusable component template, using a specific locale
+     *
+     * @param caption      Caption containing the caption key
+     * @param localeHolder Holder that determines the message locale
+     * @return Compiled caption
+     * @throws NoSuchCaptionException if no caption with the given key exists
+     */
+    default @NonNull CompiledCaption getCompiledMessage(
+            final @NonNull TranslatableCaption caption,
+            final @NonNull LocaleHolder localeHolder
+    ) throws NoSuchCaptionException {
+        return CompiledCaption.compile(this.getMessage(caption, localeHolder));
+    }
+
+    /**
+     * Get a message compiled into a reusable component template, using a specific locale. Every
+     * {@code <prefix>} in the message is replaced by the given prefix before it is compiled, so the
+     * tags of the prefix apply to the rest of the message as well.
+     *
+     * @param caption      Caption containing the caption key
+     * @param localeHolder Holder that determines the message locale
+     * @param prefix       MiniMessage string to replace {@code <prefix>} with
+     * @return Compiled caption
+     * @throws NoSuchCaptionException if no caption with the given key exists
+     */
+    default @NonNull CompiledCaption getCompiledMessage(
+            final @NonNull TranslatableCaption caption,
+            final @NonNull LocaleHolder localeHolder,
+            final @NonNull String prefix
+    ) throws NoSuchCaptionException {
+        return CompiledCaption.compile(this.getMessage(caption, localeHolder).replace("<prefix>", prefix));
+    }
+
     /**
      * Check if the map supports a given locale
      *
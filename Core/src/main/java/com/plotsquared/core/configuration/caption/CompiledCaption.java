@@ -0,0 +1,337 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.configuration.caption;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.Template;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A MiniMessage caption that has been parsed once into a component tree. Every template key in the caption
+ * is a slot in the tree, which is filled in by {@link #apply(Template...)} without parsing the caption again.
+ * <p>
+ * Substituting slots gives the same result as parsing the caption with the templates, as long as string
+ * template values are plain text. Whenever that cannot be guaranteed (values containing markup, component
+ * values inside click or hover arguments, missing templates, gradients, ...) the caption is parsed as usual.
+ */
+public final class CompiledCaption {
+
+    private static final Pattern SLOT_PATTERN = Pattern.compile("<([A-Za-z0-9_\\-]+)>");
+    // Tags known to MiniMessage, these are never treated as slots
+    private static final Set<String> TAGS = Set.of(
+            "black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray", "grey",
+            "dark_gray", "dark_grey", "blue", "green", "aqua", "red", "light_purple", "yellow", "white",
+            "color", "colour", "c", "bold", "b", "italic", "i", "em", "underlined", "u", "strikethrough", "st",
+            "obfuscated", "obf", "reset", "r", "newline", "br", "pre", "click", "hover", "key", "lang",
+            "insertion", "insert", "font", "rainbow", "gradient", "transition"
+    );
+    // Styles that colour each character separately, slots cannot be substituted within them
+    private static final String[] PER_CHARACTER_TAGS = {"<rainbow", "<gradient", "<transition"};
+    // Slots are marked with characters from the private use area while compiling
+    private static final char MARKER = '\uE000';
+    private static final int MAX_SLOTS = 256;
+
+    private final String source;
+    private final @Nullable Component tree;
+    private final Map<String, Integer> slots;
+    // Whether a slot is (also) used inside of a click, hover or insertion argument
+    private final boolean[] arguments;
+
+    private CompiledCaption(
+            final @NonNull String source,
+            final @Nullable Component tree,
+            final @NonNull Map<String, Integer> slots,
+            final boolean @NonNull [] arguments
+    ) {
+        this.source = source;
+        this.tree = tree;
+        this.slots = slots;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Compile a MiniMessage caption
+     *
+     * @param source MiniMessage string
+     * @return Compiled caption
+     */
+    public static @NonNull CompiledCaption compile(final @NonNull String source) {
+        final CompiledCaption uncompiled = new CompiledCaption(source, null, Map.of(), new boolean[0]);
+        if (source.indexOf('\\') != -1) {
+            return uncompiled;
+        }
+        final String lowerCase = source.toLowerCase(Locale.ENGLISH);
+        for (final String tag : PER_CHARACTER_TAGS) {
+            if (lowerCase.contains(tag)) {
+                return uncompiled;
+            }
+        }
+        for (int i = 0; i < source.length(); i++) {
+            if (isMarker(source.charAt(i), MAX_SLOTS)) {
+                return uncompiled;
+            }
+        }
+        final Map<String, Integer> slots = new LinkedHashMap<>();
+        final Matcher matcher = SLOT_PATTERN.matcher(source);
+        while (matcher.find()) {
+            final String key = matcher.group(1);
+            if (!TAGS.contains(key.toLowerCase(Locale.ENGLISH)) && !slots.containsKey(key)) {
+                if (slots.size() == MAX_SLOTS) {
+                    return uncompiled;
+                }
+                slots.put(key, slots.size());
+            }
+        }
+        String marked = source;
+        for (final Map.Entry<String, Integer> slot : slots.entrySet()) {
+            marked = marked.replace("<" + slot.getKey() + ">", String.valueOf((char) (MARKER + slot.getValue())));
+        }
+        int expected = 0;
+        for (int i = 0; i < marked.length(); i++) {
+            if (isMarker(marked.charAt(i), slots.size())) {
+                expected++;
+            }
+        }
+        final Component tree;
+        try {
+            tree = MiniMessage.get().parse(marked);
+        } catch (final Exception ignored) {
+            return uncompiled;
+        }
+        // Every slot has to end up somewhere it can be substituted
+        final boolean[] arguments = new boolean[slots.size()];
+        if (countMarkers(tree, slots.size(), arguments, false) != expected) {
+            return uncompiled;
+        }
+        return new CompiledCaption(source, tree, Map.copyOf(slots), arguments);
+    }
+
+    private static boolean isMarker(final char c, final int slots) {
+        return c >= MARKER && c < MARKER + slots;
+    }
+
+    private static int countMarkers(
+            final @NonNull Component component, final int slots,
+            final boolean @NonNull [] arguments, final boolean argument
+    ) {
+        int count = 0;
+        if (component instanceof TextComponent textComponent) {
+            count += countMarkers(textComponent.content(), slots, arguments, argument);
+        }
+        final Style style = component.style();
+        if (style.clickEvent() != null) {
+            count += countMarkers(style.clickEvent().value(), slots, arguments, true);
+        }
+        if (style.insertion() != null) {
+            count += countMarkers(style.insertion(), slots, arguments, true);
+        }
+        final HoverEvent<?> hoverEvent = style.hoverEvent();
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            count += countMarkers((Component) hoverEvent.value(), slots, arguments, true);
+        }
+        for (final Component child : component.children()) {
+            count += countMarkers(child, slots, arguments, argument);
+        }
+        return count;
+    }
+
+    private static int countMarkers(
+            final @NonNull String string, final int slots,
+            final boolean @NonNull [] arguments, final boolean argument
+    ) {
+        int count = 0;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (isMarker(c, slots)) {
+                arguments[c - MARKER] |= argument;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check whether a string template value is inserted verbatim by MiniMessage, i.e. whether
+     * it cannot be interpreted as (part of) a tag
+     */
+    private static boolean isPlain(final @NonNull String value, final boolean argument) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '<' || c == '\\' || argument && (c == '>' || c == '\'' || c == '"' || c == ':')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the MiniMessage string the caption was compiled from
+     *
+     * @return MiniMessage string
+     */
+    public @NonNull String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Check whether the caption could be compiled. If not, {@link #apply(Template...)} parses the caption
+     *
+     * @return {@code true} if the caption is compiled
+     */
+    public boolean isCompiled() {
+        return this.tree != null;
+    }
+
+    /**
+     * Create a component from the caption
+     *
+     * @param templates Templates to fill in
+     * @return Component, equal to what parsing the caption with the templates would produce
+     */
+    public @NonNull Component apply(final @NonNull Template... templates) {
+        if (this.tree == null) {
+            return MiniMessage.get().parse(this.source, templates);
+        }
+        final Object[] values = new Object[this.arguments.length];
+        int filled = 0;
+        for (final Template template : templates) {
+            final String key;
+            final Object value;
+            if (template instanceof Template.StringTemplate stringTemplate) {
+                key = stringTemplate.key();
+                value = stringTemplate.value();
+            } else if (template instanceof Template.ComponentTemplate componentTemplate) {
+                key = componentTemplate.key();
+                value = componentTemplate.value();
+            } else {
+                return MiniMessage.get().parse(this.source, templates);
+            }
+            final Integer slot = this.slots.get(key);
+            if (slot == null) {
+                // Templates may replace tags that were not considered to be slots
+                if (this.source.contains("<" + key + ">")) {
+                    return MiniMessage.get().parse(this.source, templates);
+                }
+                continue;
+            }
+            if (values[slot] != null) {
+                continue;
+            }
+            if (value instanceof String string ? !isPlain(string, this.arguments[slot]) : this.arguments[slot]) {
+                return MiniMessage.get().parse(this.source, templates);
+            }
+            values[slot] = value;
+            filled++;
+        }
+        if (filled != values.length) {
+            return MiniMessage.get().parse(this.source, templates);
+        }
+        return filled == 0 ? this.tree : this.substitute(this.tree, values);
+    }
+
+    private @NonNull Component substitute(final @NonNull Component component, final @NonNull Object @NonNull [] values) {
+        Style style = component.style();
+        final ClickEvent clickEvent = style.clickEvent();
+        if (clickEvent != null) {
+            style = style.clickEvent(ClickEvent.clickEvent(clickEvent.action(), this.substitute(clickEvent.value(), values)));
+        }
+        if (style.insertion() != null) {
+            style = style.insertion(this.substitute(style.insertion(), values));
+        }
+        final HoverEvent<?> hoverEvent = style.hoverEvent();
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            style = style.hoverEvent(HoverEvent.showText(this.substitute((Component) hoverEvent.value(), values)));
+        }
+        final List<Component> children = new ArrayList<>();
+        Component result = component;
+        if (component instanceof TextComponent textComponent) {
+            final String content = textComponent.content();
+            final StringBuilder text = new StringBuilder();
+            boolean first = true;
+            String head = null;
+            for (int i = 0; i < content.length(); i++) {
+                final char c = content.charAt(i);
+                if (!isMarker(c, values.length)) {
+                    text.append(c);
+                } else if (values[c - MARKER] instanceof String string) {
+                    text.append(string);
+                } else {
+                    // Component values are inserted as children, inheriting the style of this component
+                    if (first) {
+                        head = text.toString();
+                        first = false;
+                    } else {
+                        children.add(Component.text(text.toString()));
+                    }
+                    text.setLength(0);
+                    children.add((Component) values[c - MARKER]);
+                }
+            }
+            if (first) {
+                head = text.toString();
+            } else if (text.length() > 0) {
+                children.add(Component.text(text.toString()));
+            }
+            result = textComponent.content(head);
+        }
+        for (final Component child : component.children()) {
+            children.add(this.substitute(child, values));
+        }
+        return result.style(style).children(children);
+    }
+
+    private @NonNull String substitute(final @NonNull String string, final @NonNull Object @NonNull [] values) {
+        StringBuilder builder = null;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (isMarker(c, values.length)) {
+                if (builder == null) {
+                    builder = new StringBuilder(string.length() + 16).append(string, 0, i);
+                }
+                builder.append((String) values[c - MARKER]);
+            } else if (builder != null) {
+                builder.append(c);
+            }
+        }
+        return builder == null ? string : builder.toString();
+    }
+
+}
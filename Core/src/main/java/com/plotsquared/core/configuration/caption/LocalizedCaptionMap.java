@@ -31,11 +31,14 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LocalizedCaptionMap implements CaptionMap {
 
     private final Locale locale;
     private final Map<TranslatableCaption, String> captions;
+    private final Map<TranslatableCaption, CompiledCaption> compiledCaptions = new ConcurrentHashMap<>();
+    private final Map<TranslatableCaption, PrefixedCaption> prefixedCaptions = new ConcurrentHashMap<>();
 
     public LocalizedCaptionMap(Locale locale, Map<TranslatableCaption, String> captions) {
         this.locale = locale;
@@ -59,6 +62,29 @@ public class LocalizedCaptionMap implements CaptionMap {
         return getMessage(caption); // use the translation of this locale
     }
 
+    @Override
+    public @NonNull CompiledCaption getCompiledMessage(
+            final @NonNull TranslatableCaption caption,
+            final @NonNull LocaleHolder localeHolder
+    ) {
+        return this.compiledCaptions.computeIfAbsent(caption, key -> CompiledCaption.compile(getMessage(key)));
+    }
+
+    @Override
+    public @NonNull CompiledCaption getCompiledMessage(
+            final @NonNull TranslatableCaption caption,
+            final @NonNull LocaleHolder localeHolder,
+            final @NonNull String prefix
+    ) {
+        PrefixedCaption prefixed = this.prefixedCaptions.get(caption);
+        // The prefix only changes when the captions are reloaded
+        if (prefixed == null || !prefixed.prefix.equals(prefix)) {
+            prefixed = new PrefixedCaption(prefix, CompiledCaption.compile(getMessage(caption).replace("<prefix>", prefix)));
+            this.prefixedCaptions.put(caption, prefixed);
+        }
+        return prefixed.compiled;
+    }
+
     @Override
     public boolean supportsLocale(final @NonNull Locale locale) {
         return this.locale.equals(locale);
@@ -74,4 +100,16 @@ public class LocalizedCaptionMap implements CaptionMap {
         return ImmutableSet.copyOf(this.captions.keySet());
     }
 
+    private static final class PrefixedCaption {
+
+        private final String prefix;
+        private final CompiledCaption compiled;
+
+        private PrefixedCaption(final @NonNull String prefix, final @NonNull CompiledCaption compiled) {
+            this.prefix = prefix;
+            this.compiled = compiled;
+        }
+
+    }
+
 }
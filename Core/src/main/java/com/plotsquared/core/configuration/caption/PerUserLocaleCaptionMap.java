@@ -50,6 +50,23 @@ public class PerUserLocaleCaptionMap extends LocalizedCaptionMap {
         return this.localeMap.get(localeHolder.getLocale()).getMessage(caption);
     }
 
+    @Override
+    public @NonNull CompiledCaption getCompiledMessage(
+            final @NonNull TranslatableCaption caption,
+            final @NonNull LocaleHolder localeHolder
+    ) throws NoSuchCaptionException {
+        return this.localeMap.get(localeHolder.getLocale()).getCompiledMessage(caption, localeHolder);
+    }
+
+    @Override
+    public @NonNull CompiledCaption getCompiledMessage(
+            final @NonNull TranslatableCaption caption,
+            final @NonNull LocaleHolder localeHolder,
+            final @NonNull String prefix
+    ) throws NoSuchCaptionException {
+        return this.localeMap.get(localeHolder.getLocale()).getCompiledMessage(caption, localeHolder, prefix);
+    }
+
     @Override
     public boolean supportsLocale(final @NonNull Locale locale) {
         return this.localeMap.containsKey(locale);
@@ -27,6 +27,8 @@ package com.plotsquared.core.configuration.caption;
 
 import com.google.common.base.Objects;
 import com.plotsquared.core.PlotSquared;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Locale;
@@ -96,6 +98,17 @@ public final class TranslatableCaption implements NamespacedCaption {
         return PlotSquared.get().getCaptionMap(this.namespace).getMessage(this, localeHolder);
     }
 
+    /**
+     * Get the message as a component. The message is only parsed once per locale, see {@link CompiledCaption}
+     *
+     * @param localeHolder Holder that determines the message locale
+     * @param templates    Templates to fill in
+     * @return Component
+     */
+    public @NonNull Component toComponent(final @NonNull LocaleHolder localeHolder, final @NonNull Template... templates) {
+        return PlotSquared.get().getCaptionMap(this.namespace).getCompiledMessage(this, localeHolder).apply(templates);
+    }
+
     @Override
     public @NonNull String getKey() {
         return this.key;
@@ -151,6 +151,14 @@ public interface AbstractDB {
      */
     void validateAllPlots(Set<Plot> toValidate);
 
+    /**
+     * Validate the parts of the given plots that changed during this session, according
+     * to {@link Plot#getDirtyFlags()}.
+     *
+     * @param toValidate changed plots
+     */
+    void validateDirtyPlots(Set<Plot> toValidate);
+
     /**
      * @return A HashMap containing all plot clusters
      */
@@ -110,6 +110,13 @@ public class DBFunc {
         DBFunc.dbManager.validateAllPlots(plots);
     }
 
+    public static void validateDirtyPlots(Set<Plot> plots) {
+        if (dbManager == null) {
+            return;
+        }
+        DBFunc.dbManager.validateDirtyPlots(plots);
+    }
+
 
     //TODO Consider Removal
 
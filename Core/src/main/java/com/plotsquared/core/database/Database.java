@@ -49,6 +49,18 @@ public abstract class Database {
      */
     public abstract Connection openConnection() throws SQLException, ClassNotFoundException;
 
+    /**
+     * Opens an additional connection with the database, that is not tracked by
+     * this instance. The caller is responsible for closing it.
+     *
+     * @return Opened connection
+     * @throws SQLException           if the connection can not be opened
+     * @throws ClassNotFoundException if the driver cannot be found
+     */
+    public Connection openAdditionalConnection() throws SQLException, ClassNotFoundException {
+        return forceConnection();
+    }
+
     /**
      * Checks if a connection is open with the database.
      *
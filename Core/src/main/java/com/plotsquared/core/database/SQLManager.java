@@ -64,8 +64,11 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -73,19 +76,43 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
 @SuppressWarnings("SqlDialectInspection")
 public class SQLManager implements AbstractDB {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + SQLManager.class.getSimpleName());
+    /**
+     * Amount of rows fetched at once while loading plots
+     */
+    private static final int LOAD_FETCH_SIZE = 1000;
+    /**
+     * Milliseconds between attempts of a writer to open a connection of its own again
+     */
+    private static final long RECONNECT_INTERVAL = 5000;
+    /**
+     * The parts of a plot compared by a full validation. Flags, alias and home position are
+     * only compared for plots marked dirty during the session.
+     */
+    private static final int VALIDATE_ALL =
+            Plot.DIRTY_OWNER | Plot.DIRTY_TRUSTED | Plot.DIRTY_MEMBERS | Plot.DIRTY_DENIED | Plot.DIRTY_MERGED;
 
     // Public final
     public final String SET_OWNER;
@@ -135,7 +162,35 @@ public class SQLManager implements AbstractDB {
     public volatile ConcurrentHashMap<PlotCluster, Queue<UniqueStatement>> clusterTasks;
     // Private
     private Connection connection;
-    private boolean closed = false;
+    private volatile boolean closed = false;
+    /**
+     * Connection of the writer running on the current thread
+     */
+    private final ThreadLocal<Connection> writerConnection = new ThreadLocal<>();
+    /**
+     * Notified whenever a task is queued
+     */
+    private final Object writerSignal = new Object();
+    /**
+     * Global tasks are written exclusively, everything else is written while holding the read lock
+     */
+    private final ReadWriteLock globalTaskLock = new ReentrantReadWriteLock();
+    /**
+     * Every round that is being written is registered as a party, see {@link #awaitWriters()}
+     */
+    private final Phaser writerPhaser = new Phaser() {
+        @Override
+        protected boolean onAdvance(final int phase, final int registeredParties) {
+            // Never terminate once all rounds deregistered
+            return false;
+        }
+    };
+    private final int writerCount;
+    // Writer metrics
+    private final LongAdder writtenStatements = new LongAdder();
+    private final LongAdder executedBatches = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
 
     /**
      * Constructor
@@ -195,43 +250,19 @@ public class SQLManager implements AbstractDB {
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        TaskManager.runTaskAsync(() -> {
-            long last = System.currentTimeMillis();
-            while (!SQLManager.this.closed) {
-                boolean hasTask =
-                        !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
-                                || !clusterTasks.isEmpty();
-                if (hasTask) {
-                    if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
-                            || !isValid()) {
-                        last = System.currentTimeMillis();
-                        reconnect();
-                    }
-                    if (!sendBatch()) {
-                        try {
-                            if (!getNotifyTasks().isEmpty()) {
-                                for (Runnable task : getNotifyTasks()) {
-                                    TaskManager.runTask(task);
-                                }
-                                getNotifyTasks().clear();
-                            }
-                            Thread.sleep(50);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                } else {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        });
+        // SQLite only allows a single writer at a time
+        this.writerCount = this.mySQL ? Math.max(1, Storage.MySQL.WRITER_POOL_SIZE) : 1;
+        for (int index = 0; index < this.writerCount; index++) {
+            final Writer writer = new Writer(index, this.writerCount);
+            TaskManager.runTaskAsync(writer::run);
+        }
     }
 
     public boolean isValid() {
+        return isValid(this.connection);
+    }
+
+    private boolean isValid(final @NonNull Connection connection) {
         try {
             if (connection.isClosed()) {
                 return false;
@@ -239,7 +270,7 @@ public class SQLManager implements AbstractDB {
         } catch (SQLException e) {
             return false;
         }
-        try (PreparedStatement stmt = this.connection.prepareStatement("SELECT 1")) {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT 1")) {
             stmt.execute();
             return true;
         } catch (Throwable e) {
@@ -249,14 +280,28 @@ public class SQLManager implements AbstractDB {
 
     public void reconnect() {
         try {
-            close();
-            SQLManager.this.closed = false;
+            try {
+                this.connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
             SQLManager.this.connection = database.forceConnection();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Get the connection that queued statements should be prepared on. Every writer
+     * of the pool owns a connection, any other thread uses the main connection.
+     *
+     * @return connection of the current writer, or the main connection
+     */
+    private Connection getWriterConnection() {
+        final Connection connection = this.writerConnection.get();
+        return connection == null ? this.connection : connection;
+    }
+
     public synchronized Queue<Runnable> getGlobalTasks() {
         return this.globalTasks;
     }
@@ -265,12 +310,7 @@ public class SQLManager implements AbstractDB {
         return this.notifyTasks;
     }
 
-    public synchronized void addPlotTask(@NonNull Plot plot, UniqueStatement task) {
-        Queue<UniqueStatement> tasks = this.plotTasks.get(plot);
-        if (tasks == null) {
-            tasks = new ConcurrentLinkedQueue<>();
-            this.plotTasks.put(plot, tasks);
-        }
+    public void addPlotTask(@NonNull Plot plot, UniqueStatement task) {
         if (task == null) {
             task = new UniqueStatement(String.valueOf(plot.hashCode())) {
 
@@ -293,18 +333,13 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        enqueue(this.plotTasks, plot, task);
     }
 
-    public synchronized void addPlayerTask(UUID uuid, UniqueStatement task) {
+    public void addPlayerTask(UUID uuid, UniqueStatement task) {
         if (uuid == null) {
             return;
         }
-        Queue<UniqueStatement> tasks = this.playerTasks.get(uuid);
-        if (tasks == null) {
-            tasks = new ConcurrentLinkedQueue<>();
-            this.playerTasks.put(uuid, tasks);
-        }
         if (task == null) {
             task = new UniqueStatement(String.valueOf(uuid.hashCode())) {
 
@@ -327,15 +362,10 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        enqueue(this.playerTasks, uuid, task);
     }
 
-    public synchronized void addClusterTask(PlotCluster cluster, UniqueStatement task) {
-        Queue<UniqueStatement> tasks = this.clusterTasks.get(cluster);
-        if (tasks == null) {
-            tasks = new ConcurrentLinkedQueue<>();
-            this.clusterTasks.put(cluster, tasks);
-        }
+    public void addClusterTask(PlotCluster cluster, UniqueStatement task) {
         if (task == null) {
             task = new UniqueStatement(String.valueOf(cluster.hashCode())) {
 
@@ -358,204 +388,319 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        enqueue(this.clusterTasks, cluster, task);
+    }
+
+    private <K> void enqueue(
+            final @NonNull ConcurrentHashMap<K, Queue<UniqueStatement>> tasks,
+            final @NonNull K key,
+            final @NonNull UniqueStatement task
+    ) {
+        // Adding inside compute() keeps the queue from being removed concurrently by a writer
+        tasks.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queue = new ConcurrentLinkedQueue<>();
+            }
+            queue.add(task);
+            return queue;
+        });
+        signalWriters();
     }
 
     public synchronized void addGlobalTask(Runnable task) {
         getGlobalTasks().add(task);
+        signalWriters();
     }
 
     public synchronized void addNotifyTask(Runnable task) {
         if (task != null) {
             getNotifyTasks().add(task);
+            signalWriters();
+        }
+    }
+
+    private void signalWriters() {
+        synchronized (this.writerSignal) {
+            this.writerSignal.notifyAll();
+        }
+    }
+
+    /**
+     * Get the amount of queued tasks that have not yet been written to the database.
+     *
+     * @return queued tasks
+     */
+    public int getQueueDepth() {
+        int depth = this.globalTasks.size();
+        for (final Queue<UniqueStatement> queue : this.plotTasks.values()) {
+            depth += queue.size();
         }
+        for (final Queue<UniqueStatement> queue : this.playerTasks.values()) {
+            depth += queue.size();
+        }
+        for (final Queue<UniqueStatement> queue : this.clusterTasks.values()) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Get the amount of connections used to write queued tasks.
+     *
+     * @return writer pool size
+     */
+    public int getWriterCount() {
+        return this.writerCount;
+    }
+
+    /**
+     * Get the amount of queued statements that have been written to the database.
+     *
+     * @return written statements
+     */
+    public long getWrittenStatements() {
+        return this.writtenStatements.sum();
+    }
+
+    /**
+     * Get the amount of JDBC batches that have been executed by the writers.
+     *
+     * @return executed batches
+     */
+    public long getExecutedBatches() {
+        return this.executedBatches.sum();
+    }
+
+    /**
+     * Get the average time between queueing a statement and writing it to the database.
+     *
+     * @return average latency in milliseconds
+     */
+    public double getAverageLatency() {
+        final long statements = this.writtenStatements.sum();
+        return statements == 0 ? 0 : this.totalLatency.sum() / (double) statements / 1_000_000D;
+    }
+
+    /**
+     * Get the longest time between queueing a statement and writing it to the database.
+     *
+     * @return maximum latency in milliseconds
+     */
+    public double getMaxLatency() {
+        return this.maxLatency.get() / 1_000_000D;
     }
 
     public boolean sendBatch() {
+        return sendBatch(this.connection, 0, 1);
+    }
+
+    /**
+     * Wait for the writers of the pool to finish the round they are currently writing.
+     */
+    private void awaitWriters() {
+        // Every round is a party of the phaser, the phase advances once all of them arrived
+        this.writerPhaser.register();
+        this.writerPhaser.awaitAdvance(this.writerPhaser.arriveAndDeregister());
+    }
+
+    /**
+     * Write the pending global tasks, or one round of the queued plot, player and cluster
+     * statements that belong to the given writer.
+     *
+     * @param connection connection to write with
+     * @param writer     index of the writer
+     * @param writers    amount of writers
+     * @return {@code true} if anything was written
+     */
+    private boolean sendBatch(final @NonNull Connection connection, final int writer, final int writers) {
         try {
-            if (!getGlobalTasks().isEmpty()) {
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                Runnable task = getGlobalTasks().remove();
-                if (task != null) {
-                    try {
-                        task.run();
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                commit();
+            if (writer == 0 && !getGlobalTasks().isEmpty()) {
+                runGlobalTask();
                 return true;
             }
-            int count = -1;
-            if (!this.plotTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                Iterator<Entry<Plot, Queue<UniqueStatement>>> iterator =
-                        this.plotTasks.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    try {
-                        Entry<Plot, Queue<UniqueStatement>> entry = iterator.next();
-                        Plot plot = entry.getKey();
-                        Queue<UniqueStatement> tasks = entry.getValue();
-                        if (tasks.isEmpty()) {
-                            iterator.remove();
-                            continue;
-                        }
-                        task = tasks.remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)
-                                    || statement == null) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                            try {
-                                if (statement.isClosed()) {
-                                    statement = null;
-                                }
-                            } catch (NullPointerException | AbstractMethodError ignore) {
-                            }
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
+            this.writerPhaser.register();
+            try {
+                return sendRound(connection, writer, writers);
+            } finally {
+                this.writerPhaser.arriveAndDeregister();
+                signalWriters();
             }
-            if (!this.playerTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<UUID, Queue<UniqueStatement>> entry : this.playerTasks.entrySet()) {
-                    try {
-                        UUID uuid = entry.getKey();
-                        if (this.playerTasks.get(uuid).isEmpty()) {
-                            this.playerTasks.remove(uuid);
-                            continue;
-                        }
-                        task = this.playerTasks.get(uuid).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
+        } catch (Throwable e) {
+            LOGGER.error("============ DATABASE ERROR ============");
+            LOGGER.error("There was an error updating the database.");
+            LOGGER.error(" - It will be corrected on shutdown");
+            LOGGER.error("========================================");
+            e.printStackTrace();
+            LOGGER.error("========================================");
+        }
+        return false;
+    }
+
+    /**
+     * Run the next global task in a transaction of its own. Global tasks use the main connection,
+     * so the transaction is committed on the main connection as well.
+     */
+    private void runGlobalTask() throws SQLException {
+        this.globalTaskLock.writeLock().lock();
+        try {
+            final Connection connection = this.connection;
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            Runnable task = getGlobalTasks().poll();
+            if (task != null) {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    LOGGER.error("============ DATABASE ERROR ============");
+                    LOGGER.error("============ DATABASE ERROR ============");
+                    LOGGER.error("There was an error updating the database.");
+                    LOGGER.error(" - It will be corrected on shutdown");
+                    e.printStackTrace();
+                    LOGGER.error("========================================");
                 }
             }
-            if (!this.clusterTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
+            commit(connection);
+        } finally {
+            this.globalTaskLock.writeLock().unlock();
+        }
+        signalWriters();
+    }
+
+    private boolean sendRound(final @NonNull Connection connection, final int writer, final int writers)
+            throws SQLException, InterruptedException {
+        // Statements queued after a global task may depend on it, so they have to wait for it to be written.
+        // The round is polled while holding the read lock, so that a flush holding the write lock never
+        // runs statements of a key that a writer has already polled
+        while (true) {
+            if (writer == 0) {
+                // The first writer runs the global tasks, so it can not wait for itself
+                while (!getGlobalTasks().isEmpty() && !this.closed) {
+                    runGlobalTask();
                 }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<PlotCluster, Queue<UniqueStatement>> entry : this.clusterTasks
-                        .entrySet()) {
-                    try {
-                        PlotCluster cluster = entry.getKey();
-                        if (this.clusterTasks.get(cluster).isEmpty()) {
-                            this.clusterTasks.remove(cluster);
-                            continue;
-                        }
-                        task = this.clusterTasks.get(cluster).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
+            } else {
+                synchronized (this.writerSignal) {
+                    while (!getGlobalTasks().isEmpty() && !this.closed) {
+                        this.writerSignal.wait();
                     }
                 }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
             }
-            if (count > 0) {
-                commit();
-                return true;
+            this.globalTaskLock.readLock().lock();
+            if (getGlobalTasks().isEmpty() || this.closed) {
+                break;
+            }
+            this.globalTaskLock.readLock().unlock();
+        }
+        try {
+            final List<UniqueStatement> round = new ArrayList<>();
+            pollRound(this.plotTasks, writer, writers, round);
+            pollRound(this.playerTasks, writer, writers, round);
+            pollRound(this.clusterTasks, writer, writers, round);
+            if (round.isEmpty()) {
+                return false;
+            }
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            writeRound(round);
+            commit(connection);
+        } finally {
+            this.globalTaskLock.readLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Take the next queued statement of every key that belongs to the given writer. Only taking
+     * a single statement per key keeps the statements of a plot, player or cluster in order.
+     */
+    private <K> void pollRound(
+            final @NonNull ConcurrentHashMap<K, Queue<UniqueStatement>> tasks,
+            final int writer,
+            final int writers,
+            final @NonNull List<UniqueStatement> round
+    ) {
+        for (final K key : tasks.keySet()) {
+            if (writers > 1 && Math.floorMod(key.hashCode(), writers) != writer) {
+                continue;
             }
-            if (count != -1) {
-                if (!this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(true);
+            tasks.computeIfPresent(key, (k, queue) -> {
+                final UniqueStatement task = queue.poll();
+                if (task != null) {
+                    round.add(task);
                 }
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    /**
+     * Write a round of statements, grouping statements with the same method into a single JDBC batch.
+     */
+    private void writeRound(final @NonNull List<UniqueStatement> round) {
+        for (final List<UniqueStatement> batch : groupBatches(round)) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Group a round of statements into JDBC batches, which are prepared from their first statement.
+     * Statements only share a batch if they have the same method and were created by the same statement
+     * class, so statements of plots, players and clusters that reuse a method name are never mixed.
+     * Statements without a method are not batched, and come first.
+     *
+     * @param round Statements of a round
+     * @return Batches, in the order they are written
+     */
+    static @NonNull List<List<UniqueStatement>> groupBatches(final @NonNull List<UniqueStatement> round) {
+        final List<List<UniqueStatement>> batches = new ArrayList<>();
+        final Map<Entry<Class<?>, String>, List<UniqueStatement>> grouped = new LinkedHashMap<>();
+        for (final UniqueStatement task : round) {
+            if (task.method == null) {
+                batches.add(Collections.singletonList(task));
+            } else {
+                grouped.computeIfAbsent(
+                        new AbstractMap.SimpleImmutableEntry<>(task.getClass(), task.method),
+                        key -> new ArrayList<>()
+                ).add(task);
             }
-            if (!this.clusterTasks.isEmpty()) {
-                this.clusterTasks.clear();
+        }
+        batches.addAll(grouped.values());
+        return batches;
+    }
+
+    private void writeBatch(final @NonNull List<UniqueStatement> batch) {
+        PreparedStatement statement = null;
+        UniqueStatement lastTask = null;
+        for (final UniqueStatement task : batch) {
+            try {
+                if (statement == null) {
+                    statement = task.get();
+                }
+                task.set(statement);
+                task.addBatch(statement);
+                lastTask = task;
+                try {
+                    if (statement != null && statement.isClosed()) {
+                        statement = null;
+                    }
+                } catch (AbstractMethodError ignore) {
+                }
+            } catch (Throwable e) {
+                LOGGER.error("============ DATABASE ERROR ============");
+                LOGGER.error("There was an error updating the database.");
+                LOGGER.error(" - It will be corrected on shutdown");
+                LOGGER.error("========================================");
+                e.printStackTrace();
+                LOGGER.error("========================================");
             }
-            if (!this.plotTasks.isEmpty()) {
-                this.plotTasks.clear();
+        }
+        try {
+            if (statement != null && lastTask != null) {
+                lastTask.execute(statement);
+                statement.close();
             }
+            this.executedBatches.increment();
         } catch (Throwable e) {
             LOGGER.error("============ DATABASE ERROR ============");
             LOGGER.error("There was an error updating the database.");
@@ -564,6 +709,40 @@ public class SQLManager implements AbstractDB {
             e.printStackTrace();
             LOGGER.error("========================================");
         }
+        final long now = System.nanoTime();
+        for (final UniqueStatement task : batch) {
+            final long latency = now - task.created;
+            this.totalLatency.add(latency);
+            this.maxLatency.accumulateAndGet(latency, Math::max);
+        }
+        this.writtenStatements.add(batch.size());
+    }
+
+    private boolean hasTasks(final int writer, final int writers) {
+        if (writer == 0 && (!this.globalTasks.isEmpty() || !this.notifyTasks.isEmpty())) {
+            return true;
+        }
+        return hasStatements(writer, writers);
+    }
+
+    private boolean hasStatements(final int writer, final int writers) {
+        return hasTasks(this.plotTasks, writer, writers) || hasTasks(this.playerTasks, writer, writers)
+                || hasTasks(this.clusterTasks, writer, writers);
+    }
+
+    private <K> boolean hasTasks(
+            final @NonNull ConcurrentHashMap<K, Queue<UniqueStatement>> tasks,
+            final int writer,
+            final int writers
+    ) {
+        if (writers == 1) {
+            return !tasks.isEmpty();
+        }
+        for (final K key : tasks.keySet()) {
+            if (Math.floorMod(key.hashCode(), writers) == writer) {
+                return true;
+            }
+        }
         return false;
     }
 
@@ -590,7 +769,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(SQLManager.this.SET_OWNER);
+                return SQLManager.this.getWriterConnection().prepareStatement(SQLManager.this.SET_OWNER);
             }
         });
     }
@@ -1066,7 +1245,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         SQLManager.this.CREATE_PLOT_SAFE,
                         Statement.RETURN_GENERATED_KEYS
                 );
@@ -1094,7 +1273,7 @@ public class SQLManager implements AbstractDB {
 
                                 @Override
                                 public PreparedStatement get() throws SQLException {
-                                    return SQLManager.this.connection.prepareStatement(
+                                    return SQLManager.this.getWriterConnection().prepareStatement(
                                             "INSERT INTO `" + SQLManager.this.prefix
                                                     + "plot_settings`(`plot_plot_id`) VALUES(?)");
                                 }
@@ -1114,13 +1293,17 @@ public class SQLManager implements AbstractDB {
     }
 
     public void commit() {
+        commit(getWriterConnection());
+    }
+
+    private void commit(final @NonNull Connection connection) {
         if (this.closed) {
             return;
         }
         try {
-            if (!this.connection.getAutoCommit()) {
-                this.connection.commit();
-                this.connection.setAutoCommit(true);
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+                connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -1141,7 +1324,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection
+                return SQLManager.this.getWriterConnection()
                         .prepareStatement(SQLManager.this.CREATE_PLOT, Statement.RETURN_GENERATED_KEYS);
             }
 
@@ -1167,7 +1350,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_settings`(`plot_plot_id`) VALUES(?)");
             }
@@ -1345,7 +1528,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_settings` WHERE `plot_plot_id` = ?");
             }
@@ -1365,7 +1548,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_helpers` WHERE `plot_plot_id` = ?");
             }
@@ -1385,7 +1568,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_trusted` WHERE `plot_plot_id` = ?");
             }
@@ -1405,7 +1588,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_denied` WHERE `plot_plot_id` = ?");
             }
@@ -1423,7 +1606,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_comments` WHERE `world` = ? AND `hashcode` = ?");
             }
@@ -1443,7 +1626,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_rating` WHERE `plot_plot_id` = ?");
             }
@@ -1471,7 +1654,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix + "plot` WHERE `id` = ?");
             }
         });
@@ -1493,7 +1676,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_settings`(`plot_plot_id`) VALUES(?)");
             }
@@ -1796,11 +1979,15 @@ public class SQLManager implements AbstractDB {
 
     /**
      * Load all plots, helpers, denied, trusted, and every setting from DB into a {@link HashMap}.
+     * The plot table is read first, after which the other tables are read concurrently, each
+     * using a connection of its own.
      */
     @Override
     public HashMap<String, HashMap<PlotId, Plot>> getPlots() {
         HashMap<String, HashMap<PlotId, Plot>> newPlots = new HashMap<>();
         HashMap<Integer, Plot> plots = new HashMap<>();
+        List<String> timings = new ArrayList<>();
+        long start = System.currentTimeMillis();
         try {
             HashSet<String> areas = new HashSet<>();
             if (this.worldConfiguration.contains("worlds")) {
@@ -1827,324 +2014,385 @@ public class SQLManager implements AbstractDB {
             /*
              * Getting plots
              */
-            try (Statement statement = this.connection.createStatement()) {
-                int id;
-                String o;
-                UUID user;
-                try (ResultSet resultSet = statement.executeQuery(
-                        "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
-                                + this.prefix + "plot`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        PlotId plot_id = PlotId.of(
-                                resultSet.getInt("plot_id_x"),
-                                resultSet.getInt("plot_id_z")
-                        );
-                        id = resultSet.getInt("id");
-                        String areaID = resultSet.getString("world");
-                        if (!areas.contains(areaID)) {
-                            if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
-                                continue;
+            ArrayList<Integer> toDelete = new ArrayList<>();
+            try (Statement statement = createLoadStatement(this.connection);
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
+                                 + this.prefix + "plot`")) {
+                while (resultSet.next()) {
+                    PlotId plot_id = PlotId.of(
+                            resultSet.getInt("plot_id_x"),
+                            resultSet.getInt("plot_id_z")
+                    );
+                    int id = resultSet.getInt("id");
+                    String areaID = resultSet.getString("world");
+                    if (!areas.contains(areaID)) {
+                        if (Settings.Enabled_Components.DATABASE_PURGER) {
+                            toDelete.add(id);
+                            continue;
+                        } else {
+                            AtomicInteger value = noExist.get(areaID);
+                            if (value != null) {
+                                value.incrementAndGet();
                             } else {
-                                AtomicInteger value = noExist.get(areaID);
-                                if (value != null) {
-                                    value.incrementAndGet();
-                                } else {
-                                    noExist.put(areaID, new AtomicInteger(1));
-                                }
-                            }
-                        }
-                        o = resultSet.getString("owner");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            try {
-                                user = UUID.fromString(o);
-                            } catch (IllegalArgumentException e) {
-                                if (Settings.UUID.FORCE_LOWERCASE) {
-                                    user = UUID.nameUUIDFromBytes(
-                                            ("OfflinePlayer:" + o.toLowerCase())
-                                                    .getBytes(Charsets.UTF_8));
-                                } else {
-                                    user = UUID.nameUUIDFromBytes(
-                                            ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
-                                }
+                                noExist.put(areaID, new AtomicInteger(1));
                             }
-                            uuids.put(o, user);
                         }
-                        long time;
+                    }
+                    String o = resultSet.getString("owner");
+                    UUID user = uuids.get(o);
+                    if (user == null) {
+                        user = toUUID(o);
+                        uuids.put(o, user);
+                    }
+                    long time;
+                    try {
+                        Timestamp timestamp = resultSet.getTimestamp("timestamp");
+                        time = timestamp.getTime();
+                    } catch (SQLException exception) {
+                        String parsable = resultSet.getString("timestamp");
                         try {
-                            Timestamp timestamp = resultSet.getTimestamp("timestamp");
-                            time = timestamp.getTime();
-                        } catch (SQLException exception) {
-                            String parsable = resultSet.getString("timestamp");
-                            try {
-                                time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
-                                        .getTime();
-                            } catch (ParseException e) {
-                                LOGGER.error("Could not parse date for plot: #{}({};{}) ({})",
-                                        id, areaID, plot_id, parsable
-                                );
-                                time = System.currentTimeMillis() + id;
-                            }
-                        }
-                        Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
-                                new HashSet<>(), "", null, null, null,
-                                new boolean[]{false, false, false, false}, time, id
-                        );
-                        HashMap<PlotId, Plot> map = newPlots.get(areaID);
-                        if (map != null) {
-                            Plot last = map.put(p.getId(), p);
-                            if (last != null) {
-                                if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                    toDelete.add(last.temp);
-                                } else {
-                                    LOGGER.info(
-                                            "Plot #{}({}) in `{}plot` is a duplicate."
-                                                    + " Delete this plot or set `database-purger: true` in the settings.yml",
-                                            id,
-                                            last,
-                                            this.prefix
-                                    );
-                                }
-                            }
-                        } else {
-                            map = new HashMap<>();
-                            newPlots.put(areaID, map);
-                            map.put(p.getId(), p);
+                            time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
+                                    .getTime();
+                        } catch (ParseException e) {
+                            LOGGER.error("Could not parse date for plot: #{}({};{}) ({})",
+                                    id, areaID, plot_id, parsable
+                            );
+                            time = System.currentTimeMillis() + id;
                         }
-                        plots.put(id, p);
                     }
-                    deleteRows(toDelete, this.prefix + "plot", "id");
-                }
-                if (Settings.Enabled_Components.RATING_CACHE) {
-                    try (ResultSet r = statement.executeQuery(
-                            "SELECT `plot_plot_id`, `player`, `rating` FROM `" + this.prefix
-                                    + "plot_rating`")) {
-                        ArrayList<Integer> toDelete = new ArrayList<>();
-                        while (r.next()) {
-                            id = r.getInt("plot_plot_id");
-                            o = r.getString("player");
-                            user = uuids.get(o);
-                            if (user == null) {
-                                user = UUID.fromString(o);
-                                uuids.put(o, user);
-                            }
-                            Plot plot = plots.get(id);
-                            if (plot != null) {
-                                plot.getSettings().getRatings().put(user, r.getInt("rating"));
-                            } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
+                    Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
+                            new HashSet<>(), "", null, null, null,
+                            new boolean[]{false, false, false, false}, time, id
+                    );
+                    HashMap<PlotId, Plot> map = newPlots.get(areaID);
+                    if (map != null) {
+                        Plot last = map.put(p.getId(), p);
+                        if (last != null) {
+                            if (Settings.Enabled_Components.DATABASE_PURGER) {
+                                toDelete.add(last.temp);
                             } else {
-                                LOGGER.warn("Entry #{}({}) in `plot_rating` does not exist."
-                                        + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+                                LOGGER.info(
+                                        "Plot #{}({}) in `{}plot` is a duplicate."
+                                                + " Delete this plot or set `database-purger: true` in the settings.yml",
+                                        id,
+                                        last,
+                                        this.prefix
+                                );
                             }
                         }
-                        deleteRows(toDelete, this.prefix + "plot_rating", "plot_plot_id");
+                    } else {
+                        map = new HashMap<>();
+                        newPlots.put(areaID, map);
+                        map.put(p.getId(), p);
                     }
+                    plots.put(id, p);
+                }
+            }
+            deleteRows(toDelete, this.prefix + "plot", "id");
+            timings.add("plot: " + (System.currentTimeMillis() - start) + "ms");
+
+            List<TableLoader> loaders = new ArrayList<>();
+            if (Settings.Enabled_Components.RATING_CACHE) {
+                loaders.add(new TableLoader("plot_rating", "plot_plot_id", "`plot_plot_id`, `player`, `rating`",
+                        (resultSet, plot) -> plot.getSettings().getRatings()
+                                .put(UUID.fromString(resultSet.getString("player")), resultSet.getInt("rating"))
+                ));
+            }
+            loaders.add(new TableLoader("plot_helpers", "plot_plot_id", "`user_uuid`, `plot_plot_id`",
+                    (resultSet, plot) -> plot.getTrusted().add(UUID.fromString(resultSet.getString("user_uuid")))
+            ));
+            loaders.add(new TableLoader("plot_trusted", "plot_plot_id", "`user_uuid`, `plot_plot_id`",
+                    (resultSet, plot) -> plot.getMembers().add(UUID.fromString(resultSet.getString("user_uuid")))
+            ));
+            loaders.add(new TableLoader("plot_denied", "plot_plot_id", "`user_uuid`, `plot_plot_id`",
+                    (resultSet, plot) -> plot.getDenied().add(UUID.fromString(resultSet.getString("user_uuid")))
+            ));
+            final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
+            loaders.add(new TableLoader("plot_flags", "plot_id", "*", (resultSet, plot) -> {
+                final String flag = resultSet.getString("flag");
+                String value = resultSet.getString("value");
+                final PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlagFromString(flag);
+                if (plotFlag == null) {
+                    plot.getFlagContainer().addUnknownFlag(flag, value);
+                    return;
                 }
-
-                /*
-                 * Getting helpers
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_helpers`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getTrusted().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_helpers` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+                value = CaptionUtility.stripClickEvents(plotFlag, value);
+                try {
+                    plot.getFlagContainer().addFlag(plotFlag.parse(value));
+                } catch (final FlagParseException e) {
+                    e.printStackTrace();
+                    LOGGER.error("Plot with ID {} has an invalid value:", plot.temp);
+                    LOGGER.error("Failed to parse flag '{}', value '{}': {}",
+                            plotFlag.getName(), e.getValue(), e.getErrorMessage()
+                    );
+                    invalidFlags.computeIfAbsent(plot, k -> new ArrayList<>()).add(plotFlag);
+                }
+            }));
+            final HashSet<Integer> withSettings = new HashSet<>();
+            loaders.add(new TableLoader("plot_settings", "plot_plot_id", "*", (resultSet, plot) -> {
+                withSettings.add(plot.temp);
+                String alias = resultSet.getString("alias");
+                if (alias != null) {
+                    plot.getSettings().setAlias(alias);
+                }
+                String pos = resultSet.getString("position");
+                switch (pos.toLowerCase()) {
+                    case "":
+                    case "default":
+                    case "0,0,0":
+                    case "center":
+                        break;
+                    default:
+                        try {
+                            plot.getSettings().setPosition(BlockLoc.fromString(pos));
+                        } catch (Exception ignored) {
                         }
+                }
+                int m = resultSet.getInt("merged");
+                boolean[] merged = new boolean[4];
+                for (int i = 0; i < 4; i++) {
+                    merged[3 - i] = (m & 1 << i) != 0;
+                }
+                plot.getSettings().setMerged(merged);
+            }));
+
+            BlockTypeListFlag.skipCategoryVerification = true; // allow invalid tags, as initialized lazily
+            try {
+                loadTables(loaders, plots);
+            } finally {
+                BlockTypeListFlag.skipCategoryVerification = false; // don't allow invalid tags anymore
+            }
+            for (TableLoader loader : loaders) {
+                deleteRows(loader.toDelete, this.prefix + loader.table, loader.column);
+                timings.add(loader.table + ": " + loader.time + "ms (" + loader.rows + " rows)");
+            }
+            if (Settings.Enabled_Components.DATABASE_PURGER) {
+                for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
+                        .entrySet()) {
+                    for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
+                        LOGGER.info(
+                                "Plot {} has an invalid flag ({}). A fix has been attempted",
+                                plotFlagEntry.getKey(), flag.getName()
+                        );
+                        removeFlag(plotFlagEntry.getKey(), flag);
                     }
-                    deleteRows(toDelete, this.prefix + "plot_helpers", "plot_plot_id");
                 }
+            }
+            plots.keySet().removeAll(withSettings);
+            if (!plots.isEmpty()) {
+                createEmptySettings(new ArrayList<>(plots.keySet()), null);
+                for (Entry<Integer, Plot> entry : plots.entrySet()) {
+                    entry.getValue().getSettings();
+                }
+            }
+            boolean invalidPlot = false;
+            for (Entry<String, AtomicInteger> entry : noExist.entrySet()) {
+                String worldName = entry.getKey();
+                invalidPlot = true;
+                if (Settings.DEBUG) {
+                    LOGGER.info("Warning! Found {} plots in DB for non existent world: '{}'",
+                            entry.getValue().intValue(), worldName
+                    );
+                }
+            }
+            if (invalidPlot && Settings.DEBUG) {
+                LOGGER.info("Warning! Please create the world(s) or remove the plots using the purge command");
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to load plots", e);
+        }
+        int count = 0;
+        for (HashMap<PlotId, Plot> map : newPlots.values()) {
+            for (Plot plot : map.values()) {
+                plot.clearDirty();
+            }
+            count += map.size();
+        }
+        LOGGER.info("Loaded {} plots in {}ms ({})", count, System.currentTimeMillis() - start,
+                StringMan.join(timings, ", ")
+        );
+        return newPlots;
+    }
 
-                /*
-                 * Getting trusted
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_trusted`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getMembers().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_trusted` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
+    /**
+     * Read the given tables concurrently, each on a connection of its own. Tables for which no
+     * connection could be opened are read afterwards using the main connection.
+     *
+     * @param loaders tables to read
+     * @param plots   plots mapped by their database ID. This map must not be modified while loading
+     */
+    private void loadTables(List<TableLoader> loaders, Map<Integer, Plot> plots) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(loaders.size(), Runtime.getRuntime().availableProcessors())));
+        List<TableLoader> failed = new ArrayList<>();
+        try {
+            Map<TableLoader, Future<?>> futures = new LinkedHashMap<>();
+            for (TableLoader loader : loaders) {
+                futures.put(loader, executor.submit(() -> {
+                    try (Connection connection = this.database.openAdditionalConnection()) {
+                        loader.load(connection, plots);
                     }
-                    deleteRows(toDelete, this.prefix + "plot_trusted", "plot_plot_id");
+                    return null;
+                }));
+            }
+            for (Entry<TableLoader, Future<?>> entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (ExecutionException e) {
+                    LOGGER.error("Failed to load `{}` concurrently, loading it using the main connection",
+                            entry.getKey().table, e.getCause()
+                    );
+                    failed.add(entry.getKey());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed.add(entry.getKey());
                 }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (TableLoader loader : failed) {
+            loader.reset();
+            try {
+                loader.load(this.connection, plots);
+            } catch (SQLException e) {
+                LOGGER.error("Failed to load `{}`", loader.table, e);
+            }
+        }
+    }
 
-                /*
-                 * Getting denied
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_denied`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getDenied().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_denied` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+    private Statement createLoadStatement(Connection connection) throws SQLException {
+        Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        // MySQL only streams rows when the fetch size is Integer.MIN_VALUE, unless cursor fetching is enabled
+        statement.setFetchSize(this.mySQL ? Integer.MIN_VALUE : LOAD_FETCH_SIZE);
+        return statement;
+    }
+
+    /**
+     * Load the plots with the given database IDs, including their helpers, denied, trusted,
+     * flags and settings. Plots without a plot area are returned without one and are only
+     * meant to be compared against the plots that are loaded in memory.
+     *
+     * @param ids database IDs of the plots to load
+     * @return loaded plots, mapped by their database ID
+     */
+    public HashMap<Integer, Plot> getPlots(Collection<Integer> ids) {
+        HashMap<Integer, Plot> plots = new HashMap<>();
+        List<Integer> remaining = new ArrayList<>(ids);
+        int size = 500;
+        for (int i = 0; i < remaining.size(); i += size) {
+            List<Integer> chunk = remaining.subList(i, Math.min(i + size, remaining.size()));
+            String in = " IN (" + StringMan.repeat(",?", chunk.size()).substring(1) + ')';
+            try {
+                try (PreparedStatement statement = this.connection.prepareStatement(
+                        "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `timestamp` FROM `" + this.prefix + "plot` WHERE `id`"
+                                + in)) {
+                    setIds(statement, chunk);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            int id = resultSet.getInt("id");
+                            PlotId plotId = PlotId.of(resultSet.getInt("plot_id_x"), resultSet.getInt("plot_id_z"));
+                            plots.put(id, new Plot(plotId, toUUID(resultSet.getString("owner")), new HashSet<>(),
+                                    new HashSet<>(), new HashSet<>(), "", null, null, null,
+                                    new boolean[]{false, false, false, false}, 0, id
+                            ));
                         }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_denied", "plot_plot_id");
                 }
-
-                try (final ResultSet resultSet = statement
-                        .executeQuery("SELECT * FROM `" + this.prefix + "plot_flags`")) {
-                    BlockTypeListFlag.skipCategoryVerification =
-                            true; // allow invalid tags, as initialized lazily
-                    final ArrayList<Integer> toDelete = new ArrayList<>();
-                    final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_id");
-                        final String flag = resultSet.getString("flag");
-                        String value = resultSet.getString("value");
-                        final Plot plot = plots.get(id);
-                        if (plot != null) {
-                            final PlotFlag<?, ?> plotFlag =
-                                    GlobalFlagContainer.getInstance().getFlagFromString(flag);
-                            if (plotFlag == null) {
-                                plot.getFlagContainer().addUnknownFlag(flag, value);
-                            } else {
-                                value = CaptionUtility.stripClickEvents(plotFlag, value);
-                                try {
-                                    plot.getFlagContainer().addFlag(plotFlag.parse(value));
-                                } catch (final FlagParseException e) {
-                                    e.printStackTrace();
-                                    LOGGER.error("Plot with ID {} has an invalid value:", id);
-                                    LOGGER.error("Failed to parse flag '{}', value '{}': {}",
-                                            plotFlag.getName(), e.getValue(), e.getErrorMessage()
-                                    );
-                                    if (!invalidFlags.containsKey(plot)) {
-                                        invalidFlags.put(plot, new ArrayList<>());
-                                    }
-                                    invalidFlags.get(plot).add(plotFlag);
+                for (String table : new String[]{"plot_helpers", "plot_trusted", "plot_denied"}) {
+                    try (PreparedStatement statement = this.connection.prepareStatement(
+                            "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + table + "` WHERE `plot_plot_id`"
+                                    + in)) {
+                        setIds(statement, chunk);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                Plot plot = plots.get(resultSet.getInt("plot_plot_id"));
+                                if (plot == null) {
+                                    continue;
+                                }
+                                UUID user = UUID.fromString(resultSet.getString("user_uuid"));
+                                switch (table) {
+                                    case "plot_helpers" -> plot.getTrusted().add(user);
+                                    case "plot_trusted" -> plot.getMembers().add(user);
+                                    default -> plot.getDenied().add(user);
                                 }
                             }
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_flags` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
                         }
                     }
-                    BlockTypeListFlag.skipCategoryVerification =
-                            false; // don't allow invalid tags anymore
-                    if (Settings.Enabled_Components.DATABASE_PURGER) {
-                        for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
-                                .entrySet()) {
-                            for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
-                                LOGGER.info(
-                                        "Plot {} has an invalid flag ({}). A fix has been attempted",
-                                        plotFlagEntry.getKey(), flag.getName()
-                                );
-                                removeFlag(plotFlagEntry.getKey(), flag);
+                }
+                try (PreparedStatement statement = this.connection.prepareStatement(
+                        "SELECT `plot_id`, `flag`, `value` FROM `" + this.prefix + "plot_flags` WHERE `plot_id`" + in)) {
+                    setIds(statement, chunk);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Plot plot = plots.get(resultSet.getInt("plot_id"));
+                            PlotFlag<?, ?> plotFlag =
+                                    GlobalFlagContainer.getInstance().getFlagFromString(resultSet.getString("flag"));
+                            if (plot == null || plotFlag == null) {
+                                continue;
+                            }
+                            try {
+                                plot.getFlagContainer().addFlag(plotFlag.parse(
+                                        CaptionUtility.stripClickEvents(plotFlag, resultSet.getString("value"))));
+                            } catch (FlagParseException ignored) {
                             }
                         }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_flags", "plot_id");
                 }
-
-                try (ResultSet resultSet = statement
-                        .executeQuery("SELECT * FROM `" + this.prefix + "plot_settings`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_plot_id");
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plots.remove(id);
+                try (PreparedStatement statement = this.connection.prepareStatement(
+                        "SELECT `plot_plot_id`, `alias`, `position`, `merged` FROM `" + this.prefix
+                                + "plot_settings` WHERE `plot_plot_id`" + in)) {
+                    setIds(statement, chunk);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Plot plot = plots.get(resultSet.getInt("plot_plot_id"));
+                            if (plot == null) {
+                                continue;
+                            }
                             String alias = resultSet.getString("alias");
                             if (alias != null) {
                                 plot.getSettings().setAlias(alias);
                             }
-                            String pos = resultSet.getString("position");
-                            switch (pos.toLowerCase()) {
-                                case "":
-                                case "default":
-                                case "0,0,0":
-                                case "center":
-                                    break;
-                                default:
-                                    try {
-                                        plot.getSettings().setPosition(BlockLoc.fromString(pos));
-                                    } catch (Exception ignored) {
-                                    }
+                            String position = resultSet.getString("position");
+                            if (position != null && !position.isEmpty() && !"default".equalsIgnoreCase(position)
+                                    && !"center".equalsIgnoreCase(position)) {
+                                try {
+                                    plot.getSettings().setPosition(BlockLoc.fromString(position));
+                                } catch (Exception ignored) {
+                                }
                             }
                             int m = resultSet.getInt("merged");
                             boolean[] merged = new boolean[4];
-                            for (int i = 0; i < 4; i++) {
-                                merged[3 - i] = (m & 1 << i) != 0;
+                            for (int j = 0; j < 4; j++) {
+                                merged[3 - j] = (m & 1 << j) != 0;
                             }
                             plot.getSettings().setMerged(merged);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_settings` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
                         }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_settings", "plot_plot_id");
-                }
-            }
-            if (!plots.entrySet().isEmpty()) {
-                createEmptySettings(new ArrayList<>(plots.keySet()), null);
-                for (Entry<Integer, Plot> entry : plots.entrySet()) {
-                    entry.getValue().getSettings();
-                }
-            }
-            boolean invalidPlot = false;
-            for (Entry<String, AtomicInteger> entry : noExist.entrySet()) {
-                String worldName = entry.getKey();
-                invalidPlot = true;
-                if (Settings.DEBUG) {
-                    LOGGER.info("Warning! Found {} plots in DB for non existent world: '{}'",
-                            entry.getValue().intValue(), worldName
-                    );
                 }
+            } catch (SQLException e) {
+                LOGGER.error("Failed to load plots", e);
             }
-            if (invalidPlot && Settings.DEBUG) {
-                LOGGER.info("Warning! Please create the world(s) or remove the plots using the purge command");
+        }
+        return plots;
+    }
+
+    private void setIds(PreparedStatement statement, List<Integer> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            statement.setInt(i + 1, ids.get(i));
+        }
+    }
+
+    private UUID toUUID(String owner) {
+        try {
+            return UUID.fromString(owner);
+        } catch (IllegalArgumentException e) {
+            if (Settings.UUID.FORCE_LOWERCASE) {
+                owner = owner.toLowerCase();
             }
-        } catch (SQLException e) {
-            LOGGER.error("Failed to load plots", e);
+            return UUID.nameUUIDFromBytes(("OfflinePlayer:" + owner).getBytes(Charsets.UTF_8));
         }
-        return newPlots;
     }
 
     @Override
@@ -2160,7 +2408,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot_settings` SET `merged` = ? WHERE `plot_plot_id` = ?");
             }
@@ -2210,7 +2458,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot` SET `plot_id_x` = ?, `plot_id_z` = ?, `world` = ? WHERE `id` = ?");
             }
@@ -2241,7 +2489,7 @@ public class SQLManager implements AbstractDB {
                             + "plot_flags`(`plot_id`, `flag`, `value`) VALUES(?, ?, ?) "
                             + "ON CONFLICT(`plot_id`,`flag`) DO UPDATE SET `value` = ?";
                 }
-                return SQLManager.this.connection.prepareStatement(statement);
+                return SQLManager.this.getWriterConnection().prepareStatement(statement);
             }
         });
     }
@@ -2257,7 +2505,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_flags` WHERE `plot_id` = ? AND `flag` = ?");
             }
@@ -2275,7 +2523,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot_settings` SET `alias` = ?  WHERE `plot_plot_id` = ?");
             }
@@ -2383,7 +2631,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final Plot plot, final String position) {
-        addPlotTask(plot, new UniqueStatement("setPosition") {
+        addPlotTask(plot, new UniqueStatement("setPosition_plot") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, position == null ? "" : position);
@@ -2392,7 +2640,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot_settings` SET `position` = ?  WHERE `plot_plot_id` = ?");
             }
@@ -2401,7 +2649,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void removeComment(final Plot plot, final PlotComment comment) {
-        addPlotTask(plot, new UniqueStatement("removeComment") {
+        addPlotTask(plot, new UniqueStatement(plot != null ? "removeComment" : "removeComment_all") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 if (plot != null) {
@@ -2420,11 +2668,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.getWriterConnection().prepareStatement(
                             "DELETE FROM `" + SQLManager.this.prefix
                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `comment` = ? AND `inbox` = ? AND `sender` = ?");
                 }
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_comments` WHERE `comment` = ? AND `inbox` = ? AND `sender` = ?");
             }
@@ -2433,7 +2681,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void clearInbox(final Plot plot, final String inbox) {
-        addPlotTask(plot, new UniqueStatement("clearInbox") {
+        addPlotTask(plot, new UniqueStatement(plot != null ? "clearInbox" : "clearInbox_all") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 if (plot != null) {
@@ -2448,11 +2696,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.getWriterConnection().prepareStatement(
                             "DELETE FROM `" + SQLManager.this.prefix
                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?");
                 }
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix + "plot_comments` `inbox` = ?");
             }
         });
@@ -2478,11 +2726,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.getWriterConnection().prepareStatement(
                             "SELECT * FROM `" + SQLManager.this.prefix
                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?");
                 }
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "SELECT * FROM `" + SQLManager.this.prefix
                                 + "plot_comments` WHERE `inbox` = ?");
             }
@@ -2533,7 +2781,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_comments` (`world`, `hashcode`, `comment`, `inbox`, `timestamp`, `sender`) VALUES(?,?,?,?,?,?)");
             }
@@ -2551,7 +2799,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_helpers` WHERE `plot_plot_id` = ? AND `user_uuid` = ?");
             }
@@ -2569,7 +2817,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_trusted` WHERE `plot_plot_id` = ? AND `user_uuid` = ?");
             }
@@ -2587,7 +2835,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_helpers` (`plot_plot_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -2605,7 +2853,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_trusted` (`plot_plot_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -2623,7 +2871,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_denied` WHERE `plot_plot_id` = ? AND `user_uuid` = ?");
             }
@@ -2641,7 +2889,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_denied` (`plot_plot_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -2681,7 +2929,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_rating` (`plot_plot_id`, `rating`, `player`) VALUES(?,?,?)");
             }
@@ -2699,7 +2947,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_settings` WHERE `cluster_id` = ?");
             }
@@ -2712,7 +2960,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_helpers` WHERE `cluster_id` = ?");
             }
@@ -2725,7 +2973,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_invited` WHERE `cluster_id` = ?");
             }
@@ -2738,7 +2986,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix + "cluster` WHERE `id` = ?");
             }
         });
@@ -2749,7 +2997,7 @@ public class SQLManager implements AbstractDB {
             final UUID uuid, final String key, final byte[] meta,
             final boolean replace
     ) {
-        addPlayerTask(uuid, new UniqueStatement("addPersistentMeta") {
+        addPlayerTask(uuid, new UniqueStatement(replace ? "addPersistentMeta_replace" : "addPersistentMeta") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 if (replace) {
@@ -2766,11 +3014,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (replace) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.getWriterConnection().prepareStatement(
                             "UPDATE `" + SQLManager.this.prefix
                                     + "player_meta` SET `value` = ? WHERE `uuid` = ? AND `key` = ?");
                 } else {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.getWriterConnection().prepareStatement(
                             "INSERT INTO `" + SQLManager.this.prefix
                                     + "player_meta`(`uuid`, `key`, `value`) VALUES(?, ? ,?)");
                 }
@@ -2789,7 +3037,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "player_meta` WHERE `uuid` = ? AND `key` = ?");
             }
@@ -2806,7 +3054,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "SELECT * FROM `" + SQLManager.this.prefix
                                 + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC");
             }
@@ -2993,7 +3241,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "cluster_settings` SET `alias` = ?  WHERE `cluster_id` = ?");
             }
@@ -3012,7 +3260,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_helpers` WHERE `cluster_id` = ? AND `user_uuid` = ?");
             }
@@ -3030,7 +3278,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "cluster_helpers` (`cluster_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -3052,7 +3300,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         SQLManager.this.CREATE_CLUSTER,
                         Statement.RETURN_GENERATED_KEYS
                 );
@@ -3083,7 +3331,7 @@ public class SQLManager implements AbstractDB {
 
                     @Override
                     public PreparedStatement get() throws SQLException {
-                        return SQLManager.this.connection.prepareStatement(
+                        return SQLManager.this.getWriterConnection().prepareStatement(
                                 "INSERT INTO `" + SQLManager.this.prefix
                                         + "cluster_settings`(`cluster_id`, `alias`) VALUES(?, ?)");
                     }
@@ -3110,7 +3358,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "cluster` SET `pos1_x` = ?, `pos1_z` = ?, `pos2_x` = ?, `pos2_z` = ?  WHERE `id` = ?");
             }
@@ -3119,7 +3367,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final PlotCluster cluster, final String position) {
-        addClusterTask(cluster, new UniqueStatement("setPosition") {
+        addClusterTask(cluster, new UniqueStatement("setPosition_cluster") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, position);
@@ -3128,7 +3376,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "cluster_settings` SET `position` = ?  WHERE `cluster_id` = ?");
             }
@@ -3146,7 +3394,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_invited` WHERE `cluster_id` = ? AND `user_uuid` = ?");
             }
@@ -3164,7 +3412,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.getWriterConnection().prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "cluster_invited` (`cluster_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -3205,12 +3453,7 @@ public class SQLManager implements AbstractDB {
         }
         LOGGER.info(
                 "All DB transactions during this session are being validated (This may take a while if corrections need to be made)");
-        commit();
-        while (true) {
-            if (!sendBatch()) {
-                break;
-            }
-        }
+        flush();
         try {
             if (this.connection.getAutoCommit()) {
                 this.connection.setAutoCommit(false);
@@ -3245,82 +3488,165 @@ public class SQLManager implements AbstractDB {
                 toCreate.add(plot);
                 continue;
             }
-            // owner
-            if (!plot.getOwnerAbs().equals(dataPlot.getOwnerAbs())) {
-                setOwner(plot, plot.getOwnerAbs());
-            }
-            // trusted
-            if (!plot.getTrusted().equals(dataPlot.getTrusted())) {
-                HashSet<UUID> toAdd = (HashSet<UUID>) plot.getTrusted().clone();
-                HashSet<UUID> toRemove = (HashSet<UUID>) dataPlot.getTrusted().clone();
-                toRemove.removeAll(plot.getTrusted());
-                toAdd.removeAll(dataPlot.getTrusted());
-                if (!toRemove.isEmpty()) {
-                    for (UUID uuid : toRemove) {
-                        removeTrusted(plot, uuid);
-                    }
-                }
-                if (!toAdd.isEmpty()) {
-                    for (UUID uuid : toAdd) {
-                        setTrusted(plot, uuid);
-                    }
+            validatePlot(plot, dataPlot, VALIDATE_ALL);
+            plot.clearDirty();
+        }
+        if (!toCreate.isEmpty()) {
+            LOGGER.info("Creating {} plot(s) missing from the database", toCreate.size());
+            createPlotsAndData(toCreate, null);
+        }
+
+        for (Entry<String, HashMap<PlotId, Plot>> entry : database.entrySet()) {
+            HashMap<PlotId, Plot> map = entry.getValue();
+            if (!map.isEmpty()) {
+                for (Entry<PlotId, Plot> entry2 : map.entrySet()) {
+                    // TODO implement this when sure safe"
                 }
             }
-            if (!plot.getMembers().equals(dataPlot.getMembers())) {
-                HashSet<UUID> toAdd = (HashSet<UUID>) plot.getMembers().clone();
-                HashSet<UUID> toRemove = (HashSet<UUID>) dataPlot.getMembers().clone();
-                toRemove.removeAll(plot.getMembers());
-                toAdd.removeAll(dataPlot.getMembers());
-                if (!toRemove.isEmpty()) {
-                    for (UUID uuid : toRemove) {
-                        removeMember(plot, uuid);
-                    }
-                }
-                if (!toAdd.isEmpty()) {
-                    for (UUID uuid : toAdd) {
-                        setMember(plot, uuid);
-                    }
-                }
+        }
+        flush();
+    }
+
+    @Override
+    public void validateDirtyPlots(Set<Plot> toValidate) {
+        if (!isValid()) {
+            reconnect();
+        }
+        LOGGER.info("Validating {} plot(s) changed during this session", toValidate.size());
+        flush();
+        try {
+            if (this.connection.getAutoCommit()) {
+                this.connection.setAutoCommit(false);
             }
-            if (!plot.getDenied().equals(dataPlot.getDenied())) {
-                HashSet<UUID> toAdd = (HashSet<UUID>) plot.getDenied().clone();
-                HashSet<UUID> toRemove = (HashSet<UUID>) dataPlot.getDenied().clone();
-                toRemove.removeAll(plot.getDenied());
-                toAdd.removeAll(dataPlot.getDenied());
-                if (!toRemove.isEmpty()) {
-                    for (UUID uuid : toRemove) {
-                        removeDenied(plot, uuid);
-                    }
-                }
-                if (!toAdd.isEmpty()) {
-                    for (UUID uuid : toAdd) {
-                        setDenied(plot, uuid);
-                    }
-                }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        HashMap<Integer, Plot> plots = new HashMap<>();
+        ArrayList<Plot> toCreate = new ArrayList<>();
+        for (Plot plot : toValidate) {
+            if (plot.temp == -1) {
+                continue;
             }
-            boolean[] pm = plot.getMerged();
-            boolean[] dm = dataPlot.getMerged();
-            if (pm[0] != dm[0] || pm[1] != dm[1]) {
-                setMerged(dataPlot, plot.getMerged());
+            if (plot.getArea() == null) {
+                LOGGER.error("Cannot validate plot {} as it has no plot area", plot);
+                continue;
             }
-            Set<PlotFlag<?, ?>> pf = plot.getFlags();
-            Set<PlotFlag<?, ?>> df = dataPlot.getFlags();
-            if (!pf.isEmpty() && !df.isEmpty()) {
-                if (pf.size() != df.size() || !StringMan
-                        .isEqual(StringMan.joinOrdered(pf, ","), StringMan.joinOrdered(df, ","))) {
-                    // setFlags(plot, pf);
-                    // TODO: Re-implement
+            int id = getId(plot);
+            if (id == Integer.MAX_VALUE) {
+                toCreate.add(plot);
+                continue;
+            }
+            plots.put(id, plot);
+        }
+        HashMap<Integer, Plot> database = getPlots(plots.keySet());
+        for (Entry<Integer, Plot> entry : plots.entrySet()) {
+            Plot plot = entry.getValue();
+            Plot dataPlot = database.get(entry.getKey());
+            if (dataPlot == null) {
+                toCreate.add(plot);
+                continue;
+            }
+            validatePlot(plot, dataPlot, plot.getDirtyFlags());
+            plot.clearDirty();
+        }
+        if (!toCreate.isEmpty()) {
+            LOGGER.info("Creating {} plot(s) missing from the database", toCreate.size());
+            createPlotsAndData(toCreate, null);
+        }
+        flush();
+    }
+
+    /**
+     * Queue the statements needed to make the database copy of a plot match the plot.
+     *
+     * @param plot     plot to validate
+     * @param dataPlot the plot as it is stored in the database
+     * @param dirty    the {@code Plot.DIRTY_*} bits of the data to compare
+     */
+    private void validatePlot(Plot plot, Plot dataPlot, int dirty) {
+        // owner
+        if ((dirty & Plot.DIRTY_OWNER) != 0 && !Objects.equals(plot.getOwnerAbs(), dataPlot.getOwnerAbs())) {
+            setOwner(plot, plot.getOwnerAbs());
+        }
+        // trusted
+        if ((dirty & Plot.DIRTY_TRUSTED) != 0 && !plot.getTrusted().equals(dataPlot.getTrusted())) {
+            HashSet<UUID> toAdd = (HashSet<UUID>) plot.getTrusted().clone();
+            HashSet<UUID> toRemove = (HashSet<UUID>) dataPlot.getTrusted().clone();
+            toRemove.removeAll(plot.getTrusted());
+            toAdd.removeAll(dataPlot.getTrusted());
+            for (UUID uuid : toRemove) {
+                removeTrusted(plot, uuid);
+            }
+            for (UUID uuid : toAdd) {
+                setTrusted(plot, uuid);
+            }
+        }
+        if ((dirty & Plot.DIRTY_MEMBERS) != 0 && !plot.getMembers().equals(dataPlot.getMembers())) {
+            HashSet<UUID> toAdd = (HashSet<UUID>) plot.getMembers().clone();
+            HashSet<UUID> toRemove = (HashSet<UUID>) dataPlot.getMembers().clone();
+            toRemove.removeAll(plot.getMembers());
+            toAdd.removeAll(dataPlot.getMembers());
+            for (UUID uuid : toRemove) {
+                removeMember(plot, uuid);
+            }
+            for (UUID uuid : toAdd) {
+                setMember(plot, uuid);
+            }
+        }
+        if ((dirty & Plot.DIRTY_DENIED) != 0 && !plot.getDenied().equals(dataPlot.getDenied())) {
+            HashSet<UUID> toAdd = (HashSet<UUID>) plot.getDenied().clone();
+            HashSet<UUID> toRemove = (HashSet<UUID>) dataPlot.getDenied().clone();
+            toRemove.removeAll(plot.getDenied());
+            toAdd.removeAll(dataPlot.getDenied());
+            for (UUID uuid : toRemove) {
+                removeDenied(plot, uuid);
+            }
+            for (UUID uuid : toAdd) {
+                setDenied(plot, uuid);
+            }
+        }
+        if ((dirty & Plot.DIRTY_MERGED) != 0 && !Arrays.equals(plot.getMerged(), dataPlot.getMerged())) {
+            setMerged(plot, plot.getMerged());
+        }
+        if ((dirty & Plot.DIRTY_ALIAS) != 0 && !plot.getSettings().getAlias().equals(dataPlot.getSettings().getAlias())) {
+            setAlias(plot, plot.getSettings().getAlias());
+        }
+        if ((dirty & Plot.DIRTY_POSITION) != 0 && !plot.getSettings().getPosition().equals(dataPlot.getSettings().getPosition())) {
+            setPosition(plot, plot.getSettings().getPosition().toString());
+        }
+        if ((dirty & Plot.DIRTY_FLAGS) != 0) {
+            Map<Class<?>, PlotFlag<?, ?>> flags = plot.getFlagContainer().getFlagMap();
+            Map<Class<?>, PlotFlag<?, ?>> dataFlags = dataPlot.getFlagContainer().getFlagMap();
+            for (PlotFlag<?, ?> flag : flags.values()) {
+                PlotFlag<?, ?> dataFlag = dataFlags.get(flag.getClass());
+                if (dataFlag == null || !flag.toString().equals(dataFlag.toString())) {
+                    setFlag(plot, flag);
+                }
+            }
+            for (PlotFlag<?, ?> dataFlag : dataFlags.values()) {
+                if (!flags.containsKey(dataFlag.getClass())) {
+                    removeFlag(plot, dataFlag);
                 }
             }
         }
+    }
 
-        for (Entry<String, HashMap<PlotId, Plot>> entry : database.entrySet()) {
-            HashMap<PlotId, Plot> map = entry.getValue();
-            if (!map.isEmpty()) {
-                for (Entry<PlotId, Plot> entry2 : map.entrySet()) {
-                    // TODO implement this when sure safe"
+    /**
+     * Write every queued statement to the database on the main connection. Writers poll and
+     * write their rounds while holding the read lock, so holding the write lock waits for the
+     * rounds in progress and keeps the statements of a key from running on two connections.
+     */
+    private void flush() {
+        commit();
+        this.globalTaskLock.writeLock().lock();
+        try {
+            while (true) {
+                if (!sendBatch()) {
+                    break;
                 }
             }
+        } finally {
+            this.globalTaskLock.writeLock().unlock();
         }
         commit();
     }
@@ -3413,12 +3739,185 @@ public class SQLManager implements AbstractDB {
     public void close() {
         try {
             this.closed = true;
+            signalWriters();
             this.connection.close();
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Reads every row of a table that references plots by their database ID.
+     */
+    private final class TableLoader {
+
+        private final String table;
+        private final String column;
+        private final String columns;
+        private final RowHandler handler;
+        private final ArrayList<Integer> toDelete = new ArrayList<>();
+        private int rows;
+        private long time;
+
+        private TableLoader(final String table, final String column, final String columns, final RowHandler handler) {
+            this.table = table;
+            this.column = column;
+            this.columns = columns;
+            this.handler = handler;
+        }
+
+        private void load(final Connection connection, final Map<Integer, Plot> plots) throws SQLException {
+            final long start = System.currentTimeMillis();
+            try (Statement statement = createLoadStatement(connection);
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT " + this.columns + " FROM `" + SQLManager.this.prefix + this.table + '`')) {
+                while (resultSet.next()) {
+                    this.rows++;
+                    final int id = resultSet.getInt(this.column);
+                    final Plot plot = plots.get(id);
+                    if (plot != null) {
+                        this.handler.handle(resultSet, plot);
+                    } else if (Settings.Enabled_Components.DATABASE_PURGER) {
+                        this.toDelete.add(id);
+                    } else {
+                        LOGGER.warn("Entry #{} in `{}` does not exist."
+                                + " Create this plot or set `database-purger: true` in settings.yml", id, this.table);
+                    }
+                }
+            }
+            this.time = System.currentTimeMillis() - start;
+        }
+
+        private void reset() {
+            this.toDelete.clear();
+            this.rows = 0;
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+
+        void handle(ResultSet resultSet, Plot plot) throws SQLException;
+
+    }
+
+    /**
+     * Writes queued statements to the database. The first writer uses the main connection
+     * and also runs the global and notify tasks, every other writer opens a connection of its
+     * own and only writes the statements of the plots, players and clusters assigned to it.
+     */
+    private final class Writer {
+
+        private final int index;
+        private final int writers;
+        private Connection connection;
+        private long lastConnect = System.currentTimeMillis();
+
+        private Writer(final int index, final int writers) {
+            this.index = index;
+            this.writers = writers;
+        }
+
+        private void run() {
+            if (this.index != 0) {
+                try {
+                    this.connection = SQLManager.this.database.openAdditionalConnection();
+                    SQLManager.this.writerConnection.set(this.connection);
+                } catch (SQLException | ClassNotFoundException e) {
+                    LOGGER.error("Failed to open a connection for database writer {}. Using the main connection instead",
+                            this.index, e
+                    );
+                }
+            }
+            try {
+                while (!SQLManager.this.closed) {
+                    if (!hasTasks(this.index, this.writers)) {
+                        synchronized (SQLManager.this.writerSignal) {
+                            if (!hasTasks(this.index, this.writers)) {
+                                SQLManager.this.writerSignal.wait(1000);
+                            }
+                        }
+                        continue;
+                    }
+                    this.checkConnection();
+                    final Connection current = this.connection == null ? SQLManager.this.connection : this.connection;
+                    if (!sendBatch(current, this.index, this.writers) && this.index == 0) {
+                        this.runNotifyTasks();
+                    }
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            } finally {
+                SQLManager.this.writerConnection.remove();
+                if (this.connection != null) {
+                    try {
+                        this.connection.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+
+        private void checkConnection() {
+            final long sinceConnect = System.currentTimeMillis() - this.lastConnect;
+            final boolean expired = SQLManager.this.mySQL && sinceConnect > 550000;
+            if (this.index == 0) {
+                if (expired || !isValid()) {
+                    this.lastConnect = System.currentTimeMillis();
+                    reconnect();
+                }
+                return;
+            }
+            if (this.connection == null) {
+                // Writing on the main connection until a connection of our own can be opened again
+                if (sinceConnect < RECONNECT_INTERVAL) {
+                    return;
+                }
+            } else if (!expired && isValid(this.connection)) {
+                return;
+            } else {
+                try {
+                    this.connection.close();
+                } catch (SQLException ignored) {
+                }
+                this.connection = null;
+                SQLManager.this.writerConnection.remove();
+            }
+            this.lastConnect = System.currentTimeMillis();
+            try {
+                this.connection = SQLManager.this.database.openAdditionalConnection();
+                SQLManager.this.writerConnection.set(this.connection);
+            } catch (SQLException | ClassNotFoundException e) {
+                LOGGER.error("Failed to reconnect database writer {}. Using the main connection instead", this.index, e);
+            }
+        }
+
+        private void runNotifyTasks() throws InterruptedException {
+            if (getNotifyTasks().isEmpty()) {
+                return;
+            }
+            // Notify tasks may only run once every writer is done
+            synchronized (SQLManager.this.writerSignal) {
+                if (getQueueDepth() > 0 && !hasStatements(this.index, this.writers) && !SQLManager.this.closed) {
+                    // Woken up once another writer finished a round or a task was queued
+                    SQLManager.this.writerSignal.wait();
+                    return;
+                }
+            }
+            awaitWriters();
+            if (getQueueDepth() > 0) {
+                return;
+            }
+            Runnable task;
+            while ((task = getNotifyTasks().poll()) != null) {
+                TaskManager.runTask(task);
+            }
+        }
+
+    }
+
     private static class LegacySettings {
 
         public final int id;
@@ -3434,6 +3933,10 @@ public class SQLManager implements AbstractDB {
     public abstract static class UniqueStatement {
 
         public final String method;
+        /**
+         * Time at which the statement was created, in nanoseconds
+         */
+        final long created = System.nanoTime();
 
         public UniqueStatement(String method) {
             this.method = method;
@@ -119,9 +119,14 @@ public class SQLite extends Database {
 
     @Override
     public Connection forceConnection() throws SQLException, ClassNotFoundException {
-        Class.forName("org.sqlite.JDBC");
-        this.connection = DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+        this.connection = openAdditionalConnection();
         return this.connection;
     }
 
+    @Override
+    public Connection openAdditionalConnection() throws SQLException, ClassNotFoundException {
+        Class.forName("org.sqlite.JDBC");
+        return DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+    }
+
 }
@@ -0,0 +1,239 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.BlockBucket;
+import com.plotsquared.core.queue.ScopedQueueCoordinator;
+import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.function.pattern.BlockPattern;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved chunk contents of a {@link HybridPlotWorld}. A hybrid plot world repeats every
+ * {@code SIZE} blocks in x and z, so the blocks of a chunk only depend on the chunk's offset
+ * within that period. Templates are built once per offset and then copied column by column
+ * into the chunk being generated.
+ * <p>
+ * Templates are only available when every block bucket of the world is a single block, as
+ * buckets with several blocks need to be evaluated per position.
+ */
+final class HybridChunkTemplates {
+
+    private static final int ROAD = 0;
+    private static final int WALL = 1;
+    private static final int PLOT = 2;
+
+    private final HybridPlotWorld world;
+    private final Map<Integer, Template> templates = new ConcurrentHashMap<>();
+    private final Map<Integer, BaseBlock[]> schematicColumns = new ConcurrentHashMap<>();
+    private final BaseBlock[][] columns = new BaseBlock[3][];
+
+    private HybridChunkTemplates(final @NonNull HybridPlotWorld world, final @NonNull BaseBlock road,
+            final @NonNull BaseBlock wallFilling, final @NonNull BaseBlock wall,
+            final @NonNull BaseBlock main, final @NonNull BaseBlock top
+    ) {
+        this.world = world;
+        final BaseBlock bedrock = world.PLOT_BEDROCK ? BlockTypes.BEDROCK.getDefaultState().toBaseBlock() : null;
+
+        final BaseBlock[] roadColumn = new BaseBlock[world.ROAD_HEIGHT + 1];
+        for (int y = 1; y <= world.ROAD_HEIGHT; y++) {
+            roadColumn[y] = road;
+        }
+        final boolean topBlock = !world.ROAD_SCHEMATIC_ENABLED && world.PLACE_TOP_BLOCK;
+        final BaseBlock[] wallColumn = new BaseBlock[world.WALL_HEIGHT + (topBlock ? 2 : 1)];
+        for (int y = 1; y <= world.WALL_HEIGHT; y++) {
+            wallColumn[y] = wallFilling;
+        }
+        if (topBlock) {
+            wallColumn[world.WALL_HEIGHT + 1] = wall;
+        }
+        final BaseBlock[] plotColumn = new BaseBlock[Math.max(1, world.PLOT_HEIGHT + 1)];
+        for (int y = 1; y < world.PLOT_HEIGHT; y++) {
+            plotColumn[y] = main;
+        }
+        if (world.PLOT_HEIGHT >= 0) {
+            plotColumn[world.PLOT_HEIGHT] = top;
+        }
+        this.columns[ROAD] = roadColumn;
+        this.columns[WALL] = wallColumn;
+        this.columns[PLOT] = plotColumn;
+        for (final BaseBlock[] column : this.columns) {
+            column[0] = bedrock;
+        }
+    }
+
+    /**
+     * Create the templates for a world, if all of its block buckets are single blocks
+     *
+     * @param world Hybrid plot world
+     * @return Templates, or {@code null} if the world cannot be cached
+     */
+    static @Nullable HybridChunkTemplates create(final @NonNull HybridPlotWorld world) {
+        final BaseBlock road = single(world.ROAD_BLOCK);
+        final BaseBlock wallFilling = single(world.WALL_FILLING);
+        final BaseBlock wall = single(world.WALL_BLOCK);
+        final BaseBlock main = single(world.MAIN_BLOCK);
+        final BaseBlock top = single(world.TOP_BLOCK);
+        if (road == null || wallFilling == null || wall == null || main == null || top == null) {
+            return null;
+        }
+        return new HybridChunkTemplates(world, road, wallFilling, wall, main, top);
+    }
+
+    private static @Nullable BaseBlock single(final @NonNull BlockBucket bucket) {
+        final Pattern pattern = bucket.toPattern();
+        if (pattern instanceof BlockPattern blockPattern) {
+            return blockPattern.getBlock();
+        }
+        return null;
+    }
+
+    /**
+     * Get the template of the chunk whose minimum corner lies at the given offset within the plot period
+     *
+     * @param relativeOffsetX X offset within the period
+     * @param relativeOffsetZ Z offset within the period
+     * @return Chunk template
+     */
+    @NonNull Template get(final short relativeOffsetX, final short relativeOffsetZ) {
+        return this.templates.computeIfAbsent(
+                MathMan.pair(relativeOffsetX, relativeOffsetZ),
+                key -> this.build(relativeOffsetX, relativeOffsetZ)
+        );
+    }
+
+    private @NonNull Template build(final short relativeOffsetX, final short relativeOffsetZ) {
+        final BaseBlock[][] columns = new BaseBlock[256][];
+        final BiomeType[] biomes = new BiomeType[256];
+        for (int x = 0; x < 16; x++) {
+            final short relativeX = (short) ((relativeOffsetX + x) % this.world.SIZE);
+            final int typeX = this.type(relativeX);
+            for (int z = 0; z < 16; z++) {
+                final short relativeZ = (short) ((relativeOffsetZ + z) % this.world.SIZE);
+                final int typeZ = this.type(relativeZ);
+                final int type;
+                if (typeX == ROAD || typeZ == ROAD) {
+                    type = ROAD;
+                } else if (typeX == WALL || typeZ == WALL) {
+                    type = WALL;
+                } else {
+                    type = PLOT;
+                }
+                final boolean schematic = type == PLOT ? this.world.PLOT_SCHEMATIC : this.world.ROAD_SCHEMATIC_ENABLED;
+                final int index = z << 4 | x;
+                if (schematic) {
+                    final int pair = MathMan.pair(relativeX, relativeZ);
+                    columns[index] = this.schematicColumns.computeIfAbsent(pair, key -> this.overlay(type, key));
+                    biomes[index] = this.world.G_SCH_B.get(pair);
+                } else {
+                    columns[index] = this.columns[type];
+                }
+            }
+        }
+        return new Template(columns, biomes);
+    }
+
+    private int type(final short relative) {
+        if (this.world.ROAD_WIDTH == 0) {
+            return PLOT;
+        }
+        if (relative < this.world.PATH_WIDTH_LOWER || relative > this.world.PATH_WIDTH_UPPER) {
+            return ROAD;
+        }
+        if (relative == this.world.PATH_WIDTH_LOWER || relative == this.world.PATH_WIDTH_UPPER) {
+            return WALL;
+        }
+        return PLOT;
+    }
+
+    private BaseBlock @NonNull [] overlay(final int type, final int pair) {
+        final BaseBlock[] base = this.columns[type];
+        final BaseBlock[] blocks = this.world.G_SCH.get(pair);
+        if (blocks == null) {
+            return base;
+        }
+        final boolean road = type != PLOT;
+        final int minY;
+        if ((road && Settings.Schematics.PASTE_ROAD_ON_TOP) || (!road && Settings.Schematics.PASTE_ON_TOP)) {
+            minY = this.world.SCHEM_Y;
+        } else {
+            minY = 1;
+        }
+        final BaseBlock[] column = new BaseBlock[Math.max(base.length, minY + blocks.length)];
+        System.arraycopy(base, 0, column, 0, base.length);
+        for (int y = 0; y < blocks.length; y++) {
+            if (blocks[y] != null) {
+                column[minY + y] = blocks[y];
+            }
+        }
+        return column;
+    }
+
+
+    /**
+     * Resolved blocks and biomes of a single chunk
+     */
+    static final class Template {
+
+        private final BaseBlock[][] columns;
+        private final BiomeType[] biomes;
+
+        private Template(final BaseBlock @NonNull [][] columns, final BiomeType @NonNull [] biomes) {
+            this.columns = columns;
+            this.biomes = biomes;
+        }
+
+        /**
+         * Copy the template into the given queue
+         *
+         * @param result Queue scoped to the chunk
+         * @param biome  Biome of the plot world
+         */
+        void apply(final @NonNull ScopedQueueCoordinator result, final @NonNull BiomeType biome) {
+            result.fillBiome(biome);
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    final int index = z << 4 | x;
+                    result.setColumn(x, z, 0, this.columns[index]);
+                    if (this.biomes[index] != null) {
+                        result.setBiome(x, z, this.biomes[index]);
+                    }
+                }
+            }
+        }
+
+    }
+
+}
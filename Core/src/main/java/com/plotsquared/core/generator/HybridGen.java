@@ -85,16 +85,6 @@ public class HybridGen extends IndependentPlotGenerator {
         Preconditions.checkNotNull(settings, "settings cannot be null");
 
         HybridPlotWorld hybridPlotWorld = (HybridPlotWorld) settings;
-        // Biome
-        result.fillBiome(hybridPlotWorld.getPlotBiome());
-        // Bedrock
-        if (hybridPlotWorld.PLOT_BEDROCK) {
-            for (short x = 0; x < 16; x++) {
-                for (short z = 0; z < 16; z++) {
-                    result.setBlock(x, 0, z, BlockTypes.BEDROCK.getDefaultState());
-                }
-            }
-        }
         // Coords
         Location min = result.getMin();
         int bx = (min.getX()) - hybridPlotWorld.ROAD_OFFSET_X;
@@ -115,6 +105,22 @@ public class HybridGen extends IndependentPlotGenerator {
         } else {
             relativeOffsetZ = (short) (bz % hybridPlotWorld.SIZE);
         }
+        // The world repeats every SIZE blocks, so chunks at the same offset are identical
+        HybridChunkTemplates templates = hybridPlotWorld.getChunkTemplates();
+        if (templates != null) {
+            templates.get(relativeOffsetX, relativeOffsetZ).apply(result, hybridPlotWorld.getPlotBiome());
+            return;
+        }
+        // Biome
+        result.fillBiome(hybridPlotWorld.getPlotBiome());
+        // Bedrock
+        if (hybridPlotWorld.PLOT_BEDROCK) {
+            for (short x = 0; x < 16; x++) {
+                for (short z = 0; z < 16; z++) {
+                    result.setBlock(x, 0, z, BlockTypes.BEDROCK.getDefaultState());
+                }
+            }
+        }
         // The X-coordinate of a given X coordinate, relative to the
         // plot (Counting from the corner with the least positive
         // coordinates)
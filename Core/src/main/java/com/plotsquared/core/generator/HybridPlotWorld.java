@@ -79,6 +79,9 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public int SCHEM_Y;
     private Location SIGN_LOCATION;
     private File root = null;
+    private final Object chunkTemplateLock = new Object();
+    private volatile HybridChunkTemplates chunkTemplates;
+    private volatile boolean chunkTemplatesResolved;
 
     @Inject
     private SchematicHandler schematicHandler;
@@ -218,6 +221,15 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     }
 
     public void setupSchematics() throws SchematicHandler.UnsupportedFormatException {
+        this.clearChunkTemplates();
+        try {
+            this.loadSchematics();
+        } finally {
+            this.clearChunkTemplates();
+        }
+    }
+
+    private void loadSchematics() throws SchematicHandler.UnsupportedFormatException {
         this.G_SCH = new HashMap<>();
         this.G_SCH_B = new HashMap<>();
 
@@ -430,6 +442,33 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         this.G_SCH_B.put(pair, id);
     }
 
+    /**
+     * Get the chunk templates of this world, building them if required
+     *
+     * @return Chunk templates, or {@code null} if the world's blocks need to be evaluated per position
+     */
+    @Nullable HybridChunkTemplates getChunkTemplates() {
+        if (!this.chunkTemplatesResolved) {
+            synchronized (this.chunkTemplateLock) {
+                if (!this.chunkTemplatesResolved) {
+                    this.chunkTemplates = HybridChunkTemplates.create(this);
+                    this.chunkTemplatesResolved = true;
+                }
+            }
+        }
+        return this.chunkTemplates;
+    }
+
+    /**
+     * Discard the cached chunk templates. This needs to be called whenever the world's blocks or schematics change.
+     */
+    public void clearChunkTemplates() {
+        synchronized (this.chunkTemplateLock) {
+            this.chunkTemplates = null;
+            this.chunkTemplatesResolved = false;
+        }
+    }
+
     public File getRoot() {
         return this.root;
     }
@@ -0,0 +1,639 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.ScopedQueueCoordinator;
+import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes a {@link PlotAnalysis} of a region one chunk at a time.
+ * <p>
+ * Blocks are mapped to palette ids while the chunk is read, and compared against the
+ * generator output of the same chunk. Only the per-metric sums are kept for the whole region,
+ * so the memory used does not depend on the size of the region. The faces of blocks on a chunk
+ * border depend on the neighbouring chunk; the border planes are kept until that chunk has been
+ * analysed as well.
+ * <p>
+ * Chunks are read on the thread that runs the chunk consumer and analysed asynchronously, using
+ * a bounded pool of buffers. When all buffers are in use, the chunk is analysed right away.
+ */
+final class RegionAnalyzer {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + RegionAnalyzer.class.getSimpleName());
+
+    private static final int HEIGHT = 256;
+    private static final int CHUNK_VOLUME = 16 * 16 * HEIGHT;
+    private static final int PLANE_WORDS = 16 * HEIGHT / Long.SIZE;
+
+    private static final int CHANGES = 0;
+    private static final int FACES = 1;
+    private static final int DATA = 2;
+    private static final int AIR = 3;
+    private static final int VARIETY = 4;
+
+    // Chunk sides, opposite sides differ in the lowest bit
+    private static final int WEST = 0;
+    private static final int EAST = 1;
+    private static final int NORTH = 2;
+    private static final int SOUTH = 3;
+    private static final int[] SIDE_X = {-1, 1, 0, 0};
+    private static final int[] SIDE_Z = {0, 0, -1, 1};
+
+    private static final int MAX_BUFFERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final HybridPlotWorld area;
+    private final RunnableVal<PlotAnalysis> whenDone;
+    private final Palette palette = new Palette();
+    private final int bx;
+    private final int bz;
+    private final int tx;
+    private final int tz;
+    private final int width;
+    private final int length;
+    private final int cbx;
+    private final int cbz;
+    private final int ctx;
+    private final int ctz;
+
+    private final BlockingQueue<ChunkBuffer> buffers = new ArrayBlockingQueue<>(MAX_BUFFERS);
+    private final AtomicInteger createdBuffers = new AtomicInteger();
+    private final AtomicInteger outstanding = new AtomicInteger(1);
+    private ChunkBuffer readerBuffer;
+
+    // Guarded by this
+    private final long[] sum = new long[5];
+    private final long[] sumSquared = new long[5];
+    private final Map<Long, Edges> edges = new HashMap<>();
+
+    RegionAnalyzer(
+            final @NonNull HybridPlotWorld area, final @NonNull CuboidRegion region,
+            final @NonNull RunnableVal<PlotAnalysis> whenDone
+    ) {
+        this.area = area;
+        this.whenDone = whenDone;
+        final BlockVector3 bot = region.getMinimumPoint();
+        final BlockVector3 top = region.getMaximumPoint();
+        this.bx = bot.getX();
+        this.bz = bot.getZ();
+        this.tx = top.getX();
+        this.tz = top.getZ();
+        this.width = this.tx - this.bx + 1;
+        this.length = this.tz - this.bz + 1;
+        this.cbx = this.bx >> 4;
+        this.cbz = this.bz >> 4;
+        this.ctx = this.tx >> 4;
+        this.ctz = this.tz >> 4;
+    }
+
+    /**
+     * Read a chunk of the region from the queue and schedule its analysis. Must be called
+     * from the chunk consumer of the queue.
+     *
+     * @param queue Queue that has loaded the chunk
+     * @param chunk Chunk coordinates
+     */
+    void accept(final @NonNull QueueCoordinator queue, final @NonNull BlockVector2 chunk) {
+        final int X = chunk.getX();
+        final int Z = chunk.getZ();
+        ChunkBuffer buffer = this.buffers.poll();
+        if (buffer == null && this.createdBuffers.getAndIncrement() < MAX_BUFFERS) {
+            buffer = new ChunkBuffer();
+        }
+        final boolean inline = buffer == null;
+        if (inline) {
+            if (this.readerBuffer == null) {
+                this.readerBuffer = new ChunkBuffer();
+            }
+            buffer = this.readerBuffer;
+        }
+        final int minX = Math.max(this.bx, X << 4) & 15;
+        final int maxX = Math.min(this.tx, (X << 4) + 15) & 15;
+        final int minZ = Math.max(this.bz, Z << 4) & 15;
+        final int maxZ = Math.min(this.tz, (Z << 4) + 15) & 15;
+        final int[] blocks = buffer.blocks;
+        BlockState last = null;
+        int lastId = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    final BlockState state = queue.getBlock((X << 4) + x, y, (Z << 4) + z);
+                    if (state != last) {
+                        last = state;
+                        lastId = this.palette.id(state);
+                    }
+                    blocks[y << 8 | z << 4 | x] = lastId;
+                }
+            }
+        }
+        this.outstanding.incrementAndGet();
+        if (inline) {
+            this.analyze(buffer, X, Z);
+            return;
+        }
+        final ChunkBuffer taskBuffer = buffer;
+        TaskManager.runTaskAsync(() -> {
+            try {
+                this.analyze(taskBuffer, X, Z);
+            } finally {
+                this.buffers.offer(taskBuffer);
+            }
+        });
+    }
+
+    /**
+     * Signal that every chunk of the region has been read
+     */
+    void complete() {
+        this.release();
+    }
+
+    private void analyze(final @NonNull ChunkBuffer buffer, final int X, final int Z) {
+        try {
+            this.analyzeChunk(buffer, X, Z);
+        } catch (final Throwable throwable) {
+            LOGGER.error("Failed to analyze chunk {};{} of {}", X, Z, this.area, throwable);
+        } finally {
+            this.release();
+        }
+    }
+
+    private void analyzeChunk(final @NonNull ChunkBuffer buffer, final int X, final int Z) {
+        final TemplateChunk template = buffer.template;
+        template.reset(X, Z);
+        this.area.getGenerator().generateChunk(template, this.area);
+        final int[] generated = template.blocks;
+        final int[] blocks = buffer.blocks;
+        // Every id of the chunk has been assigned at this point
+        final int[] flags = this.palette.flags();
+        buffer.prepareTypes(this.palette.types());
+        final int[] typeMarks = buffer.typeMarks;
+
+        final int chunkX = X << 4;
+        final int chunkZ = Z << 4;
+        final int minX = Math.max(this.bx, chunkX) & 15;
+        final int maxX = Math.min(this.tx, chunkX + 15) & 15;
+        final int minZ = Math.max(this.bz, chunkZ) & 15;
+        final int maxZ = Math.min(this.tz, chunkZ + 15) & 15;
+
+        int sides = 0;
+        if (X > this.cbx) {
+            sides |= 1 << WEST;
+        }
+        if (X < this.ctx) {
+            sides |= 1 << EAST;
+        }
+        if (Z > this.cbz) {
+            sides |= 1 << NORTH;
+        }
+        if (Z < this.ctz) {
+            sides |= 1 << SOUTH;
+        }
+        final Edges chunkEdges = sides == 0 ? null : new Edges(sides);
+
+        final long[] chunkSum = new long[5];
+        final long[] chunkSumSquared = new long[5];
+        for (int z = minZ; z <= maxZ; z++) {
+            final int rz = chunkZ + z - this.bz;
+            final boolean insideZ = rz > 0 && rz < this.length - 1;
+            for (int x = minX; x <= maxX; x++) {
+                final int rx = chunkX + x - this.bx;
+                final boolean inside = insideZ && rx > 0 && rx < this.width - 1;
+                final int column = z << 4 | x;
+                final int mark = ++buffer.mark;
+                int changes = 0;
+                int faces = 0;
+                int data = 0;
+                int air = 0;
+                int variety = 0;
+                int waiting = 0;
+                for (int y = 0; y < HEIGHT; y++) {
+                    final int index = y << 8 | column;
+                    final int id = blocks[index];
+                    if (id != generated[index]) {
+                        changes++;
+                    }
+                    final int flag = flags[id];
+                    if ((flag & Palette.AIR) != 0) {
+                        air++;
+                        if (chunkEdges != null) {
+                            chunkEdges.markAir(x, y, z);
+                        }
+                        continue;
+                    }
+                    if (inside && y > 0 && y < HEIGHT - 1) {
+                        faces += flags[blocks[index - 256]] & Palette.AIR;
+                        faces += flags[blocks[index + 256]] & Palette.AIR;
+                        if (x > 0) {
+                            faces += flags[blocks[index - 1]] & Palette.AIR;
+                        } else {
+                            waiting |= chunkEdges.markCandidate(WEST, z, y);
+                        }
+                        if (x < 15) {
+                            faces += flags[blocks[index + 1]] & Palette.AIR;
+                        } else {
+                            waiting |= chunkEdges.markCandidate(EAST, z, y);
+                        }
+                        if (z > 0) {
+                            faces += flags[blocks[index - 16]] & Palette.AIR;
+                        } else {
+                            waiting |= chunkEdges.markCandidate(NORTH, x, y);
+                        }
+                        if (z < 15) {
+                            faces += flags[blocks[index + 16]] & Palette.AIR;
+                        } else {
+                            waiting |= chunkEdges.markCandidate(SOUTH, x, y);
+                        }
+                    }
+                    if ((flag & Palette.DEFAULT) == 0) {
+                        data++;
+                    }
+                    final int type = flag >>> Palette.TYPE_SHIFT;
+                    if (typeMarks[type] != mark) {
+                        typeMarks[type] = mark;
+                        variety++;
+                    }
+                }
+                add(chunkSum, chunkSumSquared, CHANGES, changes);
+                add(chunkSum, chunkSumSquared, DATA, data);
+                add(chunkSum, chunkSumSquared, AIR, air);
+                add(chunkSum, chunkSumSquared, VARIETY, variety);
+                if (waiting == 0) {
+                    add(chunkSum, chunkSumSquared, FACES, faces);
+                } else {
+                    chunkEdges.defer(column, faces, waiting);
+                }
+            }
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < chunkSum.length; i++) {
+                this.sum[i] += chunkSum[i];
+                this.sumSquared[i] += chunkSumSquared[i];
+            }
+            if (chunkEdges == null) {
+                return;
+            }
+            this.edges.put(key(X, Z), chunkEdges);
+            for (int side = 0; side < 4; side++) {
+                if ((sides & 1 << side) == 0) {
+                    continue;
+                }
+                final long neighbourKey = key(X + SIDE_X[side], Z + SIDE_Z[side]);
+                final Edges neighbour = this.edges.get(neighbourKey);
+                if (neighbour == null) {
+                    continue;
+                }
+                this.resolve(chunkEdges, side, neighbour);
+                if (neighbour.sides == 0) {
+                    this.edges.remove(neighbourKey);
+                }
+            }
+            if (chunkEdges.sides == 0) {
+                this.edges.remove(key(X, Z));
+            }
+        }
+    }
+
+    // Called with the lock held
+    private void resolve(final @NonNull Edges edges, final int side, final @NonNull Edges neighbour) {
+        final int opposite = side ^ 1;
+        final long[] candidates = edges.candidates[side];
+        final long[] neighbourCandidates = neighbour.candidates[opposite];
+        final long[] air = edges.air[side];
+        final long[] neighbourAir = neighbour.air[opposite];
+        for (int word = 0; word < PLANE_WORDS; word++) {
+            long hits = candidates[word] & neighbourAir[word];
+            while (hits != 0) {
+                edges.faces[column(side, Long.numberOfTrailingZeros(hits))]++;
+                hits &= hits - 1;
+            }
+            hits = neighbourCandidates[word] & air[word];
+            while (hits != 0) {
+                neighbour.faces[column(opposite, Long.numberOfTrailingZeros(hits))]++;
+                hits &= hits - 1;
+            }
+        }
+        this.settle(edges, side);
+        this.settle(neighbour, opposite);
+    }
+
+    // Called with the lock held
+    private void settle(final @NonNull Edges edges, final int side) {
+        edges.sides &= ~(1 << side);
+        for (int i = 0; i < 16; i++) {
+            final int column = column(side, i);
+            final int waiting = edges.waiting[column];
+            if ((waiting & 1 << side) == 0) {
+                continue;
+            }
+            edges.waiting[column] = (byte) (waiting & ~(1 << side));
+            if (edges.waiting[column] == 0) {
+                add(this.sum, this.sumSquared, FACES, edges.faces[column]);
+            }
+        }
+    }
+
+    private void release() {
+        if (this.outstanding.decrementAndGet() != 0) {
+            return;
+        }
+        final PlotAnalysis analysis;
+        synchronized (this) {
+            // Chunks that failed to load leave their neighbours waiting
+            for (final Edges remaining : this.edges.values()) {
+                for (int column = 0; column < 256; column++) {
+                    if (remaining.waiting[column] != 0) {
+                        add(this.sum, this.sumSquared, FACES, remaining.faces[column]);
+                    }
+                }
+            }
+            this.edges.clear();
+            final long size = (long) this.width * this.length;
+            analysis = new PlotAnalysis();
+            analysis.changes = mean(CHANGES, size);
+            analysis.faces = mean(FACES, size);
+            analysis.data = mean(DATA, size);
+            analysis.air = mean(AIR, size);
+            analysis.variety = mean(VARIETY, size);
+            analysis.changes_sd = this.standardDeviation(CHANGES, size, analysis.changes);
+            analysis.faces_sd = this.standardDeviation(FACES, size, analysis.faces);
+            analysis.data_sd = this.standardDeviation(DATA, size, analysis.data);
+            analysis.air_sd = this.standardDeviation(AIR, size, analysis.air);
+            analysis.variety_sd = this.standardDeviation(VARIETY, size, analysis.variety);
+        }
+        this.whenDone.value = analysis;
+        this.whenDone.run();
+    }
+
+    private int mean(final int metric, final long size) {
+        return (int) ((double) this.sum[metric] / size * 100);
+    }
+
+    /**
+     * Same as {@link MathMan#getSD(int[], double)} on the column values, computed from the sums
+     */
+    private int standardDeviation(final int metric, final long size, final double average) {
+        final double squares = this.sumSquared[metric] - 2 * average * this.sum[metric] + size * average * average;
+        return (int) (Math.sqrt(Math.max(0, squares) / size) * 100);
+    }
+
+    private static void add(final long @NonNull [] sum, final long @NonNull [] sumSquared, final int metric, final int value) {
+        sum[metric] += value;
+        sumSquared[metric] += (long) value * value;
+    }
+
+    private static long key(final int x, final int z) {
+        return (long) x << 32 | (z & 0xFFFFFFFFL);
+    }
+
+    private static int column(final int side, final int bit) {
+        final int i = bit & 15;
+        return switch (side) {
+            case WEST -> i << 4;
+            case EAST -> i << 4 | 15;
+            case NORTH -> i;
+            default -> 15 << 4 | i;
+        };
+    }
+
+
+    /**
+     * Maps block states to consecutive ids. Every id has a flag entry holding the
+     * air and default state bits and the id of the block type.
+     */
+    private static final class Palette {
+
+        static final int AIR = 1;
+        static final int DEFAULT = 2;
+        static final int TYPE_SHIFT = 2;
+
+        private final Map<BlockState, Integer> ids = new HashMap<>();
+        private final Map<BlockType, Integer> typeIds = new HashMap<>();
+        private volatile int[] flags = new int[64];
+
+        Palette() {
+            // Positions the generator leaves empty are air, id 0
+            this.id(BlockTypes.AIR.getDefaultState());
+        }
+
+        synchronized int id(final @Nullable BlockState state) {
+            if (state == null) {
+                return 0;
+            }
+            final Integer existing = this.ids.get(state);
+            if (existing != null) {
+                return existing;
+            }
+            final int id = this.ids.size();
+            final BlockType blockType = state.getBlockType();
+            final int type = this.typeIds.computeIfAbsent(blockType, key -> this.typeIds.size());
+            int flag = type << TYPE_SHIFT;
+            if (blockType.getMaterial().isAir()) {
+                flag |= AIR;
+            }
+            if (state.equals(blockType.getDefaultState())) {
+                flag |= DEFAULT;
+            }
+            int[] flags = this.flags;
+            if (id == flags.length) {
+                flags = Arrays.copyOf(flags, flags.length << 1);
+            }
+            flags[id] = flag;
+            this.ids.put(state, id);
+            this.flags = flags;
+            return id;
+        }
+
+        int @NonNull [] flags() {
+            return this.flags;
+        }
+
+        synchronized int types() {
+            return this.typeIds.size();
+        }
+
+    }
+
+
+    /**
+     * Border planes of an analysed chunk that still need to be matched with a neighbouring chunk
+     */
+    private static final class Edges {
+
+        final long[][] air = new long[4][PLANE_WORDS];
+        final long[][] candidates = new long[4][PLANE_WORDS];
+        final int[] faces = new int[256];
+        final byte[] waiting = new byte[256];
+        int sides;
+
+        Edges(final int sides) {
+            this.sides = sides;
+        }
+
+        void markAir(final int x, final int y, final int z) {
+            if (x == 0) {
+                set(this.air[WEST], z, y);
+            } else if (x == 15) {
+                set(this.air[EAST], z, y);
+            }
+            if (z == 0) {
+                set(this.air[NORTH], x, y);
+            } else if (z == 15) {
+                set(this.air[SOUTH], x, y);
+            }
+        }
+
+        int markCandidate(final int side, final int i, final int y) {
+            set(this.candidates[side], i, y);
+            return 1 << side;
+        }
+
+        void defer(final int column, final int faces, final int waiting) {
+            this.faces[column] = faces;
+            this.waiting[column] = (byte) waiting;
+        }
+
+        private static void set(final long @NonNull [] plane, final int i, final int y) {
+            final int bit = y << 4 | i;
+            plane[bit >>> 6] |= 1L << bit;
+        }
+
+    }
+
+
+    /**
+     * Per task buffers, reused for every chunk analysed with them
+     */
+    private final class ChunkBuffer {
+
+        final int[] blocks = new int[CHUNK_VOLUME];
+        final TemplateChunk template = new TemplateChunk();
+        int[] typeMarks = new int[64];
+        int mark;
+
+        void prepareTypes(final int types) {
+            if (types > this.typeMarks.length) {
+                this.typeMarks = Arrays.copyOf(this.typeMarks, Math.max(types, this.typeMarks.length << 1));
+            }
+        }
+
+    }
+
+
+    /**
+     * Receives the generator output of a single chunk as palette ids
+     */
+    private final class TemplateChunk extends ScopedQueueCoordinator {
+
+        final int[] blocks = new int[CHUNK_VOLUME];
+        private Location min = Location.at("", 0, 0, 0);
+        private BlockState last;
+        private int lastId;
+
+        TemplateChunk() {
+            super(null, Location.at("", 0, 0, 0), Location.at("", 15, HEIGHT - 1, 15));
+        }
+
+        void reset(final int X, final int Z) {
+            Arrays.fill(this.blocks, 0);
+            this.min = Location.at(RegionAnalyzer.this.area.getWorldName(), X << 4, 0, Z << 4);
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull BlockState id) {
+            if (x < 0 || x > 15 || y < 0 || y >= HEIGHT || z < 0 || z > 15) {
+                return false;
+            }
+            if (id != this.last) {
+                this.last = id;
+                this.lastId = RegionAnalyzer.this.palette.id(id);
+            }
+            this.blocks[y << 8 | z << 4 | x] = this.lastId;
+            return true;
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull BaseBlock id) {
+            return this.setBlock(x, y, z, id.toImmutableState());
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull Pattern pattern) {
+            return this.setBlock(x, y, z, pattern.applyBlock(BlockVector3.at(x, y, z)).toImmutableState());
+        }
+
+        @Override
+        public boolean setBiome(final int x, final int z, final @NonNull BiomeType biome) {
+            return false;
+        }
+
+        @Override
+        public boolean setBiome(final int x, final int y, final int z, final @NonNull BiomeType biome) {
+            return false;
+        }
+
+        @Override
+        public void fillBiome(final BiomeType biome) {
+        }
+
+        @Override
+        public @NonNull Location getMin() {
+            return this.min;
+        }
+
+        @Override
+        public @NonNull Location getMax() {
+            return this.min.add(15, HEIGHT - 1, 15);
+        }
+
+    }
+
+}
@@ -32,7 +32,6 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
-import com.plotsquared.core.util.HashUtil;
 import com.plotsquared.core.util.RegionManager;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import org.apache.logging.log4j.LogManager;
@@ -170,6 +169,12 @@ public abstract class SquarePlotManager extends GridPlotManager {
 
     @Override
     public PlotId getPlotId(int x, int y, int z) {
+        final long id = getPlotIdPacked(x, y, z);
+        return id == NO_PLOT ? null : PlotId.fromPacked(id);
+    }
+
+    @Override
+    public long getPlotIdPacked(int x, int y, int z) {
         try {
             x -= squarePlotWorld.ROAD_OFFSET_X;
             z -= squarePlotWorld.ROAD_OFFSET_Z;
@@ -205,9 +210,9 @@ public abstract class SquarePlotManager extends GridPlotManager {
                 dz = (z / size) + 1;
                 rz = z % size;
             }
-            PlotId id = PlotId.of(dx, dz);
-            boolean[] merged = new boolean[]{rz <= pathWidthLower, rx > end, rz > end, rx <= pathWidthLower};
-            int hash = HashUtil.hash(merged);
+            long id = PlotId.pack(dx, dz);
+            // Same layout as HashUtil#hash(boolean[]) for {north, east, south, west}
+            int hash = (rz <= pathWidthLower ? 8 : 0) | (rx > end ? 4 : 0) | (rz > end ? 2 : 0) | (rx <= pathWidthLower ? 1 : 0);
             // Not merged, and no need to check if it is
             if (hash == 0) {
                 return id;
@@ -215,38 +220,38 @@ public abstract class SquarePlotManager extends GridPlotManager {
             Plot plot = squarePlotWorld.getOwnedPlotAbs(id);
             // Not merged, and standing on road
             if (plot == null) {
-                return null;
+                return NO_PLOT;
             }
             switch (hash) {
                 case 8:
                     // north
-                    return plot.isMerged(Direction.NORTH) ? id : null;
+                    return plot.isMerged(Direction.NORTH) ? id : NO_PLOT;
                 case 4:
                     // east
-                    return plot.isMerged(Direction.EAST) ? id : null;
+                    return plot.isMerged(Direction.EAST) ? id : NO_PLOT;
                 case 2:
                     // south
-                    return plot.isMerged(Direction.SOUTH) ? id : null;
+                    return plot.isMerged(Direction.SOUTH) ? id : NO_PLOT;
                 case 1:
                     // west
-                    return plot.isMerged(Direction.WEST) ? id : null;
+                    return plot.isMerged(Direction.WEST) ? id : NO_PLOT;
                 case 12:
                     // northeast
-                    return plot.isMerged(Direction.NORTHEAST) ? id : null;
+                    return plot.isMerged(Direction.NORTHEAST) ? id : NO_PLOT;
                 case 6:
                     // southeast
-                    return plot.isMerged(Direction.SOUTHEAST) ? id : null;
+                    return plot.isMerged(Direction.SOUTHEAST) ? id : NO_PLOT;
                 case 3:
                     // southwest
-                    return plot.isMerged(Direction.SOUTHWEST) ? id : null;
+                    return plot.isMerged(Direction.SOUTHWEST) ? id : NO_PLOT;
                 case 9:
                     // northwest
-                    return plot.isMerged(Direction.NORTHWEST) ? id : null;
+                    return plot.isMerged(Direction.NORTHWEST) ? id : NO_PLOT;
             }
         } catch (Exception ignored) {
             LOGGER.error("Invalid plot / road width in settings.yml for world: {}", squarePlotWorld.getWorldName());
         }
-        return null;
+        return NO_PLOT;
     }
 
     /**
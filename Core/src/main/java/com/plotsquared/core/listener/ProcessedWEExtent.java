@@ -26,7 +26,7 @@
 package com.plotsquared.core.listener;
 
 import com.plotsquared.core.configuration.Settings;
-import com.plotsquared.core.util.WEManager;
+import com.plotsquared.core.util.WEMask;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.entity.BaseEntity;
@@ -55,7 +55,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ProcessedWEExtent.class.getSimpleName());
 
-    private final Set<CuboidRegion> mask;
+    private final WEMask mask;
     private final String world;
     private final int max;
     private final WorldUtil worldUtil;
@@ -72,6 +72,17 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
             Extent child,
             Extent parent,
             final @NonNull WorldUtil worldUtil
+    ) {
+        this(world, WEMask.compile(mask), max, child, parent, worldUtil);
+    }
+
+    public ProcessedWEExtent(
+            String world,
+            WEMask mask,
+            int max,
+            Extent child,
+            Extent parent,
+            final @NonNull WorldUtil worldUtil
     ) {
         super(child);
         this.mask = mask;
@@ -91,7 +102,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
 
     @Override
     public BlockState getBlock(BlockVector3 position) {
-        if (WEManager.maskContains(this.mask, position.getX(), position.getY(), position.getZ())) {
+        if (this.mask.contains(position.getX(), position.getY(), position.getZ())) {
             return super.getBlock(position);
         }
         return WEExtent.AIRSTATE;
@@ -99,7 +110,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
 
     @Override
     public BaseBlock getFullBlock(BlockVector3 position) {
-        if (WEManager.maskContains(this.mask, position.getX(), position.getY(), position.getZ())) {
+        if (this.mask.contains(position.getX(), position.getY(), position.getZ())) {
             return super.getFullBlock(position);
         }
         return WEExtent.AIRBASE;
@@ -124,7 +135,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
                 tileEntityCount[0]++;
             }
         }
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
+        if (this.mask.contains(location.getX(), location.getY(), location.getZ())) {
             if (this.count++ > this.max) {
                 if (this.parent != null) {
                     try {
@@ -154,7 +165,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
         if (this.Ecount > Settings.Chunk_Processor.MAX_ENTITIES) {
             this.Eblocked = true;
         }
-        if (WEManager.maskContains(this.mask, location.getBlockX(), location.getBlockY(),
+        if (this.mask.contains(location.getBlockX(), location.getBlockY(),
                 location.getBlockZ()
         )) {
             return super.createEntity(location, entity);
@@ -164,7 +175,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
 
     @Override
     public boolean setBiome(BlockVector2 position, BiomeType biome) {
-        return WEManager.maskContains(this.mask, position.getX(), position.getZ()) && super
+        return this.mask.contains(position.getX(), position.getZ()) && super
                 .setBiome(position, biome);
     }
 
@@ -25,7 +25,7 @@
  */
 package com.plotsquared.core.listener;
 
-import com.plotsquared.core.util.WEManager;
+import com.plotsquared.core.util.WEMask;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.entity.BaseEntity;
 import com.sk89q.worldedit.entity.Entity;
@@ -47,9 +47,13 @@ public class WEExtent extends AbstractDelegateExtent {
 
     public static BlockState AIRSTATE = BlockTypes.AIR.getDefaultState();
     public static BaseBlock AIRBASE = BlockTypes.AIR.getDefaultState().toBaseBlock();
-    private final Set<CuboidRegion> mask;
+    private final WEMask mask;
 
     public WEExtent(Set<CuboidRegion> mask, Extent extent) {
+        this(WEMask.compile(mask), extent);
+    }
+
+    public WEExtent(WEMask mask, Extent extent) {
         super(extent);
         this.mask = mask;
     }
@@ -57,13 +61,13 @@ public class WEExtent extends AbstractDelegateExtent {
     @Override
     public boolean setBlock(BlockVector3 location, BlockStateHolder block)
             throws WorldEditException {
-        return WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())
+        return this.mask.contains(location.getX(), location.getY(), location.getZ())
                 && super.setBlock(location, block);
     }
 
     @Override
     public Entity createEntity(Location location, BaseEntity entity) {
-        if (WEManager.maskContains(this.mask, location.getBlockX(), location.getBlockY(),
+        if (this.mask.contains(location.getBlockX(), location.getBlockY(),
                 location.getBlockZ()
         )) {
             return super.createEntity(location, entity);
@@ -73,13 +77,13 @@ public class WEExtent extends AbstractDelegateExtent {
 
     @Override
     public boolean setBiome(BlockVector2 position, BiomeType biome) {
-        return WEManager.maskContains(this.mask, position.getX(), position.getZ()) && super
+        return this.mask.contains(position.getX(), position.getZ()) && super
                 .setBiome(position, biome);
     }
 
     @Override
     public BlockState getBlock(BlockVector3 location) {
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
+        if (this.mask.contains(location.getX(), location.getY(), location.getZ())) {
             return super.getBlock(location);
         }
         return AIRSTATE;
@@ -87,7 +91,7 @@ public class WEExtent extends AbstractDelegateExtent {
 
     @Override
     public BaseBlock getFullBlock(BlockVector3 location) {
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
+        if (this.mask.contains(location.getX(), location.getY(), location.getZ())) {
             return super.getFullBlock(location);
         }
         return AIRBASE;
@@ -34,13 +34,13 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.Permissions;
 import com.plotsquared.core.util.WEManager;
+import com.plotsquared.core.util.WEMask;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.entity.Player;
 import com.sk89q.worldedit.event.extent.EditSessionEvent;
 import com.sk89q.worldedit.extension.platform.Actor;
 import com.sk89q.worldedit.extent.NullExtent;
-import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.util.eventbus.EventHandler.Priority;
 import com.sk89q.worldedit.util.eventbus.Subscribe;
@@ -48,8 +48,6 @@ import com.sk89q.worldedit.world.World;
 import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.Set;
-
 public class WESubscriber {
 
     private final PlotAreaManager plotAreaManager;
@@ -76,7 +74,7 @@ public class WESubscriber {
         if (actor != null && actor.isPlayer()) {
             String name = actor.getName();
             final PlotPlayer<?> plotPlayer = PlotSquared.platform().playerManager().getPlayerIfExists(name);
-            Set<CuboidRegion> mask;
+            WEMask mask;
             if (plotPlayer == null) {
                 Player player = (Player) actor;
                 Location location = player.getLocation();
@@ -89,11 +87,11 @@ public class WESubscriber {
                     event.setExtent(new NullExtent());
                     return;
                 }
-                mask = plot.getRegions();
+                mask = WEMask.compile(plot.getRegions());
             } else if (plotPlayer.getAttribute("worldedit")) {
                 return;
             } else {
-                mask = WEManager.getMask(plotPlayer);
+                mask = WEManager.getCompiledMask(plotPlayer);
                 if (mask.isEmpty()) {
                     if (Permissions.hasPermission(plotPlayer, "plots.worldedit.bypass")) {
                         plotPlayer.sendMessage(
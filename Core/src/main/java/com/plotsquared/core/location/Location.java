@@ -301,7 +301,7 @@ public final class Location extends BlockLoc implements Comparable<Location> {
      */
     public boolean isPlotRoad() {
         final PlotArea area = this.getPlotArea();
-        return area != null && area.getPlotAbs(this) == null;
+        return area != null && !area.isPlot(this);
     }
 
     /**
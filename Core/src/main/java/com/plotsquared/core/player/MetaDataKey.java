@@ -30,9 +30,12 @@ import com.google.common.base.Preconditions;
 import com.google.inject.TypeLiteral;
 import com.plotsquared.core.synchronization.LockKey;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Key used to access meta data
@@ -41,17 +44,20 @@ import java.util.Map;
  */
 public final class MetaDataKey<T> {
 
-    private static final Map<String, MetaDataKey<?>> keyMap = new HashMap<>();
+    private static final Map<String, MetaDataKey<?>> keyMap = new ConcurrentHashMap<>();
+    private static final List<MetaDataKey<?>> keys = new CopyOnWriteArrayList<>();
     private static final Object keyMetaData = new Object();
 
     private final String key;
     private final TypeLiteral<T> type;
     private final LockKey lockKey;
+    private final int id;
 
-    private MetaDataKey(final @NonNull String key, final @NonNull TypeLiteral<T> type) {
+    private MetaDataKey(final @NonNull String key, final @NonNull TypeLiteral<T> type, final int id) {
         this.key = Preconditions.checkNotNull(key, "Key may not be null");
         this.type = Preconditions.checkNotNull(type, "Type may not be null");
         this.lockKey = LockKey.of(this.key);
+        this.id = id;
     }
 
     /**
@@ -65,10 +71,43 @@ public final class MetaDataKey<T> {
     public static @NonNull <T> MetaDataKey<T> of(final @NonNull String key, final @NonNull TypeLiteral<T> type) {
         synchronized (keyMetaData) {
             return (MetaDataKey<T>)
-                    keyMap.computeIfAbsent(key, missingKey -> new MetaDataKey<>(missingKey, type));
+                    keyMap.computeIfAbsent(key, missingKey -> {
+                        final MetaDataKey<T> metaDataKey = new MetaDataKey<>(missingKey, type, keys.size());
+                        keys.add(metaDataKey);
+                        return metaDataKey;
+                    });
         }
     }
 
+    /**
+     * Get a registered key by its name
+     *
+     * @param key Key name
+     * @return Key, or {@code null} if no key with the name has been registered
+     */
+    static @Nullable MetaDataKey<?> get(final @NonNull String key) {
+        return keyMap.get(key);
+    }
+
+    /**
+     * Get a registered key by its id
+     *
+     * @param id Key id
+     * @return Key
+     */
+    static @NonNull MetaDataKey<?> get(final int id) {
+        return keys.get(id);
+    }
+
+    /**
+     * Get the amount of registered keys. Keys are given consecutive ids, starting at {@code 0}
+     *
+     * @return Key count
+     */
+    static int count() {
+        return keys.size();
+    }
+
     @Override
     public String toString() {
         return this.key;
@@ -100,6 +139,15 @@ public final class MetaDataKey<T> {
         return this.lockKey;
     }
 
+    /**
+     * Get the id of the key, used as the slot of the key's value in a player's temporary meta data
+     *
+     * @return Key id
+     */
+    int getId() {
+        return this.id;
+    }
+
     /**
      * Get the meta data type
      *
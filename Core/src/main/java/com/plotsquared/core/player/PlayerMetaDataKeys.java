@@ -32,6 +32,7 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotInventory;
 import com.plotsquared.core.setup.SetupProcess;
+import com.plotsquared.core.util.WEMask;
 
 import java.util.List;
 
@@ -63,6 +64,11 @@ public final class PlayerMetaDataKeys {
             new TypeLiteral<>() {
             }
     );
+    public static final MetaDataKey<WEMask> TEMPORARY_WORLD_EDIT_MASK = MetaDataKey.of(
+            "WorldEditMask",
+            new TypeLiteral<>() {
+            }
+    );
     public static final MetaDataKey<Boolean> TEMPORARY_AUTO = MetaDataKey.of(Auto.class.getName(), new TypeLiteral<>() {
     });
     public static final MetaDataKey<List<String>> TEMPORARY_SCHEMATICS = MetaDataKey.of("plot_schematics", new TypeLiteral<>() {
@@ -50,7 +50,6 @@ import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotWeather;
 import com.plotsquared.core.plot.expiration.ExpireManager;
-import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.plot.world.SinglePlotAreaManager;
@@ -70,6 +69,7 @@ import net.kyori.adventure.text.minimessage.Template;
 import net.kyori.adventure.title.Title;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -89,7 +89,9 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * The abstract class supporting {@code BukkitPlayer} and {@code SpongePlayer}.
@@ -97,6 +99,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer, LocaleHolder {
 
     private static final String NON_EXISTENT_CAPTION = "<red>PlotSquared does not recognize the caption: ";
+    private static final TranslatableCaption PREFIX = TranslatableCaption.of("core.prefix");
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlotPlayer.class.getSimpleName());
 
@@ -114,10 +117,16 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * The metadata map.
      */
     private ConcurrentHashMap<String, Object> meta;
+    /**
+     * Temporary meta data of the keys that were registered before this player was created, indexed by key id.
+     * Values of other keys are stored in {@link #meta}.
+     */
+    private final AtomicReferenceArray<Object> temporaryMetaData = new AtomicReferenceArray<>(MetaDataKey.count());
     private int hash;
     private Locale locale;
     // Delayed initialisation
     private PermissionProfile permissionProfile;
+    private final Map<String, PermissionRange> permissionRanges = new ConcurrentHashMap<>();
 
     public PlotPlayer(
             final @NonNull PlotAreaManager plotAreaManager, final @NonNull EventDispatcher eventDispatcher,
@@ -206,6 +215,64 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         return this.permissionProfile.hasKeyedPermission(world, permission, key);
     }
 
+    /**
+     * Check the highest permission this player has within a specified range. Resolved ranges
+     * are cached per permission stub for {@link Settings.Limit#PERMISSION_CACHE_EXPIRATION} seconds.
+     * <p>
+     * Implementations should override {@link #resolvePermissionRange(String, int)} rather than this
+     * method, so that the resolved ranges stay cached.
+     *
+     * @param stub  The permission stub to check e.g. for `plots.plot.#` the stub is `plots.plot`
+     * @param range The range to check
+     * @return The highest permission they have within that range
+     * @see #invalidatePermissionRanges()
+     */
+    @Override
+    @NonNegative
+    public int hasPermissionRange(
+            final @NonNull String stub,
+            @NonNegative final int range
+    ) {
+        if (Settings.Limit.PERMISSION_CACHE_EXPIRATION <= 0) {
+            return this.resolvePermissionRange(stub, range);
+        }
+        final long now = System.currentTimeMillis();
+        final PermissionRange cached = this.permissionRanges.get(stub);
+        if (cached != null && cached.range == range && cached.expiry > now) {
+            return cached.value;
+        }
+        final int value = this.resolvePermissionRange(stub, range);
+        this.permissionRanges.put(stub, new PermissionRange(range, value,
+                now + TimeUnit.SECONDS.toMillis(Settings.Limit.PERMISSION_CACHE_EXPIRATION)
+        ));
+        return value;
+    }
+
+    /**
+     * Resolve the highest permission this player has within a specified range, bypassing the cache.
+     * Implementations should override this if they are able to inspect the effective permissions
+     * of the player instead of checking every value in the range.
+     *
+     * @param stub  The permission stub to check
+     * @param range The range to check
+     * @return The highest permission they have within that range
+     */
+    @NonNegative
+    protected int resolvePermissionRange(
+            final @NonNull String stub,
+            @NonNegative final int range
+    ) {
+        return OfflinePlotPlayer.super.hasPermissionRange(stub, range);
+    }
+
+    /**
+     * Discard all cached permission ranges of this player. This should be called when
+     * the permissions of the player have changed.
+     */
+    public void invalidatePermissionRanges() {
+        this.permissionRanges.clear();
+    }
+
     public abstract Actor toActor();
 
     public abstract P getPlatformPlayer();
@@ -217,7 +284,10 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * @param value
      */
     void setMeta(String key, Object value) {
-        if (value == null) {
+        final int slot = this.slot(key);
+        if (slot != -1) {
+            this.temporaryMetaData.set(slot, value);
+        } else if (value == null) {
             deleteMeta(key);
         } else {
             if (this.meta == null) {
@@ -235,6 +305,10 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * @return the value assigned to the key or null if it does not exist
      */
     <T> T getMeta(String key) {
+        final int slot = this.slot(key);
+        if (slot != -1) {
+            return (T) this.temporaryMetaData.get(slot);
+        }
         if (this.meta != null) {
             return (T) this.meta.get(key);
         }
@@ -249,8 +323,21 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         return meta;
     }
 
+    /**
+     * Get a snapshot of all session metadata of this player
+     *
+     * @return Snapshot of the metadata
+     */
     public ConcurrentHashMap<String, Object> getMeta() {
-        return meta;
+        final ConcurrentHashMap<String, Object> snapshot = this.meta == null ? new ConcurrentHashMap<>() :
+                new ConcurrentHashMap<>(this.meta);
+        for (int slot = 0; slot < this.temporaryMetaData.length(); slot++) {
+            final Object value = this.temporaryMetaData.get(slot);
+            if (value != null) {
+                snapshot.put(MetaDataKey.get(slot).toString(), value);
+            }
+        }
+        return snapshot;
     }
 
     /**
@@ -261,9 +348,23 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * @param key
      */
     Object deleteMeta(String key) {
+        final int slot = this.slot(key);
+        if (slot != -1) {
+            return this.temporaryMetaData.getAndSet(slot, null);
+        }
         return this.meta == null ? null : this.meta.remove(key);
     }
 
+    private int slot(final @NonNull String key) {
+        final MetaDataKey<?> metaDataKey = MetaDataKey.get(key);
+        return metaDataKey == null ? -1 : this.slot(metaDataKey);
+    }
+
+    private int slot(final @NonNull MetaDataKey<?> key) {
+        final int id = key.getId();
+        return id < this.temporaryMetaData.length() ? id : -1;
+    }
+
     /**
      * This player's name.
      *
@@ -309,19 +410,12 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         if (!Settings.Limit.GLOBAL) {
             return getPlotCount(getLocation().getWorldName());
         }
-        final AtomicInteger count = new AtomicInteger(0);
         final UUID uuid = getUUID();
-        this.plotAreaManager.forEachPlotArea(value -> {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                for (Plot plot : value.getPlotsAbs(uuid)) {
-                    if (!DoneFlag.isDone(plot)) {
-                        count.incrementAndGet();
-                    }
-                }
-            } else {
-                count.addAndGet(value.getPlotsAbs(uuid).size());
-            }
-        });
+        if (Settings.Done.COUNTS_TOWARDS_LIMIT) {
+            return PlotSquared.get().getPlotCount(uuid);
+        }
+        final AtomicInteger count = new AtomicInteger(0);
+        this.plotAreaManager.forEachPlotArea(value -> count.addAndGet(value.getPlotCount(uuid)));
         return count.get();
     }
 
@@ -350,12 +444,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         UUID uuid = getUUID();
         int count = 0;
         for (PlotArea area : this.plotAreaManager.getPlotAreasSet(world)) {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                count +=
-                        area.getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
-            } else {
-                count += area.getPlotsAbs(uuid).size();
-            }
+            count += area.getPlotCount(uuid);
         }
         return count;
     }
@@ -627,6 +716,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         PlotSquared.platform().unregister(this);
 
         debugModeEnabled.remove(this);
+        this.invalidatePermissionRanges();
     }
 
     /**
@@ -791,6 +881,57 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         return new TemporaryMetaDataAccess<>(this, key, this.lockRepository.lock(key.getLockKey()));
     }
 
+    /**
+     * Get keyed temporary meta data for this player without locking the key. This is
+     * meant for hot paths that only read or overwrite a single value, such as movement
+     * handling. Use {@link #accessTemporaryMetaData(MetaDataKey)} when the value is read
+     * and then updated based on the old value.
+     *
+     * @param key Meta data key
+     * @param <T> Meta data type
+     * @return Stored value, or {@code null}
+     */
+    public @Nullable <T> T getTemporaryMetaData(final @NonNull MetaDataKey<T> key) {
+        final int slot = this.slot(key);
+        if (slot != -1) {
+            return (T) this.temporaryMetaData.get(slot);
+        }
+        return this.getMeta(key.toString());
+    }
+
+    /**
+     * Set keyed temporary meta data for this player without locking the key.
+     *
+     * @param key   Meta data key
+     * @param value New value, or {@code null} to remove the value
+     * @param <T>   Meta data type
+     * @see #getTemporaryMetaData(MetaDataKey)
+     */
+    public <T> void setTemporaryMetaData(final @NonNull MetaDataKey<T> key, final @Nullable T value) {
+        final int slot = this.slot(key);
+        if (slot != -1) {
+            this.temporaryMetaData.set(slot, value);
+        } else {
+            this.setMeta(key.toString(), value);
+        }
+    }
+
+    /**
+     * Remove keyed temporary meta data for this player without locking the key.
+     *
+     * @param key Meta data key
+     * @param <T> Meta data type
+     * @return Old value, or {@code null}
+     * @see #getTemporaryMetaData(MetaDataKey)
+     */
+    public @Nullable <T> T removeTemporaryMetaData(final @NonNull MetaDataKey<T> key) {
+        final int slot = this.slot(key);
+        if (slot != -1) {
+            return (T) this.temporaryMetaData.getAndSet(slot, null);
+        }
+        return (T) this.deleteMeta(key.toString());
+    }
+
     <T> void setPersistentMeta(
             final @NonNull MetaDataKey<T> key,
             final @NonNull T value
@@ -866,9 +1007,8 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             final int fadeIn, final int stay, final int fadeOut,
             final @NonNull Template... replacements
     ) {
-        final Component titleComponent = MiniMessage.get().parse(title.getComponent(this), replacements);
-        final Component subtitleComponent =
-                MiniMessage.get().parse(subtitle.getComponent(this), replacements);
+        final Component titleComponent = this.parseTitle(title, replacements);
+        final Component subtitleComponent = this.parseTitle(subtitle, replacements);
         final Title.Times times = Title.Times.of(
                 Duration.of(Settings.Titles.TITLES_FADE_IN * 50L, ChronoUnit.MILLIS),
                 Duration.of(Settings.Titles.TITLES_STAY * 50L, ChronoUnit.MILLIS),
@@ -888,25 +1028,10 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             final @NonNull Caption caption,
             final @NonNull Template... replacements
     ) {
-        String message;
-        try {
-            message = caption.getComponent(this);
-        } catch (final CaptionMap.NoSuchCaptionException exception) {
-            // This sends feedback to the player
-            message = NON_EXISTENT_CAPTION + ((TranslatableCaption) caption).getKey();
-            // And this also prints it to the console
-            exception.printStackTrace();
-        }
-        if (message.isEmpty()) {
+        final Component component = this.parseCaption(caption, replacements);
+        if (component == null) {
             return;
         }
-        // Replace placeholders, etc
-        message = CaptionUtility.format(this, message)
-                .replace('\u2010', '%').replace('\u2020', '&').replace('\u2030', '&')
-                .replace("<prefix>", TranslatableCaption.of("core.prefix").getComponent(this));
-
-
-        final Component component = MiniMessage.get().parse(message, replacements);
         getAudience().sendActionBar(component);
     }
 
@@ -915,30 +1040,62 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             final @NonNull Caption caption,
             final @NonNull Template... replacements
     ) {
+        final Component component = this.parseCaption(caption, replacements);
+        if (component == null) {
+            return;
+        }
+        if (!Objects.equal(component, this.getMeta("lastMessage"))
+                || System.currentTimeMillis() - this.<Long>getMeta("lastMessageTime") > 5000) {
+            setMeta("lastMessage", component);
+            setMeta("lastMessageTime", System.currentTimeMillis());
+            getAudience().sendMessage(component);
+        }
+    }
+
+    private @NonNull Component parseTitle(final @NonNull Caption caption, final @NonNull Template... replacements) {
+        if (caption instanceof TranslatableCaption translatableCaption) {
+            return translatableCaption.toComponent(this, replacements);
+        }
+        return MiniMessage.get().parse(caption.getComponent(this), replacements);
+    }
+
+    /**
+     * Parse a caption that is sent to this player. Translatable captions that are not changed by any
+     * chat formatter are created from their compiled template rather than parsed again.
+     *
+     * @param caption      Caption
+     * @param replacements Variable replacements
+     * @return Component, or {@code null} if the message is empty
+     */
+    private @Nullable Component parseCaption(final @NonNull Caption caption, final @NonNull Template... replacements) {
         String message;
+        boolean exists = true;
         try {
             message = caption.getComponent(this);
         } catch (final CaptionMap.NoSuchCaptionException exception) {
             // This sends feedback to the player
             message = NON_EXISTENT_CAPTION + ((TranslatableCaption) caption).getKey();
+            exists = false;
             // And this also prints it to the console
             exception.printStackTrace();
         }
         if (message.isEmpty()) {
-            return;
+            return null;
         }
         // Replace placeholders, etc
-        message = CaptionUtility.format(this, message)
-                .replace('\u2010', '%').replace('\u2020', '&').replace('\u2030', '&')
-                .replace("<prefix>", TranslatableCaption.of("core.prefix").getComponent(this));
-        // Parse the message
-        final Component component = MiniMessage.get().parse(message, replacements);
-        if (!Objects.equal(component, this.getMeta("lastMessage"))
-                || System.currentTimeMillis() - this.<Long>getMeta("lastMessageTime") > 5000) {
-            setMeta("lastMessage", component);
-            setMeta("lastMessageTime", System.currentTimeMillis());
-            getAudience().sendMessage(component);
+        final String formatted = CaptionUtility.format(this, message)
+                .replace('\u2010', '%').replace('\u2020', '&').replace('\u2030', '&');
+        if (exists && caption instanceof TranslatableCaption translatableCaption && formatted.equals(message)) {
+            if (!message.contains("<prefix>")) {
+                return translatableCaption.toComponent(this, replacements);
+            }
+            // The prefix is compiled into the message, so that its tags also style the rest of the message
+            return PlotSquared.get().getCaptionMap(translatableCaption.getNamespace())
+                    .getCompiledMessage(translatableCaption, this, PREFIX.getComponent(this))
+                    .apply(replacements);
         }
+        // Parse the message
+        return MiniMessage.get().parse(formatted.replace("<prefix>", PREFIX.getComponent(this)), replacements);
     }
 
     // Redefine from PermissionHolder as it's required from CommandCaller
@@ -1025,4 +1182,18 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
 
     }
 
+    private static final class PermissionRange {
+
+        private final int range;
+        private final int value;
+        private final long expiry;
+
+        private PermissionRange(final int range, final int value, final long expiry) {
+            this.range = range;
+            this.value = value;
+            this.expiry = expiry;
+        }
+
+    }
+
 }
@@ -0,0 +1,250 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index of the claimed plots of a {@link PlotArea}, ordered along the spiral that
+ * {@link PlotId#getNextId()} walks. Every plot id has an ordinal on that spiral: {@code 0} for the
+ * center, followed by the {@code 8r} ids of ring {@code r}. The claimed ordinals are stored as
+ * runs, so skipping over a fully claimed core of the area only takes a single lookup.
+ * <p>
+ * Plots handed out by {@code /plot auto} are reserved for a short time, so that concurrent
+ * searches do not return the same plot before it has been claimed. Reservations are taken
+ * without holding the index lock.
+ */
+public final class FreePlotIndex {
+
+    private static final long RESERVATION_TIME = TimeUnit.SECONDS.toNanos(20);
+
+    // Run start -> run end (inclusive), guarded by lock
+    private final TreeMap<Long, Long> claimed = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<PlotId, Long> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Get the position of a plot id on the spiral around {@code (0;0)}
+     *
+     * @param x Plot x coordinate
+     * @param y Plot y coordinate
+     * @return Ordinal of the id
+     */
+    public static long ordinal(final int x, final int y) {
+        final long r = Math.max(Math.abs((long) x), Math.abs((long) y));
+        if (r == 0) {
+            return 0;
+        }
+        final long base = (2 * r - 1) * (2 * r - 1);
+        if (y == r && x < r) {
+            return base + (r - 1 - x);
+        }
+        if (x == -r) {
+            return base + 2 * r + (r - 1 - y);
+        }
+        if (y == -r) {
+            return base + 4 * r + (x + r - 1);
+        }
+        return base + 6 * r + (y + r - 1);
+    }
+
+    /**
+     * Get the plot id at a position of the spiral around {@code (0;0)}
+     *
+     * @param ordinal Ordinal, see {@link #ordinal(int, int)}
+     * @return Plot id
+     */
+    public static @NonNull PlotId fromOrdinal(final long ordinal) {
+        if (ordinal == 0) {
+            return PlotId.of(0, 0);
+        }
+        long r = (long) ((Math.sqrt(ordinal) + 1) / 2);
+        // Correct rounding errors of the square root
+        while ((2 * r + 1) * (2 * r + 1) <= ordinal) {
+            r++;
+        }
+        while ((2 * r - 1) * (2 * r - 1) > ordinal) {
+            r--;
+        }
+        final long offset = ordinal - (2 * r - 1) * (2 * r - 1);
+        final long side = offset / (2 * r);
+        final long step = offset % (2 * r);
+        return switch ((int) side) {
+            case 0 -> PlotId.of((int) (r - 1 - step), (int) r);
+            case 1 -> PlotId.of((int) -r, (int) (r - 1 - step));
+            case 2 -> PlotId.of((int) (step - r + 1), (int) -r);
+            default -> PlotId.of((int) r, (int) (step - r + 1));
+        };
+    }
+
+    /**
+     * Mark a plot as claimed
+     *
+     * @param id Plot id
+     */
+    public void occupy(final @NonNull PlotId id) {
+        final long ordinal = ordinal(id.getX(), id.getY());
+        this.lock.writeLock().lock();
+        try {
+            long start = ordinal;
+            long end = ordinal;
+            final Map.Entry<Long, Long> lower = this.claimed.floorEntry(ordinal);
+            if (lower != null) {
+                if (lower.getValue() >= ordinal) {
+                    return;
+                }
+                if (lower.getValue() == ordinal - 1) {
+                    start = lower.getKey();
+                }
+            }
+            final Long upperEnd = this.claimed.remove(ordinal + 1);
+            if (upperEnd != null) {
+                end = upperEnd;
+            }
+            this.claimed.put(start, end);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark a plot as no longer claimed
+     *
+     * @param id Plot id
+     */
+    public void release(final @NonNull PlotId id) {
+        final long ordinal = ordinal(id.getX(), id.getY());
+        this.lock.writeLock().lock();
+        try {
+            final Map.Entry<Long, Long> run = this.claimed.floorEntry(ordinal);
+            if (run == null || run.getValue() < ordinal) {
+                return;
+            }
+            final long start = run.getKey();
+            final long end = run.getValue();
+            this.claimed.remove(start);
+            if (start < ordinal) {
+                this.claimed.put(start, ordinal - 1);
+            }
+            if (end > ordinal) {
+                this.claimed.put(ordinal + 1, end);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check whether a plot is marked as claimed
+     *
+     * @param id Plot id
+     * @return {@code true} if the plot is claimed
+     */
+    public boolean isClaimed(final @NonNull PlotId id) {
+        final long ordinal = ordinal(id.getX(), id.getY());
+        this.lock.readLock().lock();
+        try {
+            final Map.Entry<Long, Long> run = this.claimed.floorEntry(ordinal);
+            return run != null && run.getValue() >= ordinal;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the first ordinal at or after the given one that is neither claimed nor reserved
+     *
+     * @param ordinal Ordinal to start at
+     * @return First free ordinal
+     */
+    public long nextFree(long ordinal) {
+        while (true) {
+            this.lock.readLock().lock();
+            try {
+                final Map.Entry<Long, Long> run = this.claimed.floorEntry(ordinal);
+                if (run != null && run.getValue() >= ordinal) {
+                    ordinal = run.getValue() + 1;
+                }
+            } finally {
+                this.lock.readLock().unlock();
+            }
+            if (!this.isReserved(fromOrdinal(ordinal))) {
+                return ordinal;
+            }
+            ordinal++;
+        }
+    }
+
+    /**
+     * Check whether a plot is reserved by an ongoing search
+     *
+     * @param id Plot id
+     * @return {@code true} if the plot is reserved
+     */
+    public boolean isReserved(final @NonNull PlotId id) {
+        final Long expiry = this.reservations.get(id);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry - System.nanoTime() > 0) {
+            return true;
+        }
+        this.reservations.remove(id, expiry);
+        return false;
+    }
+
+    /**
+     * Reserve a plot for a short time. Fails if the plot is reserved already.
+     *
+     * @param id Plot id
+     * @return {@code true} if the plot was reserved by this call
+     */
+    public boolean reserve(final @NonNull PlotId id) {
+        final long expiry = System.nanoTime() + RESERVATION_TIME;
+        final Long previous = this.reservations.putIfAbsent(id, expiry);
+        if (previous == null) {
+            return true;
+        }
+        return previous - System.nanoTime() <= 0 && this.reservations.replace(id, previous, expiry);
+    }
+
+    /**
+     * Give up the reservation of a plot
+     *
+     * @param id Plot id
+     */
+    public void cancelReservation(final @NonNull PlotId id) {
+        this.reservations.remove(id);
+    }
+
+}
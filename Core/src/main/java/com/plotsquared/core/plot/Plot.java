@@ -27,7 +27,6 @@ package com.plotsquared.core.plot;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.command.Like;
@@ -84,6 +83,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.lang.ref.Cleaner;
 import java.text.DecimalFormat;
@@ -103,6 +103,7 @@ import java.util.TimeZone;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
@@ -125,13 +126,45 @@ public class Plot {
 
     public static final int MAX_HEIGHT = 256;
 
+    /**
+     * Dirty bit set when the owner of the plot changed
+     */
+    public static final int DIRTY_OWNER = 1;
+    /**
+     * Dirty bit set when the trusted players of the plot changed
+     */
+    public static final int DIRTY_TRUSTED = 1 << 1;
+    /**
+     * Dirty bit set when the members of the plot changed
+     */
+    public static final int DIRTY_MEMBERS = 1 << 2;
+    /**
+     * Dirty bit set when the denied players of the plot changed
+     */
+    public static final int DIRTY_DENIED = 1 << 3;
+    /**
+     * Dirty bit set when the merge state of the plot changed
+     */
+    public static final int DIRTY_MERGED = 1 << 4;
+    /**
+     * Dirty bit set when a flag of the plot was added, updated or removed
+     */
+    public static final int DIRTY_FLAGS = 1 << 5;
+    /**
+     * Dirty bit set when the alias of the plot changed
+     */
+    public static final int DIRTY_ALIAS = 1 << 6;
+    /**
+     * Dirty bit set when the home position of the plot changed
+     */
+    public static final int DIRTY_POSITION = 1 << 7;
+
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + Plot.class.getSimpleName());
     private static final DecimalFormat FLAG_DECIMAL_FORMAT = new DecimalFormat("0");
     private static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
     private static final Cleaner CLEANER = Cleaner.create();
-
-    static Set<Plot> connected_cache;
-    static Set<CuboidRegion> regions_cache;
+    private static final AtomicIntegerFieldUpdater<Plot> DIRTY_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Plot.class, "dirty");
 
     static {
         FLAG_DECIMAL_FORMAT.setMaximumFractionDigits(340);
@@ -140,7 +173,7 @@ public class Plot {
     /**
      * Plot flag container
      */
-    private final FlagContainer flagContainer = new FlagContainer(null);
+    private final FlagContainer flagContainer = new FlagContainer(null, (flag, type) -> this.markDirty(DIRTY_FLAGS));
     /**
      * Utility used to manage plot comments
      */
@@ -158,6 +191,15 @@ public class Plot {
      */
     @Deprecated
     public int temp;
+    /**
+     * Bitmask of the DIRTY_* values describing what changed since the plot was last validated
+     * against the database
+     */
+    private volatile int dirty;
+    /**
+     * Summary of the ratings stored in the settings of this plot, {@code null} until it is first requested
+     */
+    private volatile RatingSummary ratingSummary;
     /**
      * List of trusted (with plot permissions).
      */
@@ -210,10 +252,10 @@ public class Plot {
      */
     private ConcurrentHashMap<String, Object> meta;
     /**
-     * The cached origin plot.
-     * - The origin plot is used for plot grouping and relational data
+     * The merge group this plot belongs to. Shared by all connected plots and
+     * used for plot grouping and relational data
      */
-    private Plot origin;
+    private volatile PlotMergeGroup mergeGroup;
 
     /**
      * Constructor for a new plot.
@@ -462,7 +504,70 @@ public class Plot {
      * @param owner The new owner of this particular sub-plot.
      */
     public void setOwnerAbs(final @Nullable UUID owner) {
+        final UUID previous = this.owner;
         this.owner = owner;
+        if (!Objects.equals(previous, owner)) {
+            final PlotMergeGroup group = this.mergeGroup;
+            if (group != null) {
+                group.resetOwners();
+            }
+            if (this.area != null) {
+                this.area.updateOwnerIndex(this, previous, owner);
+            }
+            this.markDirty(DIRTY_OWNER);
+        }
+    }
+
+    /**
+     * Mark parts of this plot as changed since it was last validated against the database.
+     *
+     * @param flags DIRTY_* bits to set
+     */
+    @ApiStatus.Internal
+    public void markDirty(final int flags) {
+        DIRTY_UPDATER.accumulateAndGet(this, flags, (current, added) -> current | added);
+        if (this.area == null) {
+            return;
+        }
+        if ((flags & (DIRTY_ALIAS | DIRTY_TRUSTED | DIRTY_MEMBERS)) != 0) {
+            this.area.updateSearchIndex(this);
+        }
+        // Merging changes the values of the whole group, read from cache as it can not be recomputed mid-merge
+        final PlotMergeGroup group = (flags & DIRTY_MERGED) != 0 ? this.mergeGroup : null;
+        if (group != null) {
+            for (final Plot plot : group.getMembers()) {
+                this.area.invalidatePlaceholders(plot);
+            }
+        } else {
+            this.area.invalidatePlaceholders(this);
+        }
+    }
+
+    /**
+     * Get the DIRTY_* bits describing which parts of this plot changed since it was last
+     * validated against the database.
+     *
+     * @return dirty bitmask, {@code 0} if nothing changed
+     */
+    public int getDirtyFlags() {
+        return this.dirty;
+    }
+
+    /**
+     * Check if any part of this plot changed since it was last validated against the database.
+     *
+     * @return {@code true} if the plot is dirty
+     */
+    public boolean isDirty() {
+        return this.dirty != 0;
+    }
+
+    /**
+     * Reset the dirty bits of this plot, after it was loaded from or validated against the database.
+     */
+    @ApiStatus.Internal
+    public void clearDirty() {
+        this.dirty = 0;
     }
 
     /**
@@ -568,8 +673,8 @@ public class Plot {
         if (!isMerged()) {
             return false;
         }
-        final Set<Plot> connected = getConnectedPlots();
-        return connected.stream().anyMatch(current -> uuid.equals(current.getOwner()));
+        // The server plot flag is shared by all connected plots, in which case the server is the only owner
+        return !this.getFlag(ServerPlotFlag.class) && getMergeGroup().getOwners().contains(uuid);
     }
 
     /**
@@ -638,22 +743,8 @@ public class Plot {
         if (this.getOwner() == null) {
             return ImmutableSet.of();
         }
-        if (isMerged()) {
-            Set<Plot> plots = getConnectedPlots();
-            Plot[] array = plots.toArray(new Plot[0]);
-            ImmutableSet.Builder<UUID> owners = ImmutableSet.builder();
-            UUID last = this.getOwner();
-            owners.add(this.getOwner());
-            for (final Plot current : array) {
-                if (current.getOwner() == null) {
-                    continue;
-                }
-                if (last == null || current.getOwner().getMostSignificantBits() != last.getMostSignificantBits()) {
-                    owners.add(current.getOwner());
-                    last = current.getOwner();
-                }
-            }
-            return owners.build();
+        if (isMerged() && !this.getFlag(ServerPlotFlag.class)) {
+            return getMergeGroup().getOwners();
         }
         return ImmutableSet.of(this.getOwner());
     }
@@ -780,34 +871,19 @@ public class Plot {
      * - Merged plots need to be treated as a single plot for most purposes<br>
      * - Some data such as home location needs to be associated with the group rather than each plot<br>
      * - If the plot is not merged it will return itself.<br>
-     * - The result is cached locally
+     * - The result is shared by all connected plots
      *
      * @param recalculate whether to recalculate the merged plots to find the origin
      * @return base Plot
      */
     public Plot getBasePlot(final boolean recalculate) {
-        if (this.origin != null && !recalculate) {
-            if (this.equals(this.origin)) {
-                return this;
-            }
-            return this.origin.getBasePlot(false);
-        }
         if (!this.isMerged()) {
-            this.origin = this;
-            return this.origin;
+            return this;
         }
-        this.origin = this;
-        PlotId min = this.id;
-        for (Plot plot : this.getConnectedPlots()) {
-            if (plot.id.getY() < min.getY() || plot.id.getY() == min.getY() && plot.id.getX() < min.getX()) {
-                this.origin = plot;
-                min = plot.id;
-            }
-        }
-        for (Plot plot : this.getConnectedPlots()) {
-            plot.origin = this.origin;
+        if (recalculate) {
+            this.clearCache();
         }
-        return this.origin;
+        return getMergeGroup().getBase();
     }
 
     /**
@@ -1003,6 +1079,7 @@ public class Plot {
     public void addDenied(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getDenied().add(uuid)) {
+                current.markDirty(DIRTY_DENIED);
                 DBFunc.setDenied(current, uuid);
             }
         }
@@ -1016,6 +1093,7 @@ public class Plot {
     public void addTrusted(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getTrusted().add(uuid)) {
+                current.markDirty(DIRTY_TRUSTED);
                 DBFunc.setTrusted(current, uuid);
             }
         }
@@ -1029,6 +1107,7 @@ public class Plot {
     public void addMember(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getMembers().add(uuid)) {
+                current.markDirty(DIRTY_MEMBERS);
                 DBFunc.setMember(current, uuid);
             }
         }
@@ -1180,11 +1259,11 @@ public class Plot {
      * @return success
      */
     public boolean removeFlag(final @NonNull PlotFlag<?, ?> flag) {
-        if (flag == null || origin == null) {
+        if (flag == null) {
             return false;
         }
         boolean removed = false;
-        for (final Plot plot : origin.getConnectedPlots()) {
+        for (final Plot plot : this.getConnectedPlots()) {
             final Object value = plot.getFlagContainer().removeFlag(flag);
             if (value == null) {
                 continue;
@@ -1209,9 +1288,23 @@ public class Plot {
      *         5 = Misc
      */
     public int[] countEntities() {
+        return this.countEntities(false);
+    }
+
+    /**
+     * Count the entities in a plot, without relying on counts kept between calls
+     *
+     * @return array of entity counts, see {@link #countEntities()}
+     * @see RegionManager#recountEntities(Plot)
+     */
+    public int[] recountEntities() {
+        return this.countEntities(true);
+    }
+
+    private int[] countEntities(final boolean recount) {
         int[] count = new int[6];
         for (Plot current : this.getConnectedPlots()) {
-            int[] result = this.regionManager.countEntities(current);
+            int[] result = recount ? this.regionManager.recountEntities(current) : this.regionManager.countEntities(current);
             count[CAP_ENTITY] += result[CAP_ENTITY];
             count[CAP_ANIMAL] += result[CAP_ANIMAL];
             count[CAP_MONSTER] += result[CAP_MONSTER];
@@ -1290,6 +1383,7 @@ public class Plot {
             DBFunc.delete(current);
             current.setOwnerAbs(null);
             current.settings = null;
+            current.clearCache();
             for (final PlotPlayer<?> pp : players) {
                 this.plotListener.plotEntry(pp, current);
             }
@@ -1481,6 +1575,7 @@ public class Plot {
             return;
         }
         plot.getSettings().setPosition(location);
+        plot.markDirty(DIRTY_POSITION);
         if (location != null) {
             DBFunc.setPosition(plot, plot.getSettings().getPosition().toString());
             return;
@@ -1599,9 +1694,64 @@ public class Plot {
      * @return average rating as double, {@link Double#NaN} of no ratings exist
      */
     public double getAverageRating() {
-        Collection<Rating> ratings = this.getRatings().values();
-        double sum = ratings.stream().mapToDouble(Rating::getAverageRating).sum();
-        return sum / ratings.size();
+        return this.getRatingSummary().getAverage();
+    }
+
+    /**
+     * Get the summary of the ratings of this plot, shared by all plots merged with it. The summary is
+     * cached by the base plot and recomputed after ratings were added or cleared.
+     *
+     * @return Rating summary
+     */
+    public @NonNull RatingSummary getRatingSummary() {
+        return this.getBasePlot(false).getStoredRatingSummary();
+    }
+
+    /**
+     * Get the summary of the ratings stored in the settings of this plot, ignoring merged plots.
+     * Only base plots store ratings.
+     *
+     * @return Rating summary
+     */
+    @NonNull RatingSummary getStoredRatingSummary() {
+        final Map<UUID, Integer> ratings = this.settings == null ? Collections.emptyMap() : this.settings.getRatings();
+        RatingSummary summary = this.ratingSummary;
+        // Ratings may also be loaded into the settings directly, those always change the count
+        if (summary == null || summary.getCount() != ratings.size()) {
+            final List<Rating> values = new ArrayList<>(ratings.size());
+            for (final Integer value : ratings.values()) {
+                values.add(new Rating(value));
+            }
+            summary = RatingSummary.of(values);
+            this.ratingSummary = summary;
+        }
+        return summary;
+    }
+
+    /**
+     * Drop the cached rating summary of a base plot and update its rank in the rating index
+     */
+    private void updateRatings(final @NonNull Plot base) {
+        base.ratingSummary = null;
+        if (base.area != null) {
+            base.area.updateRatingIndex(base);
+            for (final Plot plot : base.getConnectedPlots()) {
+                base.area.invalidatePlaceholders(plot);
+            }
+        }
+    }
+
+    /**
+     * Update the rating index for all connected plots after they were merged or unmerged,
+     * as the base plot ranking them may have changed
+     */
+    void updateRatingIndex() {
+        if (this.area == null) {
+            return;
+        }
+        for (final Plot plot : this.getConnectedPlots()) {
+            this.area.updateRatingIndex(plot);
+        }
     }
 
     /**
@@ -1621,6 +1771,7 @@ public class Plot {
         int aggregate = rating.getAggregate();
         baseSettings.getRatings().put(uuid, aggregate);
         DBFunc.setRating(base, uuid, aggregate);
+        this.updateRatings(base);
         return true;
     }
 
@@ -1633,6 +1784,7 @@ public class Plot {
         if (baseSettings.getRatings() != null && !baseSettings.getRatings().isEmpty()) {
             DBFunc.deleteRatings(base);
             baseSettings.setRatings(null);
+            this.updateRatings(base);
         }
     }
 
@@ -1945,6 +2097,7 @@ public class Plot {
     private boolean rmvDenied(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getDenied().remove(uuid)) {
+                current.markDirty(DIRTY_DENIED);
                 DBFunc.removeDenied(current, uuid);
             } else {
                 return false;
@@ -1974,6 +2127,7 @@ public class Plot {
     private boolean rmvTrusted(UUID uuid) {
         for (Plot plot : this.getConnectedPlots()) {
             if (plot.getTrusted().remove(uuid)) {
+                plot.markDirty(DIRTY_TRUSTED);
                 DBFunc.removeTrusted(plot, uuid);
             } else {
                 return false;
@@ -2006,6 +2160,7 @@ public class Plot {
     private boolean rmvMember(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getMembers().remove(uuid)) {
+                current.markDirty(DIRTY_MEMBERS);
                 DBFunc.removeMember(current, uuid);
             } else {
                 return false;
@@ -2070,6 +2225,7 @@ public class Plot {
                 return;
             }
             current.getSettings().setAlias(alias);
+            current.markDirty(DIRTY_ALIAS);
             DBFunc.setAlias(current, alias);
         }
     }
@@ -2084,27 +2240,15 @@ public class Plot {
      */
     public void setMerged(Direction direction, boolean value) {
         if (this.getSettings().setMerged(direction, value)) {
+            this.markDirty(DIRTY_MERGED);
+            this.clearCache();
             if (value) {
-                Plot other = this.getRelative(direction).getBasePlot(false);
-                if (!other.equals(this.getBasePlot(false))) {
-                    Plot base = other.id.getY() < this.id.getY() || other.id.getY() == this.id.getY() && other.id.getX() < this.id
-                            .getX() ?
-                            other :
-                            this.origin;
-                    this.origin.origin = base;
-                    other.origin = base;
-                    this.origin = base;
-                    connected_cache = null;
+                final Plot other = this.getRelative(direction);
+                if (other != null) {
+                    other.clearCache();
                 }
-            } else {
-                if (this.origin != null) {
-                    this.origin.origin = null;
-                    this.origin = null;
-                }
-                connected_cache = null;
             }
             DBFunc.setMerged(this, this.getSettings().getMerged());
-            regions_cache = null;
         }
     }
 
@@ -2134,19 +2278,78 @@ public class Plot {
      */
     public void setMerged(boolean[] merged) {
         this.getSettings().setMerged(merged);
+        this.markDirty(DIRTY_MERGED);
         DBFunc.setMerged(this, merged);
         clearCache();
+        for (int i = 0; i < 4; i++) {
+            if (merged[i]) {
+                final Plot other = this.getRelative(Direction.getFromIndex(i));
+                if (other != null) {
+                    other.clearCache();
+                }
+            }
+        }
     }
 
+    /**
+     * Discard the merge group of this plot and all plots connected to it. The group is
+     * rebuilt the next time it is needed.
+     */
     public void clearCache() {
-        connected_cache = null;
-        regions_cache = null;
-        if (this.origin != null) {
-            this.origin.origin = null;
-            this.origin = null;
+        synchronized (PlotMergeGroup.LOCK) {
+            PlotMergeGroup.generation++;
+            final PlotMergeGroup group = this.mergeGroup;
+            if (group != null) {
+                for (final Plot plot : group.getMembers()) {
+                    plot.mergeGroup = null;
+                }
+            }
+            this.mergeGroup = null;
         }
     }
 
+    /**
+     * Get the merge group of this plot, computing it if it has been invalidated.
+     *
+     * @return merge group shared by all connected plots
+     */
+    private @NonNull PlotMergeGroup getMergeGroup() {
+        PlotMergeGroup group = this.mergeGroup;
+        if (group != null) {
+            return group;
+        }
+        // The group is built without holding the lock, and only published if no group was
+        // invalidated in the meantime
+        final long generation = PlotMergeGroup.generation;
+        final List<Runnable> repairs = new ArrayList<>();
+        final PlotMergeGroup computed = new PlotMergeGroup(this.computeConnectedPlots(repairs));
+        synchronized (PlotMergeGroup.LOCK) {
+            group = this.mergeGroup;
+            if (group != null) {
+                return group;
+            }
+            if (PlotMergeGroup.generation != generation) {
+                return computed;
+            }
+            for (final Plot plot : computed.getMembers()) {
+                // Members may still reference an outdated group containing other plots
+                if (plot.mergeGroup != null) {
+                    plot.clearCache();
+                }
+            }
+            for (final Plot plot : computed.getMembers()) {
+                plot.mergeGroup = computed;
+            }
+            this.mergeGroup = computed;
+        }
+        if (!repairs.isEmpty()) {
+            // The repairs change the merge state, so the group is rebuilt from the repaired state next time
+            repairs.forEach(Runnable::run);
+            this.clearCache();
+        }
+        return computed;
+    }
+
     /**
      * Gets the set home location or 0,0,0 if no location is set<br>
      * - Does not take the default home location into account
@@ -2255,7 +2458,7 @@ public class Plot {
 
     /**
      * Gets a set of plots connected (and including) this plot<br>
-     * - This result is cached globally
+     * - This result is shared by all connected plots and cannot be modified
      *
      * @return a Set of Plots connected to this Plot
      */
@@ -2266,13 +2469,19 @@ public class Plot {
         if (!this.isMerged()) {
             return Collections.singleton(this);
         }
-        if (connected_cache != null && connected_cache.contains(this)) {
-            return connected_cache;
-        }
-        regions_cache = null;
+        return getMergeGroup().getMembers();
+    }
 
+    /**
+     * Find the plots connected to this plot. Inconsistent merges of the adjacent plots are not
+     * repaired directly, the repairs are added to the given list instead.
+     */
+    private @NonNull Set<Plot> computeConnectedPlots(final @NonNull List<Runnable> repairs) {
         HashSet<Plot> tmpSet = new HashSet<>();
         tmpSet.add(this);
+        if (this.settings == null || !this.isMerged()) {
+            return tmpSet;
+        }
         Plot tmp;
         HashSet<Object> queuecache = new HashSet<>();
         ArrayDeque<Plot> frontier = new ArrayDeque<>();
@@ -2280,12 +2489,19 @@ public class Plot {
             tmp = this.area.getPlotAbs(this.id.getRelative(Direction.NORTH));
             if (!tmp.isMerged(Direction.SOUTH)) {
                 // invalid merge
-                if (tmp.isOwnerAbs(this.getOwnerAbs())) {
-                    tmp.getSettings().setMerged(Direction.SOUTH, true);
-                    DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                final Plot other = tmp;
+                if (other.isOwnerAbs(this.getOwnerAbs())) {
+                    repairs.add(() -> {
+                        other.getSettings().setMerged(Direction.SOUTH, true);
+                        other.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(other, other.getSettings().getMerged());
+                    });
                 } else {
-                    this.getSettings().setMerged(Direction.NORTH, false);
-                    DBFunc.setMerged(this, this.getSettings().getMerged());
+                    repairs.add(() -> {
+                        this.getSettings().setMerged(Direction.NORTH, false);
+                        this.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(this, this.getSettings().getMerged());
+                    });
                 }
             }
             queuecache.add(tmp);
@@ -2296,12 +2512,19 @@ public class Plot {
             assert tmp != null;
             if (!tmp.isMerged(Direction.WEST)) {
                 // invalid merge
-                if (tmp.isOwnerAbs(this.getOwnerAbs())) {
-                    tmp.getSettings().setMerged(Direction.WEST, true);
-                    DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                final Plot other = tmp;
+                if (other.isOwnerAbs(this.getOwnerAbs())) {
+                    repairs.add(() -> {
+                        other.getSettings().setMerged(Direction.WEST, true);
+                        other.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(other, other.getSettings().getMerged());
+                    });
                 } else {
-                    this.getSettings().setMerged(Direction.EAST, false);
-                    DBFunc.setMerged(this, this.getSettings().getMerged());
+                    repairs.add(() -> {
+                        this.getSettings().setMerged(Direction.EAST, false);
+                        this.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(this, this.getSettings().getMerged());
+                    });
                 }
             }
             queuecache.add(tmp);
@@ -2312,12 +2535,19 @@ public class Plot {
             assert tmp != null;
             if (!tmp.isMerged(Direction.NORTH)) {
                 // invalid merge
-                if (tmp.isOwnerAbs(this.getOwnerAbs())) {
-                    tmp.getSettings().setMerged(Direction.NORTH, true);
-                    DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                final Plot other = tmp;
+                if (other.isOwnerAbs(this.getOwnerAbs())) {
+                    repairs.add(() -> {
+                        other.getSettings().setMerged(Direction.NORTH, true);
+                        other.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(other, other.getSettings().getMerged());
+                    });
                 } else {
-                    this.getSettings().setMerged(Direction.SOUTH, false);
-                    DBFunc.setMerged(this, this.getSettings().getMerged());
+                    repairs.add(() -> {
+                        this.getSettings().setMerged(Direction.SOUTH, false);
+                        this.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(this, this.getSettings().getMerged());
+                    });
                 }
             }
             queuecache.add(tmp);
@@ -2327,12 +2557,19 @@ public class Plot {
             tmp = this.area.getPlotAbs(this.id.getRelative(Direction.WEST));
             if (!tmp.isMerged(Direction.EAST)) {
                 // invalid merge
-                if (tmp.isOwnerAbs(this.getOwnerAbs())) {
-                    tmp.getSettings().setMerged(Direction.EAST, true);
-                    DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                final Plot other = tmp;
+                if (other.isOwnerAbs(this.getOwnerAbs())) {
+                    repairs.add(() -> {
+                        other.getSettings().setMerged(Direction.EAST, true);
+                        other.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(other, other.getSettings().getMerged());
+                    });
                 } else {
-                    this.getSettings().setMerged(Direction.WEST, false);
-                    DBFunc.setMerged(this, this.getSettings().getMerged());
+                    repairs.add(() -> {
+                        this.getSettings().setMerged(Direction.WEST, false);
+                        this.markDirty(DIRTY_MERGED);
+                        DBFunc.setMerged(this, this.getSettings().getMerged());
+                    });
                 }
             }
             queuecache.add(tmp);
@@ -2374,31 +2611,37 @@ public class Plot {
                 }
             }
         }
-        connected_cache = tmpSet;
         return tmpSet;
     }
 
     /**
      * This will combine each plot into effective rectangular regions<br>
-     * - This result is cached globally<br>
+     * - This result is shared by all connected plots and cannot be modified<br>
      * - Useful for handling non rectangular shapes
      *
      * @return all regions within the plot
      */
     public @NonNull Set<CuboidRegion> getRegions() {
-        if (regions_cache != null && connected_cache != null && connected_cache.contains(this)) {
-            return regions_cache;
+        if (!this.isMerged()) {
+            return this.computeRegions(Collections.singleton(this));
         }
+        final PlotMergeGroup group = getMergeGroup();
+        final Set<CuboidRegion> cached = group.getRegions();
+        if (cached != null) {
+            return cached;
+        }
+        group.setRegions(this.computeRegions(group.getMembers()));
+        return group.getRegions();
+    }
+
+    private @NonNull Set<CuboidRegion> computeRegions(final @NonNull Set<Plot> plots) {
         if (!this.isMerged()) {
             Location pos1 = this.getBottomAbs();
             Location pos2 = this.getTopAbs();
-            connected_cache = Sets.newHashSet(this);
             CuboidRegion rg = new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3());
-            regions_cache = Collections.singleton(rg);
-            return regions_cache;
+            return Collections.singleton(rg);
         }
-        Set<Plot> plots = this.getConnectedPlots();
-        Set<CuboidRegion> regions = regions_cache = new HashSet<>();
+        Set<CuboidRegion> regions = new HashSet<>();
         Set<PlotId> visited = new HashSet<>();
         for (Plot current : plots) {
             if (visited.contains(current.getId())) {
@@ -2701,6 +2944,7 @@ public class Plot {
                 lesserPlot.setMerged(Direction.SOUTH, true);
                 greaterPlot.setMerged(Direction.NORTH, true);
                 lesserPlot.mergeData(greaterPlot);
+                lesserPlot.updateRatingIndex();
                 if (removeRoads) {
                     //lesserPlot.removeSign();
                     lesserPlot.getPlotModificationManager().removeRoadSouth(queue);
@@ -2726,6 +2970,7 @@ public class Plot {
                 lesserPlot.setMerged(Direction.EAST, true);
                 greaterPlot.setMerged(Direction.WEST, true);
                 lesserPlot.mergeData(greaterPlot);
+                lesserPlot.updateRatingIndex();
                 if (removeRoads) {
                     //lesserPlot.removeSign();
                     Plot diagonal = greaterPlot.getRelative(Direction.SOUTH);
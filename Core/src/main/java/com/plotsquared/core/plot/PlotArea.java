@@ -27,6 +27,7 @@ package com.plotsquared.core.plot;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.collection.QuadMap;
@@ -38,6 +39,7 @@ import com.plotsquared.core.configuration.caption.CaptionUtility;
 import com.plotsquared.core.configuration.caption.LocaleHolder;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.generator.GridPlotWorld;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
 import com.plotsquared.core.inject.annotations.WorldConfig;
@@ -74,6 +76,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
@@ -81,6 +84,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -104,6 +108,23 @@ public abstract class PlotArea {
     }
 
     protected final ConcurrentHashMap<PlotId, Plot> plots = new ConcurrentHashMap<>();
+    /**
+     * Secondary index of {@link #plots}, mapping the (absolute) owner of a plot to
+     * the ids of the plots it owns in this area
+     */
+    private final ConcurrentHashMap<UUID, Set<PlotId>> plotsByOwner = new ConcurrentHashMap<>();
+    /**
+     * Spiral ordered index of the owned plots of this area, used to find free plots
+     */
+    private final FreePlotIndex freePlotIndex = new FreePlotIndex();
+    private final RegionOccupancy regionOccupancy = new RegionOccupancy(this);
+    private final PlotIndex plotIndex = new PlotIndex();
+    private final PlotSearchIndex searchIndex = new PlotSearchIndex();
+    private final PlotRatingIndex ratingIndex = new PlotRatingIndex();
+    /**
+     * Whether the owner counts of this area are reflected in the global aggregate in {@link PlotSquared}
+     */
+    private volatile boolean ownerIndexRegistered = false;
     @NonNull
     private final String worldName;
     private final String id;
@@ -584,12 +605,12 @@ public abstract class PlotArea {
      * @return the {@link Plot} or null if none exists
      */
     public @Nullable Plot getPlotAbs(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = this.getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT) {
             return null;
         }
-        return getPlotAbs(pid);
+        final Plot plot = this.plotIndex.get(pid);
+        return plot != null ? plot : getPlotAbs(PlotId.fromPacked(pid));
     }
 
     /**
@@ -599,12 +620,12 @@ public abstract class PlotArea {
      * @return base Plot
      */
     public @Nullable Plot getPlot(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = this.getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT) {
             return null;
         }
-        return getPlot(pid);
+        final Plot plot = this.plotIndex.get(pid);
+        return plot != null ? plot.getBasePlot(false) : getPlot(PlotId.fromPacked(pid));
     }
 
     /**
@@ -614,12 +635,11 @@ public abstract class PlotArea {
      * @return the base plot or null
      */
     public @Nullable Plot getOwnedPlot(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = this.getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT) {
             return null;
         }
-        Plot plot = this.plots.get(pid);
+        Plot plot = this.plotIndex.get(pid);
         return plot == null ? null : plot.getBasePlot(false);
     }
 
@@ -630,12 +650,46 @@ public abstract class PlotArea {
      * @return Plot or null
      */
     public @Nullable Plot getOwnedPlotAbs(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = this.getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT) {
             return null;
         }
-        return this.plots.get(pid);
+        return this.plotIndex.get(pid);
+    }
+
+    /**
+     * Check whether a location is inside a plot, owned or not, rather than on a road. Unlike
+     * {@link #getPlotAbs(Location)}, this does not create a {@link Plot} for an unowned plot ID.
+     *
+     * @param location the location
+     * @return {@code true} if {@link #getPlotAbs(Location)} would return a plot
+     */
+    public boolean isPlot(final @NonNull Location location) {
+        final long pid = this.getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT) {
+            return false;
+        }
+        if (this.min == null || this.plotIndex.get(pid) != null) {
+            return true;
+        }
+        final int x = PlotId.unpackX(pid);
+        final int y = PlotId.unpackY(pid);
+        return x >= this.min.getX() && x <= this.max.getX() && y >= this.min.getY() && y <= this.max.getY();
+    }
+
+    /**
+     * Get the owned plot with the given {@link PlotId#pack(int, int) packed} id. Unlike
+     * {@link #getOwnedPlotAbs(PlotId)}, this does not require a {@link PlotId} instance.
+     *
+     * @param packedId the packed plot id
+     * @return the plot or null
+     */
+    public @Nullable Plot getOwnedPlotAbs(final long packedId) {
+        return this.plotIndex.get(packedId);
+    }
+
+    private long getPlotIdPacked(final @NonNull Location location) {
+        return this.getPlotManager().getPlotIdPacked(location.getX(), location.getY(), location.getZ());
     }
 
     /**
@@ -671,18 +725,34 @@ public abstract class PlotArea {
         if (uuid == null) {
             return Collections.emptySet();
         }
+        final Set<PlotId> ids = this.plotsByOwner.get(uuid);
+        if (ids == null) {
+            return Collections.emptySet();
+        }
         final HashSet<Plot> myPlots = new HashSet<>();
-        forEachPlotAbs(value -> {
-            if (uuid.equals(value.getOwnerAbs())) {
-                myPlots.add(value);
+        for (final PlotId id : ids) {
+            final Plot plot = this.plots.get(id);
+            if (plot != null && uuid.equals(plot.getOwnerAbs())) {
+                myPlots.add(plot);
             }
-        });
+        }
         return myPlots;
     }
 
     public @NonNull Set<Plot> getPlots(final @NonNull UUID uuid) {
-        return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
-                .collect(ImmutableSet.toImmutableSet());
+        if (DBFunc.SERVER.equals(uuid)) {
+            // Server plots are resolved through the server-plot flag rather than the stored owner
+            return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
+                    .collect(ImmutableSet.toImmutableSet());
+        }
+        final ImmutableSet.Builder<Plot> builder = ImmutableSet.builder();
+        for (final Plot plot : getPlotsAbs(uuid)) {
+            final Plot base = plot.getBasePlot(false);
+            if (base.isOwner(uuid)) {
+                builder.add(base);
+            }
+        }
+        return builder.build();
     }
 
     /**
@@ -698,7 +768,8 @@ public abstract class PlotArea {
         if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
             return (int) getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
         }
-        return getPlotsAbs(uuid).size();
+        final Set<PlotId> ids = this.plotsByOwner.get(uuid);
+        return ids == null ? 0 : ids.size();
     }
 
     /**
@@ -716,7 +787,10 @@ public abstract class PlotArea {
     //todo check if this method is needed in this class
 
     public boolean hasPlot(final @NonNull UUID uuid) {
-        return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        if (DBFunc.SERVER.equals(uuid)) {
+            return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        }
+        return !getPlots(uuid).isEmpty();
     }
 
     public int getPlotCount(final @Nullable PlotPlayer<?> player) {
@@ -825,12 +899,6 @@ public abstract class PlotArea {
         return myPlots;
     }
 
-    private void forEachPlotAbs(Consumer<Plot> run) {
-        for (final Entry<PlotId, Plot> entry : this.plots.entrySet()) {
-            run.accept(entry.getValue());
-        }
-    }
-
     public void forEachBasePlot(Consumer<Plot> run) {
         for (final Plot plot : getPlots()) {
             if (plot.isBasePlot()) {
@@ -862,23 +930,120 @@ public abstract class PlotArea {
                 metaDataAccess.set(plot);
             }
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        return this.putPlot(plot);
+    }
+
+    /**
+     * Get the index of the owned plots in this area, used to find free plots
+     *
+     * @return Free plot index
+     */
+    public @NonNull FreePlotIndex getFreePlotIndex() {
+        return this.freePlotIndex;
+    }
+
+    /**
+     * Get the alias and member index of the owned plots in this area
+     *
+     * @return Search index
+     */
+    public @NonNull PlotSearchIndex getSearchIndex() {
+        return this.searchIndex;
+    }
+
+    /**
+     * Get the rating leaderboard of the owned plots in this area
+     *
+     * @return Rating index
+     */
+    public @NonNull PlotRatingIndex getRatingIndex() {
+        return this.ratingIndex;
+    }
+
+    /**
+     * Iterate the rated base plots in this area, best rated first. Plots merged with a rated
+     * base plot share its ratings, but are not returned by this.
+     *
+     * @return Rated plot iterator
+     */
+    public @NonNull Iterator<Plot> getRatedPlots() {
+        // Plots loaded with ratings may have been merged into another base plot since
+        return Iterators.filter(
+                Iterators.transform(this.ratingIndex.iterator(), this.plots::get),
+                plot -> plot != null && plot.isBasePlot()
+        );
+    }
+
+    /**
+     * Get the owned plots in this area with the given alias, ignoring case
+     *
+     * @param alias Plot alias
+     * @return set of plots with the alias
+     */
+    public @NonNull Set<Plot> getPlotsByAlias(final @NonNull String alias) {
+        final Set<Plot> result = new HashSet<>();
+        for (final PlotId id : this.searchIndex.getPlotIdsByAlias(alias)) {
+            final Plot plot = this.plots.get(id);
+            if (plot != null && alias.equalsIgnoreCase(plot.getAlias())) {
+                result.add(plot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the owned plots in this area the given player is trusted or added to
+     *
+     * @param uuid Player UUID
+     * @return set of plots the player is trusted or added to
+     */
+    public @NonNull Set<Plot> getPlotsByMember(final @NonNull UUID uuid) {
+        final Set<Plot> result = new HashSet<>();
+        for (final PlotId id : this.searchIndex.getPlotIdsByMember(uuid)) {
+            final Plot plot = this.plots.get(id);
+            if (plot != null && (plot.getTrusted().contains(uuid) || plot.getMembers().contains(uuid))) {
+                result.add(plot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the map of the regions and chunks occupied by owned plots in this area, used to trim worlds
+     *
+     * @return Region occupancy
+     */
+    public @NonNull RegionOccupancy getRegionOccupancy() {
+        return this.regionOccupancy;
     }
 
     public Plot getNextFreePlot(final PlotPlayer<?> player, @Nullable PlotId start) {
-        int plots;
-        PlotId center;
+        if (getType() != PlotAreaType.PARTIAL) {
+            // The spiral is centered on (0;0), so the index can skip owned and reserved plots directly
+            long ordinal;
+            if (start == null) {
+                final PlotId lastPlot = getMeta("lastPlot", PlotId.of(0, 0));
+                ordinal = FreePlotIndex.ordinal(lastPlot.getX(), lastPlot.getY());
+            } else {
+                ordinal = FreePlotIndex.ordinal(start.getX(), start.getY()) + 1;
+            }
+            while (true) {
+                ordinal = this.freePlotIndex.nextFree(ordinal);
+                final PlotId currentId = FreePlotIndex.fromOrdinal(ordinal);
+                final Plot plot = getPlotAbs(currentId);
+                if (plot != null && plot.canClaim(player)) {
+                    setMeta("lastPlot", currentId);
+                    return plot;
+                }
+                ordinal++;
+            }
+        }
         PlotId min = getMin();
         PlotId max = getMax();
-        if (getType() == PlotAreaType.PARTIAL) {
-            center = PlotId.of(MathMan.average(min.getX(), max.getX()), MathMan.average(min.getY(), max.getY()));
-            plots = Math.max(max.getX() - min.getX() + 1, max.getY() - min.getY() + 1) + 1;
-            if (start != null) {
-                start = PlotId.of(start.getX() - center.getX(), start.getY() - center.getY());
-            }
-        } else {
-            center = PlotId.of(0, 0);
-            plots = Integer.MAX_VALUE;
+        PlotId center = PlotId.of(MathMan.average(min.getX(), max.getX()), MathMan.average(min.getY(), max.getY()));
+        int plots = Math.max(max.getX() - min.getX() + 1, max.getY() - min.getY() + 1) + 1;
+        if (start != null) {
+            start = PlotId.of(start.getX() - center.getX(), start.getY() - center.getY());
         }
         for (int i = 0; i < plots; i++) {
             if (start == null) {
@@ -897,7 +1062,18 @@ public abstract class PlotArea {
     }
 
     public boolean addPlotIfAbsent(final @NonNull Plot plot) {
-        if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+        final boolean[] added = new boolean[1];
+        // The plot index is updated inside the map operation, so it can not disagree with the map
+        this.plots.computeIfAbsent(plot.getId(), id -> {
+            this.plotIndex.put(id.pack(), plot);
+            added[0] = true;
+            return plot;
+        });
+        if (added[0]) {
+            this.indexOwner(plot.getId(), plot.getOwnerAbs());
+            this.searchIndex.index(plot);
+            this.ratingIndex.index(plot);
+            this.invalidatePlaceholders(plot);
             for (PlotPlayer<?> pp : plot.getPlayersInPlot()) {
                 try (final MetaDataAccess<Plot> metaDataAccess = pp.accessTemporaryMetaData(
                         PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
@@ -910,7 +1086,146 @@ public abstract class PlotArea {
     }
 
     public boolean addPlotAbs(final @NonNull Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        return this.putPlot(plot);
+    }
+
+    private boolean putPlot(final @NonNull Plot plot) {
+        final PlotId id = plot.getId();
+        final Plot[] replaced = new Plot[1];
+        this.plots.compute(id, (key, current) -> {
+            this.plotIndex.put(id.pack(), plot);
+            replaced[0] = current;
+            return plot;
+        });
+        final Plot previous = replaced[0];
+        if (previous != null) {
+            this.unindexOwner(id, previous.getOwnerAbs());
+            previous.clearCache();
+        }
+        this.indexOwner(id, plot.getOwnerAbs());
+        this.searchIndex.index(plot);
+        plot.clearCache();
+        this.ratingIndex.index(plot);
+        this.invalidatePlaceholders(plot);
+        return previous == null;
+    }
+
+    /**
+     * Update the owner index after the owner of a plot has changed. This is a no-op
+     * if the plot is not the instance registered in this area.
+     *
+     * @param plot     the plot whose owner changed
+     * @param oldOwner the previous owner
+     * @param newOwner the new owner
+     */
+    void updateOwnerIndex(final @NonNull Plot plot, final @Nullable UUID oldOwner, final @Nullable UUID newOwner) {
+        final PlotId id = plot.getId();
+        if (this.plots.get(id) != plot) {
+            return;
+        }
+        this.unindexOwner(id, oldOwner);
+        this.indexOwner(id, newOwner);
+    }
+
+    /**
+     * Update the alias and member index after the alias, trusted or added players of a plot
+     * have changed. This is a no-op if the plot is not the instance registered in this area.
+     *
+     * @param plot the plot that changed
+     */
+    void updateSearchIndex(final @NonNull Plot plot) {
+        if (this.plots.get(plot.getId()) == plot) {
+            this.searchIndex.index(plot);
+        }
+    }
+
+    /**
+     * Update the rating index after ratings were added to or cleared from a base plot, or after
+     * the plot was merged or unmerged. Only base plots are ranked, other plots are removed from
+     * the index. This is a no-op if the plot is not the instance registered in this area.
+     *
+     * @param plot the plot that changed
+     */
+    void updateRatingIndex(final @NonNull Plot plot) {
+        if (this.plots.get(plot.getId()) != plot) {
+            return;
+        }
+        if (plot.isBasePlot()) {
+            this.ratingIndex.index(plot);
+        } else {
+            this.ratingIndex.unindex(plot.getId());
+        }
+    }
+
+    private void indexOwner(final @NonNull PlotId id, final @Nullable UUID owner) {
+        if (owner == null) {
+            return;
+        }
+        this.freePlotIndex.occupy(id);
+        final boolean[] added = new boolean[1];
+        // Adding inside compute, as unindexOwner drops empty sets inside computeIfPresent
+        this.plotsByOwner.compute(owner, (uuid, ids) -> {
+            final Set<PlotId> result = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            added[0] = result.add(id);
+            return result;
+        });
+        if (added[0]) {
+            this.regionOccupancy.update(id, 1);
+            if (this.ownerIndexRegistered) {
+                PlotSquared.get().adjustPlotCount(owner, 1);
+                PlotSquared.platform().placeholderRegistry().invalidatePlayer(owner);
+            }
+        }
+    }
+
+    private void unindexOwner(final @NonNull PlotId id, final @Nullable UUID owner) {
+        if (owner == null) {
+            return;
+        }
+        final boolean[] removed = new boolean[1];
+        this.plotsByOwner.computeIfPresent(owner, (uuid, ids) -> {
+            removed[0] = ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+        if (removed[0]) {
+            this.freePlotIndex.release(id);
+            this.regionOccupancy.update(id, -1);
+            if (this.ownerIndexRegistered) {
+                PlotSquared.get().adjustPlotCount(owner, -1);
+                PlotSquared.platform().placeholderRegistry().invalidatePlayer(owner);
+            }
+        }
+    }
+
+    /**
+     * Include or exclude the owner counts of this area from the global aggregate
+     * kept by {@link PlotSquared#getPlotCount(UUID)}.
+     *
+     * @param registered whether this area is registered
+     */
+    @ApiStatus.Internal
+    public void setOwnerIndexRegistered(final boolean registered) {
+        if (this.ownerIndexRegistered == registered) {
+            return;
+        }
+        this.ownerIndexRegistered = registered;
+        for (final Entry<UUID, Set<PlotId>> entry : this.plotsByOwner.entrySet()) {
+            final int count = entry.getValue().size();
+            PlotSquared.get().adjustPlotCount(entry.getKey(), registered ? count : -count);
+            PlotSquared.platform().placeholderRegistry().invalidatePlayer(entry.getKey());
+        }
+    }
+
+    /**
+     * Drop the cached placeholder values of a plot after it changed. Players can only be in
+     * plots of registered areas, so this is a no-op for areas that are not registered.
+     *
+     * @param plot the plot that changed
+     */
+    void invalidatePlaceholders(final @NonNull Plot plot) {
+        if (this.ownerIndexRegistered) {
+            PlotSquared.platform().placeholderRegistry().invalidatePlot(plot);
+        }
     }
 
     /**
@@ -997,7 +1312,22 @@ public abstract class PlotArea {
     }
 
     public boolean removePlot(final @NonNull PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot[] removed = new Plot[1];
+        this.plots.computeIfPresent(id, (key, current) -> {
+            this.plotIndex.remove(id.pack());
+            removed[0] = current;
+            return null;
+        });
+        final Plot previous = removed[0];
+        if (previous == null) {
+            return false;
+        }
+        this.searchIndex.unindex(id);
+        this.ratingIndex.unindex(id);
+        this.unindexOwner(id, previous.getOwnerAbs());
+        previous.clearCache();
+        this.invalidatePlaceholders(previous);
+        return true;
     }
 
     public boolean mergePlots(final @NonNull List<PlotId> plotIds, final boolean removeRoads) {
@@ -113,6 +113,51 @@ public final class PlotId {
         return PlotId.of(hash >> 16, hash & 0xFFFF);
     }
 
+    /**
+     * Pack the components of a plot ID into a single long. The packed form
+     * can be used as a primitive map key in lookup paths that should not allocate.
+     *
+     * @param x The plot x coordinate
+     * @param y The plot y coordinate
+     * @return packed plot ID
+     */
+    public static long pack(final int x, final int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the x component of a packed plot ID
+     *
+     * @param packed Packed plot ID
+     * @return X component
+     * @see #pack(int, int)
+     */
+    public static int unpackX(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Get the y component of a packed plot ID
+     *
+     * @param packed Packed plot ID
+     * @return Y component
+     * @see #pack(int, int)
+     */
+    public static int unpackY(final long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Create a plot ID from its packed representation
+     *
+     * @param packed Packed plot ID
+     * @return Plot ID
+     * @see #pack(int, int)
+     */
+    public static @NonNull PlotId fromPacked(final long packed) {
+        return of(unpackX(packed), unpackY(packed));
+    }
+
     /**
      * Get a copy of the plot ID
      *
@@ -140,6 +185,16 @@ public final class PlotId {
         return this.y;
     }
 
+    /**
+     * Get this plot ID packed into a single long
+     *
+     * @return packed plot ID
+     * @see #pack(int, int)
+     */
+    public long pack() {
+        return pack(this.x, this.y);
+    }
+
     /**
      * Get the next plot ID for claiming purposes
      *
@@ -0,0 +1,164 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressed map from {@link PlotId#pack(int, int) packed plot ids} to the owned
+ * plots of a {@link PlotArea}, used for lookups from world coordinates that should not
+ * allocate. The {@link PlotArea#plots} map remains the source of truth, this is kept in
+ * sync with it by the area.
+ * <p>
+ * Writes are synchronized. Reads are lock free: a slot's key never changes once it has been
+ * assigned within a table, and the plot is published through a volatile write, so a reader
+ * either sees the plot or (while a write is in progress) no plot at all.
+ */
+final class PlotIndex {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    // Number of assigned keys in the current table, including ones without a plot
+    private int used;
+
+    private static int mix(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Get the plot stored for a packed plot id
+     *
+     * @param key packed plot id
+     * @return the plot, or {@code null}
+     */
+    @Nullable Plot get(final long key) {
+        final Table table = this.table;
+        final int mask = table.keys.length - 1;
+        int slot = mix(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            final long current = table.keys[slot];
+            if (current == key) {
+                return table.plots.get(slot);
+            }
+            if (current == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    synchronized void put(final long key, final @NonNull Plot plot) {
+        Table table = this.table;
+        int slot = table.find(key);
+        if (slot < 0) {
+            if ((this.used + 1) * 2 > table.keys.length) {
+                table = this.rehash(table);
+            }
+            slot = table.claim(key);
+            this.used++;
+        }
+        table.plots.set(slot, plot);
+    }
+
+    synchronized void remove(final long key) {
+        final Table table = this.table;
+        final int slot = table.find(key);
+        if (slot >= 0) {
+            // The key stays behind as a tombstone and is reused if the id is claimed again
+            table.plots.set(slot, null);
+        }
+    }
+
+    private @NonNull Table rehash(final @NonNull Table old) {
+        int live = 0;
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.plots.get(i) != null) {
+                live++;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while ((live + 1) * 4 > capacity) {
+            capacity <<= 1;
+        }
+        final Table table = new Table(capacity);
+        for (int i = 0; i < old.keys.length; i++) {
+            final Plot plot = old.plots.get(i);
+            if (plot != null) {
+                table.plots.set(table.claim(old.keys[i]), plot);
+            }
+        }
+        this.used = live;
+        this.table = table;
+        return table;
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final AtomicReferenceArray<Plot> plots;
+
+        private Table(final int capacity) {
+            this.keys = new long[capacity];
+            Arrays.fill(this.keys, EMPTY);
+            this.plots = new AtomicReferenceArray<>(capacity);
+        }
+
+        private int find(final long key) {
+            final int mask = this.keys.length - 1;
+            int slot = mix(key) & mask;
+            while (true) {
+                final long current = this.keys[slot];
+                if (current == key) {
+                    return slot;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private int claim(final long key) {
+            final int mask = this.keys.length - 1;
+            int slot = mix(key) & mask;
+            while (this.keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = key;
+            return slot;
+        }
+
+    }
+
+}
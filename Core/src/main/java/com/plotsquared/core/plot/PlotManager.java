@@ -42,6 +42,12 @@ import java.util.List;
 
 public abstract class PlotManager {
 
+    /**
+     * Returned by {@link #getPlotIdPacked(int, int, int)} when there is no plot at the given coordinates.
+     * This collides with the packed id of {@code Integer.MIN_VALUE;0}, which can not be reached by any grid.
+     */
+    public static final long NO_PLOT = Long.MIN_VALUE;
+
     private final PlotArea plotArea;
 
     public PlotManager(@NonNull PlotArea plotArea) {
@@ -56,6 +62,21 @@ public abstract class PlotManager {
 
     public abstract PlotId getPlotId(int x, int y, int z);
 
+    /**
+     * Get the {@link PlotId#pack(int, int) packed} id of the plot at the given coordinates,
+     * taking merged roads into account in the same way as {@link #getPlotId(int, int, int)}.
+     * Managers should override this if they are able to resolve the id without allocating.
+     *
+     * @param x block x coordinate
+     * @param y block y coordinate
+     * @param z block z coordinate
+     * @return the packed plot id, or {@link #NO_PLOT} if the coordinates are not inside a plot
+     */
+    public long getPlotIdPacked(int x, int y, int z) {
+        final PlotId id = getPlotId(x, y, z);
+        return id == null ? NO_PLOT : id.pack();
+    }
+
     // If you have a circular plot, just return the corner if it were a square
     public abstract Location getPlotBottomLocAbs(@NonNull PlotId plotId);
 
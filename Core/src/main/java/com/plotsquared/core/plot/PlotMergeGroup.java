@@ -0,0 +1,132 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.google.common.collect.ImmutableSet;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A group of plots that are merged together. All plots of a group share the same
+ * instance, which makes base plot, owner and region lookups constant-time. Groups are
+ * computed without holding {@link #LOCK}, the lock only guards publishing and invalidation.
+ * <p>
+ * The member set and the base plot never change once a group is created. Changes
+ * to the merge state of any member replace the group (see {@link Plot#clearCache()}),
+ * while owner changes only reset the cached owners.
+ * </p>
+ */
+final class PlotMergeGroup {
+
+    /**
+     * Guards the creation and invalidation of groups. Reads never lock.
+     */
+    static final Object LOCK = new Object();
+    /**
+     * Incremented whenever groups are invalidated, guarded by {@link #LOCK}. A group that was
+     * computed while the generation changed may be outdated and is not published.
+     */
+    static volatile long generation;
+
+    private final Set<Plot> members;
+    private final Plot base;
+    private volatile Set<UUID> owners;
+    private volatile Set<CuboidRegion> regions;
+
+    PlotMergeGroup(final @NonNull Set<Plot> members) {
+        this.members = Collections.unmodifiableSet(members);
+        Plot base = null;
+        for (final Plot plot : members) {
+            final PlotId id = plot.getId();
+            if (base == null || id.getY() < base.getId().getY()
+                    || id.getY() == base.getId().getY() && id.getX() < base.getId().getX()) {
+                base = plot;
+            }
+        }
+        this.base = base;
+    }
+
+    /**
+     * Get the plots in this group.
+     *
+     * @return immutable set of plots
+     */
+    @NonNull Set<Plot> getMembers() {
+        return this.members;
+    }
+
+    /**
+     * Get the base plot, i.e. the plot with the lowest id (y first, then x).
+     *
+     * @return base plot
+     */
+    @NonNull Plot getBase() {
+        return this.base;
+    }
+
+    /**
+     * Get the absolute owners of the members of this group, with the owner of the base plot first.
+     *
+     * @return immutable set of owners
+     */
+    @NonNull Set<UUID> getOwners() {
+        Set<UUID> owners = this.owners;
+        if (owners == null) {
+            final ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
+            if (this.base.getOwnerAbs() != null) {
+                builder.add(this.base.getOwnerAbs());
+            }
+            for (final Plot plot : this.members) {
+                if (plot.getOwnerAbs() != null) {
+                    builder.add(plot.getOwnerAbs());
+                }
+            }
+            this.owners = owners = builder.build();
+        }
+        return owners;
+    }
+
+    /**
+     * Discard the cached owners. Called when the owner of a member changes.
+     */
+    void resetOwners() {
+        this.owners = null;
+    }
+
+    @Nullable Set<CuboidRegion> getRegions() {
+        return this.regions;
+    }
+
+    void setRegions(final @NonNull Set<CuboidRegion> regions) {
+        this.regions = Collections.unmodifiableSet(regions);
+    }
+
+}
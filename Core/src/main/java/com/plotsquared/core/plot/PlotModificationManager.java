@@ -140,18 +140,21 @@ public final class PlotModificationManager {
             }
             if (plot.members != null && !plot.members.isEmpty()) {
                 other.members = plot.members;
+                other.markDirty(Plot.DIRTY_MEMBERS);
                 for (UUID member : plot.members) {
                     DBFunc.setMember(other, member);
                 }
             }
             if (plot.trusted != null && !plot.trusted.isEmpty()) {
                 other.trusted = plot.trusted;
+                other.markDirty(Plot.DIRTY_TRUSTED);
                 for (UUID trusted : plot.trusted) {
                     DBFunc.setTrusted(other, trusted);
                 }
             }
             if (plot.denied != null && !plot.denied.isEmpty()) {
                 other.denied = plot.denied;
+                other.markDirty(Plot.DIRTY_DENIED);
                 for (UUID denied : plot.denied) {
                     DBFunc.setDenied(other, denied);
                 }
@@ -355,6 +358,9 @@ public final class PlotModificationManager {
             boolean[] merged = new boolean[]{false, false, false, false};
             current.setMerged(merged);
         }
+        for (Plot current : plots) {
+            current.updateRatingIndex();
+        }
         if (createSign) {
             queue.setCompleteTask(() -> TaskManager.runTaskAsync(() -> {
                 for (Plot current : plots) {
@@ -474,12 +480,11 @@ public final class PlotModificationManager {
                 this.plot.updateWorldBorder();
             }
         }
-        Plot.connected_cache = null;
-        Plot.regions_cache = null;
         this.plot.getTrusted().clear();
         this.plot.getMembers().clear();
         this.plot.getDenied().clear();
         this.plot.settings = new PlotSettings();
+        this.plot.clearCache();
         if (this.plot.getArea().addPlot(this.plot)) {
             DBFunc.createPlotAndSettings(this.plot, () -> {
                 PlotArea plotworld = plot.getArea();
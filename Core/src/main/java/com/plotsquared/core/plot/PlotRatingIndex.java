@@ -0,0 +1,140 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.google.common.collect.Iterators;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Leaderboard of the rated plots of a {@link PlotArea}, ordered by {@link RatingSummary#ORDER}
+ * and then by plot ID. Ratings are stored by base plots only, so merged plots are ranked through
+ * their base plot. The area updates a plot's entry whenever ratings are added to or cleared from
+ * it. Plots without ratings are not part of the leaderboard.
+ */
+public final class PlotRatingIndex {
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.<Entry, RatingSummary>comparing(
+                    entry -> entry.summary,
+                    RatingSummary.ORDER
+            )
+            .thenComparingInt(entry -> entry.id.getX())
+            .thenComparingInt(entry -> entry.id.getY());
+
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(ENTRY_ORDER);
+    // The entry each plot is currently ranked by, guarded by synchronizing on this index
+    private final Map<PlotId, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Rank a plot by the ratings stored in its settings, or remove it if it has none
+     *
+     * @param plot Plot
+     */
+    void index(final @NonNull Plot plot) {
+        this.index(plot.getId(), plot.getStoredRatingSummary());
+    }
+
+    /**
+     * Rank a plot by a summary of its ratings, or remove it if the summary has no ratings
+     *
+     * @param id      Plot ID
+     * @param summary Rating summary
+     */
+    synchronized void index(final @NonNull PlotId id, final @NonNull RatingSummary summary) {
+        this.unindex(id);
+        if (summary.getCount() != 0) {
+            final Entry entry = new Entry(id, summary);
+            this.entries.put(id, entry);
+            this.ranking.add(entry);
+        }
+    }
+
+    /**
+     * Remove a plot from the leaderboard
+     *
+     * @param id Plot ID
+     */
+    synchronized void unindex(final @NonNull PlotId id) {
+        final Entry previous = this.entries.remove(id);
+        if (previous != null) {
+            this.ranking.remove(previous);
+        }
+    }
+
+    /**
+     * Get the number of rated plots
+     *
+     * @return Rated plot count
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Iterate the IDs of the rated base plots, best rated first. The iterator is weakly consistent.
+     *
+     * @return Plot ID iterator
+     */
+    public @NonNull Iterator<PlotId> iterator() {
+        return Iterators.unmodifiableIterator(Iterators.transform(this.ranking.iterator(), entry -> entry.id));
+    }
+
+    /**
+     * Get the IDs of the best rated base plots
+     *
+     * @param limit Maximum number of IDs
+     * @return Plot IDs, best rated first
+     */
+    public @NonNull List<PlotId> getTop(final int limit) {
+        final List<PlotId> top = new ArrayList<>(Math.min(limit, this.size()));
+        final Iterator<PlotId> iterator = this.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    private static final class Entry {
+
+        private final PlotId id;
+        private final RatingSummary summary;
+
+        private Entry(final @NonNull PlotId id, final @NonNull RatingSummary summary) {
+            this.id = id;
+            this.summary = summary;
+        }
+
+    }
+
+}
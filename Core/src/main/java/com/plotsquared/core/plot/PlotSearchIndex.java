@@ -0,0 +1,154 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted indexes of the owned plots of a {@link PlotArea}, mapping lower case aliases and
+ * trusted/added players to the plots they belong to. The area updates a plot's entries whenever
+ * its alias or players are {@link Plot#markDirty(int) marked dirty}. Lookups return candidates,
+ * callers are expected to check the plot itself before relying on a match.
+ */
+public final class PlotSearchIndex {
+
+    private final Map<String, Set<PlotId>> plotsByAlias = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<PlotId>> plotsByMember = new ConcurrentHashMap<>();
+    // What each plot is currently indexed under, guarded by synchronizing on this index
+    private final Map<PlotId, Entry> entries = new ConcurrentHashMap<>();
+
+    private static <K> void add(final @NonNull Map<K, Set<PlotId>> index, final @NonNull K key, final @NonNull PlotId id) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static <K> void remove(final @NonNull Map<K, Set<PlotId>> index, final @NonNull K key, final @NonNull PlotId id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static @Nullable String normalize(final @Nullable String alias) {
+        return alias == null || alias.isEmpty() ? null : alias.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Index a plot under its current alias, trusted and added players
+     *
+     * @param plot Plot
+     */
+    synchronized void index(final @NonNull Plot plot) {
+        final Set<UUID> members = new HashSet<>(plot.getTrusted());
+        members.addAll(plot.getMembers());
+        final Entry entry = new Entry(normalize(plot.getAlias()), members);
+        final Entry previous = this.entries.put(plot.getId(), entry);
+        this.update(plot.getId(), previous, entry);
+    }
+
+    /**
+     * Remove all entries of a plot
+     *
+     * @param id Plot ID
+     */
+    synchronized void unindex(final @NonNull PlotId id) {
+        final Entry previous = this.entries.remove(id);
+        if (previous != null) {
+            this.update(id, previous, null);
+        }
+    }
+
+    private void update(final @NonNull PlotId id, final @Nullable Entry previous, final @Nullable Entry current) {
+        final String oldAlias = previous == null ? null : previous.alias;
+        final String newAlias = current == null ? null : current.alias;
+        if (!Objects.equals(oldAlias, newAlias)) {
+            if (oldAlias != null) {
+                remove(this.plotsByAlias, oldAlias, id);
+            }
+            if (newAlias != null) {
+                add(this.plotsByAlias, newAlias, id);
+            }
+        }
+        final Set<UUID> oldMembers = previous == null ? Collections.emptySet() : previous.members;
+        final Set<UUID> newMembers = current == null ? Collections.emptySet() : current.members;
+        for (final UUID uuid : oldMembers) {
+            if (!newMembers.contains(uuid)) {
+                remove(this.plotsByMember, uuid, id);
+            }
+        }
+        for (final UUID uuid : newMembers) {
+            if (!oldMembers.contains(uuid)) {
+                add(this.plotsByMember, uuid, id);
+            }
+        }
+    }
+
+    /**
+     * Get the IDs of the plots with the given alias, ignoring case
+     *
+     * @param alias Plot alias
+     * @return Unmodifiable view of the plot IDs
+     */
+    public @NonNull Set<PlotId> getPlotIdsByAlias(final @NonNull String alias) {
+        final String key = normalize(alias);
+        final Set<PlotId> ids = key == null ? null : this.plotsByAlias.get(key);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Get the IDs of the plots the given player is trusted or added to. This does not include
+     * the plots owned by the player.
+     *
+     * @param uuid Player UUID
+     * @return Unmodifiable view of the plot IDs
+     */
+    public @NonNull Set<PlotId> getPlotIdsByMember(final @NonNull UUID uuid) {
+        final Set<PlotId> ids = this.plotsByMember.get(uuid);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    private static final class Entry {
+
+        private final String alias;
+        private final Set<UUID> members;
+
+        private Entry(final @Nullable String alias, final @NonNull Set<UUID> members) {
+            this.alias = alias;
+            this.members = members;
+        }
+
+    }
+
+}
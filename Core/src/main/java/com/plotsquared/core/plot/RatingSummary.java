@@ -0,0 +1,114 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Immutable summary of the ratings of a plot, cached by the base plot so that rating sorts do
+ * not have to recompute the averages of every rating on each comparison.
+ */
+public final class RatingSummary {
+
+    /**
+     * No ratings
+     */
+    public static final RatingSummary EMPTY = new RatingSummary(0, Double.NaN, 0);
+
+    /**
+     * Best rated first: higher score first, and for equal scores the summary with
+     * more ratings first
+     */
+    public static final Comparator<RatingSummary> ORDER = (s1, s2) -> {
+        if (s1.score == s2.score && s1.score != 0) {
+            return Integer.compare(s2.count, s1.count);
+        }
+        return Double.compare(s2.score, s1.score);
+    };
+
+    private final int count;
+    private final double average;
+    private final double score;
+
+    private RatingSummary(final int count, final double average, final double score) {
+        this.count = count;
+        this.average = average;
+        this.score = score;
+    }
+
+    /**
+     * Summarize a collection of ratings
+     *
+     * @param ratings Ratings of a plot
+     * @return Rating summary
+     */
+    public static @NonNull RatingSummary of(final @NonNull Collection<Rating> ratings) {
+        if (ratings.isEmpty()) {
+            return EMPTY;
+        }
+        double sum = 0;
+        double squares = 0;
+        for (final Rating rating : ratings) {
+            final double average = rating.getAverageRating();
+            sum += average;
+            squares += average * average;
+        }
+        final int count = ratings.size();
+        return new RatingSummary(count, sum / count, squares / count + count);
+    }
+
+    /**
+     * Get the number of ratings
+     *
+     * @return Rating count
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the average of the average ratings
+     *
+     * @return Average rating, {@link Double#NaN} if there are no ratings
+     */
+    public double getAverage() {
+        return this.average;
+    }
+
+    /**
+     * Get the score used to rank plots: the mean of the squared average ratings, plus
+     * the number of ratings
+     *
+     * @return Score, {@code 0} if there are no ratings
+     */
+    public double getScore() {
+        return this.score;
+    }
+
+}
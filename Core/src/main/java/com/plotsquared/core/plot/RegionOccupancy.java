@@ -0,0 +1,198 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.location.Location;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map of the region files (32x32 chunks) and chunks of a world that hold owned plots of a {@link PlotArea}.
+ * Every owned plot occupies the chunks of its plot cell: the plot itself and the roads around it, so
+ * merged roads and road schematics next to owned plots are covered as well.
+ * <p>
+ * The map is built in a single pass over the plots of the area the first time it is used, and
+ * is updated whenever a plot of the area gains or loses its owner afterwards.
+ */
+public final class RegionOccupancy {
+
+    private static final int CHUNKS = 32 * 32;
+
+    private final PlotArea area;
+    // Region key -> plot count per chunk of the region, followed by the total count of the region
+    private final Map<Long, int[]> regions = new HashMap<>();
+    private boolean built = false;
+
+    RegionOccupancy(final @NonNull PlotArea area) {
+        this.area = area;
+    }
+
+    private static long key(final int x, final int z) {
+        return (long) x << 32 | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Update the map after a plot gained ({@code 1}) or lost ({@code -1}) its owner. This is a no-op
+     * until the map has been built.
+     *
+     * @param id    Plot id
+     * @param delta Change of the plot count
+     */
+    synchronized void update(final @NonNull PlotId id, final int delta) {
+        if (this.built) {
+            this.add(id, delta);
+        }
+    }
+
+    private void build() {
+        if (this.built) {
+            return;
+        }
+        for (final Plot plot : this.area.getPlots()) {
+            if (plot.hasOwner()) {
+                this.add(plot.getId(), 1);
+            }
+        }
+        this.built = true;
+    }
+
+    private void add(final @NonNull PlotId id, final int delta) {
+        final int[] bounds = this.getChunkBounds(id);
+        for (int cx = bounds[0]; cx <= bounds[2]; cx++) {
+            for (int cz = bounds[1]; cz <= bounds[3]; cz++) {
+                final long key = key(cx >> 5, cz >> 5);
+                int[] counts = this.regions.get(key);
+                if (counts == null) {
+                    if (delta < 0) {
+                        continue;
+                    }
+                    this.regions.put(key, counts = new int[CHUNKS + 1]);
+                }
+                counts[(cz & 31) << 5 | (cx & 31)] += delta;
+                if ((counts[CHUNKS] += delta) <= 0) {
+                    this.regions.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the chunks covered by the cell of a plot, i.e. the plot and the roads around it
+     *
+     * @param id Plot id
+     * @return {@code {minChunkX, minChunkZ, maxChunkX, maxChunkZ}}
+     */
+    public int @NonNull [] getChunkBounds(final @NonNull PlotId id) {
+        final PlotManager manager = this.area.getPlotManager();
+        final Location bottom = manager.getPlotBottomLocAbs(id);
+        final Location top = manager.getPlotTopLocAbs(id);
+        final Location previousTop = manager.getPlotTopLocAbs(PlotId.of(id.getX() - 1, id.getY() - 1));
+        final Location nextBottom = manager.getPlotBottomLocAbs(PlotId.of(id.getX() + 1, id.getY() + 1));
+        final int minX = Math.min(bottom.getX(), previousTop.getX() + 1);
+        final int minZ = Math.min(bottom.getZ(), previousTop.getZ() + 1);
+        final int maxX = Math.max(top.getX(), nextBottom.getX() - 1);
+        final int maxZ = Math.max(top.getZ(), nextBottom.getZ() - 1);
+        return new int[]{minX >> 4, minZ >> 4, maxX >> 4, maxZ >> 4};
+    }
+
+    /**
+     * Get the region files that hold at least one owned plot
+     *
+     * @param excluded Plots to leave out, e.g. plots that are about to expire
+     * @return Region file coordinates
+     */
+    public synchronized @NonNull Set<BlockVector2> getOccupiedRegions(final @NonNull Collection<Plot> excluded) {
+        this.build();
+        final List<PlotId> removed = this.exclude(excluded);
+        try {
+            final Set<BlockVector2> occupied = new HashSet<>();
+            for (final long key : this.regions.keySet()) {
+                occupied.add(BlockVector2.at((int) (key >> 32), (int) key));
+            }
+            return occupied;
+        } finally {
+            this.restore(removed);
+        }
+    }
+
+    /**
+     * Get the chunks of a region file that hold at least one owned plot
+     *
+     * @param regionX  Region file x coordinate
+     * @param regionZ  Region file z coordinate
+     * @param excluded Plots to leave out, e.g. plots that are about to expire
+     * @return Chunk coordinates
+     */
+    public synchronized @NonNull Set<BlockVector2> getOccupiedChunks(
+            final int regionX, final int regionZ,
+            final @NonNull Collection<Plot> excluded
+    ) {
+        this.build();
+        final List<PlotId> removed = this.exclude(excluded);
+        try {
+            final int[] counts = this.regions.get(key(regionX, regionZ));
+            if (counts == null) {
+                return new HashSet<>();
+            }
+            final Set<BlockVector2> occupied = new HashSet<>();
+            for (int i = 0; i < CHUNKS; i++) {
+                if (counts[i] > 0) {
+                    occupied.add(BlockVector2.at(regionX << 5 | (i & 31), regionZ << 5 | i >> 5));
+                }
+            }
+            return occupied;
+        } finally {
+            this.restore(removed);
+        }
+    }
+
+    private @NonNull List<PlotId> exclude(final @NonNull Collection<Plot> excluded) {
+        final List<PlotId> removed = new ArrayList<>();
+        for (final Plot plot : excluded) {
+            final Plot owned = this.area.getOwnedPlotAbs(plot.getId());
+            if (owned != null && this.area.equals(plot.getArea()) && owned.hasOwner()) {
+                this.add(plot.getId(), -1);
+                removed.add(plot.getId());
+            }
+        }
+        return removed;
+    }
+
+    private void restore(final @NonNull List<PlotId> removed) {
+        for (final PlotId id : removed) {
+            this.add(id, 1);
+        }
+    }
+
+}
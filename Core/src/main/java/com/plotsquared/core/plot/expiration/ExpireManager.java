@@ -30,7 +30,6 @@ import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.Templates;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.database.DBFunc;
-import com.plotsquared.core.events.PlotFlagAddEvent;
 import com.plotsquared.core.events.PlotUnlinkEvent;
 import com.plotsquared.core.events.Result;
 import com.plotsquared.core.player.MetaDataAccess;
@@ -40,19 +39,16 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotAreaType;
-import com.plotsquared.core.plot.flag.GlobalFlagContainer;
-import com.plotsquared.core.plot.flag.PlotFlag;
-import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.plot.flag.implementations.KeepFlag;
 import com.plotsquared.core.plot.flag.implementations.ServerPlotFlag;
 import com.plotsquared.core.util.EventDispatcher;
-import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.RunnableVal3;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -63,7 +59,6 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 
 public class ExpireManager {
 
@@ -74,9 +69,10 @@ public class ExpireManager {
     private final ArrayDeque<ExpiryTask> tasks;
     private volatile HashSet<Plot> plotsToDelete;
     /**
-     * 0 = stopped, 1 = stopping, 2 = running
+     * 0 = stopped, 1 = stopping, 2 = running, 3 = waiting for the next sweep
      */
-    private int running;
+    private volatile int running;
+    private volatile ExpirySweep sweep;
 
     public ExpireManager(final @NonNull EventDispatcher eventDispatcher) {
         this.tasks = new ArrayDeque<>();
@@ -188,6 +184,10 @@ public class ExpireManager {
             return false;
         }
         this.running = 1;
+        final ExpirySweep sweep = this.sweep;
+        if (sweep != null) {
+            sweep.cancel();
+        }
         return true;
     }
 
@@ -309,100 +309,33 @@ public class ExpireManager {
             return false;
         }
         this.running = 2;
-        final ConcurrentLinkedDeque<Plot> plots =
-                new ConcurrentLinkedDeque<>(PlotQuery.newQuery().allPlots().asList());
-        TaskManager.runTaskAsync(new Runnable() {
-            @Override
-            public void run() {
-                final Runnable task = this;
-                if (ExpireManager.this.running != 2) {
+        final ExpirySweep sweep = new ExpirySweep(this, new ArrayList<>(tasks), expiredTask);
+        this.sweep = sweep;
+        TaskManager.runTaskAsync(() -> sweep.start(completed -> {
+            if (!completed) {
+                ExpireManager.this.running = 0;
+                return;
+            }
+            ExpireManager.this.running = 3;
+            TaskManager.runTaskLater(() -> {
+                if (ExpireManager.this.running == 3) {
                     ExpireManager.this.running = 0;
-                    return;
-                }
-                long start = System.currentTimeMillis();
-                while (!plots.isEmpty()) {
-                    if (ExpireManager.this.running != 2) {
-                        ExpireManager.this.running = 0;
-                        return;
-                    }
-                    Plot plot = plots.poll();
-                    PlotArea area = plot.getArea();
-                    final Plot newPlot = area.getPlot(plot.getId());
-                    final ArrayDeque<ExpiryTask> applicable = new ArrayDeque<>(tasks);
-                    final Collection<ExpiryTask> expired = isExpired(applicable, newPlot);
-                    if (expired.isEmpty()) {
-                        continue;
-                    }
-                    for (ExpiryTask expiryTask : expired) {
-                        if (!expiryTask.needsAnalysis()) {
-                            expiredTask.run(newPlot, () -> TaskManager.getPlatformImplementation()
-                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                    expiryTask.requiresConfirmation()
-                            );
-                            return;
-                        }
-                    }
-                    final RunnableVal<PlotAnalysis> handleAnalysis =
-                            new RunnableVal<>() {
-                                @Override
-                                public void run(final PlotAnalysis changed) {
-                                    passesComplexity(changed, expired, new RunnableVal<>() {
-                                        @Override
-                                        public void run(Boolean confirmation) {
-                                            expiredTask.run(
-                                                    newPlot,
-                                                    () -> TaskManager
-                                                            .getPlatformImplementation()
-                                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                                    confirmation
-                                            );
-                                        }
-                                    }, () -> {
-                                        PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
-                                                .getFlag(AnalysisFlag.class)
-                                                .createFlagInstance(changed.asList());
-                                        PlotFlagAddEvent event =
-                                                new PlotFlagAddEvent(plotFlag, newPlot);
-                                        if (event.getEventResult() == Result.DENY) {
-                                            return;
-                                        }
-                                        newPlot.setFlag(event.getFlag());
-                                        TaskManager.runTaskLaterAsync(task, TaskTime.seconds(1L));
-                                    });
-                                }
-                            };
-                    final Runnable doAnalysis =
-                            () -> PlotSquared.platform().hybridUtils().analyzePlot(newPlot, handleAnalysis);
-
-                    PlotAnalysis analysis = newPlot.getComplexity(null);
-                    if (analysis != null) {
-                        passesComplexity(analysis, expired, new RunnableVal<>() {
-                            @Override
-                            public void run(Boolean value) {
-                                doAnalysis.run();
-                            }
-                        }, () -> TaskManager.getPlatformImplementation().taskLaterAsync(task, TaskTime.ticks(1L)));
-                    } else {
-                        doAnalysis.run();
-                    }
-                    return;
+                    runTask(expiredTask);
                 }
-                if (plots.isEmpty()) {
-                    ExpireManager.this.running = 3;
-                    TaskManager.runTaskLater(() -> {
-                        if (ExpireManager.this.running == 3) {
-                            ExpireManager.this.running = 2;
-                            runTask(expiredTask);
-                        }
-                    }, TaskTime.ticks(86400000L));
-                } else {
-                    TaskManager.runTaskLaterAsync(task, TaskTime.seconds(10L));
-                }
-            }
-        });
+            }, TaskTime.ticks(86400000L));
+        }));
         return true;
     }
 
+    /**
+     * Get the current (or last) expiry sweep
+     *
+     * @return Expiry sweep, or {@code null} if no sweep has been started
+     */
+    public @Nullable ExpirySweep getSweep() {
+        return this.sweep;
+    }
+
     public void storeDate(UUID uuid, long time) {
         Long existing = this.dates_cache.put(uuid, time);
         if (existing != null) {
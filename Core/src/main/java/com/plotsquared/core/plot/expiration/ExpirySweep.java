@@ -0,0 +1,450 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.events.PlotFlagAddEvent;
+import com.plotsquared.core.events.Result;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.flag.GlobalFlagContainer;
+import com.plotsquared.core.plot.flag.PlotFlag;
+import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
+import com.plotsquared.core.util.TimeUtil;
+import com.plotsquared.core.util.query.PlotQuery;
+import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.RunnableVal3;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A single pass of the {@link ExpireManager} over all plots.
+ * <p>
+ * Candidates are filtered in bulk by the last seen time of their owners, which is looked up once per owner.
+ * The remaining plots are checked in a fixed order. Up to {@link Settings.Expiry#CONCURRENT_ANALYSES} plot
+ * analyses run at the same time, while expired plots are deleted one after another. The position of the
+ * sweep is saved regularly, so that it continues where it stopped after a restart.
+ */
+public final class ExpirySweep {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ExpirySweep.class.getSimpleName());
+    private static final Comparator<Plot> ORDER = Comparator.comparing((Plot plot) -> plot.getArea().toString())
+            .thenComparingInt(plot -> plot.getId().getX())
+            .thenComparingInt(plot -> plot.getId().getY());
+    private static final String CURSOR_FILE = "expiry_cursor.txt";
+    private static final long DISPATCH_TIME = 50L;
+    private static final long REPORT_INTERVAL = TimeUnit.MINUTES.toMillis(1L);
+
+    private final ExpireManager expireManager;
+    private final Collection<ExpiryTask> tasks;
+    private final RunnableVal3<Plot, Runnable, Boolean> expiredTask;
+    private final Semaphore analyses = new Semaphore(Math.max(1, Settings.Expiry.CONCURRENT_ANALYSES));
+    // Indices of the plots that are being analysed or deleted
+    private final NavigableSet<Integer> inFlight = new ConcurrentSkipListSet<>();
+    private final Deque<Runnable> deletions = new ArrayDeque<>();
+    private final AtomicInteger checked = new AtomicInteger();
+    private final AtomicInteger expired = new AtomicInteger();
+
+    private Consumer<Boolean> whenDone;
+    private List<Plot> candidates = Collections.emptyList();
+    private volatile int next;
+    private int first;
+    private long startTime;
+    private long lastReport;
+    private boolean deleting;
+    private volatile boolean stopped;
+
+    ExpirySweep(
+            final @NonNull ExpireManager expireManager,
+            final @NonNull Collection<ExpiryTask> tasks,
+            final @NonNull RunnableVal3<Plot, Runnable, Boolean> expiredTask
+    ) {
+        this.expireManager = expireManager;
+        this.tasks = tasks;
+        this.expiredTask = expiredTask;
+    }
+
+    private static @NonNull File getCursorFile() {
+        return new File(PlotSquared.platform().getDirectory(), CURSOR_FILE);
+    }
+
+    private static @NonNull String key(final @NonNull Plot plot) {
+        return plot.getArea() + "\n" + plot.getId().getX() + "\n" + plot.getId().getY();
+    }
+
+    private static int compare(final @NonNull Plot plot, final @NonNull String area, final int x, final int y) {
+        final int result = plot.getArea().toString().compareTo(area);
+        if (result != 0) {
+            return result;
+        }
+        if (plot.getId().getX() != x) {
+            return Integer.compare(plot.getId().getX(), x);
+        }
+        return Integer.compare(plot.getId().getY(), y);
+    }
+
+    /**
+     * Collect the candidates and start checking them. This should be called asynchronously.
+     *
+     * @param whenDone Called with {@code true} once all plots have been checked, or with {@code false}
+     *                 if the sweep was cancelled
+     */
+    void start(final @NonNull Consumer<Boolean> whenDone) {
+        this.whenDone = whenDone;
+        this.startTime = this.lastReport = System.currentTimeMillis();
+        this.candidates = this.collectCandidates();
+        this.first = this.next = this.loadCursor();
+        LOGGER.info(
+                "(Expiry) {} plots may be expired, {} remain to be checked",
+                this.candidates.size(),
+                this.candidates.size() - this.first
+        );
+        this.dispatch();
+    }
+
+    /**
+     * Stop the sweep. Plots that are currently being analysed will finish, but no new plots are checked.
+     */
+    void cancel() {
+        this.stopped = true;
+    }
+
+    private @NonNull List<Plot> collectCandidates() {
+        long minimumAge = Long.MAX_VALUE;
+        for (final ExpiryTask task : this.tasks) {
+            minimumAge = Math.min(minimumAge, TimeUnit.DAYS.toMillis(task.getSettings().DAYS));
+        }
+        // Plots are only expired if all of their owners have been offline for long enough
+        final Map<UUID, Long> ages = new HashMap<>();
+        final List<Plot> candidates = new ArrayList<>();
+        for (final Plot plot : PlotQuery.newQuery().allPlots().asList()) {
+            if (!plot.hasOwner() || DBFunc.EVERYONE.equals(plot.getOwnerAbs())) {
+                continue;
+            }
+            long age = Long.MAX_VALUE;
+            for (final UUID owner : plot.getOwners()) {
+                age = Math.min(age, ages.computeIfAbsent(owner, this.expireManager::getAge));
+            }
+            if (age > minimumAge) {
+                candidates.add(plot);
+            }
+        }
+        candidates.sort(ORDER);
+        return candidates;
+    }
+
+    private void dispatch() {
+        if (this.stopped) {
+            this.finish(false);
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        while (this.next < this.candidates.size() && System.currentTimeMillis() - start < DISPATCH_TIME) {
+            synchronized (this.deletions) {
+                if (this.deletions.size() >= Settings.Expiry.DELETION_QUEUE_SIZE) {
+                    break;
+                }
+            }
+            final int index = this.next;
+            final Plot candidate = this.candidates.get(index);
+            final PlotArea area = candidate.getArea();
+            final Plot plot = area == null ? null : area.getPlot(candidate.getId());
+            final Collection<ExpiryTask> expired = plot == null ? Collections.emptyList() :
+                    this.expireManager.isExpired(new ArrayDeque<>(this.tasks), plot);
+            if (expired.isEmpty()) {
+                this.next++;
+                this.checked();
+                continue;
+            }
+            final ExpiryTask direct = expired.stream().filter(task -> !task.needsAnalysis()).findFirst().orElse(null);
+            if (direct != null) {
+                this.next++;
+                this.inFlight.add(index);
+                this.delete(index, plot, direct.requiresConfirmation());
+                continue;
+            }
+            final PlotAnalysis analysis = plot.getComplexity(null);
+            if (analysis != null && !this.passes(analysis, expired)) {
+                this.next++;
+                this.checked();
+                continue;
+            }
+            if (!this.analyses.tryAcquire()) {
+                break;
+            }
+            this.next++;
+            this.inFlight.add(index);
+            this.analyse(index, plot, expired);
+        }
+        this.report(false);
+        final boolean idle;
+        synchronized (this.deletions) {
+            idle = !this.deleting;
+        }
+        if (this.next >= this.candidates.size() && this.inFlight.isEmpty() && idle) {
+            this.finish(true);
+        } else {
+            TaskManager.runTaskLaterAsync(this::dispatch, TaskTime.ticks(1L));
+        }
+    }
+
+    private boolean passes(final @NonNull PlotAnalysis analysis, final @NonNull Collection<ExpiryTask> expired) {
+        final boolean[] passes = new boolean[1];
+        this.expireManager.passesComplexity(analysis, expired, new RunnableVal<>() {
+            @Override
+            public void run(final Boolean confirmation) {
+                passes[0] = true;
+            }
+        }, () -> {
+        });
+        return passes[0];
+    }
+
+    private void analyse(final int index, final @NonNull Plot plot, final @NonNull Collection<ExpiryTask> expired) {
+        PlotSquared.platform().hybridUtils().analyzePlot(plot, new RunnableVal<>() {
+            @Override
+            public void run(final PlotAnalysis changed) {
+                ExpirySweep.this.analyses.release();
+                if (changed == null || ExpirySweep.this.stopped) {
+                    ExpirySweep.this.done(index);
+                    return;
+                }
+                ExpirySweep.this.expireManager.passesComplexity(changed, expired, new RunnableVal<>() {
+                    @Override
+                    public void run(final Boolean confirmation) {
+                        ExpirySweep.this.delete(index, plot, confirmation);
+                    }
+                }, () -> {
+                    PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
+                            .getFlag(AnalysisFlag.class)
+                            .createFlagInstance(changed.asList());
+                    PlotFlagAddEvent event = new PlotFlagAddEvent(plotFlag, plot);
+                    if (event.getEventResult() != Result.DENY) {
+                        plot.setFlag(event.getFlag());
+                    }
+                    ExpirySweep.this.done(index);
+                });
+            }
+        });
+    }
+
+    private void delete(final int index, final @NonNull Plot plot, final boolean confirm) {
+        this.expired.incrementAndGet();
+        synchronized (this.deletions) {
+            this.deletions.add(() -> this.expiredTask.run(plot, () -> {
+                this.done(index);
+                TaskManager.runTaskLaterAsync(this::nextDeletion, TaskTime.ticks(1L));
+            }, confirm));
+            if (this.deleting) {
+                return;
+            }
+            this.deleting = true;
+        }
+        TaskManager.runTaskAsync(this::nextDeletion);
+    }
+
+    private void nextDeletion() {
+        final Runnable deletion;
+        synchronized (this.deletions) {
+            if (this.stopped) {
+                this.deletions.clear();
+            }
+            deletion = this.deletions.poll();
+            if (deletion == null) {
+                this.deleting = false;
+                return;
+            }
+        }
+        deletion.run();
+    }
+
+    private void done(final int index) {
+        this.inFlight.remove(index);
+        this.checked();
+    }
+
+    private void checked() {
+        if (this.checked.incrementAndGet() % Math.max(1, Settings.Expiry.CURSOR_SAVE_INTERVAL) == 0) {
+            this.saveCursor();
+        }
+    }
+
+    private void finish(final boolean completed) {
+        if (completed) {
+            this.deleteCursor();
+        } else {
+            this.saveCursor();
+        }
+        this.report(true);
+        this.whenDone.accept(completed);
+    }
+
+    /**
+     * Get the amount of plots that have been checked during this sweep
+     *
+     * @return Checked plots
+     */
+    public int getChecked() {
+        return this.checked.get();
+    }
+
+    /**
+     * Get the amount of plots that have to be checked during this sweep
+     *
+     * @return Total plots
+     */
+    public int getTotal() {
+        return this.candidates.size() - this.first;
+    }
+
+    /**
+     * Get the amount of plots that were found to be expired during this sweep
+     *
+     * @return Expired plots
+     */
+    public int getExpired() {
+        return this.expired.get();
+    }
+
+    /**
+     * Get the amount of plots checked per minute
+     *
+     * @return Throughput in plots per minute
+     */
+    public double getThroughput() {
+        final long elapsed = System.currentTimeMillis() - this.startTime;
+        return elapsed <= 0 ? 0D : this.checked.get() / (elapsed / 60_000D);
+    }
+
+    /**
+     * Get the estimated time until all plots have been checked
+     *
+     * @return Estimated remaining time in seconds, or {@code -1} if unknown
+     */
+    public long getEstimatedTimeRemaining() {
+        final double throughput = this.getThroughput();
+        if (throughput <= 0) {
+            return -1;
+        }
+        return (long) (Math.max(0, this.getTotal() - this.getChecked()) / throughput * 60D);
+    }
+
+    private void report(final boolean force) {
+        final long now = System.currentTimeMillis();
+        if (!force && now - this.lastReport < REPORT_INTERVAL) {
+            return;
+        }
+        this.lastReport = now;
+        final long eta = this.getEstimatedTimeRemaining();
+        LOGGER.info(
+                "(Expiry) Checked {}/{} plots ({} plots/min), {} expired, ETA {}",
+                this.getChecked(),
+                this.getTotal(),
+                String.format("%.1f", this.getThroughput()),
+                this.getExpired(),
+                eta < 0 ? "unknown" : TimeUtil.secToTime(eta)
+        );
+    }
+
+    private int loadCursor() {
+        final File file = getCursorFile();
+        if (!file.exists()) {
+            return 0;
+        }
+        try {
+            final String[] parts = Files.readString(file.toPath(), StandardCharsets.UTF_8).trim().split("\n");
+            if (parts.length != 3) {
+                return 0;
+            }
+            final int x = Integer.parseInt(parts[1]);
+            final int y = Integer.parseInt(parts[2]);
+            // Continue at the first candidate that isn't before the saved plot, as it may no longer be a candidate
+            int low = 0;
+            int high = this.candidates.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (compare(this.candidates.get(middle), parts[0], x, y) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        } catch (final IOException | NumberFormatException e) {
+            LOGGER.warn("(Expiry) Failed to read the expiry position, starting from the beginning", e);
+            return 0;
+        }
+    }
+
+    private synchronized void saveCursor() {
+        final Integer oldest = this.inFlight.isEmpty() ? null : this.inFlight.first();
+        final int position = oldest == null ? this.next : Math.min(oldest, this.next);
+        if (position >= this.candidates.size()) {
+            this.deleteCursor();
+            return;
+        }
+        try {
+            Files.writeString(getCursorFile().toPath(), key(this.candidates.get(position)), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            LOGGER.warn("(Expiry) Failed to save the expiry position", e);
+        }
+    }
+
+    private synchronized void deleteCursor() {
+        try {
+            Files.deleteIfExists(getCursorFile().toPath());
+        } catch (final IOException e) {
+            LOGGER.warn("(Expiry) Failed to delete the expiry position", e);
+        }
+    }
+
+}
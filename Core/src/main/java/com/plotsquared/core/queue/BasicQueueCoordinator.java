@@ -54,6 +54,8 @@ import java.util.function.Consumer;
 public abstract class BasicQueueCoordinator extends QueueCoordinator {
 
     private final World world;
+    private final int minY;
+    private final int maxY;
     private final ConcurrentHashMap<BlockVector2, LocalChunk> blockChunks = new ConcurrentHashMap<>();
     private final List<BlockVector2> readRegion = new ArrayList<>();
     private final List<ProgressSubscriber> progressSubscribers = new ArrayList<>();
@@ -76,6 +78,8 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
     public BasicQueueCoordinator(@NonNull World world) {
         super(world);
         this.world = world;
+        this.minY = world.getMinimumPoint().getBlockY();
+        this.maxY = world.getMaximumPoint().getBlockY();
         this.modified = System.currentTimeMillis();
     }
 
@@ -104,7 +108,7 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
 
     @Override
     public boolean setBlock(int x, int y, int z, @NonNull BaseBlock id) {
-        if ((y > 255) || (y < 0)) {
+        if ((y > this.maxY) || (y < this.minY)) {
             return false;
         }
         LocalChunk chunk = getChunk(x >> 4, z >> 4);
@@ -112,6 +116,47 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         return true;
     }
 
+    @Override
+    public void setCuboid(
+            com.plotsquared.core.location.@NonNull Location pos1,
+            com.plotsquared.core.location.@NonNull Location pos2,
+            @NonNull BlockState block
+    ) {
+        final BaseBlock baseBlock = block.toBaseBlock();
+        final int yMin = Math.max(this.minY, Math.min(pos1.getY(), pos2.getY()));
+        final int yMax = Math.min(this.maxY, Math.max(pos1.getY(), pos2.getY()));
+        final int xMin = Math.min(pos1.getX(), pos2.getX());
+        final int xMax = Math.max(pos1.getX(), pos2.getX());
+        final int zMin = Math.min(pos1.getZ(), pos2.getZ());
+        final int zMax = Math.max(pos1.getZ(), pos2.getZ());
+        for (int cx = xMin >> 4; cx <= xMax >> 4; cx++) {
+            for (int cz = zMin >> 4; cz <= zMax >> 4; cz++) {
+                final LocalChunk chunk = getChunk(cx, cz);
+                final int bx = Math.max(xMin, cx << 4) & 15;
+                final int tx = Math.min(xMax, (cx << 4) + 15) & 15;
+                final int bz = Math.max(zMin, cz << 4) & 15;
+                final int tz = Math.min(zMax, (cz << 4) + 15) & 15;
+                final boolean column = bx == 0 && tx == 15 && bz == 0 && tz == 15;
+                for (int section = yMin >> 4; section <= yMax >> 4; section++) {
+                    final int by = Math.max(yMin, section << 4);
+                    final int ty = Math.min(yMax, (section << 4) + 15);
+                    // Sections that are covered entirely are stored as a single block
+                    if (column && (by & 15) == 0 && (ty & 15) == 15) {
+                        chunk.fillSection(section, baseBlock);
+                        continue;
+                    }
+                    for (int y = by; y <= ty; y++) {
+                        for (int x = bx; x <= tx; x++) {
+                            for (int z = bz; z <= tz; z++) {
+                                chunk.setBlock(x, y, z, baseBlock);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public boolean setBlock(int x, int y, int z, @NonNull BlockState id) {
         // Trying to mix BlockState and BaseBlock leads to all kinds of issues.
@@ -123,7 +168,7 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
     @Override
     public boolean setBiome(int x, int z, @NonNull BiomeType biomeType) {
         LocalChunk chunk = getChunk(x >> 4, z >> 4);
-        for (int y = 0; y < 256; y++) {
+        for (int y = this.minY; y <= this.maxY; y++) {
             chunk.setBiome(x & 15, y, z & 15, biomeType);
         }
         settingBiomes = true;
@@ -328,7 +373,7 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
             BlockVector2 pair = BlockVector2.at(chunkX, chunkZ);
             lastWrappedChunk = this.blockChunks.get(pair);
             if (lastWrappedChunk == null) {
-                lastWrappedChunk = new LocalChunk(this, chunkX, chunkZ);
+                lastWrappedChunk = new LocalChunk(this, chunkX, chunkZ, this.minY >> 4, this.maxY >> 4);
                 LocalChunk previous = this.blockChunks.put(pair, lastWrappedChunk);
                 if (previous == null) {
                     return lastWrappedChunk;
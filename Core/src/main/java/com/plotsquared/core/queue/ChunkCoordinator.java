@@ -53,4 +53,82 @@ public abstract class ChunkCoordinator implements Runnable {
      */
     public abstract int getTotalChunks();
 
+    /**
+     * Access loaded chunks until the given time budget has been used up. This is called once per tick on the main thread by
+     * the {@link ChunkCoordinatorScheduler} with the share of the global tick budget assigned to this coordinator.
+     *
+     * @param budget Time budget in nanoseconds
+     * @return Time spent in nanoseconds
+     */
+    public long tick(final long budget) {
+        final long start = System.nanoTime();
+        this.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Get whether the coordinator has finished (or has been cancelled) and may be removed from the scheduler
+     *
+     * @return {@code true} if the coordinator has finished
+     */
+    public boolean isFinished() {
+        return this.getRemainingChunks() <= 0;
+    }
+
+    /**
+     * Get the priority of the coordinator. The global tick budget is shared between running coordinators in proportion
+     * to their priority.
+     *
+     * @return Priority, at least {@code 1}
+     */
+    public int getPriority() {
+        return 1;
+    }
+
+    /**
+     * Get the max time in milliseconds this coordinator may spend accessing chunks in a single tick
+     *
+     * @return Max iteration time
+     */
+    public long getMaxIterationTime() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Get the amount of chunks that have been accessed so far
+     *
+     * @return Processed chunk count
+     */
+    public int getProcessedChunks() {
+        return Math.max(0, this.getTotalChunks() - this.getRemainingChunks());
+    }
+
+    /**
+     * Get the progress of the coordinator between {@code 0} and {@code 1}
+     *
+     * @return Progress
+     */
+    public double getProgress() {
+        final int total = this.getTotalChunks();
+        return total == 0 ? 1D : (double) this.getProcessedChunks() / total;
+    }
+
+    /**
+     * Get the amount of chunks accessed per second since the coordinator was started
+     *
+     * @return Throughput in chunks per second, or {@code 0} if unknown
+     */
+    public double getThroughput() {
+        return 0D;
+    }
+
+    /**
+     * Get the current amount of chunks requested to be loaded at once
+     *
+     * @return Batch size, or {@code 0} if unknown
+     */
+    public int getBatchSize() {
+        return 0;
+    }
+
 }
@@ -58,6 +58,7 @@ public class ChunkCoordinatorBuilder {
     private long maxIterationTime = Settings.QUEUE.MAX_ITERATION_TIME; // A little over 1 tick;
     private int initialBatchSize = Settings.QUEUE.INITIAL_BATCH_SIZE;
     private boolean unloadAfter = true;
+    private int priority = 1;
 
     @Inject
     public ChunkCoordinatorBuilder(@NonNull ChunkCoordinatorFactory chunkCoordinatorFactory) {
@@ -197,6 +198,19 @@ public class ChunkCoordinatorBuilder {
         return this;
     }
 
+    /**
+     * Set the priority of the coordinator. The global tick budget is shared between running coordinators
+     * in proportion to their priority.
+     *
+     * @param priority priority, at least 1
+     * @return this ChunkCoordinatorBuilder instance
+     */
+    public @NonNull ChunkCoordinatorBuilder withPriority(final int priority) {
+        Preconditions.checkArgument(priority > 0, "Priority must be positive");
+        this.priority = priority;
+        return this;
+    }
+
     public @NonNull ChunkCoordinatorBuilder withProgressSubscriber(ProgressSubscriber progressSubscriber) {
         this.progressSubscribers.add(progressSubscriber);
         return this;
@@ -227,7 +241,8 @@ public class ChunkCoordinatorBuilder {
                         this.whenDone,
                         this.throwableConsumer,
                         this.unloadAfter,
-                        this.progressSubscribers
+                        this.progressSubscribers,
+                        this.priority
                 );
     }
 
@@ -0,0 +1,177 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs all active {@link ChunkCoordinator}s from a single repeating task, sharing
+ * {@link Settings.QUEUE#TICK_BUDGET} between them in proportion to their priority. Time a
+ * coordinator does not use is passed on to the next coordinator in the same tick. The budget
+ * is reduced while the measured tick time is above {@link Settings.QUEUE#TARGET_TICK_TIME}.
+ */
+@Singleton
+public class ChunkCoordinatorScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ChunkCoordinatorScheduler.class.getSimpleName());
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MIN_BUDGET = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Queue<ChunkCoordinator> pending = new ConcurrentLinkedQueue<>();
+    private final List<ChunkCoordinator> coordinators = new ArrayList<>();
+    private final Object taskLock = new Object();
+
+    private PlotSquaredTask task;
+    private volatile double tickTime = 50D;
+    private volatile long budget;
+    private long lastTick;
+    private int offset;
+
+    /**
+     * Add a coordinator to the scheduler. It will first be ticked on the next server tick.
+     *
+     * @param coordinator Coordinator to schedule
+     */
+    public void schedule(final @NonNull ChunkCoordinator coordinator) {
+        this.pending.add(coordinator);
+        synchronized (this.taskLock) {
+            if (this.task == null) {
+                this.lastTick = 0;
+                this.task = TaskManager.runTaskRepeat(this::tick, TaskTime.ticks(1L));
+            }
+        }
+    }
+
+    /**
+     * Get a snapshot of the running coordinators
+     *
+     * @return Running coordinators
+     */
+    public @NonNull List<ChunkCoordinator> getCoordinators() {
+        final List<ChunkCoordinator> snapshot = new ArrayList<>(this.coordinators);
+        snapshot.addAll(this.pending);
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Get the smoothed time between the last server ticks in milliseconds
+     *
+     * @return Tick time
+     */
+    public double getTickTime() {
+        return this.tickTime;
+    }
+
+    /**
+     * Get the budget shared between the coordinators during the last tick in milliseconds
+     *
+     * @return Tick budget
+     */
+    public double getBudget() {
+        return this.budget / 1_000_000D;
+    }
+
+    /**
+     * Get whether the server is currently ticking slower than {@link Settings.QUEUE#TARGET_TICK_TIME}
+     *
+     * @return {@code true} if the server is lagging
+     */
+    public boolean isLagging() {
+        return this.tickTime > Settings.QUEUE.TARGET_TICK_TIME;
+    }
+
+    private void tick() {
+        final long now = System.nanoTime();
+        if (this.lastTick != 0) {
+            this.tickTime = this.tickTime * 0.9D + (now - this.lastTick) / 1_000_000D * 0.1D;
+        }
+        this.lastTick = now;
+
+        ChunkCoordinator added;
+        while ((added = this.pending.poll()) != null) {
+            this.coordinators.add(added);
+        }
+        this.coordinators.removeIf(ChunkCoordinator::isFinished);
+        if (this.coordinators.isEmpty()) {
+            synchronized (this.taskLock) {
+                if (this.pending.isEmpty()) {
+                    this.task.cancel();
+                    this.task = null;
+                }
+            }
+            return;
+        }
+
+        long budget = TimeUnit.MILLISECONDS.toNanos(Settings.QUEUE.TICK_BUDGET);
+        if (this.isLagging()) {
+            budget = (long) (budget * (Settings.QUEUE.TARGET_TICK_TIME / this.tickTime));
+        }
+        budget = Math.max(MIN_BUDGET, Math.min(budget, TICK_NANOS));
+        this.budget = budget;
+
+        long weight = 0;
+        for (final ChunkCoordinator coordinator : this.coordinators) {
+            weight += Math.max(1, coordinator.getPriority());
+        }
+        final int size = this.coordinators.size();
+        // Rotate the starting coordinator so no coordinator is always last to receive left over time
+        this.offset = (this.offset + 1) % size;
+        long remaining = budget;
+        long carry = 0;
+        for (int i = 0; i < size && remaining > 0; i++) {
+            final ChunkCoordinator coordinator = this.coordinators.get((this.offset + i) % size);
+            final long share = budget * Math.max(1, coordinator.getPriority()) / weight;
+            final long cap = TimeUnit.MILLISECONDS.toNanos(Math.min(coordinator.getMaxIterationTime(), Long.MAX_VALUE / 1_000_000L));
+            final long allowed = Math.min(Math.min(share + carry, remaining), cap);
+            long spent;
+            try {
+                spent = coordinator.tick(allowed);
+            } catch (final Throwable throwable) {
+                LOGGER.error("Failed to tick chunk coordinator", throwable);
+                coordinator.cancel();
+                spent = 0;
+            }
+            carry = Math.max(0, allowed - spent);
+            remaining -= spent;
+        }
+        this.coordinators.removeIf(ChunkCoordinator::isFinished);
+    }
+
+}
@@ -25,7 +25,6 @@
  */
 package com.plotsquared.core.queue;
 
-import com.plotsquared.core.util.ChunkUtil;
 import com.plotsquared.core.util.MathMan;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.entity.BaseEntity;
@@ -34,26 +33,49 @@ import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 
+/**
+ * Blocks, biomes, tiles and entities queued for a single chunk. Blocks and biomes are stored per
+ * 16x16x16 section in palette-compressed form, so sections that only contain a few distinct values
+ * (or a single one) take up a fraction of the memory of a plain array. Sections are addressed by
+ * their index {@code y >> 4}, which may be negative for worlds that extend below y=0.
+ */
 public class LocalChunk {
 
     private final QueueCoordinator parent;
     private final int x;
     private final int z;
 
-    private final BaseBlock[][] baseblocks;
-    private final BiomeType[][] biomes;
+    private int minSection;
+    private PalettedSection<BaseBlock>[] baseblocks;
+    private PalettedSection<BiomeType>[] biomes;
     private final HashMap<BlockVector3, CompoundTag> tiles = new HashMap<>();
     private final HashMap<Location, BaseEntity> entities = new HashMap<>();
 
     public LocalChunk(@NonNull QueueCoordinator parent, int x, int z) {
+        this(parent, x, z, 0, 15);
+    }
+
+    /**
+     * Create a new local chunk.
+     *
+     * @param parent     the queue the chunk belongs to
+     * @param x          chunk x coordinate
+     * @param z          chunk z coordinate
+     * @param minSection index of the lowest section of the world ({@code minY >> 4})
+     * @param maxSection index of the highest section of the world ({@code maxY >> 4})
+     */
+    @SuppressWarnings("unchecked")
+    public LocalChunk(@NonNull QueueCoordinator parent, int x, int z, int minSection, int maxSection) {
         this.parent = parent;
         this.x = x;
         this.z = z;
-        baseblocks = new BaseBlock[16][];
-        biomes = new BiomeType[16][];
+        this.minSection = minSection;
+        this.baseblocks = new PalettedSection[maxSection - minSection + 1];
+        this.biomes = new PalettedSection[maxSection - minSection + 1];
     }
 
     public @NonNull QueueCoordinator getParent() {
@@ -68,12 +90,108 @@ public class LocalChunk {
         return this.z;
     }
 
+    /**
+     * Get the index of the lowest section that may hold blocks or biomes.
+     *
+     * @return lowest section index
+     */
+    public int getMinSection() {
+        return this.minSection;
+    }
+
+    /**
+     * Get the index of the highest section that may hold blocks or biomes.
+     *
+     * @return highest section index
+     */
+    public int getMaxSection() {
+        return this.minSection + this.baseblocks.length - 1;
+    }
+
+    /**
+     * Check if any block was set in the given section.
+     *
+     * @param section section index ({@code y >> 4})
+     * @return {@code true} if the section holds blocks
+     */
+    public boolean hasBlocks(int section) {
+        final PalettedSection<BaseBlock> blocks = this.section(this.baseblocks, section);
+        return blocks != null && !blocks.isEmpty();
+    }
+
+    /**
+     * Get a block set in this chunk.
+     *
+     * @param section section index ({@code y >> 4})
+     * @param j       position in the section, see {@link com.plotsquared.core.util.ChunkUtil#getJ(int, int, int)}
+     * @return the block, or {@code null} if none was set
+     */
+    public @Nullable BaseBlock getBlock(int section, int j) {
+        final PalettedSection<BaseBlock> blocks = this.section(this.baseblocks, section);
+        return blocks == null ? null : blocks.get(j);
+    }
+
+    /**
+     * Check if any biome was set in the given section.
+     *
+     * @param section section index ({@code y >> 4})
+     * @return {@code true} if the section holds biomes
+     */
+    public boolean hasBiomes(int section) {
+        final PalettedSection<BiomeType> biomes = this.section(this.biomes, section);
+        return biomes != null && !biomes.isEmpty();
+    }
+
+    /**
+     * Get a biome set in this chunk.
+     *
+     * @param section section index ({@code y >> 4})
+     * @param j       position in the section, see {@link com.plotsquared.core.util.ChunkUtil#getJ(int, int, int)}
+     * @return the biome, or {@code null} if none was set
+     */
+    public @Nullable BiomeType getBiome(int section, int j) {
+        final PalettedSection<BiomeType> biomes = this.section(this.biomes, section);
+        return biomes == null ? null : biomes.get(j);
+    }
+
+    /**
+     * Get the blocks of sections 0 to 15 as plain arrays.
+     *
+     * @return blocks per section
+     * @deprecated Copies every section, use {@link #getBlock(int, int)} instead
+     */
+    @Deprecated
     public @NonNull BaseBlock[][] getBaseblocks() {
-        return this.baseblocks;
+        final BaseBlock[][] result = new BaseBlock[16][];
+        for (int section = 0; section < 16; section++) {
+            if (this.hasBlocks(section)) {
+                result[section] = new BaseBlock[PalettedSection.SIZE];
+                for (int j = 0; j < PalettedSection.SIZE; j++) {
+                    result[section][j] = this.getBlock(section, j);
+                }
+            }
+        }
+        return result;
     }
 
+    /**
+     * Get the biomes of sections 0 to 15 as plain arrays.
+     *
+     * @return biomes per section
+     * @deprecated Copies every section, use {@link #getBiome(int, int)} instead
+     */
+    @Deprecated
     public @NonNull BiomeType[][] getBiomes() {
-        return this.biomes;
+        final BiomeType[][] result = new BiomeType[16][];
+        for (int section = 0; section < 16; section++) {
+            if (this.hasBiomes(section)) {
+                result[section] = new BiomeType[PalettedSection.SIZE];
+                for (int j = 0; j < PalettedSection.SIZE; j++) {
+                    result[section][j] = this.getBiome(section, j);
+                }
+            }
+        }
+        return result;
     }
 
     public @NonNull HashMap<BlockVector3, CompoundTag> getTiles() {
@@ -81,13 +199,12 @@ public class LocalChunk {
     }
 
     public void setBiome(final int x, final int y, final int z, final @NonNull BiomeType biomeType) {
-        final int i = y >> 4;
-        final int j = ChunkUtil.getJ(x, y, z);
-        BiomeType[] array = this.biomes[i];
-        if (array == null) {
-            array = this.biomes[i] = new BiomeType[4096];
+        this.ensureSection(y >> 4);
+        PalettedSection<BiomeType> section = this.biomes[(y >> 4) - this.minSection];
+        if (section == null) {
+            section = this.biomes[(y >> 4) - this.minSection] = new PalettedSection<>();
         }
-        array[j] = biomeType;
+        section.set(index(x, y, z), biomeType);
     }
 
     @Override
@@ -96,13 +213,27 @@ public class LocalChunk {
     }
 
     public void setBlock(final int x, final int y, final int z, final @NonNull BaseBlock baseBlock) {
-        final int i = y >> 4;
-        final int j = ChunkUtil.getJ(x, y, z);
-        BaseBlock[] array = baseblocks[i];
-        if (array == null) {
-            array = (baseblocks[i] = new BaseBlock[4096]);
+        this.ensureSection(y >> 4);
+        PalettedSection<BaseBlock> section = this.baseblocks[(y >> 4) - this.minSection];
+        if (section == null) {
+            section = this.baseblocks[(y >> 4) - this.minSection] = new PalettedSection<>();
+        }
+        section.set(index(x, y, z), baseBlock);
+    }
+
+    /**
+     * Set every block of a section to the same block, without storing the individual positions.
+     *
+     * @param section   section index ({@code y >> 4})
+     * @param baseBlock block to fill the section with
+     */
+    public void fillSection(final int section, final @NonNull BaseBlock baseBlock) {
+        this.ensureSection(section);
+        PalettedSection<BaseBlock> blocks = this.baseblocks[section - this.minSection];
+        if (blocks == null) {
+            blocks = this.baseblocks[section - this.minSection] = new PalettedSection<>();
         }
-        array[j] = baseBlock;
+        blocks.fill(baseBlock);
     }
 
     public void setTile(final int x, final int y, final int z, final @NonNull CompoundTag tag) {
@@ -117,4 +248,40 @@ public class LocalChunk {
         return this.entities;
     }
 
+    private static int index(final int x, final int y, final int z) {
+        return (y & 15) << 8 | z << 4 | x;
+    }
+
+    private <T> @Nullable PalettedSection<T> section(final PalettedSection<T>[] sections, final int section) {
+        final int i = section - this.minSection;
+        if (i < 0 || i >= sections.length) {
+            return null;
+        }
+        return sections[i];
+    }
+
+    /**
+     * Grow the section arrays when a section outside of the current range is written to. Both arrays
+     * always cover the same range.
+     */
+    private void ensureSection(final int section) {
+        final int i = section - this.minSection;
+        if (i >= 0 && i < this.baseblocks.length) {
+            return;
+        }
+        final int min = Math.min(section, this.minSection);
+        final int length = Math.max(section, this.getMaxSection()) - min + 1;
+        final int offset = this.minSection - min;
+        this.baseblocks = grow(this.baseblocks, offset, length);
+        this.biomes = grow(this.biomes, offset, length);
+        this.minSection = min;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PalettedSection<T>[] grow(final PalettedSection<T>[] sections, final int offset, final int length) {
+        final PalettedSection<T>[] result = new PalettedSection[length];
+        System.arraycopy(sections, 0, result, offset, sections.length);
+        return result;
+    }
+
 }
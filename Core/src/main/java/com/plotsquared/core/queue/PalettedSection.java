@@ -0,0 +1,249 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Palette-compressed storage of the 16x16x16 values of a chunk section. Every distinct value is stored
+ * once in a palette and positions only hold a packed index into that palette. A section in which every
+ * position holds the same value does not allocate any index array at all.
+ *
+ * @param <T> stored value type
+ */
+final class PalettedSection<T> {
+
+    static final int SIZE = 4096;
+
+    /**
+     * Palettes larger than this are indexed using a map rather than a linear scan
+     */
+    private static final int LINEAR_SCAN_LIMIT = 16;
+
+    private Object[] palette = new Object[]{null};
+    private int paletteSize = 1;
+    private @Nullable Map<Object, Integer> lookup;
+    /**
+     * Amount of positions referencing each palette entry, {@code null} while the section is uniform
+     */
+    private int @Nullable [] counts;
+    /**
+     * Packed palette indices, {@code null} while every position holds {@code palette[0]}
+     */
+    private long @Nullable [] data;
+    private int bits;
+    private int lastIndex;
+
+    /**
+     * Get the value at the given position.
+     *
+     * @param index position in the section, see {@link com.plotsquared.core.util.ChunkUtil#getJ(int, int, int)}
+     * @return the value, or {@code null} if none was set
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable T get(final int index) {
+        if (this.data == null) {
+            return (T) this.palette[0];
+        }
+        return (T) this.palette[this.read(index)];
+    }
+
+    /**
+     * Set the value at the given position.
+     *
+     * @param index position in the section, see {@link com.plotsquared.core.util.ChunkUtil#getJ(int, int, int)}
+     * @param value the value
+     */
+    void set(final int index, final @Nullable T value) {
+        if (this.data == null) {
+            if (Objects.equals(this.palette[0], value)) {
+                return;
+            }
+            this.bits = 1;
+            this.data = new long[SIZE / 64];
+            this.counts = new int[this.palette.length];
+            this.counts[0] = SIZE;
+        }
+        final int id = this.idOf(value);
+        final int previous = this.read(index);
+        if (previous == id) {
+            return;
+        }
+        this.write(index, id);
+        this.counts[previous]--;
+        if (++this.counts[id] == SIZE) {
+            this.fill(value);
+        }
+    }
+
+    /**
+     * Set every position of the section to the given value.
+     *
+     * @param value the value
+     */
+    void fill(final @Nullable T value) {
+        this.palette = new Object[]{value};
+        this.paletteSize = 1;
+        this.lookup = null;
+        this.counts = null;
+        this.data = null;
+        this.bits = 0;
+        this.lastIndex = 0;
+    }
+
+    /**
+     * Check whether no position of this section holds a value.
+     *
+     * @return {@code true} if the section is empty
+     */
+    boolean isEmpty() {
+        return this.data == null && this.palette[0] == null;
+    }
+
+    /**
+     * Check whether every position of this section holds the same value.
+     *
+     * @return {@code true} if the section is uniform
+     */
+    boolean isUniform() {
+        return this.data == null;
+    }
+
+    private int idOf(final @Nullable T value) {
+        if (Objects.equals(this.palette[this.lastIndex], value)) {
+            return this.lastIndex;
+        }
+        int id = -1;
+        if (this.lookup != null) {
+            final Integer found = this.lookup.get(value);
+            if (found != null) {
+                id = found;
+            }
+        } else {
+            for (int i = 0; i < this.paletteSize; i++) {
+                if (Objects.equals(this.palette[i], value)) {
+                    id = i;
+                    break;
+                }
+            }
+        }
+        if (id == -1) {
+            id = this.add(value);
+        }
+        this.lastIndex = id;
+        return id;
+    }
+
+    private int add(final @Nullable T value) {
+        if (this.paletteSize == 1 << this.bits) {
+            this.compact();
+            if (this.paletteSize == 1 << this.bits) {
+                this.resize(this.bits << 1);
+            }
+        }
+        if (this.paletteSize == this.palette.length) {
+            this.palette = Arrays.copyOf(this.palette, this.palette.length << 1);
+            this.counts = Arrays.copyOf(this.counts, this.palette.length);
+        }
+        final int id = this.paletteSize++;
+        this.palette[id] = value;
+        this.counts[id] = 0;
+        if (this.lookup != null) {
+            this.lookup.put(value, id);
+        } else if (this.paletteSize > LINEAR_SCAN_LIMIT) {
+            this.buildLookup();
+        }
+        return id;
+    }
+
+    /**
+     * Drop palette entries that are no longer referenced by any position.
+     */
+    private void compact() {
+        final int[] remap = new int[this.paletteSize];
+        int size = 0;
+        for (int i = 0; i < this.paletteSize; i++) {
+            if (this.counts[i] > 0) {
+                remap[i] = size;
+                this.palette[size] = this.palette[i];
+                this.counts[size] = this.counts[i];
+                size++;
+            }
+        }
+        if (size == this.paletteSize) {
+            return;
+        }
+        Arrays.fill(this.palette, size, this.paletteSize, null);
+        this.paletteSize = size;
+        for (int i = 0; i < SIZE; i++) {
+            this.write(i, remap[this.read(i)]);
+        }
+        this.lastIndex = 0;
+        this.lookup = null;
+        if (this.paletteSize > LINEAR_SCAN_LIMIT) {
+            this.buildLookup();
+        }
+    }
+
+    private void resize(final int bits) {
+        final int[] ids = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = this.read(i);
+        }
+        this.bits = bits;
+        this.data = new long[SIZE * bits / 64];
+        for (int i = 0; i < SIZE; i++) {
+            this.write(i, ids[i]);
+        }
+    }
+
+    private void buildLookup() {
+        this.lookup = new HashMap<>();
+        for (int i = 0; i < this.paletteSize; i++) {
+            this.lookup.put(this.palette[i], i);
+        }
+    }
+
+    private int read(final int index) {
+        final int perLong = 64 / this.bits;
+        final int shift = (index % perLong) * this.bits;
+        return (int) (this.data[index / perLong] >>> shift) & ((1 << this.bits) - 1);
+    }
+
+    private void write(final int index, final int id) {
+        final int perLong = 64 / this.bits;
+        final int shift = (index % perLong) * this.bits;
+        final long mask = (long) ((1 << this.bits) - 1) << shift;
+        final int slot = index / perLong;
+        this.data[slot] = (this.data[slot] & ~mask) | ((long) id << shift);
+    }
+
+}
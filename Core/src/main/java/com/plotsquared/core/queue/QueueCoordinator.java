@@ -51,7 +51,17 @@ import java.util.function.Consumer;
 
 public abstract class QueueCoordinator {
 
+    /**
+     * Priority of queues doing background work, such as trimming or regenerating roads
+     */
+    public static final int PRIORITY_BACKGROUND = 1;
+    /**
+     * Default priority, used by plot modifications like clearing a plot or setting components
+     */
+    public static final int PRIORITY_DEFAULT = 4;
+
     private boolean forceSync = false;
+    private int priority = PRIORITY_DEFAULT;
     @Nullable
     private Object chunkObject;
     private final AtomicBoolean enqueued = new AtomicBoolean();
@@ -115,6 +125,27 @@ public abstract class QueueCoordinator {
         this.forceSync = forceSync;
     }
 
+    /**
+     * Get the priority of the queue. The tick budget of {@link ChunkCoordinatorScheduler} is shared
+     * between running queues in proportion to their priority.
+     *
+     * @return priority
+     */
+    public int getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Set the priority of the queue, before it is enqueued
+     *
+     * @param priority priority, at least 1
+     * @see #PRIORITY_BACKGROUND
+     * @see #PRIORITY_DEFAULT
+     */
+    public void setPriority(int priority) {
+        this.priority = Math.max(1, priority);
+    }
+
     /**
      * Get the Chunk Object set to the queue
      *
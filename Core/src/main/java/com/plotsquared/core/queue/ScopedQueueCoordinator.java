@@ -106,6 +106,22 @@ public class ScopedQueueCoordinator extends DelegateQueueCoordinator {
         );
     }
 
+    /**
+     * Set a column of blocks. Entries that are {@code null} are skipped.
+     *
+     * @param x      Relative x location
+     * @param z      Relative z location
+     * @param y      Relative y location of the first entry
+     * @param blocks Blocks of the column, from the bottom up
+     */
+    public void setColumn(int x, int z, int y, @Nullable BaseBlock @NonNull [] blocks) {
+        for (int i = 0; i < blocks.length; i++) {
+            if (blocks[i] != null) {
+                setBlock(x, y + i, z, blocks[i]);
+            }
+        }
+    }
+
     @Override
     public boolean setTile(int x, int y, int z, @NonNull CompoundTag tag) {
         return x >= 0 && x <= dx && y >= 0 && y <= dy && z >= 0 && z <= dz && super.setTile(x + minX, y + minY, z + minZ, tag);
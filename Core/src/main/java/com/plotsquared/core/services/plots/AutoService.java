@@ -29,6 +29,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.intellectualsites.services.types.Service;
 import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.FreePlotIndex;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotAreaType;
@@ -43,8 +44,16 @@ import java.util.function.Predicate;
 
 public interface AutoService extends Service<AutoService.AutoQuery, List<Plot>> {
 
+    /**
+     * @deprecated Candidates are reserved in the {@link FreePlotIndex} of their area instead
+     */
+    @Deprecated(forRemoval = true)
     Cache<PlotId, Plot> plotCandidateCache = CacheBuilder.newBuilder()
             .expireAfterWrite(20, TimeUnit.SECONDS).build();
+    /**
+     * @deprecated Searches no longer share a lock, see {@link FreePlotIndex#reserve(PlotId)}
+     */
+    @Deprecated(forRemoval = true)
     Object plotLock = new Object();
 
     final class AutoQuery {
@@ -138,19 +147,17 @@ public interface AutoService extends Service<AutoService.AutoQuery, List<Plot>>
         @Nullable
         @Override
         public List<Plot> handle(@NonNull AutoQuery autoQuery) {
+            final FreePlotIndex index = autoQuery.getPlotArea().getFreePlotIndex();
             Plot plot;
             PlotId nextId = autoQuery.getStartId();
             do {
-                synchronized (plotLock) {
-                    plot = autoQuery.getPlotArea().getNextFreePlot(autoQuery.getPlayer(), nextId);
-                    if (plot != null && plotCandidateCache.getIfPresent(plot.getId()) == null) {
-                        plotCandidateCache.put(plot.getId(), plot);
-                        return Collections.singletonList(plot);
-                    }
-                    // if the plot is already in the cache, we want to make sure we skip it the next time
-                    if (plot != null) {
-                        nextId = plot.getId();
-                    }
+                plot = autoQuery.getPlotArea().getNextFreePlot(autoQuery.getPlayer(), nextId);
+                if (plot != null && index.reserve(plot.getId())) {
+                    return Collections.singletonList(plot);
+                }
+                // if another search reserved the plot in the meantime, we want to make sure we skip it the next time
+                if (plot != null) {
+                    nextId = plot.getId();
                 }
             } while (plot != null);
             return null;
@@ -169,29 +176,52 @@ public interface AutoService extends Service<AutoService.AutoQuery, List<Plot>>
         @Override
         public List<Plot> handle(final @NonNull AutoQuery autoQuery) {
             /* TODO: Add timeout? */
-            outer:
+            final PlotArea plotArea = autoQuery.getPlotArea();
+            final FreePlotIndex index = plotArea.getFreePlotIndex();
+            final PlotId lastPlot = plotArea.getMeta("lastPlot", PlotId.of(0, 0));
+            long ordinal = FreePlotIndex.ordinal(lastPlot.getX(), lastPlot.getY()) + 1;
             while (true) {
-                synchronized (plotLock) {
-                    final PlotId start =
-                            autoQuery.getPlotArea().getMeta("lastPlot", PlotId.of(0, 0)).getNextId();
-                    final PlotId end = PlotId.of(
-                            start.getX() + autoQuery.getSizeX() - 1,
-                            start.getY() + autoQuery.getSizeZ() - 1
-                    );
-                    final List<Plot> plots =
-                            autoQuery.getPlotArea().canClaim(autoQuery.getPlayer(), start, end);
-                    autoQuery.getPlotArea().setMeta("lastPlot", start); // set entry point for next try
-                    if (plots != null && !plots.isEmpty()) {
-                        for (final Plot plot : plots) {
-                            if (plotCandidateCache.getIfPresent(plot.getId()) != null) {
-                                continue outer;
-                            }
-                            plotCandidateCache.put(plot.getId(), plot);
-                        }
-                        return plots;
+                // the corner of the rectangle has to be free, so owned runs of the spiral are skipped at once
+                ordinal = index.nextFree(ordinal);
+                final PlotId start = FreePlotIndex.fromOrdinal(ordinal++);
+                if (!isFree(index, start, autoQuery.getSizeX(), autoQuery.getSizeZ())) {
+                    continue;
+                }
+                final PlotId end = PlotId.of(
+                        start.getX() + autoQuery.getSizeX() - 1,
+                        start.getY() + autoQuery.getSizeZ() - 1
+                );
+                final List<Plot> plots = plotArea.canClaim(autoQuery.getPlayer(), start, end);
+                if (plots == null || plots.isEmpty() || !reserve(index, plots)) {
+                    continue;
+                }
+                plotArea.setMeta("lastPlot", start); // set entry point for next try
+                return plots;
+            }
+        }
+
+        private static boolean isFree(final @NonNull FreePlotIndex index, final @NonNull PlotId start, final int sizeX, final int sizeZ) {
+            for (int x = start.getX(); x < start.getX() + sizeX; x++) {
+                for (int y = start.getY(); y < start.getY() + sizeZ; y++) {
+                    final PlotId id = PlotId.of(x, y);
+                    if (index.isClaimed(id) || index.isReserved(id)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean reserve(final @NonNull FreePlotIndex index, final @NonNull List<Plot> plots) {
+            for (int i = 0; i < plots.size(); i++) {
+                if (!index.reserve(plots.get(i).getId())) {
+                    for (int j = 0; j < i; j++) {
+                        index.cancelReservation(plots.get(j).getId());
                     }
+                    return false;
                 }
             }
+            return true;
         }
 
         @Override
@@ -78,6 +78,7 @@ public class EntityUtil {
             return true;
         }
         int[] mobs = null;
+        boolean recounted = false;
         for (PlotFlag<Integer, ?> flag : flags) {
             final int i = capNumeral(flag.getName());
             int cap = plot.getFlag(flag);
@@ -90,21 +91,16 @@ public class EntityUtil {
             if (mobs == null) {
                 mobs = plot.countEntities();
             }
+            if (mobs[i] >= cap && !recounted) {
+                // Counts may be kept between calls and miss removals, so they are confirmed before denying
+                mobs = plot.recountEntities();
+                recounted = true;
+            }
             if (mobs[i] >= cap) {
-                plot.setMeta("EntityCount", mobs);
-                plot.setMeta("EntityCountTime", System.currentTimeMillis());
                 plot.debug("Prevented spawning of mob because it would exceed " + flag.getName());
                 return true;
             }
         }
-        if (mobs != null) {
-            for (PlotFlag<Integer, ?> flag : flags) {
-                final int i = capNumeral(flag.getName());
-                mobs[i]++;
-            }
-            plot.setMeta("EntityCount", mobs);
-            plot.setMeta("EntityCountTime", System.currentTimeMillis());
-        }
         return false;
     }
 
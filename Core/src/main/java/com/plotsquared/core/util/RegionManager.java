@@ -95,6 +95,17 @@ public abstract class RegionManager {
      */
     public abstract int[] countEntities(Plot plot);
 
+    /**
+     * Count the entities in a plot like {@link #countEntities(Plot)}, but without relying on counts
+     * the implementation keeps between calls. Used to confirm the counts before a spawn is denied.
+     *
+     * @param plot plot
+     * @return array of counts of entity types
+     */
+    public int[] recountEntities(Plot plot) {
+        return this.countEntities(plot);
+    }
+
     public void deleteRegionFiles(final String world, final Collection<BlockVector2> chunks, final Runnable whenDone) {
         TaskManager.runTaskAsync(() -> {
             for (BlockVector2 loc : chunks) {
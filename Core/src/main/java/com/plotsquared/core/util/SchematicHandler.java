@@ -43,41 +43,28 @@ import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.net.AbstractDelegateOutputStream;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
-import com.plotsquared.core.util.task.YieldRunnable;
-import com.sk89q.jnbt.ByteArrayTag;
 import com.sk89q.jnbt.CompoundTag;
-import com.sk89q.jnbt.IntArrayTag;
-import com.sk89q.jnbt.IntTag;
-import com.sk89q.jnbt.ListTag;
 import com.sk89q.jnbt.NBTInputStream;
 import com.sk89q.jnbt.NBTOutputStream;
-import com.sk89q.jnbt.ShortTag;
-import com.sk89q.jnbt.StringTag;
-import com.sk89q.jnbt.Tag;
-import com.sk89q.worldedit.WorldEdit;
-import com.sk89q.worldedit.extension.platform.Capability;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.extent.clipboard.io.MCEditSchematicReader;
 import com.sk89q.worldedit.extent.clipboard.io.SpongeSchematicReader;
-import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.regions.Region;
 import com.sk89q.worldedit.regions.RegionIntersection;
-import com.sk89q.worldedit.world.World;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -99,10 +86,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
 import java.util.Set;
@@ -254,17 +239,13 @@ public abstract class SchematicHandler {
                 }
 
                 final Runnable THIS = this;
-                getCompoundTag(plot)
-                        .whenComplete((compoundTag, throwable) -> {
-                            if (compoundTag != null) {
-                                TaskManager.runTaskAsync(() -> {
-                                    boolean result = save(compoundTag, directory + File.separator + name + ".schem");
-                                    if (!result) {
-                                        LOGGER.error("Failed to save {}", plot.getId());
-                                    }
-                                    TaskManager.runTask(THIS);
-                                });
+                File file = FileUtils.getFile(PlotSquared.platform().getDirectory(), directory + File.separator + name + ".schem");
+                exportSchematic(plot, file)
+                        .whenComplete((result, throwable) -> {
+                            if (!Boolean.TRUE.equals(result)) {
+                                LOGGER.error("Failed to save {}", plot.getId());
                             }
+                            TaskManager.runTask(THIS);
                         });
             }
         });
@@ -564,61 +545,6 @@ public abstract class SchematicHandler {
         return true;
     }
 
-    private void writeSchematicData(
-            final @NonNull Map<String, Tag> schematic,
-            final @NonNull Map<String, Integer> palette,
-            final @NonNull Map<String, Integer> biomePalette,
-            final @NonNull List<CompoundTag> tileEntities,
-            final @NonNull ByteArrayOutputStream buffer,
-            final @NonNull ByteArrayOutputStream biomeBuffer
-    ) {
-        schematic.put("PaletteMax", new IntTag(palette.size()));
-
-        Map<String, Tag> paletteTag = new HashMap<>();
-        palette.forEach((key, value) -> paletteTag.put(key, new IntTag(value)));
-
-        schematic.put("Palette", new CompoundTag(paletteTag));
-        schematic.put("BlockData", new ByteArrayTag(buffer.toByteArray()));
-        schematic.put("BlockEntities", new ListTag(CompoundTag.class, tileEntities));
-
-        schematic.put("BiomePaletteMax", new IntTag(biomePalette.size()));
-
-        Map<String, Tag> biomePaletteTag = new HashMap<>();
-        biomePalette.forEach((key, value) -> biomePaletteTag.put(key, new IntTag(value)));
-
-        schematic.put("BiomePalette", new CompoundTag(biomePaletteTag));
-        schematic.put("BiomeData", new ByteArrayTag(biomeBuffer.toByteArray()));
-    }
-
-    @NonNull
-    private Map<String, Tag> initSchematic(short width, short height, short length) {
-        Map<String, Tag> schematic = new HashMap<>();
-        schematic.put("Version", new IntTag(2));
-        schematic.put(
-                "DataVersion",
-                new IntTag(WorldEdit
-                        .getInstance()
-                        .getPlatformManager()
-                        .queryCapability(Capability.WORLD_EDITING)
-                        .getDataVersion())
-        );
-
-        Map<String, Tag> metadata = new HashMap<>();
-        metadata.put("WEOffsetX", new IntTag(0));
-        metadata.put("WEOffsetY", new IntTag(0));
-        metadata.put("WEOffsetZ", new IntTag(0));
-
-        schematic.put("Metadata", new CompoundTag(metadata));
-
-        schematic.put("Width", new ShortTag(width));
-        schematic.put("Height", new ShortTag(height));
-        schematic.put("Length", new ShortTag(length));
-
-        // The Sponge format Offset refers to the 'min' points location in the world. That's our 'Origin'
-        schematic.put("Offset", new IntArrayTag(new int[]{0, 0, 0,}));
-        return schematic;
-    }
-
     /**
      * Get the given plot as {@link CompoundTag} matching the Sponge schematic format.
      *
@@ -643,157 +569,62 @@ public abstract class SchematicHandler {
     ) {
         CompletableFuture<CompoundTag> completableFuture = new CompletableFuture<>();
         TaskManager.runTaskAsync(() -> {
-            World world = this.worldUtil.getWeWorld(worldName);
-            // All positions
-            CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
-            aabb.setWorld(world);
-
-            RegionIntersection intersection = new RegionIntersection(new ArrayList<>(regions));
-
-            final int width = aabb.getWidth();
-            int height = aabb.getHeight();
-            final int length = aabb.getLength();
-            final boolean multipleRegions = regions.size() > 1;
-
-            Map<String, Tag> schematic = initSchematic((short) width, (short) height, (short) length);
-
-            Map<String, Integer> palette = new HashMap<>();
-            Map<String, Integer> biomePalette = new HashMap<>();
-
-            List<CompoundTag> tileEntities = new ArrayList<>();
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length);
-            ByteArrayOutputStream biomeBuffer = new ByteArrayOutputStream(width * length);
-            // Queue
-            TaskManager.runTaskAsync(() -> {
-                final BlockVector3 minimum = aabb.getMinimumPoint();
-                final BlockVector3 maximum = aabb.getMaximumPoint();
-
-                final int minX = minimum.getX();
-                final int minZ = minimum.getZ();
-                final int minY = minimum.getY();
-
-                final int maxX = maximum.getX();
-                final int maxZ = maximum.getZ();
-                final int maxY = maximum.getY();
-
-                final Runnable yTask = new YieldRunnable() {
-                    int currentY = minY;
-                    int currentX = minX;
-                    int currentZ = minZ;
-
-                    @Override
-                    public void run() {
-                        long start = System.currentTimeMillis();
-                        int lastBiome = 0;
-                        for (; currentY <= maxY; currentY++) {
-                            int relativeY = currentY - minY;
-                            for (; currentZ <= maxZ; currentZ++) {
-                                int relativeZ = currentZ - minZ;
-                                for (; currentX <= maxX; currentX++) {
-                                    // if too much time was spent here, we yield this task
-                                    // note that current(X/Y/Z) aren't incremented, so the same position
-                                    // as *right now* will be visited again
-                                    if (System.currentTimeMillis() - start > 40) {
-                                        this.yield();
-                                        return;
-                                    }
-                                    int relativeX = currentX - minX;
-                                    BlockVector3 point = BlockVector3.at(currentX, currentY, currentZ);
-                                    if (multipleRegions && !intersection.contains(point)) {
-                                        String blockKey = BlockTypes.AIR.getDefaultState().getAsString();
-                                        int blockId;
-                                        if (palette.containsKey(blockKey)) {
-                                            blockId = palette.get(blockKey);
-                                        } else {
-                                            blockId = palette.size();
-                                            palette.put(blockKey, palette.size());
-                                        }
-                                        while ((blockId & -128) != 0) {
-                                            buffer.write(blockId & 127 | 128);
-                                            blockId >>>= 7;
-                                        }
-                                        buffer.write(blockId);
-
-                                        if (relativeY > 0) {
-                                            continue;
-                                        }
-
-                                        // Write the last biome if we're not getting it from the plot;
-                                        int biomeId = lastBiome;
-                                        while ((biomeId & -128) != 0) {
-                                            biomeBuffer.write(biomeId & 127 | 128);
-                                            biomeId >>>= 7;
-                                        }
-                                        biomeBuffer.write(biomeId);
-                                        continue;
-                                    }
-                                    BaseBlock block = aabb.getWorld().getFullBlock(point);
-                                    if (block.getNbtData() != null) {
-                                        Map<String, Tag> values = new HashMap<>();
-                                        for (Map.Entry<String, Tag> entry : block.getNbtData().getValue().entrySet()) {
-                                            values.put(entry.getKey(), entry.getValue());
-                                        }
-
-                                        // Positions are kept in NBT, we don't want that.
-                                        values.remove("x");
-                                        values.remove("y");
-                                        values.remove("z");
-
-                                        values.put("Id", new StringTag(block.getNbtId()));
-
-                                        // Remove 'id' if it exists. We want 'Id'.
-                                        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
-                                        // Dum.
-                                        values.remove("id");
-                                        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
-
-                                        tileEntities.add(new CompoundTag(values));
-                                    }
-                                    String blockKey = block.toImmutableState().getAsString();
-                                    int blockId;
-                                    if (palette.containsKey(blockKey)) {
-                                        blockId = palette.get(blockKey);
-                                    } else {
-                                        blockId = palette.size();
-                                        palette.put(blockKey, palette.size());
-                                    }
-
-                                    while ((blockId & -128) != 0) {
-                                        buffer.write(blockId & 127 | 128);
-                                        blockId >>>= 7;
-                                    }
-                                    buffer.write(blockId);
-
-                                    if (relativeY > 0) {
-                                        continue;
-                                    }
-                                    BlockVector2 pt = BlockVector2.at(currentX, currentZ);
-                                    BiomeType biome = aabb.getWorld().getBiome(pt);
-                                    String biomeStr = biome.getId();
-                                    int biomeId;
-                                    if (biomePalette.containsKey(biomeStr)) {
-                                        biomeId = lastBiome = biomePalette.get(biomeStr);
-                                    } else {
-                                        biomeId = lastBiome = biomePalette.size();
-                                        biomePalette.put(biomeStr, biomeId);
-                                    }
-                                    while ((biomeId & -128) != 0) {
-                                        biomeBuffer.write(biomeId & 127 | 128);
-                                        biomeId >>>= 7;
-                                    }
-                                    biomeBuffer.write(biomeId);
-                                }
-                                currentX = minX; // reset manually as not using local variable
-                            }
-                            currentZ = minZ; // reset manually as not using local variable
-                        }
-                        TaskManager.runTaskAsync(() -> {
-                            writeSchematicData(schematic, palette, biomePalette, tileEntities, buffer, biomeBuffer);
-                            completableFuture.complete(new CompoundTag(schematic));
-                        });
+            final SpongeSchematicExporter exporter = new SpongeSchematicExporter(this.worldUtil.getWeWorld(worldName), regions);
+            exporter.read(Settings.Schematics.EXPORT_THREADS).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    completableFuture.completeExceptionally(throwable);
+                    return;
+                }
+                TaskManager.runTaskAsync(() -> completableFuture.complete(exporter.toCompoundTag()));
+            });
+        });
+        return completableFuture;
+    }
+
+    /**
+     * Export the given plot to a file in the Sponge schematic format. Unlike {@link #getCompoundTag(Plot)},
+     * the schematic is written straight to the file without creating a {@link CompoundTag} of it first.
+     *
+     * @param plot The plot to get the contents from.
+     * @param file The file to write the schematic to.
+     * @return a {@link CompletableFuture} that provides whether the schematic was written.
+     */
+    public @NonNull CompletableFuture<Boolean> exportSchematic(final @NonNull Plot plot, final @NonNull File file) {
+        return exportSchematic(Objects.requireNonNull(plot.getWorldName()), plot.getRegions(), file);
+    }
+
+    /**
+     * Export the contents of the given regions in the given world to a file in the Sponge schematic format.
+     *
+     * @param worldName The world to get the contents from.
+     * @param regions   The regions to get the contents from.
+     * @param file      The file to write the schematic to.
+     * @return a {@link CompletableFuture} that provides whether the schematic was written.
+     */
+    public @NonNull CompletableFuture<Boolean> exportSchematic(
+            final @NonNull String worldName,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull File file
+    ) {
+        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
+        TaskManager.runTaskAsync(() -> {
+            final SpongeSchematicExporter exporter = new SpongeSchematicExporter(this.worldUtil.getWeWorld(worldName), regions);
+            exporter.read(Settings.Schematics.EXPORT_THREADS).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("Failed to read schematic {}", file.getName(), throwable);
+                    completableFuture.complete(false);
+                    return;
+                }
+                TaskManager.runTaskAsync(() -> {
+                    file.getParentFile().mkdirs();
+                    try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                        exporter.write(output);
+                        completableFuture.complete(true);
+                    } catch (IOException e) {
+                        LOGGER.error("Failed to write schematic {}", file.getName(), e);
+                        completableFuture.complete(false);
                     }
-                };
-                yTask.run();
+                });
             });
         });
         return completableFuture;
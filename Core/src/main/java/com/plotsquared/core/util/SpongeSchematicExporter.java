@@ -0,0 +1,447 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.YieldRunnable;
+import com.sk89q.jnbt.ByteArrayTag;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.NBTConstants;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.ShortTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.extension.platform.Capability;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.RegionIntersection;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads regions of a world into the Sponge schematic format (version 2).
+ * <p>
+ * The regions are read in slabs of up to 16 blocks height, aligned to the chunk sections of the
+ * world. Every slab encodes its block data into its own varint buffer, so slabs can be read
+ * independently and are joined when the schematic is written. The block palette is keyed by the
+ * block state itself, the string form of a state is only created once per palette entry.
+ */
+final class SpongeSchematicExporter {
+
+    private static final int SLAB_HEIGHT = 16;
+    private static final long SLICE_TIME = 40;
+
+    private final World world;
+    private final RegionIntersection intersection;
+    private final boolean multipleRegions;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final Slab[] slabs;
+    private final VarIntBuffer biomes;
+
+    // Guarded by itself
+    private final Map<BlockState, Integer> palette = new HashMap<>();
+    // Only accessed while reading the lowest layer, which belongs to the first slab
+    private final Map<BiomeType, Integer> biomePalette = new HashMap<>();
+    private int lastBiome;
+
+    SpongeSchematicExporter(final @NonNull World world, final @NonNull Set<CuboidRegion> regions) {
+        this.world = world;
+        final CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+        this.intersection = new RegionIntersection(new ArrayList<>(regions));
+        this.multipleRegions = regions.size() > 1;
+        final BlockVector3 minimum = aabb.getMinimumPoint();
+        final BlockVector3 maximum = aabb.getMaximumPoint();
+        this.minX = minimum.getX();
+        this.minY = minimum.getY();
+        this.minZ = minimum.getZ();
+        this.maxX = maximum.getX();
+        this.maxZ = maximum.getZ();
+        this.width = aabb.getWidth();
+        this.height = aabb.getHeight();
+        this.length = aabb.getLength();
+
+        final List<Slab> slabs = new ArrayList<>();
+        for (int y = this.minY; y <= maximum.getY(); y = (y | (SLAB_HEIGHT - 1)) + 1) {
+            slabs.add(new Slab(y, Math.min(maximum.getY(), y | (SLAB_HEIGHT - 1))));
+        }
+        this.slabs = slabs.toArray(new Slab[0]);
+        this.biomes = new VarIntBuffer(this.width * this.length);
+    }
+
+    /**
+     * Read the blocks of the regions. With a single thread, the blocks are read in slices of
+     * {@value #SLICE_TIME} milliseconds per tick. With several threads, the slabs are read
+     * asynchronously without yielding.
+     *
+     * @param threads Number of threads that read slabs at the same time
+     * @return Future that completes once every slab has been read
+     */
+    @NonNull CompletableFuture<Void> read(final int threads) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if (threads <= 1) {
+            TaskManager.runTaskAsync(new YieldRunnable() {
+                int slab = 0;
+
+                @Override
+                public void run() {
+                    try {
+                        final long start = System.currentTimeMillis();
+                        for (; this.slab < slabs.length; this.slab++) {
+                            if (!slabs[this.slab].read(start)) {
+                                this.yield();
+                                return;
+                            }
+                        }
+                        future.complete(null);
+                    } catch (final Throwable throwable) {
+                        future.completeExceptionally(throwable);
+                    }
+                }
+            });
+            return future;
+        }
+        final AtomicInteger nextSlab = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(this.slabs.length);
+        for (int i = 0; i < Math.min(threads, this.slabs.length); i++) {
+            TaskManager.runTaskAsync(() -> {
+                try {
+                    int index;
+                    while ((index = nextSlab.getAndIncrement()) < this.slabs.length) {
+                        this.slabs[index].read(Long.MAX_VALUE);
+                        if (remaining.decrementAndGet() == 0) {
+                            future.complete(null);
+                        }
+                    }
+                } catch (final Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * Create the schematic tag from the blocks that have been read
+     *
+     * @return Schematic tag
+     */
+    @NonNull CompoundTag toCompoundTag() {
+        final Map<String, Tag> schematic = this.header();
+        final byte[] blockData = new byte[this.blockDataSize()];
+        int offset = 0;
+        for (final Slab slab : this.slabs) {
+            offset = slab.blocks.copyTo(blockData, offset);
+        }
+        schematic.put("BlockData", new ByteArrayTag(blockData));
+        schematic.put("BlockEntities", new ListTag(CompoundTag.class, this.tileEntities()));
+        schematic.put("BiomeData", new ByteArrayTag(this.biomes.toByteArray()));
+        return new CompoundTag(schematic);
+    }
+
+    /**
+     * Write the schematic as named NBT tag "Schematic" to the given stream. The block data is
+     * written straight from the slab buffers without being joined in memory first.
+     *
+     * @param output Stream to write to. It is flushed, but not closed
+     * @throws IOException If the stream cannot be written to
+     */
+    void write(final @NonNull OutputStream output) throws IOException {
+        final DataOutputStream data = new DataOutputStream(output);
+        final NBTOutputStream nbt = new NBTOutputStream(data);
+        writeTagName(data, NBTConstants.TYPE_COMPOUND, "Schematic");
+        for (final Map.Entry<String, Tag> entry : this.header().entrySet()) {
+            nbt.writeNamedTag(entry.getKey(), entry.getValue());
+        }
+        writeTagName(data, NBTConstants.TYPE_BYTE_ARRAY, "BlockData");
+        data.writeInt(this.blockDataSize());
+        for (final Slab slab : this.slabs) {
+            slab.blocks.writeTo(data);
+        }
+        nbt.writeNamedTag("BlockEntities", new ListTag(CompoundTag.class, this.tileEntities()));
+        writeTagName(data, NBTConstants.TYPE_BYTE_ARRAY, "BiomeData");
+        data.writeInt(this.biomes.size());
+        this.biomes.writeTo(data);
+        data.writeByte(NBTConstants.TYPE_END);
+        data.flush();
+    }
+
+    private static void writeTagName(final @NonNull DataOutputStream data, final int type, final @NonNull String name)
+            throws IOException {
+        final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        data.writeByte(type);
+        data.writeShort(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Everything but the block and biome data and the block entities
+     */
+    private @NonNull Map<String, Tag> header() {
+        final Map<String, Tag> schematic = new HashMap<>();
+        schematic.put("Version", new IntTag(2));
+        schematic.put(
+                "DataVersion",
+                new IntTag(WorldEdit
+                        .getInstance()
+                        .getPlatformManager()
+                        .queryCapability(Capability.WORLD_EDITING)
+                        .getDataVersion())
+        );
+
+        final Map<String, Tag> metadata = new HashMap<>();
+        metadata.put("WEOffsetX", new IntTag(0));
+        metadata.put("WEOffsetY", new IntTag(0));
+        metadata.put("WEOffsetZ", new IntTag(0));
+
+        schematic.put("Metadata", new CompoundTag(metadata));
+
+        schematic.put("Width", new ShortTag((short) this.width));
+        schematic.put("Height", new ShortTag((short) this.height));
+        schematic.put("Length", new ShortTag((short) this.length));
+
+        // The Sponge format Offset refers to the 'min' points location in the world. That's our 'Origin'
+        schematic.put("Offset", new IntArrayTag(new int[]{0, 0, 0,}));
+
+        final Map<String, Tag> paletteTag = new HashMap<>();
+        synchronized (this.palette) {
+            this.palette.forEach((state, id) -> paletteTag.put(state.getAsString(), new IntTag(id)));
+        }
+        schematic.put("PaletteMax", new IntTag(paletteTag.size()));
+        schematic.put("Palette", new CompoundTag(paletteTag));
+
+        final Map<String, Tag> biomePaletteTag = new HashMap<>();
+        this.biomePalette.forEach((biome, id) -> biomePaletteTag.put(biome.getId(), new IntTag(id)));
+        schematic.put("BiomePaletteMax", new IntTag(biomePaletteTag.size()));
+        schematic.put("BiomePalette", new CompoundTag(biomePaletteTag));
+        return schematic;
+    }
+
+    private int blockDataSize() {
+        int size = 0;
+        for (final Slab slab : this.slabs) {
+            size += slab.blocks.size();
+        }
+        return size;
+    }
+
+    private @NonNull List<CompoundTag> tileEntities() {
+        final List<CompoundTag> tileEntities = new ArrayList<>();
+        for (final Slab slab : this.slabs) {
+            tileEntities.addAll(slab.tileEntities);
+        }
+        return tileEntities;
+    }
+
+    private int blockId(final @NonNull BlockState state) {
+        synchronized (this.palette) {
+            final Integer id = this.palette.get(state);
+            if (id != null) {
+                return id;
+            }
+            final int newId = this.palette.size();
+            this.palette.put(state, newId);
+            return newId;
+        }
+    }
+
+    private int biomeId(final @NonNull BiomeType biome) {
+        final Integer id = this.biomePalette.get(biome);
+        if (id != null) {
+            return id;
+        }
+        final int newId = this.biomePalette.size();
+        this.biomePalette.put(biome, newId);
+        return newId;
+    }
+
+    private static @NonNull CompoundTag tileEntity(final @NonNull BaseBlock block, final int x, final int y, final int z) {
+        final Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+
+        // Positions are kept in NBT, we don't want that.
+        values.remove("x");
+        values.remove("y");
+        values.remove("z");
+
+        values.put("Id", new StringTag(block.getNbtId()));
+
+        // Remove 'id' if it exists. We want 'Id'.
+        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
+        // Dum.
+        values.remove("id");
+        values.put("Pos", new IntArrayTag(new int[]{x, y, z}));
+        return new CompoundTag(values);
+    }
+
+
+    /**
+     * Layers of the schematic that are read and encoded together
+     */
+    private final class Slab {
+
+        private final int maxY;
+        private final VarIntBuffer blocks;
+        private final List<CompoundTag> tileEntities = new ArrayList<>();
+        private int currentY;
+        private int currentZ;
+        private BlockState lastState;
+        private int lastId;
+        private int airId = -1;
+
+        private Slab(final int minY, final int maxY) {
+            this.maxY = maxY;
+            this.currentY = minY;
+            this.currentZ = SpongeSchematicExporter.this.minZ;
+            this.blocks = new VarIntBuffer(width * length * (maxY - minY + 1));
+        }
+
+        /**
+         * Read the remaining rows of the slab
+         *
+         * @param start Time at which the current slice started
+         * @return {@code true} if the slab has been read completely, {@code false} if the slice ran out of time
+         */
+        private boolean read(final long start) {
+            for (; this.currentY <= this.maxY; this.currentY++) {
+                for (; this.currentZ <= maxZ; this.currentZ++) {
+                    // note that currentZ isn't incremented, so the same row will be read again
+                    if (System.currentTimeMillis() - start > SLICE_TIME) {
+                        return false;
+                    }
+                    this.readRow(this.currentY, this.currentZ);
+                }
+                this.currentZ = minZ; // reset manually as not using local variable
+            }
+            return true;
+        }
+
+        private void readRow(final int y, final int z) {
+            final int relativeY = y - minY;
+            final int relativeZ = z - minZ;
+            for (int x = minX; x <= maxX; x++) {
+                final BlockVector3 point = BlockVector3.at(x, y, z);
+                if (multipleRegions && !intersection.contains(point)) {
+                    if (this.airId == -1) {
+                        this.airId = blockId(BlockTypes.AIR.getDefaultState());
+                    }
+                    this.blocks.write(this.airId);
+                    if (relativeY == 0) {
+                        // Write the last biome if we're not getting it from the plot
+                        biomes.write(lastBiome);
+                    }
+                    continue;
+                }
+                final BaseBlock block = world.getFullBlock(point);
+                if (block.getNbtData() != null) {
+                    this.tileEntities.add(tileEntity(block, x - minX, relativeY, relativeZ));
+                }
+                final BlockState state = block.toImmutableState();
+                if (state != this.lastState) {
+                    this.lastState = state;
+                    this.lastId = blockId(state);
+                }
+                this.blocks.write(this.lastId);
+                if (relativeY == 0) {
+                    lastBiome = biomeId(world.getBiome(BlockVector2.at(x, z)));
+                    biomes.write(lastBiome);
+                }
+            }
+        }
+
+    }
+
+
+    /**
+     * Growable byte buffer for varints, sized up front for one byte per entry
+     */
+    private static final class VarIntBuffer {
+
+        private byte[] bytes;
+        private int size;
+
+        private VarIntBuffer(final int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        private void write(int value) {
+            if (this.size + 5 > this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.size + 5, this.bytes.length + (this.bytes.length >> 1)));
+            }
+            while ((value & -128) != 0) {
+                this.bytes[this.size++] = (byte) (value & 127 | 128);
+                value >>>= 7;
+            }
+            this.bytes[this.size++] = (byte) value;
+        }
+
+        private int size() {
+            return this.size;
+        }
+
+        private int copyTo(final byte @NonNull [] target, final int offset) {
+            System.arraycopy(this.bytes, 0, target, offset, this.size);
+            return offset + this.size;
+        }
+
+        private byte @NonNull [] toByteArray() {
+            return Arrays.copyOf(this.bytes, this.size);
+        }
+
+        private void writeTo(final @NonNull DataOutputStream output) throws IOException {
+            output.write(this.bytes, 0, this.size);
+        }
+
+    }
+
+}
@@ -123,6 +123,28 @@ public class WEManager {
         return regions;
     }
 
+    /**
+     * Get the {@link #getMask(PlotPlayer) mask} of a player compiled for fast containment checks.
+     * The compiled mask is kept in the player's temporary meta data and reused for as long as
+     * the regions of the mask stay the same.
+     *
+     * @param player the player
+     * @return the compiled mask
+     */
+    public static WEMask getCompiledMask(PlotPlayer<?> player) {
+        final Set<CuboidRegion> regions = getMask(player);
+        try (final MetaDataAccess<WEMask> metaDataAccess =
+                     player.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_WORLD_EDIT_MASK)) {
+            final WEMask cached = metaDataAccess.get().orElse(null);
+            if (cached != null && cached.matches(regions)) {
+                return cached;
+            }
+            final WEMask mask = WEMask.compile(regions);
+            metaDataAccess.set(mask);
+            return mask;
+        }
+    }
+
     public static boolean intersects(CuboidRegion region1, CuboidRegion region2) {
         return RegionUtil.intersects(region1, region2);
     }
@@ -0,0 +1,280 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compiled form of a WorldEdit mask (the regions a player is allowed to edit), see
+ * {@link WEManager#getMask(com.plotsquared.core.player.PlotPlayer)}. Regions are rasterized
+ * into per chunk column bitmaps, grouped by their y range, so that a containment check
+ * costs a chunk lookup and a bit test instead of a scan over every region in the mask.
+ */
+public final class WEMask {
+
+    /**
+     * Regions covering more chunks than this are not rasterized and are checked linearly instead
+     */
+    private static final long MAX_RASTERIZED_CHUNKS = 1L << 14;
+
+    private final Set<List<BlockVector3>> bounds;
+    private final Map<Long, Layer[]> chunks;
+    private final CuboidRegion[] unrasterized;
+    private volatile ChunkEntry last;
+
+    private WEMask(
+            final @NonNull Set<List<BlockVector3>> bounds,
+            final @NonNull Map<Long, Layer[]> chunks,
+            final @NonNull CuboidRegion[] unrasterized
+    ) {
+        this.bounds = bounds;
+        this.chunks = chunks;
+        this.unrasterized = unrasterized;
+    }
+
+    /**
+     * Compile a mask from a collection of regions
+     *
+     * @param regions the regions making up the mask
+     * @return the compiled mask
+     */
+    public static @NonNull WEMask compile(final @NonNull Collection<CuboidRegion> regions) {
+        final Set<List<BlockVector3>> bounds = new HashSet<>();
+        final Map<Long, List<Layer>> building = new HashMap<>();
+        final List<CuboidRegion> unrasterized = new ArrayList<>();
+        for (final CuboidRegion region : regions) {
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            if (!bounds.add(List.of(min, max))) {
+                continue;
+            }
+            final int minChunkX = min.getX() >> 4;
+            final int maxChunkX = max.getX() >> 4;
+            final int minChunkZ = min.getZ() >> 4;
+            final int maxChunkZ = max.getZ() >> 4;
+            if (((long) maxChunkX - minChunkX + 1) * ((long) maxChunkZ - minChunkZ + 1) > MAX_RASTERIZED_CHUNKS) {
+                unrasterized.add(region);
+                continue;
+            }
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                final int fromX = Math.max(min.getX(), chunkX << 4) & 15;
+                final int toX = Math.min(max.getX(), (chunkX << 4) + 15) & 15;
+                final long rowMask = ((1L << (toX - fromX + 1)) - 1) << fromX;
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    final int fromZ = Math.max(min.getZ(), chunkZ << 4) & 15;
+                    final int toZ = Math.min(max.getZ(), (chunkZ << 4) + 15) & 15;
+                    final long[] bits = getLayer(building.computeIfAbsent(getChunkKey(chunkX, chunkZ), key -> new ArrayList<>(1)),
+                            min.getY(), max.getY()
+                    ).bits;
+                    for (int row = fromZ; row <= toZ; row++) {
+                        bits[row >> 2] |= rowMask << ((row & 3) << 4);
+                    }
+                }
+            }
+        }
+        final Map<Long, Layer[]> chunks = new HashMap<>(Math.max(16, building.size() * 2));
+        for (final Map.Entry<Long, List<Layer>> entry : building.entrySet()) {
+            chunks.put(entry.getKey(), entry.getValue().toArray(new Layer[0]));
+        }
+        return new WEMask(Collections.unmodifiableSet(bounds), chunks, unrasterized.toArray(new CuboidRegion[0]));
+    }
+
+    private static @NonNull Layer getLayer(final @NonNull List<Layer> layers, final int minY, final int maxY) {
+        for (final Layer layer : layers) {
+            if (layer.minY == minY && layer.maxY == maxY) {
+                return layer;
+            }
+        }
+        final Layer layer = new Layer(minY, maxY);
+        layers.add(layer);
+        return layer;
+    }
+
+    private static long getChunkKey(final int chunkX, final int chunkZ) {
+        return (long) chunkX & 4294967295L | ((long) chunkZ & 4294967295L) << 32;
+    }
+
+    private static int getBitIndex(final int x, final int z) {
+        return ((z & 15) << 4) | (x & 15);
+    }
+
+    private static int round(final double d) {
+        return Math.toIntExact(Math.round(d >= 0 ? d - 0.5 : d + 0.5));
+    }
+
+    /**
+     * Check if the mask contains a block
+     *
+     * @param x block x coordinate
+     * @param y block y coordinate
+     * @param z block z coordinate
+     * @return {@code true} if the block is inside the mask
+     */
+    public boolean contains(final int x, final int y, final int z) {
+        final Layer[] layers = this.getLayers(x >> 4, z >> 4);
+        if (layers != null) {
+            final int index = getBitIndex(x, z);
+            for (final Layer layer : layers) {
+                if (y >= layer.minY && y <= layer.maxY && layer.contains(index)) {
+                    return true;
+                }
+            }
+        }
+        for (final CuboidRegion region : this.unrasterized) {
+            if (RegionUtil.contains(region, x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the mask contains a column, regardless of height
+     *
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @return {@code true} if the column is inside the mask
+     */
+    public boolean contains(final int x, final int z) {
+        final Layer[] layers = this.getLayers(x >> 4, z >> 4);
+        if (layers != null) {
+            final int index = getBitIndex(x, z);
+            for (final Layer layer : layers) {
+                if (layer.contains(index)) {
+                    return true;
+                }
+            }
+        }
+        for (final CuboidRegion region : this.unrasterized) {
+            if (RegionUtil.contains(region, x, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the mask contains a position, rounded in the same way as
+     * {@link WEManager#maskContains(Set, double, double, double)}
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return {@code true} if the position is inside the mask
+     */
+    public boolean contains(final double x, final double y, final double z) {
+        return this.contains(round(x), Math.toIntExact(Math.round(y - 0.5)), round(z));
+    }
+
+    /**
+     * Check if the mask contains a column, rounded in the same way as
+     * {@link WEManager#maskContains(Set, double, double)}
+     *
+     * @param x x coordinate
+     * @param z z coordinate
+     * @return {@code true} if the column is inside the mask
+     */
+    public boolean contains(final double x, final double z) {
+        return this.contains(round(x), round(z));
+    }
+
+    /**
+     * Check whether the mask contains no regions at all
+     *
+     * @return {@code true} if nothing is inside the mask
+     */
+    public boolean isEmpty() {
+        return this.bounds.isEmpty();
+    }
+
+    /**
+     * Check whether this mask was compiled from regions with the same bounds as the given regions
+     *
+     * @param regions regions to compare with
+     * @return {@code true} if the given regions compile to an identical mask
+     */
+    public boolean matches(final @NonNull Collection<CuboidRegion> regions) {
+        final Set<List<BlockVector3>> other = new HashSet<>();
+        for (final CuboidRegion region : regions) {
+            other.add(List.of(region.getMinimumPoint(), region.getMaximumPoint()));
+        }
+        return this.bounds.equals(other);
+    }
+
+    private @Nullable Layer[] getLayers(final int chunkX, final int chunkZ) {
+        final long key = getChunkKey(chunkX, chunkZ);
+        // Edits are mostly chunk local, so remember the last chunk that was looked up
+        final ChunkEntry last = this.last;
+        if (last != null && last.key == key) {
+            return last.layers;
+        }
+        final Layer[] layers = this.chunks.get(key);
+        this.last = new ChunkEntry(key, layers);
+        return layers;
+    }
+
+    private static final class Layer {
+
+        private final int minY;
+        private final int maxY;
+        private final long[] bits = new long[4];
+
+        private Layer(final int minY, final int maxY) {
+            this.minY = minY;
+            this.maxY = maxY;
+        }
+
+        private boolean contains(final int index) {
+            return (this.bits[index >> 6] & (1L << index)) != 0;
+        }
+
+    }
+
+    private static final class ChunkEntry {
+
+        private final long key;
+        private final Layer[] layers;
+
+        private ChunkEntry(final long key, final @Nullable Layer[] layers) {
+            this.key = key;
+            this.layers = layers;
+        }
+
+    }
+
+}
@@ -35,9 +35,21 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 public abstract class Placeholder {
 
     private final String key;
+    private final boolean cacheable;
 
     public Placeholder(final @NonNull String key) {
+        this(key, false);
+    }
+
+    /**
+     * Create a new placeholder
+     *
+     * @param key       Placeholder key
+     * @param cacheable Whether values of the placeholder may be cached, see {@link #isCacheable()}
+     */
+    public Placeholder(final @NonNull String key, final boolean cacheable) {
         this.key = Preconditions.checkNotNull(key, "Key may not be null");
+        this.cacheable = cacheable;
     }
 
     /**
@@ -59,4 +71,16 @@ public abstract class Placeholder {
         return this.key;
     }
 
+    /**
+     * Whether the values of this placeholder may be cached by the {@link PlaceholderRegistry}. Cached values
+     * are dropped when the plot they were evaluated in, or the plots owned by the player they were evaluated
+     * for change, and expire after {@link com.plotsquared.core.configuration.Settings.Placeholders#CACHE_EXPIRATION}
+     * seconds otherwise.
+     *
+     * @return {@code true} if the values may be cached
+     */
+    public final boolean isCacheable() {
+        return this.cacheable;
+    }
+
 }
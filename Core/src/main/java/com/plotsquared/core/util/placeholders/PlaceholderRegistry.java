@@ -27,6 +27,9 @@ package com.plotsquared.core.util.placeholders;
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -41,7 +44,6 @@ import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.PlayerManager;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -52,8 +54,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 
 /**
@@ -64,14 +70,35 @@ public final class PlaceholderRegistry {
 
     private final Map<String, Placeholder> placeholders;
     private final EventDispatcher eventDispatcher;
+    // Values of cacheable placeholders that do not depend on a plot, by player and then by placeholder and world
+    private final @Nullable Cache<UUID, Map<CacheKey, String>> playerValues;
+    // Values of cacheable plot specific placeholders, by plot and then by placeholder and player
+    private final @Nullable Cache<Plot, Map<CacheKey, String>> plotValues;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     @Inject
     public PlaceholderRegistry(final @NonNull EventDispatcher eventDispatcher) {
         this.placeholders = Maps.newHashMap();
         this.eventDispatcher = eventDispatcher;
+        if (Settings.Placeholders.CACHE_EXPIRATION > 0) {
+            this.playerValues = createCache();
+            this.plotValues = createCache();
+        } else {
+            this.playerValues = null;
+            this.plotValues = null;
+        }
         this.registerDefault();
     }
 
+    private static <K> @NonNull Cache<K, Map<CacheKey, String>> createCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(Settings.Placeholders.CACHE_EXPIRATION, TimeUnit.SECONDS)
+                .maximumSize(Settings.Placeholders.CACHE_SIZE)
+                .recordStats()
+                .build();
+    }
+
     /**
      * Converts a {@link Component} into a legacy-formatted string.
      *
@@ -80,8 +107,7 @@ public final class PlaceholderRegistry {
      * @return a legacy-formatted string.
      */
     private static String legacyComponent(TranslatableCaption caption, LocaleHolder localeHolder) {
-        Component component = MiniMessage.get().parse(caption.getComponent(localeHolder));
-        return PlotSquared.platform().toLegacyPlatformString(component);
+        return PlotSquared.platform().toLegacyPlatformString(caption.toComponent(localeHolder));
     }
 
     private void registerDefault() {
@@ -95,20 +121,20 @@ public final class PlaceholderRegistry {
             this.registerPlaceholder(new PlotFlagPlaceholder(flag, false));
         });
         this.createPlaceholder("world_name", player -> player.getLocation().getWorldName());
-        this.createPlaceholder("has_plot", player -> player.getPlotCount() > 0 ? "true" : "false");
+        this.createPlaceholder("has_plot", player -> player.getPlotCount() > 0 ? "true" : "false", true);
         this.createPlaceholder("allowed_plot_count", (player) -> {
             if (player.getAllowedPlots() >= Integer.MAX_VALUE) { // Beautifies cases with '*' permission
                 return legacyComponent(TranslatableCaption.of("info.infinite"), player);
             }
             return Integer.toString(player.getAllowedPlots());
-        });
-        this.createPlaceholder("plot_count", player -> Integer.toString(player.getPlotCount()));
+        }, true);
+        this.createPlaceholder("plot_count", player -> Integer.toString(player.getPlotCount()), true);
         this.createPlaceholder("currentplot_alias", (player, plot) -> {
             if (plot.getAlias().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return plot.getAlias();
-        });
+        }, true);
         this.createPlaceholder("currentplot_owner", (player, plot) -> {
             final UUID plotOwner = plot.getOwnerAbs();
             if (plotOwner == null) {
@@ -120,52 +146,52 @@ public final class PlaceholderRegistry {
             } catch (final Exception ignored) {
             }
             return legacyComponent(TranslatableCaption.of("info.unknown"), player);
-        });
+        }, true);
         this.createPlaceholder("currentplot_members", (player, plot) -> {
             if (plot.getMembers().isEmpty() && plot.getTrusted().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return String.valueOf(plot.getMembers().size() + plot.getTrusted().size());
-        });
+        }, true);
         this.createPlaceholder("currentplot_members_added", (player, plot) -> {
             if (plot.getMembers().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return String.valueOf(plot.getMembers().size());
-        });
+        }, true);
         this.createPlaceholder("currentplot_members_trusted", (player, plot) -> {
             if (plot.getTrusted().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return String.valueOf(plot.getTrusted().size());
-        });
+        }, true);
         this.createPlaceholder("currentplot_members_denied", (player, plot) -> {
             if (plot.getDenied().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return String.valueOf(plot.getDenied().size());
-        });
+        }, true);
         this.createPlaceholder("currentplot_members_trusted_list", (player, plot) -> {
             if (plot.getTrusted().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return PlotSquared.platform().toLegacyPlatformString(
                     PlayerManager.getPlayerList(plot.getTrusted(), player));
-        });
+        }, true);
         this.createPlaceholder("currentplot_members_added_list", (player, plot) -> {
             if (plot.getMembers().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return PlotSquared.platform().toLegacyPlatformString(
                     PlayerManager.getPlayerList(plot.getMembers(), player));
-        });
+        }, true);
         this.createPlaceholder("currentplot_members_denied_list", (player, plot) -> {
             if (plot.getDenied().isEmpty()) {
                 return legacyComponent(TranslatableCaption.of("info.none"), player);
             }
             return PlotSquared.platform().toLegacyPlatformString(
                     PlayerManager.getPlayerList(plot.getDenied(), player));
-        });
+        }, true);
         this.createPlaceholder("currentplot_creationdate", (player, plot) -> {
             if (plot.getTimestamp() == 0) {
                 return legacyComponent(TranslatableCaption.of("info.unknown"), player);
@@ -174,12 +200,12 @@ public final class PlaceholderRegistry {
             SimpleDateFormat sdf = new SimpleDateFormat(Settings.Timeformat.DATE_FORMAT);
             sdf.setTimeZone(TimeZone.getTimeZone(Settings.Timeformat.TIME_ZONE));
             return sdf.format(creationDate);
-        });
+        }, true);
         this.createPlaceholder("currentplot_can_build", (player, plot) ->
-                plot.isAdded(player.getUUID()) ? "true" : "false");
-        this.createPlaceholder("currentplot_x", (player, plot) -> Integer.toString(plot.getId().getX()));
-        this.createPlaceholder("currentplot_y", (player, plot) -> Integer.toString(plot.getId().getY()));
-        this.createPlaceholder("currentplot_xy", (player, plot) -> plot.getId().toString());
+                plot.isAdded(player.getUUID()) ? "true" : "false", true);
+        this.createPlaceholder("currentplot_x", (player, plot) -> Integer.toString(plot.getId().getX()), true);
+        this.createPlaceholder("currentplot_y", (player, plot) -> Integer.toString(plot.getId().getY()), true);
+        this.createPlaceholder("currentplot_xy", (player, plot) -> plot.getId().toString(), true);
         this.createPlaceholder("currentplot_rating", (player, plot) -> {
             if (Double.isNaN(plot.getAverageRating())) {
                 return legacyComponent(TranslatableCaption.of("placeholder.nan"), player);
@@ -190,8 +216,8 @@ public final class PlaceholderRegistry {
             } else {
                 return Double.toString(plot.getAverageRating());
             }
-        });
-        this.createPlaceholder("currentplot_biome", (player, plot) -> plot.getBiomeSynchronous().toString());
+        }, true);
+        this.createPlaceholder("currentplot_biome", (player, plot) -> plot.getBiomeSynchronous().toString(), true);
     }
 
     /**
@@ -200,12 +226,27 @@ public final class PlaceholderRegistry {
      * @param key                 Placeholder key
      * @param placeholderFunction Placeholder generator. Cannot return null
      */
-    @SuppressWarnings("ALL")
     public void createPlaceholder(
             final @NonNull String key,
             final @NonNull Function<PlotPlayer<?>, String> placeholderFunction
     ) {
-        this.registerPlaceholder(new Placeholder(key) {
+        this.createPlaceholder(key, placeholderFunction, false);
+    }
+
+    /**
+     * Create a functional placeholder
+     *
+     * @param key                 Placeholder key
+     * @param placeholderFunction Placeholder generator. Cannot return null
+     * @param cacheable           Whether the values may be cached, see {@link Placeholder#isCacheable()}
+     */
+    @SuppressWarnings("ALL")
+    public void createPlaceholder(
+            final @NonNull String key,
+            final @NonNull Function<PlotPlayer<?>, String> placeholderFunction,
+            final boolean cacheable
+    ) {
+        this.registerPlaceholder(new Placeholder(key, cacheable) {
             @Override
             public @NonNull String getValue(final @NonNull PlotPlayer<?> player) {
                 return placeholderFunction.apply(player);
@@ -223,7 +264,22 @@ public final class PlaceholderRegistry {
             final @NonNull String key,
             final @NonNull BiFunction<PlotPlayer<?>, Plot, String> placeholderFunction
     ) {
-        this.registerPlaceholder(new PlotSpecificPlaceholder(key) {
+        this.createPlaceholder(key, placeholderFunction, false);
+    }
+
+    /**
+     * Create a functional placeholder
+     *
+     * @param key                 Placeholder key
+     * @param placeholderFunction Placeholder generator. Cannot return null
+     * @param cacheable           Whether the values may be cached, see {@link Placeholder#isCacheable()}
+     */
+    public void createPlaceholder(
+            final @NonNull String key,
+            final @NonNull BiFunction<PlotPlayer<?>, Plot, String> placeholderFunction,
+            final boolean cacheable
+    ) {
+        this.registerPlaceholder(new PlotSpecificPlaceholder(key, cacheable) {
             @Override
             public @NonNull String getValue(final @NonNull PlotPlayer<?> player, final @NonNull Plot plot) {
                 return placeholderFunction.apply(player, plot);
@@ -260,7 +316,8 @@ public final class PlaceholderRegistry {
 
     /**
      * Get the placeholder value evaluated for a player, and catch and deal with any problems
-     * occurring while doing so
+     * occurring while doing so. Values of {@link Placeholder#isCacheable() cacheable} placeholders
+     * are served from cache when possible
      *
      * @param key    Placeholder key
      * @param player Player to evaluate for
@@ -274,7 +331,52 @@ public final class PlaceholderRegistry {
         if (placeholder == null) {
             return "";
         }
-        String placeholderValue = "";
+        if (this.playerValues == null || this.plotValues == null || !placeholder.isCacheable()) {
+            return Objects.requireNonNullElse(this.evaluate(placeholder, player), "");
+        }
+        final Map<CacheKey, String> values;
+        final CacheKey cacheKey;
+        if (placeholder instanceof PlotSpecificPlaceholder) {
+            final Plot plot = player.getCurrentPlot();
+            if (plot == null) {
+                return "";
+            }
+            values = getValues(this.plotValues, plot);
+            cacheKey = new CacheKey(placeholder.getKey(), player.getUUID());
+        } else {
+            values = getValues(this.playerValues, player.getUUID());
+            cacheKey = new CacheKey(placeholder.getKey(), player.getLocation().getWorldName());
+        }
+        String placeholderValue = values.get(cacheKey);
+        if (placeholderValue != null) {
+            this.hits.increment();
+            return placeholderValue;
+        }
+        this.misses.increment();
+        placeholderValue = this.evaluate(placeholder, player);
+        if (placeholderValue == null) {
+            return "";
+        }
+        // If the values were invalidated in the meantime, this map is no longer cached
+        values.put(cacheKey, placeholderValue);
+        return placeholderValue;
+    }
+
+    private static <K> @NonNull Map<CacheKey, String> getValues(
+            final @NonNull Cache<K, Map<CacheKey, String>> cache,
+            final @NonNull K key
+    ) {
+        final Map<CacheKey, String> values = cache.getIfPresent(key);
+        if (values != null) {
+            return values;
+        }
+        final Map<CacheKey, String> created = new ConcurrentHashMap<>();
+        final Map<CacheKey, String> previous = cache.asMap().putIfAbsent(key, created);
+        return previous != null ? previous : created;
+    }
+
+    private @Nullable String evaluate(final @NonNull Placeholder placeholder, final @NonNull PlotPlayer<?> player) {
+        String placeholderValue = null;
         try {
             placeholderValue = placeholder.getValue(player);
             // If a placeholder for some reason decides to be disobedient, we catch it here
@@ -293,6 +395,72 @@ public final class PlaceholderRegistry {
         return placeholderValue;
     }
 
+    /**
+     * Drop the cached values of the plot specific placeholders evaluated in a plot, after the plot changed
+     *
+     * @param plot Plot
+     */
+    public void invalidatePlot(final @NonNull Plot plot) {
+        if (this.plotValues != null) {
+            this.plotValues.invalidate(plot);
+        }
+    }
+
+    /**
+     * Drop the cached values of the placeholders evaluated for a player that do not depend on a plot,
+     * after the plots owned by the player changed
+     *
+     * @param uuid Player UUID
+     */
+    public void invalidatePlayer(final @NonNull UUID uuid) {
+        if (this.playerValues != null) {
+            this.playerValues.invalidate(uuid);
+        }
+    }
+
+    /**
+     * Drop all cached placeholder values
+     */
+    public void invalidateCache() {
+        if (this.playerValues != null && this.plotValues != null) {
+            this.playerValues.invalidateAll();
+            this.plotValues.invalidateAll();
+        }
+    }
+
+    /**
+     * Get the hit and miss statistics of the placeholder value cache. Evictions are counted
+     * per player or plot whose values were evicted.
+     *
+     * @return Cache statistics, all zero if caching is disabled
+     */
+    public @NonNull CacheStats getCacheStats() {
+        if (this.playerValues == null || this.plotValues == null) {
+            return new CacheStats(0, 0, 0, 0, 0, 0);
+        }
+        final long evictions = this.playerValues.stats().evictionCount() + this.plotValues.stats().evictionCount();
+        return new CacheStats(this.hits.sum(), this.misses.sum(), 0, 0, 0, evictions);
+    }
+
+    /**
+     * Get the amount of cached placeholder values
+     *
+     * @return Cache size
+     */
+    public long getCacheSize() {
+        if (this.playerValues == null || this.plotValues == null) {
+            return 0;
+        }
+        long size = 0;
+        for (final Map<CacheKey, String> values : this.playerValues.asMap().values()) {
+            size += values.size();
+        }
+        for (final Map<CacheKey, String> values : this.plotValues.asMap().values()) {
+            size += values.size();
+        }
+        return size;
+    }
+
     /**
      * Get all placeholders
      *
@@ -302,6 +470,38 @@ public final class PlaceholderRegistry {
         return Collections.unmodifiableCollection(this.placeholders.values());
     }
 
+    /**
+     * Key of a cached value of a player or plot, the context is the world the value was evaluated in
+     * for player values, and the player it was evaluated for for plot values
+     */
+    private static final class CacheKey {
+
+        private final String key;
+        private final Object context;
+
+        private CacheKey(final @NonNull String key, final @NonNull Object context) {
+            this.key = key;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey other)) {
+                return false;
+            }
+            return this.key.equals(other.key) && this.context.equals(other.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.key.hashCode() + this.context.hashCode();
+        }
+
+    }
+
     /**
      * Event called when a new {@link Placeholder} has been added
      */
@@ -37,7 +37,7 @@ public final class PlotFlagPlaceholder extends PlotSpecificPlaceholder {
     private final boolean local;
 
     public PlotFlagPlaceholder(final @NonNull PlotFlag<?, ?> flag, final boolean local) {
-        super(String.format("currentplot_%sflag_%s", local ? "local" : "", flag.getName()));
+        super(String.format("currentplot_%sflag_%s", local ? "local" : "", flag.getName()), true);
         this.flag = flag;
         this.local = local;
     }
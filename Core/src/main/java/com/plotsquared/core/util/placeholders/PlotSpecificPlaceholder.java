@@ -38,6 +38,10 @@ public abstract class PlotSpecificPlaceholder extends Placeholder {
         super(key);
     }
 
+    public PlotSpecificPlaceholder(final @NonNull String key, final boolean cacheable) {
+        super(key, cacheable);
+    }
+
     @Override
     public @NonNull
     final String getValue(final @NonNull PlotPlayer<?> player) {
@@ -27,10 +27,12 @@ package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
 class AreaLimitedPlotProvider implements PlotProvider {
 
@@ -49,4 +51,25 @@ class AreaLimitedPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public void forEachPlot(final @NonNull Consumer<Plot> consumer) {
+        for (final PlotArea area : areas) {
+            area.getPlots().forEach(consumer);
+        }
+    }
+
+    @Override
+    public Collection<Plot> getPlots(final @NonNull IndexedPlotFilter filter) {
+        final List<Plot> plots = new LinkedList<>();
+        for (final PlotArea area : areas) {
+            plots.addAll(filter.getCandidates(area));
+        }
+        return plots;
+    }
+
+    @Override
+    public Collection<PlotArea> getAreas() {
+        return this.areas;
+    }
+
 }
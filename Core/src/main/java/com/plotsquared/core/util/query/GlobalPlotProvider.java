@@ -30,9 +30,11 @@ import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 class GlobalPlotProvider implements PlotProvider {
 
@@ -51,4 +53,25 @@ class GlobalPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public void forEachPlot(final @NonNull Consumer<Plot> consumer) {
+        for (final PlotArea plotArea : this.plotAreaManager.getAllPlotAreas()) {
+            plotArea.getPlots().forEach(consumer);
+        }
+    }
+
+    @Override
+    public Collection<Plot> getPlots(final @NonNull IndexedPlotFilter filter) {
+        final Set<Plot> plots = new HashSet<>();
+        for (final PlotArea plotArea : this.plotAreaManager.getAllPlotAreas()) {
+            plots.addAll(filter.getCandidates(plotArea));
+        }
+        return plots;
+    }
+
+    @Override
+    public Collection<PlotArea> getAreas() {
+        return Arrays.asList(this.plotAreaManager.getAllPlotAreas());
+    }
+
 }
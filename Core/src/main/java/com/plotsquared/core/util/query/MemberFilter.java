@@ -25,12 +25,17 @@
  */
 package com.plotsquared.core.util.query;
 
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
-class MemberFilter implements PlotFilter {
+class MemberFilter implements IndexedPlotFilter {
 
     @NonNull
     private final UUID uuid;
@@ -44,4 +49,19 @@ class MemberFilter implements PlotFilter {
         return plot.isAdded(uuid);
     }
 
+    @Override
+    public @NonNull Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        if (DBFunc.EVERYONE.equals(this.uuid) || DBFunc.SERVER.equals(this.uuid)) {
+            return area.getPlots();
+        }
+        final Set<Plot> candidates = new HashSet<>();
+        // Owners of any plot in a merge group count as owners of all of them
+        for (final Plot plot : area.getPlotsAbs(this.uuid)) {
+            candidates.addAll(plot.getConnectedPlots());
+        }
+        candidates.addAll(area.getPlotsByMember(this.uuid));
+        candidates.addAll(area.getPlotsByMember(DBFunc.EVERYONE));
+        return candidates;
+    }
+
 }
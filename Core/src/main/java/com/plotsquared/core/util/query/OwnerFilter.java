@@ -26,12 +26,14 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
 
-class OwnerFilter implements PlotFilter {
+class OwnerFilter implements IndexedPlotFilter {
 
     private final UUID owner;
 
@@ -44,4 +46,9 @@ class OwnerFilter implements PlotFilter {
         return plot.hasOwner() && Objects.equals(plot.getOwnerAbs(), this.owner);
     }
 
+    @Override
+    public @NonNull Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return area.getPlotsAbs(this.owner);
+    }
+
 }
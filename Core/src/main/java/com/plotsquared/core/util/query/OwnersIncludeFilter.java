@@ -25,13 +25,18 @@
  */
 package com.plotsquared.core.util.query;
 
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
-class OwnersIncludeFilter implements PlotFilter {
+class OwnersIncludeFilter implements IndexedPlotFilter {
 
     private final UUID owner;
 
@@ -44,4 +49,17 @@ class OwnersIncludeFilter implements PlotFilter {
         return plot.isBasePlot() && plot.getOwners().size() > 0 && plot.getOwners().contains(owner);
     }
 
+    @Override
+    public @NonNull Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        if (DBFunc.SERVER.equals(this.owner)) {
+            // Server plots are resolved through the server-plot flag rather than the stored owner
+            return area.getPlots();
+        }
+        final Set<Plot> candidates = new HashSet<>();
+        for (final Plot plot : area.getPlotsAbs(this.owner)) {
+            candidates.add(plot.getBasePlot(false));
+        }
+        return candidates;
+    }
+
 }
@@ -26,12 +26,47 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 @FunctionalInterface
 interface PlotProvider {
 
     Collection<Plot> getPlots();
 
+    /**
+     * Pass every provided plot to a consumer. Providers that can iterate their plots
+     * without collecting them first should override this.
+     *
+     * @param consumer Plot consumer
+     */
+    default void forEachPlot(final @NonNull Consumer<Plot> consumer) {
+        this.getPlots().forEach(consumer);
+    }
+
+    /**
+     * Get the provided plots that may be accepted by the given filter. Providers that cover
+     * whole plot areas can use the indexes of those areas instead of returning every plot.
+     *
+     * @param filter Indexed filter that will be applied to the result
+     * @return Provided plots
+     */
+    default Collection<Plot> getPlots(final @NonNull IndexedPlotFilter filter) {
+        return this.getPlots();
+    }
+
+    /**
+     * Get the areas whose plots are provided by this provider, if it provides exactly the plots
+     * of whole areas. Queries may then read the indexes of those areas directly.
+     *
+     * @return Provided areas, or {@code null} if the provider does not provide whole areas
+     */
+    default @Nullable Collection<PlotArea> getAreas() {
+        return null;
+    }
+
 }
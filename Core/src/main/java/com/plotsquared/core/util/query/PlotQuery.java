@@ -30,7 +30,7 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
-import com.plotsquared.core.plot.Rating;
+import com.plotsquared.core.plot.RatingSummary;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.MathMan;
@@ -44,9 +44,11 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -59,6 +61,29 @@ import java.util.stream.Stream;
  */
 public final class PlotQuery implements Iterable<Plot> {
 
+    private static final Comparator<Plot> RATING_ORDER =
+            Comparator.comparing(Plot::getRatingSummary, RatingSummary.ORDER);
+    /**
+     * The order of {@link PlotSquared#sortPlotsByTemp(Collection)}: plots with a database id
+     * in order of that id, followed by the remaining plots ordered by their hash
+     */
+    private static final Comparator<Plot> TEMP_ORDER = (p1, p2) -> {
+        if ((p1.temp > 0) != (p2.temp > 0)) {
+            return p1.temp > 0 ? -1 : 1;
+        }
+        if (p1.temp > 0) {
+            return Integer.compare(p1.temp, p2.temp);
+        }
+        return Integer.compare(p1.hashCode(), p2.hashCode());
+    };
+    /**
+     * Makes the order of sorted pages total, so that plots that compare equal
+     * can not move between pages
+     */
+    private static final Comparator<Plot> TIE_BREAK = Comparator.<Plot>comparingInt(plot -> plot.getId().getX())
+            .thenComparingInt(plot -> plot.getId().getY())
+            .thenComparing(plot -> String.valueOf(plot.getArea()));
+
     private final Collection<PlotFilter> filters = new LinkedList<>();
     private final PlotAreaManager plotAreaManager;
     private PlotProvider plotProvider;
@@ -315,7 +340,7 @@ public final class PlotQuery implements Iterable<Plot> {
         if (this.filters.isEmpty()) {
             result = new ArrayList<>(this.plotProvider.getPlots());
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
+            final Collection<Plot> plots = this.getProvidedPlots();
             result = new ArrayList<>(plots.size());
             outer:
             for (final Plot plot : plots) {
@@ -344,30 +369,7 @@ public final class PlotQuery implements Iterable<Plot> {
                 return 1;
             });
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_RATING) {
-            result.sort((p1, p2) -> {
-                double v1 = 0;
-                int p1s = p1.getSettings().getRatings().size();
-                int p2s = p2.getRatings().size();
-                if (!p1.getSettings().getRatings().isEmpty()) {
-                    v1 = p1.getRatings().values().stream().mapToDouble(Rating::getAverageRating)
-                            .map(av -> av * av).sum();
-                    v1 /= p1s;
-                    v1 += p1s;
-                }
-                double v2 = 0;
-                if (!p2.getSettings().getRatings().isEmpty()) {
-                    for (Map.Entry<UUID, Rating> entry : p2.getRatings().entrySet()) {
-                        double av = entry.getValue().getAverageRating();
-                        v2 += av * av;
-                    }
-                    v2 /= p2s;
-                    v2 += p2s;
-                }
-                if (v2 == v1 && v2 != 0) {
-                    return p2s - p1s;
-                }
-                return (int) Math.signum(v2 - v1);
-            });
+            result.sort(RATING_ORDER);
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_CREATION) {
             return PlotSquared.get().sortPlots(result, PlotSquared.SortType.CREATION_DATE, this.priorityArea);
         } else if (this.sortingStrategy == SortingStrategy.COMPARATOR) {
@@ -412,7 +414,218 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return Result count
      */
     public int count() {
-        return this.asList().size();
+        final int[] count = new int[1];
+        this.forEachMatch(plot -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Get a single page of the plots that match the given criteria, in the order of the
+     * sorting strategy. Unlike {@link #getPaginated(int)}, this does not collect and sort all
+     * matching plots, only the plots up to the end of the requested page are kept.
+     * <p>
+     * {@link SortingStrategy#SORT_BY_DONE} is not supported by this and falls back to
+     * sorting the full result.
+     *
+     * @param page     Page number, indexed from 1
+     * @param pageSize The size of the pages. Must be positive.
+     * @return Plots on the requested page, empty if there are not enough matching plots
+     */
+    public @NonNull List<Plot> page(final int page, final int pageSize) {
+        Preconditions.checkState(page > 0, "Page must be positive");
+        Preconditions.checkState(pageSize > 0, "Page size must be greater than 0");
+        final long from = (long) (page - 1) * pageSize;
+        if (from + pageSize > Integer.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+        final int limit = (int) from + pageSize;
+        final List<Plot> top;
+        if (this.sortingStrategy == SortingStrategy.NO_SORTING) {
+            top = new ArrayList<>(pageSize);
+            final int[] index = new int[1];
+            this.forEachMatch(plot -> {
+                if (index[0]++ >= from && top.size() < pageSize) {
+                    top.add(plot);
+                }
+            });
+            return top;
+        }
+        final Comparator<Plot> comparator = this.getComparator();
+        final Collection<PlotArea> areas = this.plotProvider.getAreas();
+        if (comparator == null) {
+            top = this.asList();
+        } else if (this.sortingStrategy == SortingStrategy.SORT_BY_RATING && areas != null
+                && this.filters.stream().noneMatch(filter -> filter instanceof IndexedPlotFilter)) {
+            top = this.getTopRated(areas, limit);
+        } else {
+            top = this.getTop(limit, comparator.thenComparing(TIE_BREAK));
+        }
+        if (top.size() <= from) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(top.subList((int) from, Math.min(limit, top.size())));
+    }
+
+    /**
+     * Get the first plots that match the given criteria, in the given order.
+     * Only {@code limit} plots are kept in a bounded heap while the plots are iterated.
+     */
+    private @NonNull List<Plot> getTop(final int limit, final @NonNull Comparator<Plot> comparator) {
+        return this.getTop(limit, comparator, plot -> true);
+    }
+
+    private @NonNull List<Plot> getTop(
+            final int limit, final @NonNull Comparator<Plot> comparator,
+            final @NonNull Predicate<Plot> include
+    ) {
+        // The head of the heap is the last plot that is currently kept
+        final PriorityQueue<Plot> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+        this.forEachMatch(plot -> {
+            if (!include.test(plot)) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(plot);
+            } else if (comparator.compare(plot, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(plot);
+            }
+        });
+        final List<Plot> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    /**
+     * Get the first plots that match the given criteria in rating order, reading the rated plots
+     * from the rating leaderboards of the given areas. Plots without ratings all compare equal,
+     * only those are iterated when there are not enough matching rated plots.
+     */
+    private @NonNull List<Plot> getTopRated(final @NonNull Collection<PlotArea> areas, final int limit) {
+        final Comparator<Plot> comparator = RATING_ORDER.thenComparing(TIE_BREAK);
+        final List<Plot> rated = new ArrayList<>();
+        final Set<Plot> seen = new HashSet<>();
+        for (final PlotArea area : areas) {
+            collectRated(area.getRatedPlots(), limit, base -> {
+                // The index is weakly consistent, a group may be merged or re-ranked while it is iterated
+                if (!base.isBasePlot()) {
+                    return Collections.emptySet();
+                }
+                return base.isMerged() ? base.getConnectedPlots() : Collections.singleton(base);
+            }, Plot::getRatingSummary, this::accepts, seen, rated);
+        }
+        rated.sort(comparator);
+        if (rated.size() >= limit) {
+            return new ArrayList<>(rated.subList(0, limit));
+        }
+        final List<Plot> unrated = this.getTop(limit - rated.size(), TIE_BREAK,
+                plot -> plot.getRatingSummary().getCount() == 0
+        );
+        rated.addAll(unrated);
+        return rated;
+    }
+
+    /**
+     * Collect the plots of a ranking of base plots until {@code limit} plots are taken, and then the
+     * plots that tie with the last one taken. A base plot contributes every plot of its group, and
+     * no plot is collected twice.
+     *
+     * @param ranking Base plots, best rated first
+     * @param limit   Number of plots to take
+     * @param group   The plots of a base plot, empty if it is no longer a base plot
+     * @param summary The rating summary of a base plot
+     * @param filter  Whether a plot is collected
+     * @param seen    Plots that were already visited
+     * @param rated   Collected plots
+     * @param <T>     Plot type
+     */
+    static <T> void collectRated(
+            final @NonNull Iterator<T> ranking,
+            final int limit,
+            final @NonNull Function<T, Collection<T>> group,
+            final @NonNull Function<T, RatingSummary> summary,
+            final @NonNull Predicate<T> filter,
+            final @NonNull Set<T> seen,
+            final @NonNull Collection<T> rated
+    ) {
+        int taken = 0;
+        RatingSummary last = null;
+        while (ranking.hasNext()) {
+            final T base = ranking.next();
+            if (seen.contains(base)) {
+                continue;
+            }
+            final Collection<T> plots = group.apply(base);
+            if (plots.isEmpty()) {
+                continue;
+            }
+            final RatingSummary baseSummary = summary.apply(base);
+            // Keep going while plots tie with the last one taken, the tie break decides between them
+            if (taken >= limit && RatingSummary.ORDER.compare(baseSummary, last) != 0) {
+                break;
+            }
+            for (final T plot : plots) {
+                if (seen.add(plot) && filter.test(plot)) {
+                    rated.add(plot);
+                    taken++;
+                    last = baseSummary;
+                }
+            }
+        }
+    }
+
+    private boolean accepts(final @NonNull Plot plot) {
+        for (final PlotFilter filter : this.filters) {
+            if (!filter.accepts(plot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the comparator describing the sorting strategy of this query, or {@code null} if
+     * the strategy can not be expressed as a comparator.
+     */
+    private Comparator<Plot> getComparator() {
+        return switch (this.sortingStrategy) {
+            case SORT_BY_TEMP -> TEMP_ORDER;
+            case SORT_BY_RATING -> RATING_ORDER;
+            case SORT_BY_CREATION -> Comparator.<Plot>comparingInt(plot -> this.getAreaRank(plot.getArea()))
+                    .thenComparing(TEMP_ORDER);
+            case COMPARATOR -> this.plotComparator;
+            default -> null;
+        };
+    }
+
+    /**
+     * The order of the areas in {@link PlotSquared#sortPlots(Collection, PlotSquared.SortType, PlotArea)}:
+     * the priority area first, followed by all other areas ordered by their hash
+     */
+    private int getAreaRank(final PlotArea area) {
+        if (area != null && area.equals(this.priorityArea)) {
+            return Integer.MIN_VALUE;
+        }
+        return area == null ? Integer.MAX_VALUE : area.hashCode();
+    }
+
+    /**
+     * Pass every provided plot that is accepted by all filters to a consumer, without
+     * collecting the provided plots first.
+     */
+    private void forEachMatch(final @NonNull Consumer<Plot> consumer) {
+        final Consumer<Plot> filtered = plot -> {
+            if (this.accepts(plot)) {
+                consumer.accept(plot);
+            }
+        };
+        for (final PlotFilter filter : this.filters) {
+            if (filter instanceof IndexedPlotFilter indexedFilter) {
+                this.plotProvider.getPlots(indexedFilter).forEach(filtered);
+                return;
+            }
+        }
+        this.plotProvider.forEachPlot(filtered);
     }
 
     /**
@@ -425,7 +638,7 @@ public final class PlotQuery implements Iterable<Plot> {
         if (this.filters.isEmpty()) {
             return !this.plotProvider.getPlots().isEmpty();
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
+            final Collection<Plot> plots = this.getProvidedPlots();
             outer:
             for (final Plot plot : plots) {
                 // a plot must pass all filters to match the criteria
@@ -440,6 +653,17 @@ public final class PlotQuery implements Iterable<Plot> {
         }
     }
 
+    @NonNull
+    private Collection<Plot> getProvidedPlots() {
+        // Let the provider narrow the plots down through an index, the filters are still applied afterwards
+        for (final PlotFilter filter : this.filters) {
+            if (filter instanceof IndexedPlotFilter indexedFilter) {
+                return this.plotProvider.getPlots(indexedFilter);
+            }
+        }
+        return this.plotProvider.getPlots();
+    }
+
     @NonNull
     private PlotQuery addFilter(final @NonNull PlotFilter filter) {
         this.filters.add(filter);
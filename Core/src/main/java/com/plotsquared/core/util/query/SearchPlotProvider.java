@@ -27,6 +27,7 @@ package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
@@ -34,7 +35,9 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -81,7 +84,7 @@ class SearchPlotProvider implements PlotProvider {
 
         PlotArea area = null;
         String alias = null;
-        for (Plot plot : PlotQuery.newQuery().allPlots()) {
+        for (Plot plot : getCandidates(uuids, id)) {
             int count = 0;
             if (!uuids.isEmpty()) {
                 for (UUID uuid : uuids) {
@@ -117,6 +120,35 @@ class SearchPlotProvider implements PlotProvider {
         return plots;
     }
 
+    /**
+     * Get the plots that match at least one of the search terms, using the owner
+     * and member indexes of the plot areas.
+     */
+    @NonNull
+    private static Collection<Plot> getCandidates(final @NonNull List<UUID> uuids, final PlotId id) {
+        final Set<Plot> candidates = new LinkedHashSet<>();
+        for (final PlotArea plotArea : PlotSquared.get().getPlotAreaManager().getAllPlotAreas()) {
+            for (final UUID uuid : uuids) {
+                if (DBFunc.EVERYONE.equals(uuid) || DBFunc.SERVER.equals(uuid)) {
+                    candidates.addAll(plotArea.getPlots());
+                    continue;
+                }
+                for (final Plot plot : plotArea.getPlotsAbs(uuid)) {
+                    candidates.addAll(plot.getConnectedPlots());
+                }
+                candidates.addAll(plotArea.getPlotsByMember(uuid));
+                candidates.addAll(plotArea.getPlotsByMember(DBFunc.EVERYONE));
+            }
+            if (id != null) {
+                final Plot plot = plotArea.getOwnedPlotAbs(id);
+                if (plot != null) {
+                    candidates.add(plot);
+                }
+            }
+        }
+        return candidates;
+    }
+
     @Override
     public Collection<Plot> getPlots() {
         return getPlotsBySearch(this.searchTerm);
@@ -131,6 +131,10 @@ public class AbstractDBTest implements AbstractDB {
     public void validateAllPlots(Set<Plot> toValidate) {
     }
 
+    @Override
+    public void validateDirtyPlots(Set<Plot> toValidate) {
+    }
+
     @Override
     public HashMap<String, Set<PlotCluster>> getClusters() {
         return null;
@@ -0,0 +1,78 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SQLManagerTest {
+
+    private static SQLManager.UniqueStatement plotPosition() {
+        return new SQLManager.UniqueStatement("setPosition") {
+            @Override
+            public PreparedStatement get() {
+                return null;
+            }
+
+            @Override
+            public void set(final PreparedStatement statement) {
+            }
+        };
+    }
+
+    private static SQLManager.UniqueStatement clusterPosition() {
+        return new SQLManager.UniqueStatement("setPosition") {
+            @Override
+            public PreparedStatement get() {
+                return null;
+            }
+
+            @Override
+            public void set(final PreparedStatement statement) {
+            }
+        };
+    }
+
+    @Test
+    public void testSameMethodDifferentStatementsAreNotBatchedTogether() {
+        final SQLManager.UniqueStatement plot1 = plotPosition();
+        final SQLManager.UniqueStatement cluster = clusterPosition();
+        final SQLManager.UniqueStatement plot2 = plotPosition();
+        final List<List<SQLManager.UniqueStatement>> batches =
+                SQLManager.groupBatches(Arrays.asList(plot1, cluster, plot2));
+        assertEquals(2, batches.size());
+        assertEquals(Arrays.asList(plot1, plot2), batches.get(0));
+        assertEquals(1, batches.get(1).size());
+        assertSame(cluster, batches.get(1).get(0));
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class PlotRatingIndexTest {
+
+    private static RatingSummary summary(final int... ratings) {
+        final Rating[] values = new Rating[ratings.length];
+        for (int i = 0; i < ratings.length; i++) {
+            values[i] = new Rating(ratings[i]);
+        }
+        return RatingSummary.of(Arrays.asList(values));
+    }
+
+    @Test
+    public void ratedPlotsAreRankedBestFirst() {
+        final PlotRatingIndex index = new PlotRatingIndex();
+        index.index(PlotId.of(1, 1), summary(4));
+        index.index(PlotId.of(2, 1), summary(9));
+        index.index(PlotId.of(3, 1), summary(6, 6));
+        index.index(PlotId.of(4, 1), summary(6));
+        index.index(PlotId.of(5, 1), RatingSummary.EMPTY);
+        assertEquals(4, index.size());
+        assertEquals(
+                Arrays.asList(PlotId.of(2, 1), PlotId.of(3, 1), PlotId.of(4, 1), PlotId.of(1, 1)),
+                index.getTop(10)
+        );
+        assertEquals(Arrays.asList(PlotId.of(2, 1), PlotId.of(3, 1)), index.getTop(2));
+    }
+
+    @Test
+    public void equalRatingsAreOrderedById() {
+        final PlotRatingIndex index = new PlotRatingIndex();
+        index.index(PlotId.of(2, 3), summary(7));
+        index.index(PlotId.of(1, 5), summary(7));
+        index.index(PlotId.of(2, 1), summary(7));
+        assertEquals(Arrays.asList(PlotId.of(1, 5), PlotId.of(2, 1), PlotId.of(2, 3)), index.getTop(3));
+    }
+
+    @Test
+    public void reindexedPlotsMove() {
+        final PlotRatingIndex index = new PlotRatingIndex();
+        index.index(PlotId.of(1, 1), summary(9));
+        index.index(PlotId.of(2, 1), summary(5));
+        index.index(PlotId.of(2, 1), summary(10));
+        assertEquals(Arrays.asList(PlotId.of(2, 1), PlotId.of(1, 1)), index.getTop(10));
+        index.index(PlotId.of(2, 1), RatingSummary.EMPTY);
+        index.unindex(PlotId.of(1, 1));
+        assertEquals(0, index.size());
+        assertEquals(Collections.emptyList(), index.getTop(10));
+    }
+
+}
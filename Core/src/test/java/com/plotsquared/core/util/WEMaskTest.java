@@ -0,0 +1,100 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WEMaskTest {
+
+    private static CuboidRegion randomRegion(final Random random, final int spread, final int maxSize) {
+        final int x = random.nextInt(spread * 2) - spread;
+        final int y = random.nextInt(128);
+        final int z = random.nextInt(spread * 2) - spread;
+        return new CuboidRegion(
+                BlockVector3.at(x, y, z),
+                BlockVector3.at(x + random.nextInt(maxSize), y + random.nextInt(128), z + random.nextInt(maxSize))
+        );
+    }
+
+    @Test
+    public void emptyMask() {
+        final WEMask mask = WEMask.compile(new HashSet<>());
+        assertTrue(mask.isEmpty());
+        assertFalse(mask.contains(0, 0, 0));
+        assertFalse(mask.contains(0, 0));
+    }
+
+    @Test
+    public void unboundedMask() {
+        // the mask used outside of plot worlds
+        final Set<CuboidRegion> regions = new HashSet<>();
+        regions.add(new CuboidRegion(
+                BlockVector3.at(Integer.MIN_VALUE, 0, Integer.MIN_VALUE),
+                BlockVector3.at(Integer.MAX_VALUE, 255, Integer.MAX_VALUE)
+        ));
+        final WEMask mask = WEMask.compile(regions);
+        assertTrue(mask.contains(0, 0));
+        assertTrue(mask.contains(-30000000, 30000000));
+        assertEquals(WEManager.maskContains(regions, 12, 300, -12), mask.contains(12, 300, -12));
+    }
+
+    @Test
+    public void matchesLinearImplementation() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            final Set<CuboidRegion> regions = new HashSet<>();
+            final int count = 1 + random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                regions.add(randomRegion(random, 200, 70));
+            }
+            final WEMask mask = WEMask.compile(regions);
+            assertTrue(mask.matches(regions));
+            for (int i = 0; i < 20000; i++) {
+                final int x = random.nextInt(600) - 300;
+                final int y = random.nextInt(300) - 20;
+                final int z = random.nextInt(600) - 300;
+                assertEquals(WEManager.maskContains(regions, x, y, z), mask.contains(x, y, z));
+                assertEquals(WEManager.maskContains(regions, x, z), mask.contains(x, z));
+                final double dx = x + random.nextDouble() * 2 - 1;
+                final double dy = y + random.nextDouble() * 2 - 1;
+                final double dz = z + random.nextDouble() * 2 - 1;
+                assertEquals(WEManager.maskContains(regions, dx, dy, dz), mask.contains(dx, dy, dz));
+                assertEquals(WEManager.maskContains(regions, dx, dz), mask.contains(dx, dz));
+            }
+        }
+    }
+
+}
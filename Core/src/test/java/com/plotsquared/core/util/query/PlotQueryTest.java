@@ -0,0 +1,95 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.plot.Rating;
+import com.plotsquared.core.plot.RatingSummary;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class PlotQueryTest {
+
+    private final Map<String, Collection<String>> groups = new HashMap<>();
+    private final Map<String, RatingSummary> summaries = new HashMap<>();
+
+    private void rate(final String base, final int rating, final String... members) {
+        this.summaries.put(base, RatingSummary.of(Collections.singletonList(new Rating(rating))));
+        final List<String> group = new ArrayList<>();
+        group.add(base);
+        group.addAll(Arrays.asList(members));
+        this.groups.put(base, group);
+    }
+
+    private List<String> collect(final int limit, final List<String> ranking, final Set<String> excluded) {
+        final List<String> rated = new ArrayList<>();
+        PlotQuery.collectRated(ranking.iterator(), limit,
+                base -> this.groups.getOrDefault(base, Collections.emptySet()),
+                this.summaries::get, plot -> !excluded.contains(plot), new HashSet<>(), rated
+        );
+        return rated;
+    }
+
+    @Test
+    public void mergedGroupsAreCollectedOnce() {
+        this.rate("a", 9, "a-east", "a-north");
+        this.rate("b", 8);
+        // "a-east" was ranked before it was merged into "a", and "a" was re-ranked while iterated
+        final List<String> ranking = Arrays.asList("a", "a-east", "b", "a");
+        assertEquals(Arrays.asList("a", "a-east", "a-north", "b"), this.collect(10, ranking, Collections.emptySet()));
+    }
+
+    @Test
+    public void tiesWithTheLastPlotAreCollected() {
+        this.rate("a", 9);
+        this.rate("b", 8);
+        this.rate("c", 8);
+        this.rate("d", 4);
+        final List<String> ranking = Arrays.asList("a", "b", "c", "d");
+        assertEquals(Arrays.asList("a", "b", "c"), this.collect(2, ranking, Collections.emptySet()));
+    }
+
+    @Test
+    public void filteredPlotsDoNotCount() {
+        this.rate("a", 9, "a-east");
+        this.rate("b", 8);
+        this.rate("c", 4);
+        final List<String> ranking = Arrays.asList("a", "b", "c");
+        final Set<String> excluded = new HashSet<>(Arrays.asList("a", "b"));
+        assertEquals(Arrays.asList("a-east", "c"), this.collect(2, ranking, excluded));
+    }
+
+}